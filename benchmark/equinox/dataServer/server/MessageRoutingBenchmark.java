@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.util.HashMap;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark for per-message dispatch overhead of client messages. Routing on a pool thread which submits the task to the same pool again (two
+ * executor handoffs, the former pipeline) is compared against routing on the network thread and submitting the task once (the current pipeline).
+ * Each invocation measures the time from receiving a message until its task starts running.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 10:12:30
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MessageRoutingBenchmark {
+
+	/** Task executor. */
+	private TaskExecutor executor_;
+
+	/** Routing table (stands in for the lobby dispatch table). */
+	private HashMap<Class<?>, TaskCategory> routes_;
+
+	/** Message to route. */
+	private Object message_;
+
+	/**
+	 * Creates task executor with the default interactive pool settings.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		Properties properties = new Properties();
+		properties.setProperty("exec.virtualThreads", "no");
+		properties.setProperty("exec.interactive.poolSize", "32");
+		properties.setProperty("exec.interactive.queueSize", "500");
+		properties.setProperty("exec.bulk.poolSize", "8");
+		properties.setProperty("exec.bulk.queueSize", "50");
+		properties.setProperty("exec.housekeeping.poolSize", "2");
+		properties.setProperty("exec.housekeeping.queueSize", "1000");
+		Logger logger = Logger.getLogger(MessageRoutingBenchmark.class.getName());
+		logger.setLevel(java.util.logging.Level.WARNING);
+		executor_ = new TaskExecutor(properties, logger);
+		routes_ = new HashMap<>();
+		routes_.put(String.class, TaskCategory.INTERACTIVE);
+		message_ = "message";
+	}
+
+	/**
+	 * Shuts down the task executor.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		executor_.shutdown();
+	}
+
+	/**
+	 * Former pipeline: the message is handed to the pool, where it is routed and its task is handed to the pool again.
+	 *
+	 * @throws InterruptedException
+	 *             If interrupted while waiting for the task.
+	 */
+	@Benchmark
+	public void doubleHandoff() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		executor_.submit(TaskCategory.INTERACTIVE, () -> executor_.submit(routes_.get(message_.getClass()), started::countDown));
+		started.await();
+	}
+
+	/**
+	 * Current pipeline: the message is routed on the receiving thread and its task is handed to the pool once.
+	 *
+	 * @throws InterruptedException
+	 *             If interrupted while waiting for the task.
+	 */
+	@Benchmark
+	public void singleHandoff() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		executor_.submit(routes_.get(message_.getClass()), started::countDown);
+		started.await();
+	}
+}
@@ -0,0 +1,475 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import equinox.dataServer.remote.message.AddNewUserRequest;
+import equinox.dataServer.remote.message.AdvancedMultiplicationTableSearchRequest;
+import equinox.dataServer.remote.message.AdvancedPilotPointSearchRequest;
+import equinox.dataServer.remote.message.AdvancedSpectrumSearchRequest;
+import equinox.dataServer.remote.message.BasicMultiplicationTableSearchRequest;
+import equinox.dataServer.remote.message.BasicPilotPointSearchRequest;
+import equinox.dataServer.remote.message.BasicSpectrumSearchRequest;
+import equinox.dataServer.remote.message.CheckForEquinoxUpdatesRequest;
+import equinox.dataServer.remote.message.CheckForMaterialUpdatesRequest;
+import equinox.dataServer.remote.message.CloseAccessRequestRequest;
+import equinox.dataServer.remote.message.CloseBugReportRequest;
+import equinox.dataServer.remote.message.CloseWishRequest;
+import equinox.dataServer.remote.message.DatabaseQueryRequest;
+import equinox.dataServer.remote.message.DeleteHelpVideoRequest;
+import equinox.dataServer.remote.message.DeleteMultiplicationTableRequest;
+import equinox.dataServer.remote.message.DeletePilotPointRequest;
+import equinox.dataServer.remote.message.DeletePluginRequest;
+import equinox.dataServer.remote.message.DeleteSpectrumRequest;
+import equinox.dataServer.remote.message.DeleteUsersRequest;
+import equinox.dataServer.remote.message.DownloadHelpVideoRequest;
+import equinox.dataServer.remote.message.DownloadPilotPointAttributesRequest;
+import equinox.dataServer.remote.message.DownloadPilotPointImagesRequest;
+import equinox.dataServer.remote.message.DownloadPilotPointRequest;
+import equinox.dataServer.remote.message.DownloadPilotPointsRequest;
+import equinox.dataServer.remote.message.DownloadSampleInputRequest;
+import equinox.dataServer.remote.message.EditUserPermissionsRequest;
+import equinox.dataServer.remote.message.ExecuteSQLStatementRequest;
+import equinox.dataServer.remote.message.GetAccessRequestCountRequest;
+import equinox.dataServer.remote.message.GetAccessRequestsRequest;
+import equinox.dataServer.remote.message.GetAircraftProgramsForPilotPointsRequest;
+import equinox.dataServer.remote.message.GetAircraftProgramsForSpectraRequest;
+import equinox.dataServer.remote.message.GetAircraftSectionsForPilotPointsRequest;
+import equinox.dataServer.remote.message.GetAircraftSectionsForSpectraRequest;
+import equinox.dataServer.remote.message.GetBugReportCountRequest;
+import equinox.dataServer.remote.message.GetBugReportsRequest;
+import equinox.dataServer.remote.message.GetDataQueriesRequest;
+import equinox.dataServer.remote.message.GetFatigueMaterialsRequest;
+import equinox.dataServer.remote.message.GetFatigueMissionsForPilotPointsRequest;
+import equinox.dataServer.remote.message.GetFatigueMissionsForSpectraRequest;
+import equinox.dataServer.remote.message.GetHelpVideosRequest;
+import equinox.dataServer.remote.message.GetLinearMaterialsRequest;
+import equinox.dataServer.remote.message.GetPilotPointCountsRequest;
+import equinox.dataServer.remote.message.GetPilotPointImageRequest;
+import equinox.dataServer.remote.message.GetPilotPointImagesRequest;
+import equinox.dataServer.remote.message.GetPluginInfoRequest;
+import equinox.dataServer.remote.message.GetPreffasMaterialsRequest;
+import equinox.dataServer.remote.message.GetSearchHitsRequest;
+import equinox.dataServer.remote.message.GetSpectrumCountsRequest;
+import equinox.dataServer.remote.message.GetUserPermissionsRequest;
+import equinox.dataServer.remote.message.GetWishCountRequest;
+import equinox.dataServer.remote.message.GetWishesRequest;
+import equinox.dataServer.remote.message.LikeWishRequest;
+import equinox.dataServer.remote.message.Login;
+import equinox.dataServer.remote.message.PlotContributionStatisticsRequest;
+import equinox.dataServer.remote.message.PlotPilotPointCountRequest;
+import equinox.dataServer.remote.message.PlotSpectrumCountRequest;
+import equinox.dataServer.remote.message.PlotSpectrumSizeRequest;
+import equinox.dataServer.remote.message.ResetExchangeTableRequest;
+import equinox.dataServer.remote.message.SavePilotPointImageRequest;
+import equinox.dataServer.remote.message.SubmitAccessRequestRequest;
+import equinox.dataServer.remote.message.SubmitBugReportRequest;
+import equinox.dataServer.remote.message.SubmitWishRequest;
+import equinox.dataServer.remote.message.UpdateMultiplicationTableRequest;
+import equinox.dataServer.remote.message.UpdatePilotPointRequest;
+import equinox.dataServer.remote.message.UpdateSpectrumRequest;
+import equinox.dataServer.remote.message.UploadContainerUpdateRequest;
+import equinox.dataServer.remote.message.UploadDamageContributionsRequest;
+import equinox.dataServer.remote.message.UploadHelpVideoRequest;
+import equinox.dataServer.remote.message.UploadMaterialsRequest;
+import equinox.dataServer.remote.message.UploadMultiplicationTablesRequest;
+import equinox.dataServer.remote.message.UploadPilotPointsRequest;
+import equinox.dataServer.remote.message.UploadPluginRequest;
+import equinox.dataServer.remote.message.UploadSampleInputsRequest;
+import equinox.dataServer.remote.message.UploadSpectraRequest;
+import equinox.serverUtilities.NetworkMessage;
+import equinox.serverUtilities.Permission;
+
+/**
+ * Benchmark for request dispatch cost of the lobby. The dispatch table of {@link Lobby} is compared against the former <code>instanceof</code>
+ * chain, which is reproduced here in its original order. Both resolve the required permission of a message and check it against the permissions of
+ * the client (all permissions are granted, so that every message is dispatched).
+ * <p>
+ * The <code>all</code> benchmarks dispatch one message of every request type per invocation. The <code>single</code> benchmarks dispatch one message
+ * of the given type (first, early, late and last branch of the former chain).
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 10:41:55
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RequestDispatchBenchmark {
+
+	/** Request message classes in the order of the former instanceof chain. */
+	private static final Class<?>[] TYPES = {
+			Login.class,
+			GetDataQueriesRequest.class,
+			GetSpectrumCountsRequest.class,
+			GetSearchHitsRequest.class,
+			GetPilotPointCountsRequest.class,
+			GetBugReportCountRequest.class,
+			GetWishCountRequest.class,
+			GetAccessRequestCountRequest.class,
+			GetPluginInfoRequest.class,
+			AdvancedMultiplicationTableSearchRequest.class,
+			AdvancedPilotPointSearchRequest.class,
+			AdvancedSpectrumSearchRequest.class,
+			BasicMultiplicationTableSearchRequest.class,
+			BasicPilotPointSearchRequest.class,
+			BasicSpectrumSearchRequest.class,
+			CheckForEquinoxUpdatesRequest.class,
+			CheckForMaterialUpdatesRequest.class,
+			CloseBugReportRequest.class,
+			CloseWishRequest.class,
+			DeleteHelpVideoRequest.class,
+			DeleteMultiplicationTableRequest.class,
+			DeletePilotPointRequest.class,
+			DeletePluginRequest.class,
+			DeleteSpectrumRequest.class,
+			DownloadHelpVideoRequest.class,
+			DownloadPilotPointRequest.class,
+			DownloadPilotPointImagesRequest.class,
+			DownloadPilotPointAttributesRequest.class,
+			DownloadPilotPointsRequest.class,
+			DownloadSampleInputRequest.class,
+			ExecuteSQLStatementRequest.class,
+			GetAircraftProgramsForPilotPointsRequest.class,
+			GetAircraftProgramsForSpectraRequest.class,
+			GetAircraftSectionsForPilotPointsRequest.class,
+			GetAircraftSectionsForSpectraRequest.class,
+			GetBugReportsRequest.class,
+			GetFatigueMissionsForPilotPointsRequest.class,
+			GetFatigueMissionsForSpectraRequest.class,
+			GetHelpVideosRequest.class,
+			GetPilotPointImageRequest.class,
+			GetWishesRequest.class,
+			LikeWishRequest.class,
+			PlotContributionStatisticsRequest.class,
+			PlotPilotPointCountRequest.class,
+			PlotSpectrumCountRequest.class,
+			PlotSpectrumSizeRequest.class,
+			ResetExchangeTableRequest.class,
+			SavePilotPointImageRequest.class,
+			SubmitBugReportRequest.class,
+			SubmitWishRequest.class,
+			GetFatigueMaterialsRequest.class,
+			GetLinearMaterialsRequest.class,
+			GetPreffasMaterialsRequest.class,
+			UpdateMultiplicationTableRequest.class,
+			UpdatePilotPointRequest.class,
+			UpdateSpectrumRequest.class,
+			UploadDamageContributionsRequest.class,
+			UploadHelpVideoRequest.class,
+			UploadMaterialsRequest.class,
+			UploadMultiplicationTablesRequest.class,
+			UploadPilotPointsRequest.class,
+			UploadPluginRequest.class,
+			UploadSampleInputsRequest.class,
+			UploadSpectraRequest.class,
+			UploadContainerUpdateRequest.class,
+			GetPilotPointImagesRequest.class,
+			AddNewUserRequest.class,
+			DeleteUsersRequest.class,
+			GetUserPermissionsRequest.class,
+			EditUserPermissionsRequest.class,
+			SubmitAccessRequestRequest.class,
+			GetAccessRequestsRequest.class,
+			CloseAccessRequestRequest.class
+	};
+
+	/** Request message type of the single message benchmarks. */
+	@Param({ "Login", "GetPluginInfoRequest", "UploadSpectraRequest", "CloseAccessRequestRequest" })
+	private String type_;
+
+	/** Dispatch table. */
+	private Map<Class<?>, RequestHandler<?>> handlers_;
+
+	/** Permissions of the client. */
+	private EnumSet<Permission> granted_;
+
+	/** Messages of all request types. */
+	private NetworkMessage[] messages_;
+
+	/** Message of the single message benchmarks. */
+	private NetworkMessage message_;
+
+	/**
+	 * Creates dispatch table and messages.
+	 *
+	 * @throws Exception
+	 *             If a message cannot be created.
+	 */
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		handlers_ = Lobby.createDispatchTable();
+		granted_ = EnumSet.allOf(Permission.class);
+		messages_ = new NetworkMessage[TYPES.length];
+		for (int i = 0; i < TYPES.length; i++) {
+			messages_[i] = (NetworkMessage) TYPES[i].getDeclaredConstructor().newInstance();
+			if (TYPES[i].getSimpleName().equals(type_)) {
+				message_ = messages_[i];
+			}
+		}
+	}
+
+	/**
+	 * Dispatches all message types through the dispatch table.
+	 *
+	 * @param blackhole
+	 *            Blackhole.
+	 */
+	@Benchmark
+	public void allTable(Blackhole blackhole) {
+		for (NetworkMessage message : messages_) {
+			blackhole.consume(dispatchTable(message));
+		}
+	}
+
+	/**
+	 * Dispatches all message types through the instanceof chain.
+	 *
+	 * @param blackhole
+	 *            Blackhole.
+	 */
+	@Benchmark
+	public void allChain(Blackhole blackhole) {
+		for (NetworkMessage message : messages_) {
+			blackhole.consume(dispatchChain(message, granted_));
+		}
+	}
+
+	/**
+	 * Dispatches single message type through the dispatch table.
+	 *
+	 * @return Required permission.
+	 */
+	@Benchmark
+	public Permission singleTable() {
+		return dispatchTable(message_);
+	}
+
+	/**
+	 * Dispatches single message type through the instanceof chain.
+	 *
+	 * @return Required permission.
+	 */
+	@Benchmark
+	public Permission singleChain() {
+		return dispatchChain(message_, granted_);
+	}
+
+	/**
+	 * Resolves and checks the required permission of the given message with the dispatch table.
+	 *
+	 * @param message
+	 *            Message.
+	 * @return Required permission, or null if none is required or it is not granted.
+	 */
+	private Permission dispatchTable(NetworkMessage message) {
+		RequestHandler<?> handler = handlers_.get(message.getClass());
+		if (handler == null)
+			return null;
+		Permission permission = handler.getPermission();
+		if (permission != null && !granted_.contains(permission))
+			return null;
+		return permission;
+	}
+
+	/**
+	 * Resolves and checks the required permission of the given message with the former instanceof chain.
+	 *
+	 * @param message
+	 *            Message.
+	 * @param granted
+	 *            Permissions of the client.
+	 * @return Required permission, or null if none is required or it is not granted.
+	 */
+	private static Permission dispatchChain(NetworkMessage message, EnumSet<Permission> granted) {
+		if (message instanceof Login && granted.contains(Permission.LOGIN_AS_ADMINISTRATOR))
+			return Permission.LOGIN_AS_ADMINISTRATOR;
+		else if (message instanceof GetDataQueriesRequest)
+			return null;
+		else if (message instanceof GetSpectrumCountsRequest)
+			return null;
+		else if (message instanceof GetSearchHitsRequest)
+			return null;
+		else if (message instanceof GetPilotPointCountsRequest)
+			return null;
+		else if (message instanceof GetBugReportCountRequest)
+			return null;
+		else if (message instanceof GetWishCountRequest)
+			return null;
+		else if (message instanceof GetAccessRequestCountRequest)
+			return null;
+		else if (message instanceof DatabaseQueryRequest)
+			return dispatchDatabaseQueryChain(message, granted);
+		return null;
+	}
+
+	/**
+	 * Resolves and checks the required permission of the given database query request with the former instanceof chain.
+	 *
+	 * @param message
+	 *            Message.
+	 * @param granted
+	 *            Permissions of the client.
+	 * @return Required permission, or null if none is required or it is not granted.
+	 */
+	private static Permission dispatchDatabaseQueryChain(NetworkMessage message, EnumSet<Permission> granted) {
+		if (message instanceof GetPluginInfoRequest && granted.contains(Permission.GET_EQUINOX_PLUGIN_INFO))
+			return Permission.GET_EQUINOX_PLUGIN_INFO;
+		else if (message instanceof AdvancedMultiplicationTableSearchRequest && granted.contains(Permission.SEARCH_MULTIPLICATION_TABLE))
+			return Permission.SEARCH_MULTIPLICATION_TABLE;
+		else if (message instanceof AdvancedPilotPointSearchRequest && granted.contains(Permission.SEARCH_PILOT_POINT))
+			return Permission.SEARCH_PILOT_POINT;
+		else if (message instanceof AdvancedSpectrumSearchRequest && granted.contains(Permission.SEARCH_SPECTRUM))
+			return Permission.SEARCH_SPECTRUM;
+		else if (message instanceof BasicMultiplicationTableSearchRequest && granted.contains(Permission.SEARCH_MULTIPLICATION_TABLE))
+			return Permission.SEARCH_MULTIPLICATION_TABLE;
+		else if (message instanceof BasicPilotPointSearchRequest && granted.contains(Permission.SEARCH_PILOT_POINT))
+			return Permission.SEARCH_PILOT_POINT;
+		else if (message instanceof BasicSpectrumSearchRequest && granted.contains(Permission.SEARCH_SPECTRUM))
+			return Permission.SEARCH_SPECTRUM;
+		else if (message instanceof CheckForEquinoxUpdatesRequest && granted.contains(Permission.CHECK_FOR_EQUINOX_UPDATES))
+			return Permission.CHECK_FOR_EQUINOX_UPDATES;
+		else if (message instanceof CheckForMaterialUpdatesRequest && granted.contains(Permission.CHECK_FOR_MATERIAL_UPDATES))
+			return Permission.CHECK_FOR_MATERIAL_UPDATES;
+		else if (message instanceof CloseBugReportRequest && granted.contains(Permission.CLOSE_BUG_REPORT))
+			return Permission.CLOSE_BUG_REPORT;
+		else if (message instanceof CloseWishRequest && granted.contains(Permission.CLOSE_WISH))
+			return Permission.CLOSE_WISH;
+		else if (message instanceof DeleteHelpVideoRequest && granted.contains(Permission.DELETE_HELP_VIDEO))
+			return Permission.DELETE_HELP_VIDEO;
+		else if (message instanceof DeleteMultiplicationTableRequest && granted.contains(Permission.DELETE_MULTIPLICATION_TABLE))
+			return Permission.DELETE_MULTIPLICATION_TABLE;
+		else if (message instanceof DeletePilotPointRequest && granted.contains(Permission.DELETE_PILOT_POINT))
+			return Permission.DELETE_PILOT_POINT;
+		else if (message instanceof DeletePluginRequest && granted.contains(Permission.DELETE_EQUINOX_PLUGIN))
+			return Permission.DELETE_EQUINOX_PLUGIN;
+		else if (message instanceof DeleteSpectrumRequest && granted.contains(Permission.DELETE_SPECTRUM))
+			return Permission.DELETE_SPECTRUM;
+		else if (message instanceof DownloadHelpVideoRequest && granted.contains(Permission.DOWNLOAD_HELP_VIDEO))
+			return Permission.DOWNLOAD_HELP_VIDEO;
+		else if (message instanceof DownloadPilotPointRequest && granted.contains(Permission.DOWNLOAD_PILOT_POINT))
+			return Permission.DOWNLOAD_PILOT_POINT;
+		else if (message instanceof DownloadPilotPointImagesRequest && granted.contains(Permission.DOWNLOAD_PILOT_POINT))
+			return Permission.DOWNLOAD_PILOT_POINT;
+		else if (message instanceof DownloadPilotPointAttributesRequest && granted.contains(Permission.DOWNLOAD_PILOT_POINT))
+			return Permission.DOWNLOAD_PILOT_POINT;
+		else if (message instanceof DownloadPilotPointsRequest && granted.contains(Permission.DOWNLOAD_PILOT_POINT))
+			return Permission.DOWNLOAD_PILOT_POINT;
+		else if (message instanceof DownloadSampleInputRequest && granted.contains(Permission.DOWNLOAD_SAMPLE_INPUT))
+			return Permission.DOWNLOAD_SAMPLE_INPUT;
+		else if (message instanceof ExecuteSQLStatementRequest && granted.contains(Permission.EXECUTE_GENERIC_SQL_STATEMENT))
+			return Permission.EXECUTE_GENERIC_SQL_STATEMENT;
+		else if (message instanceof GetAircraftProgramsForPilotPointsRequest)
+			return null;
+		else if (message instanceof GetAircraftProgramsForSpectraRequest)
+			return null;
+		else if (message instanceof GetAircraftSectionsForPilotPointsRequest)
+			return null;
+		else if (message instanceof GetAircraftSectionsForSpectraRequest)
+			return null;
+		else if (message instanceof GetBugReportsRequest && granted.contains(Permission.GET_BUG_REPORTS))
+			return Permission.GET_BUG_REPORTS;
+		else if (message instanceof GetFatigueMissionsForPilotPointsRequest)
+			return null;
+		else if (message instanceof GetFatigueMissionsForSpectraRequest)
+			return null;
+		else if (message instanceof GetHelpVideosRequest && granted.contains(Permission.GET_HELP_VIDEOS))
+			return Permission.GET_HELP_VIDEOS;
+		else if (message instanceof GetPilotPointImageRequest && granted.contains(Permission.SEARCH_PILOT_POINT))
+			return Permission.SEARCH_PILOT_POINT;
+		else if (message instanceof GetWishesRequest && granted.contains(Permission.GET_WISHES))
+			return Permission.GET_WISHES;
+		else if (message instanceof LikeWishRequest && granted.contains(Permission.GET_WISHES))
+			return Permission.GET_WISHES;
+		else if (message instanceof PlotContributionStatisticsRequest && granted.contains(Permission.PLOT_CONTRIBUTION_STATISTICS))
+			return Permission.PLOT_CONTRIBUTION_STATISTICS;
+		else if (message instanceof PlotPilotPointCountRequest && granted.contains(Permission.PLOT_PILOT_POINT_COUNT))
+			return Permission.PLOT_PILOT_POINT_COUNT;
+		else if (message instanceof PlotSpectrumCountRequest && granted.contains(Permission.PLOT_SPECTRUM_COUNT))
+			return Permission.PLOT_SPECTRUM_COUNT;
+		else if (message instanceof PlotSpectrumSizeRequest && granted.contains(Permission.PLOT_SPECTRUM_SIZE))
+			return Permission.PLOT_SPECTRUM_SIZE;
+		else if (message instanceof ResetExchangeTableRequest && granted.contains(Permission.RESET_EXCHANGE_DATA))
+			return Permission.RESET_EXCHANGE_DATA;
+		else if (message instanceof SavePilotPointImageRequest && granted.contains(Permission.SAVE_PILOT_POINT_IMAGE))
+			return Permission.SAVE_PILOT_POINT_IMAGE;
+		else if (message instanceof SubmitBugReportRequest && granted.contains(Permission.SUBMIT_BUG_REPORT))
+			return Permission.SUBMIT_BUG_REPORT;
+		else if (message instanceof SubmitWishRequest && granted.contains(Permission.SUBMIT_WISH))
+			return Permission.SUBMIT_WISH;
+		else if (message instanceof GetFatigueMaterialsRequest && granted.contains(Permission.GET_MATERIALS))
+			return Permission.GET_MATERIALS;
+		else if (message instanceof GetLinearMaterialsRequest && granted.contains(Permission.GET_MATERIALS))
+			return Permission.GET_MATERIALS;
+		else if (message instanceof GetPreffasMaterialsRequest && granted.contains(Permission.GET_MATERIALS))
+			return Permission.GET_MATERIALS;
+		else if (message instanceof UpdateMultiplicationTableRequest && granted.contains(Permission.UPDATE_MULTIPLICATION_TABLE_INFO))
+			return Permission.UPDATE_MULTIPLICATION_TABLE_INFO;
+		else if (message instanceof UpdatePilotPointRequest && granted.contains(Permission.UPDATE_PILOT_POINT_INFO))
+			return Permission.UPDATE_PILOT_POINT_INFO;
+		else if (message instanceof UpdateSpectrumRequest && granted.contains(Permission.UPDATE_SPECTRUM_INFO))
+			return Permission.UPDATE_SPECTRUM_INFO;
+		else if (message instanceof UploadDamageContributionsRequest && granted.contains(Permission.UPLOAD_DAMAGE_CONTRIBUTIONS))
+			return Permission.UPLOAD_DAMAGE_CONTRIBUTIONS;
+		else if (message instanceof UploadHelpVideoRequest && granted.contains(Permission.UPLOAD_HELP_VIDEO))
+			return Permission.UPLOAD_HELP_VIDEO;
+		else if (message instanceof UploadMaterialsRequest && granted.contains(Permission.UPLOAD_MATERIALS))
+			return Permission.UPLOAD_MATERIALS;
+		else if (message instanceof UploadMultiplicationTablesRequest && granted.contains(Permission.UPLOAD_MULTIPLICATION_TABLES))
+			return Permission.UPLOAD_MULTIPLICATION_TABLES;
+		else if (message instanceof UploadPilotPointsRequest && granted.contains(Permission.UPLOAD_PILOT_POINTS))
+			return Permission.UPLOAD_PILOT_POINTS;
+		else if (message instanceof UploadPluginRequest && granted.contains(Permission.UPLOAD_EQUINOX_PLUGIN))
+			return Permission.UPLOAD_EQUINOX_PLUGIN;
+		else if (message instanceof UploadSampleInputsRequest && granted.contains(Permission.UPLOAD_SAMPLE_INPUTS))
+			return Permission.UPLOAD_SAMPLE_INPUTS;
+		else if (message instanceof UploadSpectraRequest && granted.contains(Permission.UPLOAD_SPECTRA))
+			return Permission.UPLOAD_SPECTRA;
+		else if (message instanceof UploadContainerUpdateRequest && granted.contains(Permission.UPLOAD_EQUINOX_UPDATE))
+			return Permission.UPLOAD_EQUINOX_UPDATE;
+		else if (message instanceof GetPilotPointImagesRequest && granted.contains(Permission.GET_PILOT_POINT_IMAGES))
+			return Permission.GET_PILOT_POINT_IMAGES;
+		else if (message instanceof AddNewUserRequest && granted.contains(Permission.ADD_NEW_USER))
+			return Permission.ADD_NEW_USER;
+		else if (message instanceof DeleteUsersRequest && granted.contains(Permission.DELETE_USER))
+			return Permission.DELETE_USER;
+		else if (message instanceof GetUserPermissionsRequest && granted.contains(Permission.GET_USER_PERMISSIONS))
+			return Permission.GET_USER_PERMISSIONS;
+		else if (message instanceof EditUserPermissionsRequest && granted.contains(Permission.EDIT_USER_PERMISSIONS))
+			return Permission.EDIT_USER_PERMISSIONS;
+		else if (message instanceof SubmitAccessRequestRequest && granted.contains(Permission.SUBMIT_ACCESS_REQUEST))
+			return Permission.SUBMIT_ACCESS_REQUEST;
+		else if (message instanceof GetAccessRequestsRequest && granted.contains(Permission.GET_ACCESS_REQUESTS))
+			return Permission.GET_ACCESS_REQUESTS;
+		else if (message instanceof CloseAccessRequestRequest && granted.contains(Permission.CLOSE_ACCESS_REQUEST))
+			return Permission.CLOSE_ACCESS_REQUEST;
+		return null;
+	}
+}
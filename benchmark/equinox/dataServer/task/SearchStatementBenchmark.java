@@ -0,0 +1,312 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.task;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import equinox.dataServer.remote.data.BasicSearchInput;
+import equinox.dataServer.server.SearchIndex;
+import equinox.dataServer.utility.EmbeddedDatabase;
+import equinox.dataServer.utility.QueryBuilder;
+
+/**
+ * Benchmark for statement parse overhead of basic spectrum searches, against an embedded MariaDB server. Each operation runs one search with the next
+ * of {@link #KEYWORDS} distinct keywords (more than the prepared statement cache size of 250). Four query shapes are compared:
+ * <ul>
+ * <li><code>literalSql</code>: like patterns concatenated into a plain statement (the former search queries),
+ * <li><code>boundSql</code>: like patterns bound as parameters (the current search queries without search index),
+ * <li><code>literalIds</code>: search index matches inlined as an <code>id in (...)</code> literal list,
+ * <li><code>boundIds</code>: search index matches bound as a power of two sized parameter list (the current search queries with search index).
+ * </ul>
+ * The number of statements prepared and executed by the server per operation (<code>Com_stmt_prepare</code>, <code>Com_stmt_execute</code> and
+ * <code>Com_select</code> status variables), and the longest SQL text sent are printed at the end of each trial.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 14:12:51
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SearchStatementBenchmark {
+
+	/** Number of spectra in the database. */
+	private static final int SPECTRA = 5000;
+
+	/** Number of distinct search keywords. */
+	private static final int KEYWORDS = 600;
+
+	/** Searched columns. */
+	private static final String[] COLUMNS = { "name", "ac_program", "ac_section", "fat_mission", "delivery_ref", "description" };
+
+	/** Status variables. */
+	private static final String[] STATUS = { "Com_stmt_prepare", "Com_stmt_execute", "Com_select" };
+
+	/** Embedded database server. */
+	private EmbeddedDatabase database_;
+
+	/** Connection pool. */
+	private HikariDataSource dataSource_;
+
+	/** Connection used by the benchmarks. */
+	private Connection connection_;
+
+	/** Search index rebuild thread pool. */
+	private ExecutorService rebuildExecutor_;
+
+	/** Search index snapshot of spectra. */
+	private SearchIndex.Snapshot index_;
+
+	/** Search inputs. */
+	private BasicSearchInput[] inputs_;
+
+	/** Values of status variables at the start of trial. */
+	private long[] status_;
+
+	/** Number of benchmark operations. */
+	private long operations_ = 0L;
+
+	/** Length of the longest SQL text sent. */
+	private int maxLength_ = 0;
+
+	/**
+	 * Starts embedded database, loads spectra and builds the search index.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+
+		// start database
+		database_ = new EmbeddedDatabase();
+		dataSource_ = database_.createDataSource(2);
+
+		// create and load spectra table (IDs are assigned in insertion order starting from 1)
+		try (Connection connection = dataSource_.getConnection()) {
+			try (Statement statement = connection.createStatement()) {
+				statement.executeUpdate("create table spectra(id int auto_increment primary key, name varchar(100) not null, ac_program varchar(50) not null, ac_section varchar(50) not null, fat_mission varchar(50) not null, delivery_ref varchar(50), description varchar(200), num_pilot_points int not null default 0, num_mult_tables int not null default 0, unique key (name))");
+			}
+			try (PreparedStatement statement = connection.prepareStatement("insert into spectra(name, ac_program, ac_section, fat_mission, delivery_ref, description) values(?, ?, ?, ?, ?, ?)")) {
+				for (int i = 0; i < SPECTRA; i++) {
+					statement.setString(1, String.format("SPECTRUM-%05d", i));
+					statement.setString(2, "A" + (300 + i % 4 * 20));
+					statement.setString(3, "Section " + i % 9);
+					statement.setString(4, "Mission " + i % 25);
+					statement.setString(5, "DR-" + i % 40);
+					statement.setString(6, "Spectrum of flight test campaign");
+					statement.addBatch();
+				}
+				statement.executeBatch();
+			}
+		}
+
+		// build search index
+		rebuildExecutor_ = Executors.newSingleThreadExecutor();
+		SearchIndex index = new SearchIndex("spectra", COLUMNS, dataSource_, rebuildExecutor_, Logger.getLogger(SearchStatementBenchmark.class.getName()));
+		index.scheduleRebuild();
+		while ((index_ = index.getSnapshot()) == null) {
+			Thread.sleep(10L);
+		}
+
+		// create search inputs (one keyword each, matching from a few rows to most of the table)
+		inputs_ = new BasicSearchInput[KEYWORDS];
+		for (int i = 0; i < KEYWORDS; i++) {
+			ArrayList<String> keywords = new ArrayList<>();
+			keywords.add(Integer.toString(i));
+			inputs_[i] = new BasicSearchInput();
+			inputs_[i].setKeywords(keywords);
+		}
+
+		// get benchmark connection and record status variables
+		connection_ = dataSource_.getConnection();
+		status_ = new long[STATUS.length];
+		for (int i = 0; i < STATUS.length; i++) {
+			status_[i] = EmbeddedDatabase.getGlobalStatus(connection_, STATUS[i]);
+		}
+	}
+
+	/**
+	 * Prints the number of statements per operation, and stops embedded database.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		System.out.println();
+		for (int i = 0; i < STATUS.length; i++) {
+			long count = EmbeddedDatabase.getGlobalStatus(connection_, STATUS[i]) - status_[i];
+			System.out.printf("%s per operation: %.2f%n", STATUS[i], operations_ == 0L ? 0.0 : (double) count / operations_);
+		}
+		System.out.printf("Longest SQL text: %d characters%n", maxLength_);
+		connection_.close();
+		dataSource_.close();
+		rebuildExecutor_.shutdown();
+		database_.stop();
+	}
+
+	/**
+	 * Searches with like patterns concatenated into a plain statement.
+	 *
+	 * @return Number of hits.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Benchmark
+	public int literalSql() throws Exception {
+
+		// build query
+		BasicSearchInput input = nextInput();
+		String keyword = input.getKeywords().get(0).replace("'", "''");
+		StringBuilder sql = new StringBuilder("select * from spectra where (");
+		for (String column : COLUMNS) {
+			sql.append("(upper(").append(column).append(") like upper('%").append(keyword).append("%')) or ");
+		}
+		sql.setLength(sql.length() - " or ".length());
+		sql.append(") order by name asc, id asc limit ").append(input.getMaxHits() + 1);
+		maxLength_ = Math.max(maxLength_, sql.length());
+
+		// execute query
+		try (Statement statement = connection_.createStatement()) {
+			try (ResultSet resultSet = statement.executeQuery(sql.toString())) {
+				return count(resultSet);
+			}
+		}
+	}
+
+	/**
+	 * Searches with like patterns bound as parameters.
+	 *
+	 * @return Number of hits.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Benchmark
+	public int boundSql() throws Exception {
+		return execute(BasicSpectrumSearch.buildSQL(nextInput(), "name", null));
+	}
+
+	/**
+	 * Searches with search index matches inlined as literal ID list.
+	 *
+	 * @return Number of hits.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Benchmark
+	public int literalIds() throws Exception {
+
+		// build query
+		BasicSearchInput input = nextInput();
+		BitSet rows = BasicSpectrumSearch.matchIndex(index_, input);
+		StringBuilder sql = new StringBuilder("select * from spectra where (");
+		if (rows.isEmpty()) {
+			sql.append("1 = 0");
+		}
+		else {
+			sql.append("id in (");
+			for (int r = rows.nextSetBit(0); r >= 0; r = rows.nextSetBit(r + 1)) {
+				sql.append(r + 1).append(", ");
+			}
+			sql.setLength(sql.length() - 2);
+			sql.append(")");
+		}
+		QueryBuilder query = new QueryBuilder(sql.append(")").toString());
+		DatabaseQueryTask.paginate(query, "name", input);
+
+		// execute query
+		return execute(query);
+	}
+
+	/**
+	 * Searches with search index matches bound as parameter list.
+	 *
+	 * @return Number of hits.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Benchmark
+	public int boundIds() throws Exception {
+		return execute(BasicSpectrumSearch.buildSQL(nextInput(), "name", index_));
+	}
+
+	/**
+	 * Returns the search input of the next operation.
+	 *
+	 * @return The search input of the next operation.
+	 */
+	private BasicSearchInput nextInput() {
+		return inputs_[(int) (operations_++ % KEYWORDS)];
+	}
+
+	/**
+	 * Prepares and executes the given search query.
+	 *
+	 * @param query
+	 *            Search query.
+	 * @return Number of hits.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	private int execute(QueryBuilder query) throws SQLException {
+		maxLength_ = Math.max(maxLength_, query.getSQL().length());
+		try (PreparedStatement statement = query.prepare(connection_)) {
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return count(resultSet);
+			}
+		}
+	}
+
+	/**
+	 * Counts the rows of the given result set.
+	 *
+	 * @param resultSet
+	 *            Result set.
+	 * @return Number of rows.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	private static int count(ResultSet resultSet) throws SQLException {
+		int hits = 0;
+		while (resultSet.next()) {
+			hits++;
+		}
+		return hits;
+	}
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.task;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import equinox.dataServer.utility.EmbeddedDatabase;
+
+/**
+ * Benchmark for fetching pilot point and multiplication table counts of spectrum search hits, against an embedded MariaDB server. Three strategies
+ * are compared:
+ * <ul>
+ * <li><code>perRow</code>: two count queries per hit (the former spectrum searches, N+1 round trips),
+ * <li><code>grouped</code>: one grouped <code>IN (...)</code> count query per table (batched lookup, 3 round trips),
+ * <li><code>counters</code>: materialized counter columns of spectra table (the current spectrum searches, 1 round trip).
+ * </ul>
+ * The number of statements sent to the server per operation is printed at the end of each trial.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 11:34:47
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SpectrumCountBenchmark {
+
+	/** Number of spectra in the database. */
+	private static final int SPECTRA = 2000;
+
+	/** Number of search hits. */
+	@Param({ "10", "100", "500" })
+	private int hits_;
+
+	/** Embedded database server. */
+	private EmbeddedDatabase database_;
+
+	/** Connection pool. */
+	private HikariDataSource dataSource_;
+
+	/** Connection used by the benchmarks. */
+	private Connection connection_;
+
+	/** Value of <code>Questions</code> status variable at the start of trial. */
+	private long questions_;
+
+	/** Number of benchmark operations. */
+	private long operations_ = 0L;
+
+	/**
+	 * Starts embedded database and loads spectra with their pilot points and multiplication tables.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+
+		// start database
+		database_ = new EmbeddedDatabase();
+		dataSource_ = database_.createDataSource(2);
+
+		// create tables
+		try (Connection connection = dataSource_.getConnection()) {
+			try (Statement statement = connection.createStatement()) {
+				statement.executeUpdate("create table spectra(id int auto_increment primary key, name varchar(100) not null, ac_program varchar(50) not null, num_pilot_points int not null default 0, num_mult_tables int not null default 0, unique key (name))");
+				statement.executeUpdate("create table pilot_points(id int auto_increment primary key, spectrum_name varchar(100) not null, key (spectrum_name))");
+				statement.executeUpdate("create table mult_tables(id int auto_increment primary key, spectrum_name varchar(100) not null, key (spectrum_name))");
+			}
+
+			// insert spectra and connected items (spectrum i has i % 10 pilot points and i % 5 multiplication tables)
+			try (PreparedStatement spectrum = connection.prepareStatement("insert into spectra(name, ac_program, num_pilot_points, num_mult_tables) values(?, ?, ?, ?)")) {
+				try (PreparedStatement pp = connection.prepareStatement("insert into pilot_points(spectrum_name) values(?)")) {
+					try (PreparedStatement mult = connection.prepareStatement("insert into mult_tables(spectrum_name) values(?)")) {
+						for (int i = 0; i < SPECTRA; i++) {
+							String name = String.format("SPECTRUM-%04d", i);
+							spectrum.setString(1, name);
+							spectrum.setString(2, "A" + i % 4);
+							spectrum.setInt(3, i % 10);
+							spectrum.setInt(4, i % 5);
+							spectrum.addBatch();
+							for (int j = 0; j < i % 10; j++) {
+								pp.setString(1, name);
+								pp.addBatch();
+							}
+							for (int j = 0; j < i % 5; j++) {
+								mult.setString(1, name);
+								mult.addBatch();
+							}
+						}
+						spectrum.executeBatch();
+						pp.executeBatch();
+						mult.executeBatch();
+					}
+				}
+			}
+		}
+
+		// get benchmark connection and record statement count
+		connection_ = dataSource_.getConnection();
+		questions_ = EmbeddedDatabase.getGlobalStatus(connection_, "Questions");
+	}
+
+	/**
+	 * Prints the number of statements per operation, and stops embedded database.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		long questions = EmbeddedDatabase.getGlobalStatus(connection_, "Questions") - questions_ - 1L;
+		System.out.printf("%nStatements per operation: %.1f%n", operations_ == 0L ? 0.0 : (double) questions / operations_);
+		connection_.close();
+		dataSource_.close();
+		database_.stop();
+	}
+
+	/**
+	 * Fetches counts with two count queries per hit.
+	 *
+	 * @return Total number of connected items.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	@Benchmark
+	public long perRow() throws SQLException {
+		operations_++;
+		long total = 0L;
+		try (PreparedStatement statement = connection_.prepareStatement("select name from spectra order by name limit ?")) {
+			statement.setInt(1, hits_);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				try (PreparedStatement countPPs = connection_.prepareStatement("select count(id) as numpps from pilot_points where spectrum_name = ?")) {
+					try (PreparedStatement countMultTables = connection_.prepareStatement("select count(id) as nummults from mult_tables where spectrum_name = ?")) {
+						while (resultSet.next()) {
+							countPPs.setString(1, resultSet.getString("name"));
+							try (ResultSet resultSet2 = countPPs.executeQuery()) {
+								if (resultSet2.next()) {
+									total += resultSet2.getInt("numpps");
+								}
+							}
+							countMultTables.setString(1, resultSet.getString("name"));
+							try (ResultSet resultSet2 = countMultTables.executeQuery()) {
+								if (resultSet2.next()) {
+									total += resultSet2.getInt("nummults");
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Fetches counts with one grouped <code>IN (...)</code> query per table.
+	 *
+	 * @return Total number of connected items.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	@Benchmark
+	public long grouped() throws SQLException {
+		operations_++;
+
+		// get hits
+		HashMap<String, int[]> counts = new HashMap<>();
+		List<String> names = new ArrayList<>();
+		try (PreparedStatement statement = connection_.prepareStatement("select name from spectra order by name limit ?")) {
+			statement.setInt(1, hits_);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					names.add(resultSet.getString("name"));
+					counts.put(resultSet.getString("name"), new int[2]);
+				}
+			}
+		}
+
+		// count connected items
+		count(names, "pilot_points", 0, counts);
+		count(names, "mult_tables", 1, counts);
+		long total = 0L;
+		for (int[] count : counts.values()) {
+			total += count[0] + count[1];
+		}
+		return total;
+	}
+
+	/**
+	 * Reads counts from materialized counter columns.
+	 *
+	 * @return Total number of connected items.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	@Benchmark
+	public long counters() throws SQLException {
+		operations_++;
+		long total = 0L;
+		try (PreparedStatement statement = connection_.prepareStatement("select name, num_pilot_points, num_mult_tables from spectra order by name limit ?")) {
+			statement.setInt(1, hits_);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					total += resultSet.getInt("num_pilot_points") + resultSet.getInt("num_mult_tables");
+				}
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Counts connected items of given table for the given spectrum names.
+	 *
+	 * @param names
+	 *            Spectrum names.
+	 * @param table
+	 *            Table containing the connected items.
+	 * @param index
+	 *            Index of the count in the count arrays.
+	 * @param counts
+	 *            Count arrays mapped to spectrum names.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	private void count(List<String> names, String table, int index, HashMap<String, int[]> counts) throws SQLException {
+		StringBuilder sql = new StringBuilder("select spectrum_name, count(id) as num from " + table + " where spectrum_name in (");
+		for (int i = 0; i < names.size(); i++) {
+			sql.append(i == 0 ? "?" : ", ?");
+		}
+		sql.append(") group by spectrum_name");
+		try (PreparedStatement statement = connection_.prepareStatement(sql.toString())) {
+			for (int i = 0; i < names.size(); i++) {
+				statement.setString(i + 1, names.get(i));
+			}
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					counts.get(resultSet.getString("spectrum_name"))[index] += resultSet.getInt("num");
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,14 @@
+-- Materialized spectrum connection counters.
+--
+-- Adds the numbers of connected pilot points and multiplication tables to the spectra table, and computes them for the existing spectra.
+-- The server keeps the counters up to date in the transactions which upload, update or delete spectra, pilot points and multiplication tables.
+-- Run this script once, before starting a server version which reads the counters. Counters can later be recomputed from the server console
+-- with the 'reconcile counters' command.
+
+alter table spectra
+	add column num_pilot_points int not null default 0,
+	add column num_mult_tables int not null default 0;
+
+update spectra set
+	num_pilot_points = (select count(id) from pilot_points where pilot_points.spectrum_name = spectra.name),
+	num_mult_tables = (select count(id) from mult_tables where mult_tables.spectrum_name = spectra.name);
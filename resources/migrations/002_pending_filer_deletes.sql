@@ -0,0 +1,14 @@
+-- Pending filer deletes queue.
+--
+-- Creates the table in which the filer files of deleted database entries are recorded, within the same transaction as the database deletion.
+-- The server removes the recorded files from the filer after the transaction is committed, and periodically retries the files which couldn't be
+-- removed. Run this script once, before starting a server version which deletes filer files through the queue.
+
+create table pending_filer_deletes(
+	id bigint not null auto_increment,
+	url varchar(500) not null,
+	attempts int not null default 0,
+	created timestamp not null default current_timestamp,
+	primary key(id),
+	index(url)
+);
@@ -20,6 +20,7 @@ import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.sql.SQLException;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
@@ -30,6 +31,7 @@ import equinox.dataServer.remote.data.PeriodicDataServerStatistic;
 import equinox.dataServer.server.DataServer;
 import equinox.dataServer.utility.AdminAnswer;
 import equinox.dataServer.utility.ServerCommand;
+import equinox.dataServer.utility.Utility;
 
 /**
  * Class for the entry point of the data server.
@@ -121,6 +123,11 @@ public class EntryPoint {
 					else if (ServerCommand.STATISTICS.matches(line)) {
 						statistics(stdOut, server);
 					}
+
+					// reconcile spectrum connection counters
+					else if (ServerCommand.RECONCILE_COUNTERS.matches(line)) {
+						reconcileCounters(stdOut, server);
+					}
 				}
 			}
 		}
@@ -297,7 +304,7 @@ public class EntryPoint {
 		stdOut.newLine();
 
 		// write server statistics
-		for (PeriodicDataServerStatistic stat : server.getStatistics()) {
+		for (PeriodicDataServerStatistic stat : server.getStatistics().snapshot()) {
 			stdOut.write("\t" + stat.toString());
 			stdOut.newLine();
 		}
@@ -326,6 +333,130 @@ public class EntryPoint {
 		stdOut.write("}");
 		stdOut.newLine();
 		stdOut.flush();
+
+		// write header
+		stdOut.write("Filer connection pool {");
+		stdOut.newLine();
+
+		// write filer connection pool metrics
+		for (String metric : server.getFilerConnectionPool().getMetrics()) {
+			stdOut.write("\t" + metric);
+			stdOut.newLine();
+		}
+
+		// flush
+		stdOut.write("}");
+		stdOut.newLine();
+		stdOut.flush();
+
+		// write header
+		stdOut.write("Reference data cache {");
+		stdOut.newLine();
+
+		// write reference data cache metrics
+		for (String metric : server.getReferenceDataCache().getMetrics()) {
+			stdOut.write("\t" + metric);
+			stdOut.newLine();
+		}
+
+		// flush
+		stdOut.write("}");
+		stdOut.newLine();
+		stdOut.flush();
+
+		// write header
+		stdOut.write("Search indexes {");
+		stdOut.newLine();
+
+		// write search index metrics
+		for (String metric : server.getSearchIndexes().getMetrics()) {
+			stdOut.write("\t" + metric);
+			stdOut.newLine();
+		}
+
+		// flush
+		stdOut.write("}");
+		stdOut.newLine();
+		stdOut.flush();
+
+		// write header
+		stdOut.write("Plot rollups {");
+		stdOut.newLine();
+
+		// write plot rollup metrics
+		for (String metric : server.getPlotRollups().getMetrics()) {
+			stdOut.write("\t" + metric);
+			stdOut.newLine();
+		}
+
+		// flush
+		stdOut.write("}");
+		stdOut.newLine();
+		stdOut.flush();
+
+		// write header
+		stdOut.write("Request metrics {");
+		stdOut.newLine();
+
+		// write request metrics
+		for (String metric : server.getRequestMetrics().getMetrics()) {
+			stdOut.write("\t" + metric);
+			stdOut.newLine();
+		}
+
+		// flush
+		stdOut.write("}");
+		stdOut.newLine();
+		stdOut.flush();
+
+		// write header
+		stdOut.write("Slow query log {");
+		stdOut.newLine();
+
+		// write slow query log metrics
+		for (String metric : server.getSlowQueryLog().getMetrics()) {
+			stdOut.write("\t" + metric);
+			stdOut.newLine();
+		}
+
+		// flush
+		stdOut.write("}");
+		stdOut.newLine();
+		stdOut.flush();
+	}
+
+	/**
+	 * Recomputes the materialized connected pilot point and multiplication table counters of all spectra.
+	 *
+	 * @param stdOut
+	 *            Output stream.
+	 * @param server
+	 *            Server instance.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void reconcileCounters(BufferedWriter stdOut, DataServer server) throws Exception {
+
+		// write header
+		stdOut.write("Reconcile spectrum connection counters {");
+		stdOut.newLine();
+
+		// reconcile counters
+		try {
+			int reconciled = Utility.reconcileSpectrumConnectionCounts(server.getDCP(), server.getLogger());
+			stdOut.write("\tCounters reconciled for " + reconciled + " spectra.");
+		}
+
+		// exception occurred during process
+		catch (SQLException e) {
+			stdOut.write("\tReconciliation failed: " + e.getMessage());
+		}
+
+		// flush
+		stdOut.newLine();
+		stdOut.write("}");
+		stdOut.newLine();
+		stdOut.flush();
 	}
 
 	/**
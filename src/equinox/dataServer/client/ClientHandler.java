@@ -58,25 +58,23 @@ public class ClientHandler extends Listener {
 		if (connection == null || object == null || connection instanceof ClientConnection == false || object instanceof NetworkMessage == false)
 			return;
 
-		// respond
-		server_.getThreadPool().submit(() -> {
+		// route message on the network update thread (only cheap checks, partial message buffering and the dispatch table lookup are done here, the rest is done on the task executor)
 
-			// cast to client connection
-			ClientConnection cc = (ClientConnection) connection;
+		// cast to client connection
+		ClientConnection cc = (ClientConnection) connection;
 
-			// cast to network message
-			NetworkMessage networkMessage = (NetworkMessage) object;
+		// cast to network message
+		NetworkMessage networkMessage = (NetworkMessage) object;
 
-			// unknown client (hand shake required)
-			if (cc.getClient() == null) {
-				handShake(cc, networkMessage);
-			}
+		// unknown client (hand shake required)
+		if (cc.getClient() == null) {
+			handShake(cc, networkMessage);
+		}
 
-			// known client
-			else {
-				processClient(cc, networkMessage);
-			}
-		});
+		// known client
+		else {
+			processClient(cc, networkMessage);
+		}
 	}
 
 	@Override
@@ -126,7 +124,7 @@ public class ClientHandler extends Listener {
 			}
 
 			// process handshake
-			server_.getThreadPool().submit(new ProcessHandshake(cc, handshake, server_));
+			server_.getTaskExecutor().submit(new ProcessHandshake(cc, handshake, server_));
 		}
 
 		// exception occurred during responding to client request
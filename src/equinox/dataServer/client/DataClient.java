@@ -24,7 +24,10 @@ import java.util.logging.Level;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import equinox.dataServer.server.EncodedResponse;
 import equinox.dataServer.server.Lobby;
+import equinox.dataServer.server.RequestMetrics;
+import equinox.dataServer.server.TaskCategory;
 import equinox.serverUtilities.BigMessage;
 import equinox.serverUtilities.NetworkMessage;
 import equinox.serverUtilities.PartialMessage;
@@ -185,6 +188,22 @@ public class DataClient {
 	 */
 	synchronized public int sendMessage(NetworkMessage message) {
 
+		// send message and record its serialization time and size
+		long start = System.nanoTime();
+		int bytesSent = send(message);
+		RequestMetrics.recordSent(bytesSent, System.nanoTime() - start);
+		return bytesSent;
+	}
+
+	/**
+	 * Serializes and sends given message to this client.
+	 *
+	 * @param message
+	 *            Message to send.
+	 * @return The number of bytes sent.
+	 */
+	private int send(NetworkMessage message) {
+
 		try {
 
 			// not a big message
@@ -217,6 +236,36 @@ public class DataClient {
 		}
 	}
 
+	/**
+	 * Sends given pre-encoded response to this client as partial messages.
+	 *
+	 * @param response
+	 *            Pre-encoded response to send. The response must be big enough to be split.
+	 * @param listenerHashCode
+	 *            Listener hash code of the request.
+	 * @return The number of bytes sent.
+	 */
+	synchronized public int sendMessage(EncodedResponse response, int listenerHashCode) {
+
+		try {
+
+			// send parts
+			long start = System.nanoTime();
+			int bytesSent = 0;
+			for (PartialMessage part : response.split(listenerHashCode)) {
+				bytesSent += connection_.sendTCP(part);
+			}
+			RequestMetrics.recordSent(bytesSent, System.nanoTime() - start);
+			return bytesSent;
+		}
+
+		// exception occurred during sending message
+		catch (Exception e) {
+			lobby_.getServer().getLogger().log(Level.WARNING, "Exception occurred during sending message to client.", e);
+			return 0;
+		}
+	}
+
 	/**
 	 * Disconnects this client by closing its connection.
 	 */
@@ -225,14 +274,13 @@ public class DataClient {
 	}
 
 	/**
-	 * Responds to partial messages received from the client.
+	 * Responds to partial messages received from the client. Note that, this method is only called from the network update thread. Parts are only buffered
+	 * on the network update thread, completed messages are combined and responded on the task executor.
 	 *
 	 * @param part
 	 *            Partial message to respond.
-	 * @throws Exception
-	 *             If exception occurs during process.
 	 */
-	public void receivePartialMessage(PartialMessage part) throws Exception {
+	public void receivePartialMessage(PartialMessage part) {
 
 		// get message parameters
 		int id = part.getID();
@@ -257,11 +305,21 @@ public class DataClient {
 			if (p == null)
 				return;
 
-		// combine parts and respond with client lobby
-		lobby_.respond(this, SplitMessage.combineMessages(parts));
-
 		// remove parts
 		partialMessages_.remove(id);
+
+		// combine parts and respond with client lobby (on the task executor)
+		PartialMessage[] completed = parts;
+		lobby_.getServer().getTaskExecutor().submit(TaskCategory.INTERACTIVE, () -> {
+			try {
+				lobby_.respond(this, SplitMessage.combineMessages(completed));
+			}
+
+			// exception occurred during responding to client request
+			catch (Exception e) {
+				lobby_.getServer().getLogger().log(Level.WARNING, "Exception occurred during responding to client request.", e);
+			}
+		});
 	}
 
 	@Override
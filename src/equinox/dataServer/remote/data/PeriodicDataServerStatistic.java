@@ -36,6 +36,15 @@ public class PeriodicDataServerStatistic implements Serializable {
 	/** Statistics. */
 	private int clients, queries, failedQueries, threadPoolSize, activeThreads;
 
+	/** Database query latency percentiles in milliseconds. */
+	private double latency50, latency95, latency99;
+
+	/** Request class with the highest 99th percentile latency. */
+	private String slowestRequest;
+
+	/** 99th percentile latency of the slowest request class in milliseconds. */
+	private double slowestLatency99;
+
 	/**
 	 * No argument constructor for serialization.
 	 */
@@ -43,6 +52,16 @@ public class PeriodicDataServerStatistic implements Serializable {
 		recorded = new Date();
 	}
 
+	/**
+	 * Creates periodic data server statistic with the given record time.
+	 *
+	 * @param recorded
+	 *            Record time.
+	 */
+	public PeriodicDataServerStatistic(Date recorded) {
+		this.recorded = recorded;
+	}
+
 	/**
 	 * Sets number of connected clients.
 	 *
@@ -93,6 +112,22 @@ public class PeriodicDataServerStatistic implements Serializable {
 		this.activeThreads = activeThreads;
 	}
 
+	/**
+	 * Sets database query latency percentiles.
+	 *
+	 * @param latency50
+	 *            50th percentile (median) latency in milliseconds.
+	 * @param latency95
+	 *            95th percentile latency in milliseconds.
+	 * @param latency99
+	 *            99th percentile latency in milliseconds.
+	 */
+	public void setLatencies(double latency50, double latency95, double latency99) {
+		this.latency50 = latency50;
+		this.latency95 = latency95;
+		this.latency99 = latency99;
+	}
+
 	/**
 	 * Returns the record time.
 	 *
@@ -147,6 +182,64 @@ public class PeriodicDataServerStatistic implements Serializable {
 		return activeThreads;
 	}
 
+	/**
+	 * Sets the request class with the highest 99th percentile latency.
+	 *
+	 * @param slowestRequest
+	 *            Request class with the highest 99th percentile latency. Can be null if there was no request.
+	 * @param slowestLatency99
+	 *            99th percentile latency of the request class in milliseconds.
+	 */
+	public void setSlowestRequest(String slowestRequest, double slowestLatency99) {
+		this.slowestRequest = slowestRequest;
+		this.slowestLatency99 = slowestLatency99;
+	}
+
+	/**
+	 * Returns the 50th percentile (median) database query latency.
+	 *
+	 * @return The 50th percentile database query latency in milliseconds.
+	 */
+	public double getLatency50() {
+		return latency50;
+	}
+
+	/**
+	 * Returns the 95th percentile database query latency.
+	 *
+	 * @return The 95th percentile database query latency in milliseconds.
+	 */
+	public double getLatency95() {
+		return latency95;
+	}
+
+	/**
+	 * Returns the 99th percentile database query latency.
+	 *
+	 * @return The 99th percentile database query latency in milliseconds.
+	 */
+	public double getLatency99() {
+		return latency99;
+	}
+
+	/**
+	 * Returns the request class with the highest 99th percentile latency.
+	 *
+	 * @return The request class with the highest 99th percentile latency, or null if there was no request.
+	 */
+	public String getSlowestRequest() {
+		return slowestRequest;
+	}
+
+	/**
+	 * Returns the 99th percentile latency of the slowest request class.
+	 *
+	 * @return The 99th percentile latency of the slowest request class in milliseconds.
+	 */
+	public double getSlowestLatency99() {
+		return slowestLatency99;
+	}
+
 	@Override
 	public String toString() {
 		String text = "Recorded: " + recorded.toString();
@@ -155,6 +248,10 @@ public class PeriodicDataServerStatistic implements Serializable {
 		text += ", Failed Queries: " + failedQueries;
 		text += ", Thread Pool Size: " + threadPoolSize;
 		text += ", Active Threads: " + activeThreads;
+		text += ", Query Latency (p50/p95/p99 ms): " + String.format("%.1f/%.1f/%.1f", latency50, latency95, latency99);
+		if (slowestRequest != null) {
+			text += ", Slowest Request (p99 ms): " + slowestRequest + String.format(" (%.1f)", slowestLatency99);
+		}
 		return text;
 	}
 }
\ No newline at end of file
@@ -32,12 +32,21 @@ public abstract class SearchInput implements Serializable {
 	/** Order results by criteria. */
 	public static final String NAME = "Name", PROGRAM = "Aircraft program", SECTION = "Aircraft section", MISSION = "Fatigue mission", DELIVERY = "Delivery reference";
 
-	/** Maximum number of results. */
+	/** Maximum number of results (page size). */
 	private int maxHits_ = 100;
 
+	/** Page cursor (order by value and ID of the last result of the previous page). Cursor ID is -1 for the first page. */
+	private String cursorValue_ = null;
+
+	/** Page cursor ID. */
+	private long cursorId_ = -1L;
+
 	/** Options. */
 	private boolean isAndOperator_ = true, isIgnoreCase_ = true, isAscending_ = true;
 
+	/** True if search results should be streamed in chunks. */
+	private boolean isStreaming_ = false;
+
 	/** Order results by criteria. */
 	private String orderBy_ = NAME;
 
@@ -57,7 +66,7 @@ public abstract class SearchInput implements Serializable {
 	}
 
 	/**
-	 * Returns maximum number of results.
+	 * Returns maximum number of results. This is the page size of paginated searches.
 	 *
 	 * @return Maximum number of results.
 	 */
@@ -65,6 +74,33 @@ public abstract class SearchInput implements Serializable {
 		return maxHits_;
 	}
 
+	/**
+	 * Returns the order by value of the page cursor.
+	 *
+	 * @return The order by value of the page cursor.
+	 */
+	public String getCursorValue() {
+		return cursorValue_;
+	}
+
+	/**
+	 * Returns the ID of the page cursor, or -1 if the first page is requested.
+	 *
+	 * @return The ID of the page cursor, or -1 if the first page is requested.
+	 */
+	public long getCursorId() {
+		return cursorId_;
+	}
+
+	/**
+	 * Returns true if a page other than the first page is requested.
+	 *
+	 * @return True if a page other than the first page is requested.
+	 */
+	public boolean hasCursor() {
+		return cursorId_ != -1L;
+	}
+
 	/**
 	 * Returns true if the logical operator is 'AND'. False if it is 'OR'.
 	 *
@@ -92,6 +128,15 @@ public abstract class SearchInput implements Serializable {
 		return isAscending_;
 	}
 
+	/**
+	 * Returns true if search results should be streamed in chunks.
+	 *
+	 * @return True if search results should be streamed in chunks.
+	 */
+	public boolean isStreaming() {
+		return isStreaming_;
+	}
+
 	/**
 	 * Sets maximum number of results.
 	 *
@@ -102,6 +147,30 @@ public abstract class SearchInput implements Serializable {
 		maxHits_ = maxHits;
 	}
 
+	/**
+	 * Sets page cursor. Results after the given cursor are returned. The cursor of the next page is contained in search responses.
+	 *
+	 * @param cursorValue
+	 *            Order by value of the last result of the previous page (null if the value is null).
+	 * @param cursorId
+	 *            ID of the last result of the previous page, or -1 for the first page.
+	 */
+	public void setCursor(String cursorValue, long cursorId) {
+		cursorValue_ = cursorValue;
+		cursorId_ = cursorId;
+	}
+
+	/**
+	 * Sets whether search results should be streamed in chunks. Streamed results are sent as incomplete search responses as soon as they are available,
+	 * followed by a complete search response.
+	 *
+	 * @param isStreaming
+	 *            True if search results should be streamed in chunks.
+	 */
+	public void setStreaming(boolean isStreaming) {
+		isStreaming_ = isStreaming;
+	}
+
 	/**
 	 * Sets order results by criteria.
 	 *
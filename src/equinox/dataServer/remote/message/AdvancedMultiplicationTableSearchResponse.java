@@ -27,7 +27,7 @@ import equinox.serverUtilities.BigMessage;
  * @date 23 Jan 2018
  * @time 00:47:59
  */
-public class AdvancedMultiplicationTableSearchResponse extends DataMessage implements BigMessage {
+public class AdvancedMultiplicationTableSearchResponse extends SearchResponse implements BigMessage {
 
 	/** Serial ID. */
 	private static final long serialVersionUID = 1L;
@@ -27,7 +27,7 @@ import equinox.serverUtilities.BigMessage;
  * @date 24 Jan 2018
  * @time 10:07:54
  */
-public class AdvancedPilotPointSearchResponse extends DataMessage implements BigMessage {
+public class AdvancedPilotPointSearchResponse extends SearchResponse implements BigMessage {
 
 	/** Serial ID. */
 	private static final long serialVersionUID = 1L;
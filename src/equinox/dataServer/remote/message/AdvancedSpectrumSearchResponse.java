@@ -27,7 +27,7 @@ import equinox.serverUtilities.BigMessage;
  * @date 24 Jan 2018
  * @time 14:03:00
  */
-public class AdvancedSpectrumSearchResponse extends DataMessage implements BigMessage {
+public class AdvancedSpectrumSearchResponse extends SearchResponse implements BigMessage {
 
 	/** Serial ID. */
 	private static final long serialVersionUID = 1L;
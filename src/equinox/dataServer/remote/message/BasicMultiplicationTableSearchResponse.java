@@ -27,7 +27,7 @@ import equinox.serverUtilities.BigMessage;
  * @date 24 Jan 2018
  * @time 14:35:18
  */
-public class BasicMultiplicationTableSearchResponse extends DataMessage implements BigMessage {
+public class BasicMultiplicationTableSearchResponse extends SearchResponse implements BigMessage {
 
 	/** Serial ID. */
 	private static final long serialVersionUID = 1L;
@@ -27,7 +27,7 @@ import equinox.serverUtilities.BigMessage;
  * @date 24 Jan 2018
  * @time 15:05:16
  */
-public class BasicPilotPointSearchResponse extends DataMessage implements BigMessage {
+public class BasicPilotPointSearchResponse extends SearchResponse implements BigMessage {
 
 	/** Serial ID. */
 	private static final long serialVersionUID = 1L;
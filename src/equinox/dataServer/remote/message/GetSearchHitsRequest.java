@@ -27,9 +27,34 @@ public class GetSearchHitsRequest extends DataMessage {
 	/** Serial id. */
 	private static final long serialVersionUID = 1L;
 
+	/** Time window of search hits. */
+	public static final int ALL_TIME = 0, LAST_HOUR = 1, LAST_DAY = 2, LAST_WEEK = 3;
+
+	/** Time window of search hits. */
+	private int window = ALL_TIME;
+
 	/**
 	 * No argument constructor for serialization.
 	 */
 	public GetSearchHitsRequest() {
 	}
+
+	/**
+	 * Returns time window of search hits.
+	 *
+	 * @return Time window of search hits.
+	 */
+	public int getWindow() {
+		return window;
+	}
+
+	/**
+	 * Sets time window of search hits. Default is all time.
+	 *
+	 * @param window
+	 *            Time window of search hits. One of {@link #ALL_TIME}, {@link #LAST_HOUR}, {@link #LAST_DAY} or {@link #LAST_WEEK}.
+	 */
+	public void setWindow(int window) {
+		this.window = window;
+	}
 }
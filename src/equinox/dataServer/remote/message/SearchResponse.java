@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.remote.message;
+
+import java.util.ArrayList;
+
+import equinox.dataServer.remote.data.DownloadInfo;
+
+/**
+ * Abstract class for paginated search response messages. If there are more results than the page size, the response contains the cursor of the next
+ * page, which should be set to the search input of the next request.
+ * <p>
+ * Results of streaming searches are sent in chunks of incomplete responses, followed by a complete response containing the remaining results and the
+ * next page cursor.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 19:48:05
+ */
+public abstract class SearchResponse extends DataMessage {
+
+	/** Serial ID. */
+	private static final long serialVersionUID = 1L;
+
+	/** Order by value of the next page cursor. */
+	private String nextCursorValue = null;
+
+	/** ID of the next page cursor (-1 if there is no next page). */
+	private long nextCursorId = -1L;
+
+	/** True if this is the last response of the search. */
+	private boolean complete = true;
+
+	/**
+	 * Clears search results.
+	 */
+	public abstract void reset();
+
+	/**
+	 * Adds search result.
+	 *
+	 * @param result
+	 *            Search result to add.
+	 */
+	public abstract void add(DownloadInfo result);
+
+	/**
+	 * Returns search results.
+	 *
+	 * @return Search results.
+	 */
+	public abstract ArrayList<DownloadInfo> getSearchResults();
+
+	/**
+	 * Sets whether this is the last response of the search.
+	 *
+	 * @param complete
+	 *            True if this is the last response of the search.
+	 */
+	public void setComplete(boolean complete) {
+		this.complete = complete;
+	}
+
+	/**
+	 * Returns true if this is the last response of the search. Responses of streaming searches are incomplete until the last chunk.
+	 *
+	 * @return True if this is the last response of the search.
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * Sets the cursor of the next page.
+	 *
+	 * @param cursorValue
+	 *            Order by value of the last result of this page (null if the value is null).
+	 * @param cursorId
+	 *            ID of the last result of this page.
+	 */
+	public void setNextPage(String cursorValue, long cursorId) {
+		nextCursorValue = cursorValue;
+		nextCursorId = cursorId;
+	}
+
+	/**
+	 * Returns true if there are more results after this page.
+	 *
+	 * @return True if there are more results after this page.
+	 */
+	public boolean hasNextPage() {
+		return nextCursorId != -1L;
+	}
+
+	/**
+	 * Returns the order by value of the next page cursor.
+	 *
+	 * @return The order by value of the next page cursor.
+	 */
+	public String getNextCursorValue() {
+		return nextCursorValue;
+	}
+
+	/**
+	 * Returns the ID of the next page cursor, or -1 if there is no next page.
+	 *
+	 * @return The ID of the next page cursor, or -1 if there is no next page.
+	 */
+	public long getNextCursorId() {
+		return nextCursorId;
+	}
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class for cache region. Cache region is a size bounded, least recently used map of values with a time to live. Values which are not in the region (or
+ * expired) are loaded with the supplied loader. Values loaded while the region is being invalidated are not cached, so that invalidation cannot be undone
+ * by a concurrent load.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 18:20:44
+ * @param <V>
+ *            Value type.
+ */
+public class CacheRegion<V> {
+
+	/** Region name. */
+	private final String name_;
+
+	/** Maximum number of entries. */
+	private final int maxEntries_;
+
+	/** Time to live of entries in milliseconds. */
+	private final long ttl_;
+
+	/** Cache entries (in access order). */
+	private final LinkedHashMap<String, Entry<V>> entries_;
+
+	/** Generation of the region (incremented at every invalidation). */
+	private long generation_ = 0L;
+
+	/** Metrics. */
+	private final LongAdder hits_ = new LongAdder(), misses_ = new LongAdder(), evictions_ = new LongAdder(), invalidations_ = new LongAdder();
+
+	/**
+	 * Creates cache region.
+	 *
+	 * @param name
+	 *            Region name.
+	 * @param maxEntries
+	 *            Maximum number of entries.
+	 * @param ttl
+	 *            Time to live of entries in milliseconds.
+	 */
+	public CacheRegion(String name, int maxEntries, long ttl) {
+		name_ = name;
+		maxEntries_ = maxEntries;
+		ttl_ = ttl;
+		entries_ = new LinkedHashMap<String, Entry<V>>(16, 0.75f, true) {
+
+			/** Serial ID. */
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+				boolean remove = size() > maxEntries_;
+				if (remove) {
+					evictions_.increment();
+				}
+				return remove;
+			}
+		};
+	}
+
+	/**
+	 * Returns the value mapped to the given key. The value is loaded with the given loader if it is not cached or expired.
+	 *
+	 * @param key
+	 *            Key.
+	 * @param loader
+	 *            Value loader.
+	 * @return The value mapped to the given key.
+	 * @throws Exception
+	 *             If exception occurs during loading value.
+	 */
+	public V get(String key, Loader<V> loader) throws Exception {
+
+		// get cached value
+		long generation;
+		long now = System.currentTimeMillis();
+		synchronized (entries_) {
+			Entry<V> entry = entries_.get(key);
+			if (entry != null && now < entry.expiry_) {
+				hits_.increment();
+				return entry.value_;
+			}
+			generation = generation_;
+		}
+
+		// load value
+		misses_.increment();
+		V value = loader.load();
+
+		// cache value (if region wasn't invalidated meanwhile)
+		synchronized (entries_) {
+			if (generation == generation_) {
+				entries_.put(key, new Entry<>(value, now + ttl_));
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Removes all entries of the region.
+	 */
+	public void invalidate() {
+		synchronized (entries_) {
+			entries_.clear();
+			generation_++;
+		}
+		invalidations_.increment();
+	}
+
+	/**
+	 * Returns region metrics as text.
+	 *
+	 * @return Region metrics.
+	 */
+	public String getMetrics() {
+		int size;
+		synchronized (entries_) {
+			size = entries_.size();
+		}
+		long hits = hits_.sum(), misses = misses_.sum();
+		double hitRatio = hits + misses == 0 ? 0.0 : 100.0 * hits / (hits + misses);
+		return name_ + ": entries " + size + "/" + maxEntries_ + ", hits " + hits + ", misses " + misses + ", hit ratio " + String.format("%.1f", hitRatio) + "%, evictions " + evictions_.sum() + ", invalidations " + invalidations_.sum();
+	}
+
+	/**
+	 * Interface for value loader.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 18:22:10
+	 * @param <V>
+	 *            Value type.
+	 */
+	@FunctionalInterface
+	public interface Loader<V> {
+
+		/**
+		 * Loads and returns the value.
+		 *
+		 * @return The loaded value.
+		 * @throws Exception
+		 *             If exception occurs during process.
+		 */
+		V load() throws Exception;
+	}
+
+	/**
+	 * Inner class for cache entry.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 18:22:48
+	 * @param <V>
+	 *            Value type.
+	 */
+	private static class Entry<V> {
+
+		/** Cached value. */
+		private final V value_;
+
+		/** Expiry time. */
+		private final long expiry_;
+
+		/**
+		 * Creates cache entry.
+		 *
+		 * @param value
+		 *            Cached value.
+		 * @param expiry
+		 *            Expiry time.
+		 */
+		Entry(V value, long expiry) {
+			value_ = value;
+			expiry_ = expiry;
+		}
+	}
+}
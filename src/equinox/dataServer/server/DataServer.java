@@ -20,29 +20,25 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import com.esotericsoftware.kryonet.Server;
 import com.zaxxer.hikari.HikariDataSource;
 
 import equinox.dataServer.client.DataClient;
-import equinox.dataServer.remote.data.PeriodicDataServerStatistic;
+import equinox.dataServer.remote.message.GetSearchHitsRequest;
 import equinox.dataServer.task.CollectServerStatistics;
+import equinox.dataServer.task.RetryPendingFilerDeletes;
 import equinox.dataServer.utility.Utility;
 
 /**
@@ -61,10 +57,28 @@ public class DataServer extends Thread {
 	private final Logger logger_;
 
 	/** Database connection pool. */
-	private final HikariDataSource dcpEngine_;
+	private final InstrumentedDataSource dcpEngine_;
 
-	/** Cached thread pool. */
-	private final ExecutorService threadPool_;
+	/** Task executor. */
+	private final TaskExecutor taskExecutor_;
+
+	/** Filer connection pool. */
+	private final FilerConnectionPool filerPool_;
+
+	/** Filer delete queue. */
+	private final FilerDeleteQueue filerDeleteQueue_;
+
+	/** Reference data cache. */
+	private final ReferenceDataCache referenceDataCache_;
+
+	/** Search indexes. */
+	private final SearchIndexes searchIndexes_;
+
+	/** Plot rollups. */
+	private final PlotRollups plotRollups_;
+
+	/** Metrics endpoint. */
+	private final MetricsEndpoint metricsEndpoint_;
 
 	/** Scheduled thread pool. */
 	private final ScheduledExecutorService scheduledThreadPool_;
@@ -82,10 +96,16 @@ public class DataServer extends Thread {
 	private final AtomicInteger queryRequests_, failedQueries_;
 
 	/** Data server statistics. */
-	private final ArrayList<PeriodicDataServerStatistic> statistics_;
+	private final StatisticTimeSeries statistics_;
+
+	/** Database query latency histogram. */
+	private final LatencyHistogram queryLatency_;
+
+	/** Per-request-class metrics. */
+	private final RequestMetrics requestMetrics_;
 
 	/** Search hits. */
-	private final Map<String, Integer> searchHits_;
+	private final SearchHits searchHits_;
 
 	/** True if the server is shut down. */
 	private volatile boolean isShutDown_ = false;
@@ -110,11 +130,24 @@ public class DataServer extends Thread {
 		// setup database connection pool
 		dcpEngine_ = Utility.setupDCPEngine(properties_, logger_);
 
+		// setup filer connection pool
+		filerPool_ = new FilerConnectionPool(properties_, logger_);
+		filerDeleteQueue_ = new FilerDeleteQueue(properties_, logger_, dcpEngine_, filerPool_);
+
+		// create reference data cache
+		referenceDataCache_ = new ReferenceDataCache(properties_);
+
+		// create search indexes
+		searchIndexes_ = new SearchIndexes(properties_, logger_, dcpEngine_);
+
+		// create plot rollups
+		plotRollups_ = new PlotRollups(properties_, logger_, dcpEngine_);
+
 		// setup network server
 		networkServer_ = Utility.setupNetworkServer(this);
 
 		// create thread pools
-		threadPool_ = Executors.newCachedThreadPool();
+		taskExecutor_ = new TaskExecutor(properties_, logger_);
 		scheduledThreadPool_ = Executors.newSingleThreadScheduledExecutor();
 		logger_.info("Thread pools created.");
 
@@ -129,8 +162,13 @@ public class DataServer extends Thread {
 		lobby_ = new Lobby(this);
 
 		// create server statistics
-		statistics_ = new ArrayList<>();
-		searchHits_ = Collections.synchronizedMap(new HashMap<String, Integer>());
+		statistics_ = new StatisticTimeSeries(Integer.parseInt(properties_.getProperty("stat.expiry")), Long.parseLong(properties_.getProperty("stat.period")));
+		queryLatency_ = new LatencyHistogram();
+		requestMetrics_ = new RequestMetrics();
+		searchHits_ = new SearchHits();
+
+		// create metrics endpoint
+		metricsEndpoint_ = new MetricsEndpoint(this);
 
 		// log server creation info
 		logger_.info("Server initialized.");
@@ -144,6 +182,15 @@ public class DataServer extends Thread {
 
 		try {
 
+			// build search indexes
+			searchIndexes_.initialize();
+
+			// build plot rollups
+			plotRollups_.initialize();
+
+			// start metrics endpoint
+			metricsEndpoint_.initialize();
+
 			// bind server to its port
 			networkServer_.bind(Integer.parseInt(properties_.getProperty("ns.port")));
 
@@ -155,6 +202,14 @@ public class DataServer extends Thread {
 				long period = Long.parseLong(properties_.getProperty("stat.period"));
 				scheduledThreadPool_.scheduleAtFixedRate(new CollectServerStatistics(this), 30, period, TimeUnit.SECONDS);
 			}
+
+			// schedule idle filer connection eviction
+			long idleTimeout = Long.parseLong(properties_.getProperty("filer.idleTimeout"));
+			scheduledThreadPool_.scheduleWithFixedDelay(filerPool_::evictIdleConnections, idleTimeout, idleTimeout, TimeUnit.MILLISECONDS);
+
+			// schedule pending filer delete retries
+			long retryPeriod = Long.parseLong(properties_.getProperty("filer.deleteRetryPeriod"));
+			scheduledThreadPool_.scheduleWithFixedDelay(() -> taskExecutor_.submit(new RetryPendingFilerDeletes(this, retryPeriod)), retryPeriod, retryPeriod, TimeUnit.SECONDS);
 		}
 
 		// exception occurred during starting server
@@ -186,14 +241,22 @@ public class DataServer extends Thread {
 		lobby_.stop();
 
 		// shutdown thread pool
-		Utility.shutdownThreadPool(threadPool_, logger_);
+		taskExecutor_.shutdown();
 		Utility.shutdownThreadPool(scheduledThreadPool_, logger_);
+		filerDeleteQueue_.shutdown();
+		searchIndexes_.shutdown();
+		plotRollups_.shutdown();
+		metricsEndpoint_.shutdown();
 		logger_.info("Thread pools shutdown.");
 
 		// shutdown database connection pool
 		dcpEngine_.close();
 		logger_.info("Database connection pool shutdown.");
 
+		// shutdown filer connection pool
+		filerPool_.shutdown();
+		logger_.info("Filer connection pool shutdown.");
+
 		// stop network server
 		networkServer_.stop();
 		logger_.info("Network server shutdown.");
@@ -212,10 +275,28 @@ public class DataServer extends Thread {
 	 *
 	 * @return Server statistics.
 	 */
-	public ArrayList<PeriodicDataServerStatistic> getStatistics() {
+	public StatisticTimeSeries getStatistics() {
 		return statistics_;
 	}
 
+	/**
+	 * Returns database query latency histogram.
+	 *
+	 * @return Database query latency histogram.
+	 */
+	public LatencyHistogram getQueryLatency() {
+		return queryLatency_;
+	}
+
+	/**
+	 * Returns per-request-class metrics.
+	 *
+	 * @return Per-request-class metrics.
+	 */
+	public RequestMetrics getRequestMetrics() {
+		return requestMetrics_;
+	}
+
 	/**
 	 * Returns server properties.
 	 *
@@ -244,12 +325,66 @@ public class DataServer extends Thread {
 	}
 
 	/**
-	 * Returns thread pool.
+	 * Returns slow query log of the database connection pool.
+	 *
+	 * @return Slow query log.
+	 */
+	public SlowQueryLog getSlowQueryLog() {
+		return dcpEngine_.getSlowQueryLog();
+	}
+
+	/**
+	 * Returns filer connection pool.
 	 *
-	 * @return Thread pool.
+	 * @return Filer connection pool.
 	 */
-	public ExecutorService getThreadPool() {
-		return threadPool_;
+	public FilerConnectionPool getFilerConnectionPool() {
+		return filerPool_;
+	}
+
+	/**
+	 * Returns filer delete queue.
+	 *
+	 * @return Filer delete queue.
+	 */
+	public FilerDeleteQueue getFilerDeleteQueue() {
+		return filerDeleteQueue_;
+	}
+
+	/**
+	 * Returns reference data cache.
+	 *
+	 * @return Reference data cache.
+	 */
+	public ReferenceDataCache getReferenceDataCache() {
+		return referenceDataCache_;
+	}
+
+	/**
+	 * Returns search indexes.
+	 *
+	 * @return Search indexes.
+	 */
+	public SearchIndexes getSearchIndexes() {
+		return searchIndexes_;
+	}
+
+	/**
+	 * Returns plot rollups.
+	 *
+	 * @return Plot rollups.
+	 */
+	public PlotRollups getPlotRollups() {
+		return plotRollups_;
+	}
+
+	/**
+	 * Returns task executor.
+	 *
+	 * @return Task executor.
+	 */
+	public TaskExecutor getTaskExecutor() {
+		return taskExecutor_;
 	}
 
 	/**
@@ -351,12 +486,7 @@ public class DataServer extends Thread {
 	 *            Aircraft programs.
 	 */
 	public void incrementSearchHits(Set<String> programs) {
-		synchronized (searchHits_) {
-			programs.forEach(program -> {
-				Integer count = searchHits_.get(program);
-				searchHits_.put(program, count == null ? 1 : count + 1);
-			});
-		}
+		searchHits_.increment(programs);
 	}
 
 	/**
@@ -396,16 +526,26 @@ public class DataServer extends Thread {
 	}
 
 	/**
-	 * Returns mapping containing search hits.
+	 * Returns mapping containing all time search hits.
 	 *
 	 * @param limit
 	 *            Limit.
 	 * @return Mapping containing search hits.
 	 */
 	public Map<String, Integer> getSearchHits(int limit) {
-		synchronized (searchHits_) {
-			limit = Math.min(limit, searchHits_.size());
-			return searchHits_.entrySet().stream().sorted(Map.Entry.comparingByValue(Comparator.reverseOrder())).limit(limit).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (e1, e2) -> e1, LinkedHashMap::new));
-		}
+		return searchHits_.getTop(GetSearchHitsRequest.ALL_TIME, limit);
+	}
+
+	/**
+	 * Returns mapping containing search hits of the given time window.
+	 *
+	 * @param window
+	 *            Time window. One of the time window constants of {@link GetSearchHitsRequest}.
+	 * @param limit
+	 *            Limit.
+	 * @return Mapping containing search hits.
+	 */
+	public Map<String, Integer> getSearchHits(int window, int limit) {
+		return searchHits_.getTop(window, limit);
 	}
 }
\ No newline at end of file
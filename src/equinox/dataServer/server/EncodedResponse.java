@@ -0,0 +1,194 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+
+import equinox.dataServer.remote.message.DataMessage;
+import equinox.serverUtilities.BigMessage;
+import equinox.serverUtilities.PartialMessage;
+
+/**
+ * Class for pre-encoded response. Big messages are serialized and split into partial messages every time they are sent. For responses which only depend
+ * on the request parameters (such as materials of an ISAMI version), the serialized form is encoded once and cached. When sent, only the listener hash
+ * code is patched into a copy of the cached bytes, which are then split into partial messages in the same way as {@link equinox.serverUtilities.SplitMessage}.
+ * Responses which are too small to be split keep the response object instead of its serialized form.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 19:12:37
+ */
+public class EncodedResponse {
+
+	/** Size of partial messages (must be the same as in SplitMessage). */
+	private static final int PART_SIZE = 8000;
+
+	/** Serialized response. Null if the response is not split. */
+	private final byte[] bytes_;
+
+	/** Response. Null if the response is split. */
+	private final DataMessage response_;
+
+	/** Size of the serialized response in bytes. */
+	private final int size_;
+
+	/** Offset of listener hash code within the serialized response. */
+	private final int listenerOffset_;
+
+	/** Class name of the response. */
+	private final String className_;
+
+	/**
+	 * Creates pre-encoded response.
+	 *
+	 * @param bytes
+	 *            Serialized response. Null if the response is not split.
+	 * @param response
+	 *            Response. Null if the response is split.
+	 * @param size
+	 *            Size of the serialized response in bytes.
+	 * @param listenerOffset
+	 *            Offset of listener hash code within the serialized response.
+	 * @param className
+	 *            Class name of the response.
+	 */
+	private EncodedResponse(byte[] bytes, DataMessage response, int size, int listenerOffset, String className) {
+		bytes_ = bytes;
+		response_ = response;
+		size_ = size;
+		listenerOffset_ = listenerOffset;
+		className_ = className;
+	}
+
+	/**
+	 * Encodes the given response. The listener hash code of the response is restored after encoding. If the response is too small to be split, the
+	 * response itself is kept, and it must not be modified afterwards.
+	 *
+	 * @param <T>
+	 *            Response type.
+	 * @param response
+	 *            Response to encode.
+	 * @return The pre-encoded response.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static <T extends DataMessage & BigMessage> EncodedResponse encode(T response) throws Exception {
+
+		// serialize response with 2 different listener hash codes
+		int listenerHashCode = response.getListenerHashCode();
+		byte[] bytes, check;
+		try {
+			response.setListenerHashCode(0);
+			bytes = serialize(response);
+
+			// small response, keep response object
+			if (bytes.length < PART_SIZE)
+				return new EncodedResponse(null, response, bytes.length, -1, response.getClass().getName());
+
+			// serialize with other listener hash code
+			response.setListenerHashCode(-1);
+			check = serialize(response);
+		}
+
+		// restore listener hash code
+		finally {
+			response.setListenerHashCode(listenerHashCode);
+		}
+
+		// locate listener hash code (the only differing bytes)
+		int start = Arrays.mismatch(bytes, check);
+		if (bytes.length != check.length || start < 0 || start + Integer.BYTES > bytes.length || Arrays.mismatch(bytes, start + Integer.BYTES, bytes.length, check, start + Integer.BYTES, check.length) >= 0)
+			throw new Exception("Cannot locate listener hash code in serialized " + response.getClass().getSimpleName() + ".");
+
+		// create encoded response
+		return new EncodedResponse(bytes, null, bytes.length, start, response.getClass().getName());
+	}
+
+	/**
+	 * Returns true if the response is big enough to be split into partial messages. Otherwise, the response should be sent as a single message.
+	 *
+	 * @return True if the response is big enough to be split into partial messages.
+	 */
+	public boolean isSplit() {
+		return bytes_ != null;
+	}
+
+	/**
+	 * Returns the response if it is not split, or null if it is split. The returned response is shared between requests and must not be modified. Its
+	 * content should be copied into a new response carrying the listener hash code of the request.
+	 *
+	 * @return The response if it is not split, or null if it is split.
+	 */
+	public DataMessage getResponse() {
+		return response_;
+	}
+
+	/**
+	 * Returns the size of the serialized response in bytes.
+	 *
+	 * @return The size of the serialized response in bytes.
+	 */
+	public int getSize() {
+		return size_;
+	}
+
+	/**
+	 * Splits the response into partial messages with the given listener hash code. This can only be called if the response is split.
+	 *
+	 * @param listenerHashCode
+	 *            Listener hash code of the request.
+	 * @return Partial messages.
+	 */
+	public PartialMessage[] split(int listenerHashCode) {
+
+		// patch listener hash code (serialized in big endian order)
+		byte[] bytes = bytes_.clone();
+		bytes[listenerOffset_] = (byte) (listenerHashCode >>> 24);
+		bytes[listenerOffset_ + 1] = (byte) (listenerHashCode >>> 16);
+		bytes[listenerOffset_ + 2] = (byte) (listenerHashCode >>> 8);
+		bytes[listenerOffset_ + 3] = (byte) listenerHashCode;
+
+		// create parts
+		int id = System.identityHashCode(bytes);
+		int numParts = (bytes.length + PART_SIZE - 1) / PART_SIZE;
+		PartialMessage[] parts = new PartialMessage[numParts];
+		for (int i = 0; i < numParts; i++) {
+			int from = i * PART_SIZE;
+			parts[i] = new PartialMessage(Arrays.copyOfRange(bytes, from, Math.min(from + PART_SIZE, bytes.length)), id, numParts, i, className_);
+		}
+		return parts;
+	}
+
+	/**
+	 * Serializes the given response.
+	 *
+	 * @param response
+	 *            Response to serialize.
+	 * @return Serialized response.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static byte[] serialize(DataMessage response) throws Exception {
+		try (ByteArrayOutputStream bytes = new ByteArrayOutputStream()) {
+			try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+				output.writeObject(response);
+			}
+			return bytes.toByteArray();
+		}
+	}
+}
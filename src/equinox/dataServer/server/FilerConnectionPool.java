@@ -0,0 +1,473 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import equinox.dataServer.utility.Utility;
+import equinox.serverUtilities.FilerConnection;
+
+/**
+ * Class for filer connection pool. The pool keeps a bounded number of open SFTP connections to the filer server, so that tasks don't have to go through
+ * the SSH handshake and authentication for every filer access. Borrowed connections are returned to the pool when they are closed.
+ * <p>
+ * Idle connections are validated before they are handed out, and they are evicted once they exceed the idle timeout or the maximum lifetime. Returned
+ * connections are validated with a round trip to the filer server before they are added to the idle connections, so that a connection left in an
+ * unknown state by a failed or aborted transfer is discarded instead of being handed out again. Tasks waiting longer than the borrow timeout for a
+ * connection fail with a {@link TimeoutException}.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 16:04:22
+ */
+public class FilerConnectionPool {
+
+	/** Idle connections (most recently used first). */
+	private final ArrayDeque<PooledFilerConnection> idle_;
+
+	/** Borrow permits. */
+	private final Semaphore permits_;
+
+	/** Pool parameters. */
+	private final long borrowTimeout_, idleTimeout_, maxLifeTime_, validationInterval_;
+
+	/** Maximum pool size. */
+	private final int maxPoolSize_;
+
+	/** Server logger. */
+	private final Logger logger_;
+
+	/** Filer connection factory. */
+	private final Callable<FilerConnection> factory_;
+
+	/** Pool metrics. */
+	private final LongAdder borrows_ = new LongAdder(), borrowWait_ = new LongAdder(), timeouts_ = new LongAdder(), created_ = new LongAdder(), discarded_ = new LongAdder();
+
+	/** Maximum borrow wait time in nanoseconds. */
+	private final AtomicLong maxBorrowWait_ = new AtomicLong();
+
+	/** True if the pool is shut down. */
+	private volatile boolean isShutDown_ = false;
+
+	/**
+	 * Creates filer connection pool.
+	 *
+	 * @param properties
+	 *            Server properties.
+	 * @param logger
+	 *            Server logger.
+	 */
+	public FilerConnectionPool(Properties properties, Logger logger) {
+		this(properties, logger, () -> Utility.createFilerConnection(logger));
+	}
+
+	/**
+	 * Creates filer connection pool with the given connection factory.
+	 *
+	 * @param properties
+	 *            Server properties.
+	 * @param logger
+	 *            Server logger.
+	 * @param factory
+	 *            Filer connection factory.
+	 */
+	FilerConnectionPool(Properties properties, Logger logger, Callable<FilerConnection> factory) {
+		logger_ = logger;
+		factory_ = factory;
+		maxPoolSize_ = Integer.parseInt(properties.getProperty("filer.maxPoolSize"));
+		borrowTimeout_ = Long.parseLong(properties.getProperty("filer.borrowTimeout"));
+		idleTimeout_ = Long.parseLong(properties.getProperty("filer.idleTimeout"));
+		maxLifeTime_ = Long.parseLong(properties.getProperty("filer.maxLifeTime"));
+		validationInterval_ = Long.parseLong(properties.getProperty("filer.validationInterval"));
+		permits_ = new Semaphore(maxPoolSize_, true);
+		idle_ = new ArrayDeque<>(maxPoolSize_);
+	}
+
+	/**
+	 * Borrows a filer connection from the pool. The connection must be closed after usage, which returns it to the pool.
+	 *
+	 * @return Filer connection.
+	 * @throws Exception
+	 *             If no connection becomes available within the borrow timeout, or exception occurs during creating connection.
+	 */
+	public FilerConnection borrow() throws Exception {
+
+		// pool is shut down
+		if (isShutDown_)
+			throw new IllegalStateException("Filer connection pool is shut down.");
+
+		// wait for permit
+		long start = System.nanoTime();
+		if (!permits_.tryAcquire(borrowTimeout_, TimeUnit.MILLISECONDS)) {
+			timeouts_.increment();
+			throw new TimeoutException("Timed out after " + borrowTimeout_ + " ms waiting for a filer connection. All " + maxPoolSize_ + " filer connections are in use.");
+		}
+
+		try {
+
+			// get valid idle connection
+			PooledFilerConnection connection;
+			while ((connection = pollIdle()) != null) {
+				if (isValid(connection)) {
+					break;
+				}
+				discard(connection);
+			}
+
+			// no idle connection, create new one
+			if (connection == null) {
+				connection = new PooledFilerConnection(this, factory_.call(), logger_);
+				created_.increment();
+			}
+
+			// record borrow wait time
+			long wait = System.nanoTime() - start;
+			borrows_.increment();
+			borrowWait_.add(wait);
+			maxBorrowWait_.accumulateAndGet(wait, Math::max);
+
+			// return connection
+			connection.borrowStart_ = start;
+			connection.borrowed_.set(true);
+			return connection;
+		}
+
+		// exception occurred during process
+		catch (Exception e) {
+			permits_.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Evicts idle connections which exceeded the idle timeout or maximum lifetime. This method is periodically called by the server.
+	 */
+	public void evictIdleConnections() {
+
+		// collect connections to evict
+		ArrayList<PooledFilerConnection> evicted = new ArrayList<>();
+		long now = System.currentTimeMillis();
+		synchronized (idle_) {
+			Iterator<PooledFilerConnection> iterator = idle_.iterator();
+			while (iterator.hasNext()) {
+				PooledFilerConnection connection = iterator.next();
+				if (now - connection.lastUsed_ >= idleTimeout_ || now - connection.created_ >= maxLifeTime_) {
+					iterator.remove();
+					evicted.add(connection);
+				}
+			}
+		}
+
+		// disconnect evicted connections
+		evicted.forEach(this::discard);
+	}
+
+	/**
+	 * Shuts down the pool. Idle connections are disconnected immediately, borrowed connections are disconnected when they are returned.
+	 */
+	public void shutdown() {
+
+		// set shut down
+		isShutDown_ = true;
+
+		// disconnect idle connections
+		ArrayList<PooledFilerConnection> connections;
+		synchronized (idle_) {
+			connections = new ArrayList<>(idle_);
+			idle_.clear();
+		}
+		connections.forEach(this::discard);
+	}
+
+	/**
+	 * Returns the number of idle connections.
+	 *
+	 * @return The number of idle connections.
+	 */
+	public int getIdleCount() {
+		synchronized (idle_) {
+			return idle_.size();
+		}
+	}
+
+	/**
+	 * Returns the number of borrowed connections.
+	 *
+	 * @return The number of borrowed connections.
+	 */
+	public int getActiveCount() {
+		return maxPoolSize_ - permits_.availablePermits();
+	}
+
+	/**
+	 * Returns the number of tasks waiting for a connection.
+	 *
+	 * @return The number of tasks waiting for a connection.
+	 */
+	public int getWaitingCount() {
+		return permits_.getQueueLength();
+	}
+
+	/**
+	 * Returns the maximum number of connections.
+	 *
+	 * @return The maximum number of connections.
+	 */
+	public int getMaxPoolSize() {
+		return maxPoolSize_;
+	}
+
+	/**
+	 * Returns the total number of borrows.
+	 *
+	 * @return The total number of borrows.
+	 */
+	public long getBorrowCount() {
+		return borrows_.sum();
+	}
+
+	/**
+	 * Returns the total borrow wait time in nanoseconds.
+	 *
+	 * @return The total borrow wait time in nanoseconds.
+	 */
+	public long getBorrowWait() {
+		return borrowWait_.sum();
+	}
+
+	/**
+	 * Returns the total number of borrow timeouts.
+	 *
+	 * @return The total number of borrow timeouts.
+	 */
+	public long getTimeoutCount() {
+		return timeouts_.sum();
+	}
+
+	/**
+	 * Returns the total number of created connections.
+	 *
+	 * @return The total number of created connections.
+	 */
+	public long getCreatedCount() {
+		return created_.sum();
+	}
+
+	/**
+	 * Returns the total number of discarded connections.
+	 *
+	 * @return The total number of discarded connections.
+	 */
+	public long getDiscardedCount() {
+		return discarded_.sum();
+	}
+
+	/**
+	 * Returns pool metrics as text lines.
+	 *
+	 * @return Pool metrics.
+	 */
+	public String[] getMetrics() {
+		long borrows = borrows_.sum();
+		double averageWait = borrows == 0 ? 0.0 : borrowWait_.sum() / 1e6 / borrows;
+		// @formatter:off
+		return new String[] {
+				"Active connections: " + getActiveCount() + "/" + maxPoolSize_,
+				"Idle connections: " + getIdleCount(),
+				"Waiting tasks: " + getWaitingCount(),
+				"Borrows: " + borrows,
+				"Average borrow wait: " + String.format("%.2f", averageWait) + " ms",
+				"Maximum borrow wait: " + String.format("%.2f", maxBorrowWait_.get() / 1e6) + " ms",
+				"Borrow timeouts: " + timeouts_.sum(),
+				"Created connections: " + created_.sum(),
+				"Discarded connections: " + discarded_.sum()
+		};
+		// @formatter:on
+	}
+
+	/**
+	 * Returns the given connection to the pool.
+	 *
+	 * @param connection
+	 *            Connection to return.
+	 */
+	private void release(PooledFilerConnection connection) {
+
+		try {
+
+			// pool shut down, or connection expired or broken (a failed transfer may leave the channel in an unknown state)
+			long now = System.currentTimeMillis();
+			if (isShutDown_ || now - connection.created_ >= maxLifeTime_ || !isConnected(connection) || !validate(connection)) {
+				discard(connection);
+				return;
+			}
+
+			// add connection to idle connections
+			connection.lastUsed_ = now;
+			synchronized (idle_) {
+				idle_.push(connection);
+			}
+		}
+
+		// release permit
+		finally {
+			permits_.release();
+		}
+	}
+
+	/**
+	 * Retrieves and removes the most recently used idle connection.
+	 *
+	 * @return Idle connection, or null if there is no idle connection.
+	 */
+	private PooledFilerConnection pollIdle() {
+		synchronized (idle_) {
+			return idle_.poll();
+		}
+	}
+
+	/**
+	 * Returns true if the given idle connection can be handed out. Connections which have been idle longer than the validation interval are validated with a
+	 * round trip to the filer server.
+	 *
+	 * @param connection
+	 *            Idle connection.
+	 * @return True if the given idle connection can be handed out.
+	 */
+	private boolean isValid(PooledFilerConnection connection) {
+
+		// expired or disconnected
+		long now = System.currentTimeMillis();
+		if (now - connection.created_ >= maxLifeTime_ || !isConnected(connection))
+			return false;
+
+		// recently used
+		if (now - connection.lastUsed_ < validationInterval_)
+			return true;
+
+		// validate connection
+		return validate(connection);
+	}
+
+	/**
+	 * Validates the given connection with a round trip to the filer server.
+	 *
+	 * @param connection
+	 *            Connection.
+	 * @return True if the connection is valid.
+	 */
+	private boolean validate(PooledFilerConnection connection) {
+		try {
+			connection.getSftpChannel().realpath(".");
+			return true;
+		}
+
+		// invalid connection
+		catch (Exception e) {
+			logger_.log(Level.FINE, "Filer connection failed validation.", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Returns true if the session and channel of the given connection are connected.
+	 *
+	 * @param connection
+	 *            Connection.
+	 * @return True if the session and channel of the given connection are connected.
+	 */
+	private static boolean isConnected(PooledFilerConnection connection) {
+		return connection.getSession().isConnected() && connection.getSftpChannel().isConnected() && !connection.getSftpChannel().isClosed();
+	}
+
+	/**
+	 * Disconnects the given connection.
+	 *
+	 * @param connection
+	 *            Connection to disconnect.
+	 */
+	private void discard(PooledFilerConnection connection) {
+		discarded_.increment();
+		try {
+			connection.disconnect();
+		}
+		catch (Exception e) {
+			logger_.log(Level.FINE, "Exception occurred during disconnecting filer connection.", e);
+		}
+	}
+
+	/**
+	 * Inner class for pooled filer connection. Closing a pooled connection returns it to the pool instead of disconnecting it.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 16:11:50
+	 */
+	private static class PooledFilerConnection extends FilerConnection {
+
+		/** Owner pool. */
+		private final FilerConnectionPool pool_;
+
+		/** Creation time. */
+		private final long created_;
+
+		/** Time of last return to pool. */
+		private volatile long lastUsed_;
+
+		/** Start time of the current borrow in nanoseconds. */
+		private volatile long borrowStart_;
+
+		/** True if the connection is borrowed. */
+		private final AtomicBoolean borrowed_ = new AtomicBoolean();
+
+		/**
+		 * Creates pooled filer connection.
+		 *
+		 * @param pool
+		 *            Owner pool.
+		 * @param connection
+		 *            Physical filer connection.
+		 * @param logger
+		 *            Server logger.
+		 */
+		PooledFilerConnection(FilerConnectionPool pool, FilerConnection connection, Logger logger) {
+			super(connection.getSession(), connection.getChannel(), connection.getSftpChannel(), logger, connection.getRootPath());
+			pool_ = pool;
+			created_ = System.currentTimeMillis();
+			lastUsed_ = created_;
+		}
+
+		@Override
+		public void close() {
+			if (borrowed_.compareAndSet(true, false)) {
+				RequestMetrics.record(RequestMetrics.Phase.FILER, System.nanoTime() - borrowStart_);
+				pool_.release(this);
+			}
+		}
+	}
+}
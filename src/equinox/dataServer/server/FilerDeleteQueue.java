@@ -0,0 +1,303 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.SftpException;
+import com.zaxxer.hikari.HikariDataSource;
+
+import equinox.dataServer.utility.Utility;
+import equinox.serverUtilities.FilerConnection;
+
+/**
+ * Class for filer delete queue. Filer files of deleted database entries are first recorded in the <code>pending_filer_deletes</code> table within the
+ * same transaction as the database deletion. After the transaction is committed, the files are removed from the filer in parallel over pooled filer
+ * connections and their records are removed from the queue. Files which cannot be removed remain in the queue and are periodically retried. The
+ * table is created by the <code>002_pending_filer_deletes.sql</code> migration script.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 17:02:36
+ */
+public class FilerDeleteQueue {
+
+	/** Database connection pool. */
+	private final HikariDataSource dcpEngine_;
+
+	/** Filer connection pool. */
+	private final FilerConnectionPool filerPool_;
+
+	/** Thread pool to remove files. */
+	private final ExecutorService threadPool_;
+
+	/** Number of parallel removal threads. */
+	private final int threads_;
+
+	/** Maximum number of removal attempts for a file. */
+	private final int maxAttempts_;
+
+	/** Batch size. */
+	private final int batchSize_;
+
+	/** Server logger. */
+	private final Logger logger_;
+
+	/** True if pending deletes are being retried. */
+	private final AtomicBoolean retrying_ = new AtomicBoolean(false);
+
+	/**
+	 * Creates filer delete queue.
+	 *
+	 * @param properties
+	 *            Server properties.
+	 * @param logger
+	 *            Server logger.
+	 * @param dcpEngine
+	 *            Database connection pool.
+	 * @param filerPool
+	 *            Filer connection pool.
+	 */
+	public FilerDeleteQueue(Properties properties, Logger logger, HikariDataSource dcpEngine, FilerConnectionPool filerPool) {
+		logger_ = logger;
+		dcpEngine_ = dcpEngine;
+		filerPool_ = filerPool;
+		threads_ = Integer.parseInt(properties.getProperty("filer.deleteThreads"));
+		maxAttempts_ = Integer.parseInt(properties.getProperty("filer.deleteMaxAttempts"));
+		batchSize_ = Integer.parseInt(properties.getProperty("ds.batchSize"));
+		threadPool_ = Executors.newFixedThreadPool(threads_, runnable -> {
+			Thread thread = new Thread(runnable, "Equinox filer delete worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Records the given filer files in the queue. This method should be called within the transaction which deletes the database entries of the files, so
+	 * that files are recorded if and only if the deletion is committed.
+	 *
+	 * @param connection
+	 *            Database connection of the ongoing transaction.
+	 * @param urls
+	 *            Filer URLs of files to delete. Null URLs are ignored.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public void enqueue(Connection connection, Collection<String> urls) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("insert into pending_filer_deletes(url) values(?)")) {
+			int batched = 0;
+			for (String url : urls) {
+				if (url == null) {
+					continue;
+				}
+				statement.setString(1, url);
+				statement.addBatch();
+				if (++batched % batchSize_ == 0) {
+					statement.executeBatch();
+				}
+			}
+			if (batched % batchSize_ != 0) {
+				statement.executeBatch();
+			}
+		}
+	}
+
+	/**
+	 * Removes the given queued files from the filer in parallel, and removes the successfully deleted files from the queue. Files which cannot be removed
+	 * remain in the queue for retry.
+	 *
+	 * @param urls
+	 *            Filer URLs of queued files. Null URLs are ignored.
+	 * @return Number of files which couldn't be removed.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public int delete(Collection<String> urls) throws Exception {
+
+		// get distinct URLs
+		ArrayList<String> distinct = new ArrayList<>(new HashSet<>(urls));
+		distinct.remove(null);
+		if (distinct.isEmpty())
+			return 0;
+
+		// partition URLs among removal threads
+		int partitions = Math.min(threads_, distinct.size());
+		List<Future<List<String>>> futures = new ArrayList<>();
+		for (int i = 0; i < partitions; i++) {
+			ArrayList<String> partition = new ArrayList<>();
+			for (int j = i; j < distinct.size(); j += partitions) {
+				partition.add(distinct.get(j));
+			}
+			futures.add(threadPool_.submit(() -> remove(partition)));
+		}
+
+		// collect failed removals
+		HashSet<String> failed = new HashSet<>();
+		for (Future<List<String>> future : futures) {
+			failed.addAll(future.get());
+		}
+
+		// update queue
+		try (Connection connection = dcpEngine_.getConnection()) {
+			try (PreparedStatement removeFromQueue = connection.prepareStatement("delete from pending_filer_deletes where url = ?")) {
+				try (PreparedStatement incrementAttempts = connection.prepareStatement("update pending_filer_deletes set attempts = attempts + 1 where url = ?")) {
+					int removed = 0, incremented = 0;
+					for (String url : distinct) {
+						if (failed.contains(url)) {
+							incrementAttempts.setString(1, url);
+							incrementAttempts.addBatch();
+							if (++incremented % batchSize_ == 0) {
+								incrementAttempts.executeBatch();
+							}
+						}
+						else {
+							removeFromQueue.setString(1, url);
+							removeFromQueue.addBatch();
+							if (++removed % batchSize_ == 0) {
+								removeFromQueue.executeBatch();
+							}
+						}
+					}
+					if (removed % batchSize_ != 0) {
+						removeFromQueue.executeBatch();
+					}
+					if (incremented % batchSize_ != 0) {
+						incrementAttempts.executeBatch();
+					}
+				}
+			}
+		}
+
+		// log failed removals
+		if (!failed.isEmpty()) {
+			logger_.warning(failed.size() + " filer files couldn't be removed. They will be retried later.");
+		}
+		return failed.size();
+	}
+
+	/**
+	 * Retries removal of queued files which have been in the queue for at least the given number of seconds. Files exceeding the maximum number of removal
+	 * attempts are no longer retried. This method is periodically called by the server on the housekeeping thread pool. Calls made while a previous
+	 * retry is still running return immediately.
+	 *
+	 * @param minAge
+	 *            Minimum age of queued files in seconds (so that files of ongoing deletions are not picked up).
+	 */
+	public void retryPendingDeletes(long minAge) {
+
+		// previous retry is still running
+		if (!retrying_.compareAndSet(false, true))
+			return;
+
+		try {
+
+			// get pending files
+			ArrayList<String> urls = new ArrayList<>();
+			try (Connection connection = dcpEngine_.getConnection()) {
+				String sql = "select url from pending_filer_deletes where attempts < ? and created < (current_timestamp - interval ? second) order by id limit ?";
+				try (PreparedStatement statement = connection.prepareStatement(sql)) {
+					statement.setInt(1, maxAttempts_);
+					statement.setLong(2, minAge);
+					statement.setInt(3, batchSize_);
+					try (ResultSet resultSet = statement.executeQuery()) {
+						while (resultSet.next()) {
+							urls.add(resultSet.getString("url"));
+						}
+					}
+				}
+			}
+
+			// remove files
+			if (!urls.isEmpty()) {
+				int failed = delete(urls);
+				logger_.info("Retried " + urls.size() + " pending filer deletes, " + failed + " failed.");
+			}
+		}
+
+		// exception occurred during process
+		catch (Exception e) {
+			logger_.log(Level.WARNING, "Exception occurred during retrying pending filer deletes.", e);
+		}
+
+		// release retry
+		finally {
+			retrying_.set(false);
+		}
+	}
+
+	/**
+	 * Shuts down the removal thread pool.
+	 */
+	public void shutdown() {
+		Utility.shutdownThreadPool(threadPool_, logger_);
+	}
+
+	/**
+	 * Removes given files from the filer over a single pooled filer connection.
+	 *
+	 * @param urls
+	 *            Filer URLs of files to remove.
+	 * @return Filer URLs of files which couldn't be removed.
+	 */
+	private List<String> remove(List<String> urls) {
+
+		// get filer connection
+		ArrayList<String> failed = new ArrayList<>();
+		int processed = 0;
+		try (FilerConnection filer = filerPool_.borrow()) {
+
+			// loop over files
+			for (; processed < urls.size(); processed++) {
+				String url = urls.get(processed);
+				try {
+					filer.getSftpChannel().rm(url);
+				}
+
+				// file doesn't exist or cannot be removed
+				catch (SftpException e) {
+					if (e.id != ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+						logger_.log(Level.FINE, "Cannot remove filer file '" + url + "'.", e);
+						failed.add(url);
+					}
+				}
+			}
+		}
+
+		// exception occurred during connecting to filer
+		catch (Exception e) {
+			logger_.log(Level.WARNING, "Exception occurred during removing filer files.", e);
+			failed.addAll(urls.subList(processed, urls.size()));
+		}
+
+		// return failed removals
+		return failed;
+	}
+}
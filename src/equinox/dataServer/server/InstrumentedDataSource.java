@@ -0,0 +1,404 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import equinox.dataServer.server.RequestMetrics.Phase;
+
+/**
+ * Class for instrumented database connection pool. Connection acquire times and SQL statement execution times are recorded to the request metrics
+ * bound to the calling thread, and slow statements are recorded to the slow query log. Borrowed connections, their statements and (if slow query log
+ * is enabled) their result sets are wrapped with dynamic proxies, which delegate all calls to the pooled objects.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 23:58:31
+ */
+public final class InstrumentedDataSource extends HikariDataSource {
+
+	/** Slow query log. */
+	private final SlowQueryLog slowQueryLog_;
+
+	/**
+	 * Creates instrumented database connection pool.
+	 *
+	 * @param config
+	 *            Connection pool configuration.
+	 * @param properties
+	 *            Server properties.
+	 * @param logger
+	 *            Server logger.
+	 */
+	public InstrumentedDataSource(HikariConfig config, Properties properties, Logger logger) {
+		super(config);
+		slowQueryLog_ = new SlowQueryLog(properties, logger, this);
+	}
+
+	/**
+	 * Returns the slow query log.
+	 *
+	 * @return The slow query log.
+	 */
+	public SlowQueryLog getSlowQueryLog() {
+		return slowQueryLog_;
+	}
+
+	@Override
+	public void close() {
+		slowQueryLog_.shutdown();
+		super.close();
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+
+		// borrow connection and record acquire time
+		long start = System.nanoTime();
+		Connection connection = super.getConnection();
+		RequestMetrics.record(Phase.CONNECTION_ACQUIRE, System.nanoTime() - start);
+
+		// wrap connection
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, new ConnectionHandler(connection, slowQueryLog_));
+	}
+
+	/**
+	 * Invokes the given method on the given target object.
+	 *
+	 * @param target
+	 *            Target object.
+	 * @param method
+	 *            Method to invoke.
+	 * @param args
+	 *            Method arguments.
+	 * @return Method result.
+	 * @throws Throwable
+	 *             Exception thrown by the method.
+	 */
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		}
+		catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Inner class for invocation handler of instrumented connections. Statements created by the connection are wrapped.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 23:59:17
+	 */
+	private static class ConnectionHandler implements InvocationHandler {
+
+		/** Pooled connection. */
+		private final Connection connection_;
+
+		/** Slow query log. */
+		private final SlowQueryLog slowQueryLog_;
+
+		/**
+		 * Creates connection handler.
+		 *
+		 * @param connection
+		 *            Pooled connection.
+		 * @param slowQueryLog
+		 *            Slow query log.
+		 */
+		private ConnectionHandler(Connection connection, SlowQueryLog slowQueryLog) {
+			connection_ = connection;
+			slowQueryLog_ = slowQueryLog;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+			// identity methods
+			String name = method.getName();
+			if (name.equals("equals"))
+				return proxy == args[0];
+			if (name.equals("hashCode"))
+				return System.identityHashCode(proxy);
+
+			// invoke method
+			Object result = InstrumentedDataSource.invoke(connection_, method, args);
+
+			// wrap created statements
+			if (result instanceof Statement && (name.equals("createStatement") || name.equals("prepareStatement") || name.equals("prepareCall"))) {
+				String sql = name.equals("createStatement") ? null : (String) args[0];
+				return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] { method.getReturnType() }, new StatementHandler((Statement) result, sql, slowQueryLog_));
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Inner class for invocation handler of instrumented statements. Execution times of statements are recorded. If slow query log is enabled, bind
+	 * values are collected, and result sets of queries are wrapped to count their rows and fetch times.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 23:59:42
+	 */
+	private static class StatementHandler implements InvocationHandler {
+
+		/** Pooled statement. */
+		private final Statement statement_;
+
+		/** SQL text of prepared statement. Null for plain statements. */
+		private final String sql_;
+
+		/** Slow query log. */
+		private final SlowQueryLog slowQueryLog_;
+
+		/** Bind values mapped to parameter indices. Null if slow query log is disabled. */
+		private final TreeMap<Integer, Object> parameters_;
+
+		/** Handler of the last wrapped result set. */
+		private ResultSetHandler resultSet_ = null;
+
+		/**
+		 * Creates statement handler.
+		 *
+		 * @param statement
+		 *            Pooled statement.
+		 * @param sql
+		 *            SQL text of prepared statement. Null for plain statements.
+		 * @param slowQueryLog
+		 *            Slow query log.
+		 */
+		private StatementHandler(Statement statement, String sql, SlowQueryLog slowQueryLog) {
+			statement_ = statement;
+			sql_ = sql;
+			slowQueryLog_ = slowQueryLog;
+			parameters_ = slowQueryLog.isEnabled() ? new TreeMap<>() : null;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+			// identity methods
+			String name = method.getName();
+			if (name.equals("equals"))
+				return proxy == args[0];
+			if (name.equals("hashCode"))
+				return System.identityHashCode(proxy);
+
+			// collect bind values
+			if (parameters_ != null) {
+				if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+					parameters_.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+				}
+				else if (name.equals("clearParameters")) {
+					parameters_.clear();
+				}
+				else if (name.equals("close") && resultSet_ != null) {
+					resultSet_.report();
+				}
+			}
+
+			// not an execution method
+			if (!name.startsWith("execute"))
+				return InstrumentedDataSource.invoke(statement_, method, args);
+
+			// execute and record execution time
+			String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql_;
+			Object result = null;
+			long start = System.nanoTime();
+			try {
+				result = InstrumentedDataSource.invoke(statement_, method, args);
+			}
+
+			// record execution (queries are recorded to slow query log after fetching their rows)
+			finally {
+				long elapsed = System.nanoTime() - start;
+				RequestMetrics.record(Phase.SQL, elapsed);
+				if (parameters_ != null) {
+					if (result instanceof ResultSet) {
+						result = wrapResultSet((ResultSet) result, sql, elapsed);
+					}
+					else {
+						slowQueryLog_.record(sql, name.endsWith("Batch") ? null : parameters_, getRowCount(result), elapsed);
+					}
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * Wraps the given query result set to record its row count and fetch time to the slow query log.
+		 *
+		 * @param resultSet
+		 *            Query result set.
+		 * @param sql
+		 *            SQL text of the query.
+		 * @param elapsed
+		 *            Execution time in nanoseconds.
+		 * @return The wrapped result set.
+		 */
+		private ResultSet wrapResultSet(ResultSet resultSet, String sql, long elapsed) {
+			if (resultSet_ != null) {
+				resultSet_.report();
+			}
+			resultSet_ = new ResultSetHandler(resultSet, sql, new TreeMap<>(parameters_), elapsed, slowQueryLog_);
+			return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class }, resultSet_);
+		}
+
+		/**
+		 * Returns the number of affected rows from the given execution result.
+		 *
+		 * @param result
+		 *            Execution result.
+		 * @return The number of affected rows, or -1 if unknown.
+		 */
+		private static long getRowCount(Object result) {
+			if (result instanceof Number)
+				return ((Number) result).longValue();
+			long rows = 0L;
+			if (result instanceof int[]) {
+				for (int count : (int[]) result) {
+					if (count < 0)
+						return -1L;
+					rows += count;
+				}
+				return rows;
+			}
+			if (result instanceof long[]) {
+				for (long count : (long[]) result) {
+					if (count < 0L)
+						return -1L;
+					rows += count;
+				}
+				return rows;
+			}
+			return -1L;
+		}
+	}
+
+	/**
+	 * Inner class for invocation handler of instrumented result sets. Fetched rows are counted, and the query is recorded to the slow query log with
+	 * its total execution and fetch time when the result set (or its statement) is closed.
+	 *
+	 * @author Murat Artim
+	 * @date 19 Oct 2026
+	 * @time 00:52:18
+	 */
+	private static class ResultSetHandler implements InvocationHandler {
+
+		/** Pooled result set. */
+		private final ResultSet resultSet_;
+
+		/** SQL text of the query. */
+		private final String sql_;
+
+		/** Bind values of the query mapped to parameter indices. */
+		private final Map<Integer, Object> parameters_;
+
+		/** Slow query log. */
+		private final SlowQueryLog slowQueryLog_;
+
+		/** Execution and fetch time in nanoseconds. */
+		private long elapsed_;
+
+		/** Number of fetched rows. */
+		private long rows_ = 0L;
+
+		/** True if the query is recorded. */
+		private boolean isReported_ = false;
+
+		/**
+		 * Creates result set handler.
+		 *
+		 * @param resultSet
+		 *            Pooled result set.
+		 * @param sql
+		 *            SQL text of the query.
+		 * @param parameters
+		 *            Bind values of the query mapped to parameter indices.
+		 * @param elapsed
+		 *            Execution time in nanoseconds.
+		 * @param slowQueryLog
+		 *            Slow query log.
+		 */
+		private ResultSetHandler(ResultSet resultSet, String sql, Map<Integer, Object> parameters, long elapsed, SlowQueryLog slowQueryLog) {
+			resultSet_ = resultSet;
+			sql_ = sql;
+			parameters_ = parameters;
+			elapsed_ = elapsed;
+			slowQueryLog_ = slowQueryLog;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+			// identity methods
+			String name = method.getName();
+			if (name.equals("equals"))
+				return proxy == args[0];
+			if (name.equals("hashCode"))
+				return System.identityHashCode(proxy);
+
+			// close
+			if (name.equals("close")) {
+				report();
+				return InstrumentedDataSource.invoke(resultSet_, method, args);
+			}
+
+			// not a fetch method
+			if (!name.equals("next"))
+				return InstrumentedDataSource.invoke(resultSet_, method, args);
+
+			// fetch next row and record fetch time
+			long start = System.nanoTime();
+			try {
+				Object result = InstrumentedDataSource.invoke(resultSet_, method, args);
+				if (Boolean.TRUE.equals(result)) {
+					rows_++;
+				}
+				return result;
+			}
+			finally {
+				elapsed_ += System.nanoTime() - start;
+			}
+		}
+
+		/**
+		 * Records the query to the slow query log (if not already recorded).
+		 */
+		private void report() {
+			if (!isReported_) {
+				isReported_ = true;
+				slowQueryLog_.record(sql_, parameters_, rows_, elapsed_);
+			}
+		}
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class for lock-free latency histogram. Latencies are counted in logarithmic buckets with 4 buckets per power of two (about 19% relative resolution)
+ * from 1 microsecond up to about an hour. Counts are cumulative. Statistics of a period can be computed from the difference of two snapshots.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 23:21:37
+ */
+public class LatencyHistogram {
+
+	/** Number of buckets per power of two. */
+	static final int SUB_BUCKETS = 4;
+
+	/** Number of buckets. The last bucket counts all latencies above the upper bound of the previous bucket. */
+	private static final int NUM_BUCKETS = 32 * SUB_BUCKETS + 1;
+
+	/** Upper bounds of buckets in microseconds. */
+	private static final double[] UPPER_BOUNDS = new double[NUM_BUCKETS];
+
+	static {
+		for (int i = 0; i < NUM_BUCKETS - 1; i++) {
+			UPPER_BOUNDS[i] = Math.pow(2.0, (double) (i + 1) / SUB_BUCKETS);
+		}
+		UPPER_BOUNDS[NUM_BUCKETS - 1] = Double.POSITIVE_INFINITY;
+	}
+
+	/** Bucket counts. */
+	private final AtomicLongArray counts_ = new AtomicLongArray(NUM_BUCKETS);
+
+	/** Sum of latencies in nanoseconds. */
+	private final LongAdder sum_ = new LongAdder();
+
+	/**
+	 * Records the given latency.
+	 *
+	 * @param nanos
+	 *            Latency in nanoseconds.
+	 */
+	public void record(long nanos) {
+		counts_.incrementAndGet(getBucket(nanos));
+		sum_.add(nanos);
+	}
+
+	/**
+	 * Returns a snapshot of the current counts.
+	 *
+	 * @return Snapshot of the current counts.
+	 */
+	public Snapshot snapshot() {
+		long[] counts = new long[NUM_BUCKETS];
+		for (int i = 0; i < NUM_BUCKETS; i++) {
+			counts[i] = counts_.get(i);
+		}
+		return new Snapshot(counts, sum_.sum());
+	}
+
+	/**
+	 * Returns the bucket of the given latency.
+	 *
+	 * @param nanos
+	 *            Latency in nanoseconds.
+	 * @return The bucket of the given latency.
+	 */
+	private static int getBucket(long nanos) {
+		double micros = nanos / 1000.0;
+		if (micros <= 1.0)
+			return 0;
+		int bucket = (int) Math.ceil(Math.log(micros) / Math.log(2.0) * SUB_BUCKETS) - 1;
+		return Math.max(0, Math.min(bucket, NUM_BUCKETS - 1));
+	}
+
+	/**
+	 * Inner class for immutable histogram snapshot.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 23:24:02
+	 */
+	public static class Snapshot {
+
+		/** Bucket counts. */
+		private final long[] counts_;
+
+		/** Sum of latencies in nanoseconds. */
+		private final long sum_;
+
+		/** Total count. */
+		private final long count_;
+
+		/**
+		 * Creates snapshot.
+		 *
+		 * @param counts
+		 *            Bucket counts.
+		 * @param sum
+		 *            Sum of latencies in nanoseconds.
+		 */
+		private Snapshot(long[] counts, long sum) {
+			counts_ = counts;
+			sum_ = sum;
+			long count = 0L;
+			for (long c : counts) {
+				count += c;
+			}
+			count_ = count;
+		}
+
+		/**
+		 * Returns the difference of this snapshot from the given earlier snapshot.
+		 *
+		 * @param earlier
+		 *            Earlier snapshot of the same histogram. Can be null.
+		 * @return The difference.
+		 */
+		public Snapshot minus(Snapshot earlier) {
+			if (earlier == null)
+				return this;
+			long[] counts = new long[NUM_BUCKETS];
+			for (int i = 0; i < NUM_BUCKETS; i++) {
+				counts[i] = counts_[i] - earlier.counts_[i];
+			}
+			return new Snapshot(counts, sum_ - earlier.sum_);
+		}
+
+		/**
+		 * Returns the total count.
+		 *
+		 * @return The total count.
+		 */
+		public long getCount() {
+			return count_;
+		}
+
+		/**
+		 * Returns the sum of latencies in seconds.
+		 *
+		 * @return The sum of latencies in seconds.
+		 */
+		public double getSum() {
+			return sum_ / 1e9;
+		}
+
+		/**
+		 * Returns the upper bound of the given percentile in milliseconds. The upper bound of the last finite bucket is returned for latencies beyond
+		 * the histogram range.
+		 *
+		 * @param percentile
+		 *            Percentile (between 0 and 100).
+		 * @return The upper bound of the given percentile in milliseconds, or 0 if there is no count.
+		 */
+		public double getPercentile(double percentile) {
+			if (count_ == 0L)
+				return 0.0;
+			long rank = Math.max(1L, (long) Math.ceil(count_ * percentile / 100.0));
+			long cumulative = 0L;
+			for (int i = 0; i < NUM_BUCKETS; i++) {
+				cumulative += counts_[i];
+				if (cumulative >= rank)
+					return UPPER_BOUNDS[Math.min(i, NUM_BUCKETS - 2)] / 1000.0;
+			}
+			return UPPER_BOUNDS[NUM_BUCKETS - 2] / 1000.0;
+		}
+
+		/**
+		 * Returns the number of buckets.
+		 *
+		 * @return The number of buckets.
+		 */
+		public int getBucketCount() {
+			return NUM_BUCKETS;
+		}
+
+		/**
+		 * Returns the upper bound of the given bucket in seconds.
+		 *
+		 * @param bucket
+		 *            Bucket index.
+		 * @return The upper bound of the given bucket in seconds. Positive infinity for the last bucket.
+		 */
+		public double getUpperBound(int bucket) {
+			return UPPER_BOUNDS[bucket] / 1e6;
+		}
+
+		/**
+		 * Returns the count of the given bucket.
+		 *
+		 * @param bucket
+		 *            Bucket index.
+		 * @return The count of the given bucket.
+		 */
+		public long getBucketCount(int bucket) {
+			return counts_[bucket];
+		}
+	}
+}
@@ -15,6 +15,9 @@
  */
 package equinox.dataServer.server;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.message.AddNewUserRequest;
 import equinox.dataServer.remote.message.AdvancedMultiplicationTableSearchRequest;
@@ -103,7 +106,6 @@ import equinox.dataServer.task.CheckForMaterialUpdates;
 import equinox.dataServer.task.CloseAccessRequest;
 import equinox.dataServer.task.CloseBugReport;
 import equinox.dataServer.task.CloseWish;
-import equinox.dataServer.task.DatabaseQueryTask;
 import equinox.dataServer.task.DeleteHelpVideo;
 import equinox.dataServer.task.DeleteMultiplicationTable;
 import equinox.dataServer.task.DeletePilotPoint;
@@ -181,6 +183,9 @@ public class Lobby {
 	/** Server. */
 	private final DataServer server_;
 
+	/** Dispatch table containing request handlers mapped to request message classes. */
+	private final Map<Class<?>, RequestHandler<?>> handlers_;
+
 	/**
 	 * Creates lobby.
 	 *
@@ -189,6 +194,7 @@ public class Lobby {
 	 */
 	public Lobby(DataServer server) {
 		server_ = server;
+		handlers_ = createDispatchTable();
 		server_.getLogger().info("Client lobby created.");
 	}
 
@@ -220,404 +226,141 @@ public class Lobby {
 	 */
 	public void respond(DataClient client, NetworkMessage message) throws Exception {
 
-		// login request
-		if (message instanceof Login && checkPermission(client, Permission.LOGIN_AS_ADMINISTRATOR, message)) {
+		// increment query request count statistic (for all database query requests)
+		if (message instanceof DatabaseQueryRequest) {
 			server_.incrementQueryRequests();
-			server_.getThreadPool().submit(new ProcessLogin(client, (Login) message));
-		}
-
-		// data queries count request
-		else if (message instanceof GetDataQueriesRequest) {
-			server_.getThreadPool().submit(new GetDataQueries(client, (GetDataQueriesRequest) message));
-		}
-
-		// spectrum counts request
-		else if (message instanceof GetSpectrumCountsRequest) {
-			server_.getThreadPool().submit(new GetSpectrumCounts(client, (GetSpectrumCountsRequest) message));
 		}
 
-		// search hits request
-		else if (message instanceof GetSearchHitsRequest) {
-			server_.getThreadPool().submit(new GetSearchHits(client, (GetSearchHitsRequest) message));
-		}
+		// get request handler
+		RequestHandler<?> handler = handlers_.get(message.getClass());
 
-		// pilot point counts request
-		else if (message instanceof GetPilotPointCountsRequest) {
-			server_.getThreadPool().submit(new GetPilotPointCounts(client, (GetPilotPointCountsRequest) message));
-		}
-
-		// bug report count request
-		else if (message instanceof GetBugReportCountRequest) {
-			server_.getThreadPool().submit(new GetBugReportCount(client, (GetBugReportCountRequest) message));
-		}
+		// unknown message
+		if (handler == null)
+			return;
 
-		// wish count request
-		else if (message instanceof GetWishCountRequest) {
-			server_.getThreadPool().submit(new GetWishCount(client, (GetWishCountRequest) message));
-		}
+		// check permission
+		if (handler.getPermission() != null && !checkPermission(client, handler.getPermission(), message))
+			return;
 
-		// access request count request
-		else if (message instanceof GetAccessRequestCountRequest) {
-			server_.getThreadPool().submit(new GetAccessRequestCount(client, (GetAccessRequestCountRequest) message));
+		// increment query request count statistic (for permitted login requests)
+		if (message instanceof Login) {
+			server_.incrementQueryRequests();
 		}
 
-		// database query request
-		else if (message instanceof DatabaseQueryRequest) {
-			databaseQueryRequest(client, (DatabaseQueryRequest) message);
-		}
+		// submit task
+		server_.getTaskExecutor().submit(handler.createTask(server_, client, message));
 	}
 
 	/**
-	 * Responds to database query request message form client.
+	 * Creates the dispatch table containing request handlers mapped to request message classes.
 	 *
-	 * @param client
-	 *            Requesting client.
-	 * @param message
-	 *            Client message.
-	 * @throws Exception
-	 *             If exception occurs during process.
+	 * @return The dispatch table.
 	 */
-	private void databaseQueryRequest(DataClient client, DatabaseQueryRequest message) throws Exception {
-
-		// increment query request count statistic
-		server_.incrementQueryRequests();
-
-		// initialize analysis task
-		DatabaseQueryTask task = null;
-
-		// plugin info request
-		if (message instanceof GetPluginInfoRequest && checkPermission(client, Permission.GET_EQUINOX_PLUGIN_INFO, message)) {
-			task = new GetPluginInfo(server_, client, (GetPluginInfoRequest) message);
-		}
-
-		// advanced multiplication table search request
-		else if (message instanceof AdvancedMultiplicationTableSearchRequest && checkPermission(client, Permission.SEARCH_MULTIPLICATION_TABLE, message)) {
-			task = new AdvancedMultiplicationTableSearch(server_, client, (AdvancedMultiplicationTableSearchRequest) message);
-		}
-
-		// advanced pilot point search request
-		else if (message instanceof AdvancedPilotPointSearchRequest && checkPermission(client, Permission.SEARCH_PILOT_POINT, message)) {
-			task = new AdvancedPilotPointSearch(server_, client, (AdvancedPilotPointSearchRequest) message);
-		}
-
-		// advanced spectrum search request
-		else if (message instanceof AdvancedSpectrumSearchRequest && checkPermission(client, Permission.SEARCH_SPECTRUM, message)) {
-			task = new AdvancedSpectrumSearch(server_, client, (AdvancedSpectrumSearchRequest) message);
-		}
-
-		// basic multiplication table search request
-		else if (message instanceof BasicMultiplicationTableSearchRequest && checkPermission(client, Permission.SEARCH_MULTIPLICATION_TABLE, message)) {
-			task = new BasicMultiplicationTableSearch(server_, client, (BasicMultiplicationTableSearchRequest) message);
-		}
-
-		// basic pilot point search request
-		else if (message instanceof BasicPilotPointSearchRequest && checkPermission(client, Permission.SEARCH_PILOT_POINT, message)) {
-			task = new BasicPilotPointSearch(server_, client, (BasicPilotPointSearchRequest) message);
-		}
-
-		// basic spectrum search request
-		else if (message instanceof BasicSpectrumSearchRequest && checkPermission(client, Permission.SEARCH_SPECTRUM, message)) {
-			task = new BasicSpectrumSearch(server_, client, (BasicSpectrumSearchRequest) message);
-		}
-
-		// check for Equinox updates
-		else if (message instanceof CheckForEquinoxUpdatesRequest && checkPermission(client, Permission.CHECK_FOR_EQUINOX_UPDATES, message)) {
-			task = new CheckForEquinoxContainerUpdates(server_, client, (CheckForEquinoxUpdatesRequest) message);
-		}
-
-		// check for material updates
-		else if (message instanceof CheckForMaterialUpdatesRequest && checkPermission(client, Permission.CHECK_FOR_MATERIAL_UPDATES, message)) {
-			task = new CheckForMaterialUpdates(server_, client, (CheckForMaterialUpdatesRequest) message);
-		}
-
-		// close bug report
-		else if (message instanceof CloseBugReportRequest && checkPermission(client, Permission.CLOSE_BUG_REPORT, message)) {
-			task = new CloseBugReport(server_, client, (CloseBugReportRequest) message);
-		}
-
-		// close wish
-		else if (message instanceof CloseWishRequest && checkPermission(client, Permission.CLOSE_WISH, message)) {
-			task = new CloseWish(server_, client, (CloseWishRequest) message);
-		}
-
-		// delete help video
-		else if (message instanceof DeleteHelpVideoRequest && checkPermission(client, Permission.DELETE_HELP_VIDEO, message)) {
-			task = new DeleteHelpVideo(server_, client, (DeleteHelpVideoRequest) message);
-		}
-
-		// delete multiplication table
-		else if (message instanceof DeleteMultiplicationTableRequest && checkPermission(client, Permission.DELETE_MULTIPLICATION_TABLE, message)) {
-			task = new DeleteMultiplicationTable(server_, client, (DeleteMultiplicationTableRequest) message);
-		}
-
-		// delete pilot point
-		else if (message instanceof DeletePilotPointRequest && checkPermission(client, Permission.DELETE_PILOT_POINT, message)) {
-			task = new DeletePilotPoint(server_, client, (DeletePilotPointRequest) message);
-		}
-
-		// delete plugin
-		else if (message instanceof DeletePluginRequest && checkPermission(client, Permission.DELETE_EQUINOX_PLUGIN, message)) {
-			task = new DeletePlugin(server_, client, (DeletePluginRequest) message);
-		}
-
-		// delete spectrum
-		else if (message instanceof DeleteSpectrumRequest && checkPermission(client, Permission.DELETE_SPECTRUM, message)) {
-			task = new DeleteSpectrum(server_, client, (DeleteSpectrumRequest) message);
-		}
-
-		// download help video
-		else if (message instanceof DownloadHelpVideoRequest && checkPermission(client, Permission.DOWNLOAD_HELP_VIDEO, message)) {
-			task = new DownloadHelpVideo(server_, client, (DownloadHelpVideoRequest) message);
-		}
-
-		// download pilot point
-		else if (message instanceof DownloadPilotPointRequest && checkPermission(client, Permission.DOWNLOAD_PILOT_POINT, message)) {
-			task = new DownloadPilotPoint(server_, client, (DownloadPilotPointRequest) message);
-		}
-
-		// download pilot point images
-		else if (message instanceof DownloadPilotPointImagesRequest && checkPermission(client, Permission.DOWNLOAD_PILOT_POINT, message)) {
-			task = new DownloadPilotPointImages(server_, client, (DownloadPilotPointImagesRequest) message);
-		}
-
-		// download pilot point attributes
-		else if (message instanceof DownloadPilotPointAttributesRequest && checkPermission(client, Permission.DOWNLOAD_PILOT_POINT, message)) {
-			task = new DownloadPilotPointAttributes(server_, client, (DownloadPilotPointAttributesRequest) message);
-		}
-
-		// download pilot points
-		else if (message instanceof DownloadPilotPointsRequest && checkPermission(client, Permission.DOWNLOAD_PILOT_POINT, message)) {
-			task = new DownloadPilotPoints(server_, client, (DownloadPilotPointsRequest) message);
-		}
-
-		// download sample input
-		else if (message instanceof DownloadSampleInputRequest && checkPermission(client, Permission.DOWNLOAD_SAMPLE_INPUT, message)) {
-			task = new DownloadSampleInput(server_, client, (DownloadSampleInputRequest) message);
-		}
-
-		// execute SQL statement
-		else if (message instanceof ExecuteSQLStatementRequest && checkPermission(client, Permission.EXECUTE_GENERIC_SQL_STATEMENT, message)) {
-			task = new ExecuteSQLStatement(server_, client, (ExecuteSQLStatementRequest) message);
-		}
-
-		// get aircraft programs for pilot points
-		else if (message instanceof GetAircraftProgramsForPilotPointsRequest) {
-			task = new GetAircraftProgramsForPilotPoints(server_, client, (GetAircraftProgramsForPilotPointsRequest) message);
-		}
-
-		// get aircraft programs for spectra
-		else if (message instanceof GetAircraftProgramsForSpectraRequest) {
-			task = new GetAircraftProgramsForSpectra(server_, client, (GetAircraftProgramsForSpectraRequest) message);
-		}
-
-		// get aircraft sections for pilot points
-		else if (message instanceof GetAircraftSectionsForPilotPointsRequest) {
-			task = new GetAircraftSectionsForPilotPoints(server_, client, (GetAircraftSectionsForPilotPointsRequest) message);
-		}
-
-		// get aircraft sections for spectra
-		else if (message instanceof GetAircraftSectionsForSpectraRequest) {
-			task = new GetAircraftSectionsForSpectra(server_, client, (GetAircraftSectionsForSpectraRequest) message);
-		}
-
-		// get bug reports
-		else if (message instanceof GetBugReportsRequest && checkPermission(client, Permission.GET_BUG_REPORTS, message)) {
-			task = new GetBugReports(server_, client, (GetBugReportsRequest) message);
-		}
-
-		// get fatigue missions for pilot points
-		else if (message instanceof GetFatigueMissionsForPilotPointsRequest) {
-			task = new GetFatigueMissionsForPilotPoints(server_, client, (GetFatigueMissionsForPilotPointsRequest) message);
-		}
-
-		// get fatigue missions for spectra
-		else if (message instanceof GetFatigueMissionsForSpectraRequest) {
-			task = new GetFatigueMissionsForSpectra(server_, client, (GetFatigueMissionsForSpectraRequest) message);
-		}
-
-		// get help videos
-		else if (message instanceof GetHelpVideosRequest && checkPermission(client, Permission.GET_HELP_VIDEOS, message)) {
-			task = new GetHelpVideos(server_, client, (GetHelpVideosRequest) message);
-		}
-
-		// get pilot point image
-		else if (message instanceof GetPilotPointImageRequest && checkPermission(client, Permission.SEARCH_PILOT_POINT, message)) {
-			task = new GetPilotPointImage(server_, client, (GetPilotPointImageRequest) message);
-		}
-
-		// get wishes
-		else if (message instanceof GetWishesRequest && checkPermission(client, Permission.GET_WISHES, message)) {
-			task = new GetWishes(server_, client, (GetWishesRequest) message);
-		}
-
-		// like wish
-		else if (message instanceof LikeWishRequest && checkPermission(client, Permission.GET_WISHES, message)) {
-			task = new LikeWish(server_, client, (LikeWishRequest) message);
-		}
-
-		// plot contribution statistics
-		else if (message instanceof PlotContributionStatisticsRequest && checkPermission(client, Permission.PLOT_CONTRIBUTION_STATISTICS, message)) {
-			task = new PlotContributionStatistics(server_, client, (PlotContributionStatisticsRequest) message);
-		}
-
-		// plot pilot point count
-		else if (message instanceof PlotPilotPointCountRequest && checkPermission(client, Permission.PLOT_PILOT_POINT_COUNT, message)) {
-			task = new PlotPilotPointCount(server_, client, (PlotPilotPointCountRequest) message);
-		}
-
-		// plot spectrum count
-		else if (message instanceof PlotSpectrumCountRequest && checkPermission(client, Permission.PLOT_SPECTRUM_COUNT, message)) {
-			task = new PlotSpectrumCount(server_, client, (PlotSpectrumCountRequest) message);
-		}
-
-		// plot spectrum size
-		else if (message instanceof PlotSpectrumSizeRequest && checkPermission(client, Permission.PLOT_SPECTRUM_SIZE, message)) {
-			task = new PlotSpectrumSize(server_, client, (PlotSpectrumSizeRequest) message);
-		}
-
-		// reset exchange table
-		else if (message instanceof ResetExchangeTableRequest && checkPermission(client, Permission.RESET_EXCHANGE_DATA, message)) {
-			task = new ResetExchangeTable(server_, client, (ResetExchangeTableRequest) message);
-		}
-
-		// save pilot point image
-		else if (message instanceof SavePilotPointImageRequest && checkPermission(client, Permission.SAVE_PILOT_POINT_IMAGE, message)) {
-			task = new SavePilotPointImage(server_, client, (SavePilotPointImageRequest) message);
-		}
-
-		// submit bug report
-		else if (message instanceof SubmitBugReportRequest && checkPermission(client, Permission.SUBMIT_BUG_REPORT, message)) {
-			task = new SubmitBugReport(server_, client, (SubmitBugReportRequest) message);
-		}
-
-		// submit wish
-		else if (message instanceof SubmitWishRequest && checkPermission(client, Permission.SUBMIT_WISH, message)) {
-			task = new SubmitWish(server_, client, (SubmitWishRequest) message);
-		}
-
-		// get fatigue materials
-		else if (message instanceof GetFatigueMaterialsRequest && checkPermission(client, Permission.GET_MATERIALS, message)) {
-			task = new GetFatigueMaterials(server_, client, (GetFatigueMaterialsRequest) message);
-		}
-
-		// get linear materials
-		else if (message instanceof GetLinearMaterialsRequest && checkPermission(client, Permission.GET_MATERIALS, message)) {
-			task = new GetLinearMaterials(server_, client, (GetLinearMaterialsRequest) message);
-		}
-
-		// get preffas materials
-		else if (message instanceof GetPreffasMaterialsRequest && checkPermission(client, Permission.GET_MATERIALS, message)) {
-			task = new GetPreffasMaterials(server_, client, (GetPreffasMaterialsRequest) message);
-		}
-
-		// update multiplication table info
-		else if (message instanceof UpdateMultiplicationTableRequest && checkPermission(client, Permission.UPDATE_MULTIPLICATION_TABLE_INFO, message)) {
-			task = new UpdateMultiplicationTable(server_, client, (UpdateMultiplicationTableRequest) message);
-		}
-
-		// update pilot point info
-		else if (message instanceof UpdatePilotPointRequest && checkPermission(client, Permission.UPDATE_PILOT_POINT_INFO, message)) {
-			task = new UpdatePilotPoint(server_, client, (UpdatePilotPointRequest) message);
-		}
-
-		// update spectrum info
-		else if (message instanceof UpdateSpectrumRequest && checkPermission(client, Permission.UPDATE_SPECTRUM_INFO, message)) {
-			task = new UpdateSpectrum(server_, client, (UpdateSpectrumRequest) message);
-		}
-
-		// upload damage contributions
-		else if (message instanceof UploadDamageContributionsRequest && checkPermission(client, Permission.UPLOAD_DAMAGE_CONTRIBUTIONS, message)) {
-			task = new UploadDamageContributions(server_, client, (UploadDamageContributionsRequest) message);
-		}
-
-		// upload help video
-		else if (message instanceof UploadHelpVideoRequest && checkPermission(client, Permission.UPLOAD_HELP_VIDEO, message)) {
-			task = new UploadHelpVideo(server_, client, (UploadHelpVideoRequest) message);
-		}
-
-		// upload materials
-		else if (message instanceof UploadMaterialsRequest && checkPermission(client, Permission.UPLOAD_MATERIALS, message)) {
-			task = new UploadMaterials(server_, client, (UploadMaterialsRequest) message);
-		}
-
-		// upload multiplication tables
-		else if (message instanceof UploadMultiplicationTablesRequest && checkPermission(client, Permission.UPLOAD_MULTIPLICATION_TABLES, message)) {
-			task = new UploadMultiplicationTables(server_, client, (UploadMultiplicationTablesRequest) message);
-		}
-
-		// upload pilot points
-		else if (message instanceof UploadPilotPointsRequest && checkPermission(client, Permission.UPLOAD_PILOT_POINTS, message)) {
-			task = new UploadPilotPoints(server_, client, (UploadPilotPointsRequest) message);
-		}
-
-		// upload plugin
-		else if (message instanceof UploadPluginRequest && checkPermission(client, Permission.UPLOAD_EQUINOX_PLUGIN, message)) {
-			task = new UploadPlugin(server_, client, (UploadPluginRequest) message);
-		}
-
-		// upload sample inputs
-		else if (message instanceof UploadSampleInputsRequest && checkPermission(client, Permission.UPLOAD_SAMPLE_INPUTS, message)) {
-			task = new UploadSampleInputs(server_, client, (UploadSampleInputsRequest) message);
-		}
-
-		// upload spectra
-		else if (message instanceof UploadSpectraRequest && checkPermission(client, Permission.UPLOAD_SPECTRA, message)) {
-			task = new UploadSpectra(server_, client, (UploadSpectraRequest) message);
-		}
-
-		// upload update
-		else if (message instanceof UploadContainerUpdateRequest && checkPermission(client, Permission.UPLOAD_EQUINOX_UPDATE, message)) {
-			task = new UploadEquinoxContainerUpdate(server_, client, (UploadContainerUpdateRequest) message);
-		}
-
-		// get pilot point images
-		else if (message instanceof GetPilotPointImagesRequest && checkPermission(client, Permission.GET_PILOT_POINT_IMAGES, message)) {
-			task = new GetPilotPointImages(server_, client, (GetPilotPointImagesRequest) message);
-		}
-
-		// add new user
-		else if (message instanceof AddNewUserRequest && checkPermission(client, Permission.ADD_NEW_USER, message)) {
-			task = new AddNewUser(server_, client, (AddNewUserRequest) message);
-		}
-
-		// delete users
-		else if (message instanceof DeleteUsersRequest && checkPermission(client, Permission.DELETE_USER, message)) {
-			task = new DeleteUsers(server_, client, (DeleteUsersRequest) message);
-		}
-
-		// get user permissions
-		else if (message instanceof GetUserPermissionsRequest && checkPermission(client, Permission.GET_USER_PERMISSIONS, message)) {
-			task = new GetUserPermissions(server_, client, (GetUserPermissionsRequest) message);
-		}
-
-		// edit user permissions
-		else if (message instanceof EditUserPermissionsRequest && checkPermission(client, Permission.EDIT_USER_PERMISSIONS, message)) {
-			task = new EditUserPermissions(server_, client, (EditUserPermissionsRequest) message);
-		}
-
-		// submit user access request
-		else if (message instanceof SubmitAccessRequestRequest && checkPermission(client, Permission.SUBMIT_ACCESS_REQUEST, message)) {
-			task = new SubmitAccessRequest(server_, client, (SubmitAccessRequestRequest) message);
-		}
-
-		// get user access requests
-		else if (message instanceof GetAccessRequestsRequest && checkPermission(client, Permission.GET_ACCESS_REQUESTS, message)) {
-			task = new GetAccessRequests(server_, client, (GetAccessRequestsRequest) message);
-		}
-
-		// close user access request
-		else if (message instanceof CloseAccessRequestRequest && checkPermission(client, Permission.CLOSE_ACCESS_REQUEST, message)) {
-			task = new CloseAccessRequest(server_, client, (CloseAccessRequestRequest) message);
-		}
+	static Map<Class<?>, RequestHandler<?>> createDispatchTable() {
+
+		// create table
+		Map<Class<?>, RequestHandler<?>> handlers = new HashMap<>();
+
+		// administrative requests
+		register(handlers, Login.class, Permission.LOGIN_AS_ADMINISTRATOR, (server, client, message) -> new ProcessLogin(client, message));
+		register(handlers, GetDataQueriesRequest.class, null, (server, client, message) -> new GetDataQueries(client, message));
+		register(handlers, GetSpectrumCountsRequest.class, null, (server, client, message) -> new GetSpectrumCounts(client, message));
+		register(handlers, GetSearchHitsRequest.class, null, (server, client, message) -> new GetSearchHits(client, message));
+		register(handlers, GetPilotPointCountsRequest.class, null, (server, client, message) -> new GetPilotPointCounts(client, message));
+		register(handlers, GetBugReportCountRequest.class, null, (server, client, message) -> new GetBugReportCount(client, message));
+		register(handlers, GetWishCountRequest.class, null, (server, client, message) -> new GetWishCount(client, message));
+		register(handlers, GetAccessRequestCountRequest.class, null, (server, client, message) -> new GetAccessRequestCount(client, message));
+
+		// database query requests
+		register(handlers, GetPluginInfoRequest.class, Permission.GET_EQUINOX_PLUGIN_INFO, GetPluginInfo::new);
+		register(handlers, AdvancedMultiplicationTableSearchRequest.class, Permission.SEARCH_MULTIPLICATION_TABLE, AdvancedMultiplicationTableSearch::new);
+		register(handlers, AdvancedPilotPointSearchRequest.class, Permission.SEARCH_PILOT_POINT, AdvancedPilotPointSearch::new);
+		register(handlers, AdvancedSpectrumSearchRequest.class, Permission.SEARCH_SPECTRUM, AdvancedSpectrumSearch::new);
+		register(handlers, BasicMultiplicationTableSearchRequest.class, Permission.SEARCH_MULTIPLICATION_TABLE, BasicMultiplicationTableSearch::new);
+		register(handlers, BasicPilotPointSearchRequest.class, Permission.SEARCH_PILOT_POINT, BasicPilotPointSearch::new);
+		register(handlers, BasicSpectrumSearchRequest.class, Permission.SEARCH_SPECTRUM, BasicSpectrumSearch::new);
+		register(handlers, CheckForEquinoxUpdatesRequest.class, Permission.CHECK_FOR_EQUINOX_UPDATES, CheckForEquinoxContainerUpdates::new);
+		register(handlers, CheckForMaterialUpdatesRequest.class, Permission.CHECK_FOR_MATERIAL_UPDATES, CheckForMaterialUpdates::new);
+		register(handlers, CloseBugReportRequest.class, Permission.CLOSE_BUG_REPORT, CloseBugReport::new);
+		register(handlers, CloseWishRequest.class, Permission.CLOSE_WISH, CloseWish::new);
+		register(handlers, DeleteHelpVideoRequest.class, Permission.DELETE_HELP_VIDEO, DeleteHelpVideo::new);
+		register(handlers, DeleteMultiplicationTableRequest.class, Permission.DELETE_MULTIPLICATION_TABLE, DeleteMultiplicationTable::new);
+		register(handlers, DeletePilotPointRequest.class, Permission.DELETE_PILOT_POINT, DeletePilotPoint::new);
+		register(handlers, DeletePluginRequest.class, Permission.DELETE_EQUINOX_PLUGIN, DeletePlugin::new);
+		register(handlers, DeleteSpectrumRequest.class, Permission.DELETE_SPECTRUM, DeleteSpectrum::new);
+		register(handlers, DownloadHelpVideoRequest.class, Permission.DOWNLOAD_HELP_VIDEO, DownloadHelpVideo::new);
+		register(handlers, DownloadPilotPointRequest.class, Permission.DOWNLOAD_PILOT_POINT, DownloadPilotPoint::new);
+		register(handlers, DownloadPilotPointImagesRequest.class, Permission.DOWNLOAD_PILOT_POINT, DownloadPilotPointImages::new);
+		register(handlers, DownloadPilotPointAttributesRequest.class, Permission.DOWNLOAD_PILOT_POINT, DownloadPilotPointAttributes::new);
+		register(handlers, DownloadPilotPointsRequest.class, Permission.DOWNLOAD_PILOT_POINT, DownloadPilotPoints::new);
+		register(handlers, DownloadSampleInputRequest.class, Permission.DOWNLOAD_SAMPLE_INPUT, DownloadSampleInput::new);
+		register(handlers, ExecuteSQLStatementRequest.class, Permission.EXECUTE_GENERIC_SQL_STATEMENT, ExecuteSQLStatement::new);
+		register(handlers, GetAircraftProgramsForPilotPointsRequest.class, null, GetAircraftProgramsForPilotPoints::new);
+		register(handlers, GetAircraftProgramsForSpectraRequest.class, null, GetAircraftProgramsForSpectra::new);
+		register(handlers, GetAircraftSectionsForPilotPointsRequest.class, null, GetAircraftSectionsForPilotPoints::new);
+		register(handlers, GetAircraftSectionsForSpectraRequest.class, null, GetAircraftSectionsForSpectra::new);
+		register(handlers, GetBugReportsRequest.class, Permission.GET_BUG_REPORTS, GetBugReports::new);
+		register(handlers, GetFatigueMissionsForPilotPointsRequest.class, null, GetFatigueMissionsForPilotPoints::new);
+		register(handlers, GetFatigueMissionsForSpectraRequest.class, null, GetFatigueMissionsForSpectra::new);
+		register(handlers, GetHelpVideosRequest.class, Permission.GET_HELP_VIDEOS, GetHelpVideos::new);
+		register(handlers, GetPilotPointImageRequest.class, Permission.SEARCH_PILOT_POINT, GetPilotPointImage::new);
+		register(handlers, GetWishesRequest.class, Permission.GET_WISHES, GetWishes::new);
+		register(handlers, LikeWishRequest.class, Permission.GET_WISHES, LikeWish::new);
+		register(handlers, PlotContributionStatisticsRequest.class, Permission.PLOT_CONTRIBUTION_STATISTICS, PlotContributionStatistics::new);
+		register(handlers, PlotPilotPointCountRequest.class, Permission.PLOT_PILOT_POINT_COUNT, PlotPilotPointCount::new);
+		register(handlers, PlotSpectrumCountRequest.class, Permission.PLOT_SPECTRUM_COUNT, PlotSpectrumCount::new);
+		register(handlers, PlotSpectrumSizeRequest.class, Permission.PLOT_SPECTRUM_SIZE, PlotSpectrumSize::new);
+		register(handlers, ResetExchangeTableRequest.class, Permission.RESET_EXCHANGE_DATA, ResetExchangeTable::new);
+		register(handlers, SavePilotPointImageRequest.class, Permission.SAVE_PILOT_POINT_IMAGE, SavePilotPointImage::new);
+		register(handlers, SubmitBugReportRequest.class, Permission.SUBMIT_BUG_REPORT, SubmitBugReport::new);
+		register(handlers, SubmitWishRequest.class, Permission.SUBMIT_WISH, SubmitWish::new);
+		register(handlers, GetFatigueMaterialsRequest.class, Permission.GET_MATERIALS, GetFatigueMaterials::new);
+		register(handlers, GetLinearMaterialsRequest.class, Permission.GET_MATERIALS, GetLinearMaterials::new);
+		register(handlers, GetPreffasMaterialsRequest.class, Permission.GET_MATERIALS, GetPreffasMaterials::new);
+		register(handlers, UpdateMultiplicationTableRequest.class, Permission.UPDATE_MULTIPLICATION_TABLE_INFO, UpdateMultiplicationTable::new);
+		register(handlers, UpdatePilotPointRequest.class, Permission.UPDATE_PILOT_POINT_INFO, UpdatePilotPoint::new);
+		register(handlers, UpdateSpectrumRequest.class, Permission.UPDATE_SPECTRUM_INFO, UpdateSpectrum::new);
+		register(handlers, UploadDamageContributionsRequest.class, Permission.UPLOAD_DAMAGE_CONTRIBUTIONS, UploadDamageContributions::new);
+		register(handlers, UploadHelpVideoRequest.class, Permission.UPLOAD_HELP_VIDEO, UploadHelpVideo::new);
+		register(handlers, UploadMaterialsRequest.class, Permission.UPLOAD_MATERIALS, UploadMaterials::new);
+		register(handlers, UploadMultiplicationTablesRequest.class, Permission.UPLOAD_MULTIPLICATION_TABLES, UploadMultiplicationTables::new);
+		register(handlers, UploadPilotPointsRequest.class, Permission.UPLOAD_PILOT_POINTS, UploadPilotPoints::new);
+		register(handlers, UploadPluginRequest.class, Permission.UPLOAD_EQUINOX_PLUGIN, UploadPlugin::new);
+		register(handlers, UploadSampleInputsRequest.class, Permission.UPLOAD_SAMPLE_INPUTS, UploadSampleInputs::new);
+		register(handlers, UploadSpectraRequest.class, Permission.UPLOAD_SPECTRA, UploadSpectra::new);
+		register(handlers, UploadContainerUpdateRequest.class, Permission.UPLOAD_EQUINOX_UPDATE, UploadEquinoxContainerUpdate::new);
+		register(handlers, GetPilotPointImagesRequest.class, Permission.GET_PILOT_POINT_IMAGES, GetPilotPointImages::new);
+		register(handlers, AddNewUserRequest.class, Permission.ADD_NEW_USER, AddNewUser::new);
+		register(handlers, DeleteUsersRequest.class, Permission.DELETE_USER, DeleteUsers::new);
+		register(handlers, GetUserPermissionsRequest.class, Permission.GET_USER_PERMISSIONS, GetUserPermissions::new);
+		register(handlers, EditUserPermissionsRequest.class, Permission.EDIT_USER_PERMISSIONS, EditUserPermissions::new);
+		register(handlers, SubmitAccessRequestRequest.class, Permission.SUBMIT_ACCESS_REQUEST, SubmitAccessRequest::new);
+		register(handlers, GetAccessRequestsRequest.class, Permission.GET_ACCESS_REQUESTS, GetAccessRequests::new);
+		register(handlers, CloseAccessRequestRequest.class, Permission.CLOSE_ACCESS_REQUEST, CloseAccessRequest::new);
+
+		// return table
+		return handlers;
+	}
 
-		// submit task
-		if (task != null) {
-			server_.getThreadPool().submit(task);
-		}
+	/**
+	 * Registers request handler for the given request message class.
+	 *
+	 * @param handlers
+	 *            Dispatch table.
+	 * @param type
+	 *            Request message class.
+	 * @param permission
+	 *            Required permission, or null if no permission is required.
+	 * @param factory
+	 *            Task factory.
+	 */
+	private static <T extends NetworkMessage> void register(Map<Class<?>, RequestHandler<?>> handlers, Class<T> type, Permission permission, RequestHandler.TaskFactory<T> factory) {
+		handlers.put(type, new RequestHandler<>(type, permission, factory));
 	}
 
 	/**
-	 * Returns true if client has the given permission.
+	 * Returns true if client has the given permission. Note that, permission denied messages are sent on the task executor, since this method can be
+	 * called from the network update thread.
 	 *
 	 * @param client
 	 *            Client.
@@ -627,23 +370,27 @@ public class Lobby {
 	 *            The message sent from client.
 	 * @return True if client has the given permission, or sends <code>PermissionDenied</code> message and return false.
 	 */
-	private static boolean checkPermission(DataClient client, Permission permission, NetworkMessage message) {
+	private boolean checkPermission(DataClient client, Permission permission, NetworkMessage message) {
 
 		// client doesn't have necessary permission
 		if (!client.hasPermission(permission)) {
 
 			// database query request
+			NetworkMessage response;
 			if (message instanceof DatabaseQueryRequest) {
-				DatabaseQueryPermissionDenied response = new DatabaseQueryPermissionDenied(permission);
-				response.setListenerHashCode(((DatabaseQueryRequest) message).getListenerHashCode());
-				client.sendMessage(response);
+				DatabaseQueryPermissionDenied denied = new DatabaseQueryPermissionDenied(permission);
+				denied.setListenerHashCode(((DatabaseQueryRequest) message).getListenerHashCode());
+				response = denied;
 			}
 
 			// other request
 			else {
-				client.sendMessage(new PermissionDenied(permission));
+				response = new PermissionDenied(permission);
 			}
 
+			// send response
+			server_.getTaskExecutor().submit(TaskCategory.INTERACTIVE, () -> client.sendMessage(response));
+
 			// return
 			return false;
 		}
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import equinox.dataServer.utility.Utility;
+
+/**
+ * Class for metrics endpoint. The endpoint is an embedded HTTP server, which exposes server metrics at <code>/metrics</code> in Prometheus text
+ * exposition format, so that the server can be scraped by monitoring systems. The endpoint is only started if it is enabled in the server properties,
+ * and it is bound to the configured host address (loopback by default), since the metrics are served without authentication.
+ * <p>
+ * Latency histograms are exposed with a bucket per power of two, which is a subset of the buckets of {@link LatencyHistogram}. Request histograms
+ * without any count are omitted.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 00:12:45
+ */
+public class MetricsEndpoint {
+
+	/** Content type of text exposition format. */
+	private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	/** Server instance. */
+	private final DataServer server_;
+
+	/** True if the endpoint is enabled. */
+	private final boolean isEnabled_;
+
+	/** Host address of the endpoint. */
+	private final String host_;
+
+	/** Port of the endpoint. */
+	private final int port_;
+
+	/** Request handler thread pool. */
+	private final ExecutorService executor_;
+
+	/** HTTP server. Null if the endpoint is not started. */
+	private HttpServer httpServer_ = null;
+
+	/**
+	 * Creates metrics endpoint.
+	 *
+	 * @param server
+	 *            Server instance.
+	 */
+	public MetricsEndpoint(DataServer server) {
+		server_ = server;
+		isEnabled_ = server.getProperties().getProperty("metrics.enabled").equals("yes");
+		host_ = server.getProperties().getProperty("metrics.host", "127.0.0.1");
+		port_ = Integer.parseInt(server.getProperties().getProperty("metrics.port"));
+		executor_ = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Equinox metrics endpoint");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Starts the endpoint (if enabled).
+	 *
+	 * @throws IOException
+	 *             If the endpoint cannot be bound to its host address and port.
+	 */
+	public void initialize() throws IOException {
+		if (isEnabled_) {
+			httpServer_ = HttpServer.create(new InetSocketAddress(host_, port_), 0);
+			httpServer_.createContext("/metrics", this::handle);
+			httpServer_.setExecutor(executor_);
+			httpServer_.start();
+			server_.getLogger().info("Metrics endpoint started on " + host_ + ":" + port_ + ".");
+		}
+	}
+
+	/**
+	 * Stops the endpoint and shuts down its thread pool.
+	 */
+	public void shutdown() {
+		if (httpServer_ != null) {
+			httpServer_.stop(0);
+		}
+		Utility.shutdownThreadPool(executor_, server_.getLogger());
+	}
+
+	/**
+	 * Handles the given HTTP exchange.
+	 *
+	 * @param exchange
+	 *            HTTP exchange.
+	 * @throws IOException
+	 *             If exception occurs during sending response.
+	 */
+	private void handle(HttpExchange exchange) throws IOException {
+
+		try {
+
+			// only GET is allowed
+			if (!exchange.getRequestMethod().equals("GET") && !exchange.getRequestMethod().equals("HEAD")) {
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+
+			// write metrics
+			byte[] body;
+			try {
+				body = write().getBytes(StandardCharsets.UTF_8);
+			}
+
+			// exception occurred during collecting metrics
+			catch (Exception e) {
+				server_.getLogger().log(Level.WARNING, "Exception occurred during collecting metrics.", e);
+				exchange.sendResponseHeaders(500, -1);
+				return;
+			}
+
+			// send response
+			exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+			if (exchange.getRequestMethod().equals("HEAD")) {
+				exchange.sendResponseHeaders(200, -1);
+				return;
+			}
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		}
+
+		// close exchange
+		finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Writes all metrics in text exposition format.
+	 *
+	 * @return Metrics in text exposition format.
+	 */
+	private String write() {
+
+		// create builder
+		StringBuilder out = new StringBuilder(64 * 1024);
+
+		// clients
+		header(out, "equinox_connected_clients", "gauge", "Number of connected clients.");
+		sample(out, "equinox_connected_clients", null, server_.getClients().size());
+
+		// task executor
+		TaskExecutor executor = server_.getTaskExecutor();
+		header(out, "equinox_executor_active_threads", "gauge", "Number of threads actively executing tasks.");
+		sample(out, "equinox_executor_active_threads", null, executor.getActiveCount());
+		header(out, "equinox_executor_pool_size", "gauge", "Number of threads in all thread pools (admitted tasks in virtual thread mode).");
+		sample(out, "equinox_executor_pool_size", null, executor.getPoolSize());
+		header(out, "equinox_executor_queue_size", "gauge", "Number of tasks waiting for execution.");
+		for (TaskCategory category : TaskCategory.values()) {
+			sample(out, "equinox_executor_queue_size", labels("category", category.name().toLowerCase()), executor.getQueueSize(category));
+		}
+
+		// database connection pool
+		HikariPoolMXBean hikari = server_.getDCP().getHikariPoolMXBean();
+		if (hikari != null) {
+			header(out, "equinox_db_pool_active_connections", "gauge", "Number of borrowed database connections.");
+			sample(out, "equinox_db_pool_active_connections", null, hikari.getActiveConnections());
+			header(out, "equinox_db_pool_idle_connections", "gauge", "Number of idle database connections.");
+			sample(out, "equinox_db_pool_idle_connections", null, hikari.getIdleConnections());
+			header(out, "equinox_db_pool_max_connections", "gauge", "Maximum number of database connections.");
+			sample(out, "equinox_db_pool_max_connections", null, server_.getDCP().getMaximumPoolSize());
+			header(out, "equinox_db_pool_pending_threads", "gauge", "Number of threads waiting for a database connection.");
+			sample(out, "equinox_db_pool_pending_threads", null, hikari.getThreadsAwaitingConnection());
+		}
+
+		// filer connection pool
+		FilerConnectionPool filerPool = server_.getFilerConnectionPool();
+		header(out, "equinox_filer_pool_active_connections", "gauge", "Number of borrowed filer connections.");
+		sample(out, "equinox_filer_pool_active_connections", null, filerPool.getActiveCount());
+		header(out, "equinox_filer_pool_idle_connections", "gauge", "Number of idle filer connections.");
+		sample(out, "equinox_filer_pool_idle_connections", null, filerPool.getIdleCount());
+		header(out, "equinox_filer_pool_max_connections", "gauge", "Maximum number of filer connections.");
+		sample(out, "equinox_filer_pool_max_connections", null, filerPool.getMaxPoolSize());
+		header(out, "equinox_filer_pool_waiting_tasks", "gauge", "Number of tasks waiting for a filer connection.");
+		sample(out, "equinox_filer_pool_waiting_tasks", null, filerPool.getWaitingCount());
+		header(out, "equinox_filer_pool_borrows_total", "counter", "Number of filer connection borrows.");
+		sample(out, "equinox_filer_pool_borrows_total", null, filerPool.getBorrowCount());
+		header(out, "equinox_filer_pool_borrow_wait_seconds_total", "counter", "Total filer connection borrow wait time.");
+		sample(out, "equinox_filer_pool_borrow_wait_seconds_total", null, filerPool.getBorrowWait() / 1e9);
+		header(out, "equinox_filer_pool_timeouts_total", "counter", "Number of filer connection borrow timeouts.");
+		sample(out, "equinox_filer_pool_timeouts_total", null, filerPool.getTimeoutCount());
+
+		// database query latency
+		header(out, "equinox_query_duration_seconds", "histogram", "Database query task latency.");
+		histogram(out, "equinox_query_duration_seconds", null, server_.getQueryLatency().snapshot());
+
+		// request metrics
+		RequestMetrics requestMetrics = server_.getRequestMetrics();
+		header(out, "equinox_request_phase_seconds", "histogram", "Latency of request execution phases by request class.");
+		for (RequestMetrics.Phase phase : RequestMetrics.Phase.values()) {
+			for (Map.Entry<String, LatencyHistogram.Snapshot> entry : new TreeMap<>(requestMetrics.snapshot(phase)).entrySet()) {
+				if (entry.getValue().getCount() > 0L) {
+					histogram(out, "equinox_request_phase_seconds", labels("request", entry.getKey(), "phase", phase.getName()), entry.getValue());
+				}
+			}
+		}
+		header(out, "equinox_request_sent_bytes_total", "counter", "Bytes sent to clients by request class.");
+		for (String requestClass : new TreeMap<>(requestMetrics.snapshot(RequestMetrics.Phase.TOTAL)).keySet()) {
+			sample(out, "equinox_request_sent_bytes_total", labels("request", requestClass), requestMetrics.getEntry(requestClass).getBytesSent());
+		}
+
+		// JVM memory
+		MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+		MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+		header(out, "jvm_memory_used_bytes", "gauge", "Used JVM memory.");
+		sample(out, "jvm_memory_used_bytes", labels("area", "heap"), heap.getUsed());
+		sample(out, "jvm_memory_used_bytes", labels("area", "nonheap"), nonHeap.getUsed());
+		header(out, "jvm_memory_committed_bytes", "gauge", "Committed JVM memory.");
+		sample(out, "jvm_memory_committed_bytes", labels("area", "heap"), heap.getCommitted());
+		sample(out, "jvm_memory_committed_bytes", labels("area", "nonheap"), nonHeap.getCommitted());
+		header(out, "jvm_memory_max_bytes", "gauge", "Maximum JVM memory (-1 if undefined).");
+		sample(out, "jvm_memory_max_bytes", labels("area", "heap"), heap.getMax());
+		sample(out, "jvm_memory_max_bytes", labels("area", "nonheap"), nonHeap.getMax());
+
+		// JVM garbage collection
+		header(out, "jvm_gc_collections_total", "counter", "Number of garbage collections.");
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			sample(out, "jvm_gc_collections_total", labels("gc", gc.getName()), Math.max(0L, gc.getCollectionCount()));
+		}
+		header(out, "jvm_gc_collection_seconds_total", "counter", "Total garbage collection time.");
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			sample(out, "jvm_gc_collection_seconds_total", labels("gc", gc.getName()), Math.max(0L, gc.getCollectionTime()) / 1000.0);
+		}
+
+		// JVM threads
+		header(out, "jvm_threads_current", "gauge", "Number of live JVM platform threads.");
+		sample(out, "jvm_threads_current", null, ManagementFactory.getThreadMXBean().getThreadCount());
+
+		// return metrics
+		return out.toString();
+	}
+
+	/**
+	 * Writes metric header.
+	 *
+	 * @param out
+	 *            Output builder.
+	 * @param name
+	 *            Metric name.
+	 * @param type
+	 *            Metric type.
+	 * @param help
+	 *            Metric description.
+	 */
+	private static void header(StringBuilder out, String name, String type, String help) {
+		out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+		out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+	}
+
+	/**
+	 * Writes metric sample.
+	 *
+	 * @param out
+	 *            Output builder.
+	 * @param name
+	 *            Sample name.
+	 * @param labels
+	 *            Sample labels (without braces). Can be null.
+	 * @param value
+	 *            Sample value.
+	 */
+	static void sample(StringBuilder out, String name, String labels, double value) {
+		out.append(name);
+		if (labels != null && !labels.isEmpty()) {
+			out.append('{').append(labels).append('}');
+		}
+		out.append(' ');
+		if (value == Double.POSITIVE_INFINITY) {
+			out.append("+Inf");
+		}
+		else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+			out.append((long) value);
+		}
+		else {
+			out.append(value);
+		}
+		out.append('\n');
+	}
+
+	/**
+	 * Writes histogram samples. Buckets are written at every power of two, and the last (unbounded) bucket is written as <code>+Inf</code>.
+	 *
+	 * @param out
+	 *            Output builder.
+	 * @param name
+	 *            Histogram name.
+	 * @param labels
+	 *            Histogram labels (without braces). Can be null.
+	 * @param snapshot
+	 *            Histogram snapshot.
+	 */
+	static void histogram(StringBuilder out, String name, String labels, LatencyHistogram.Snapshot snapshot) {
+		String prefix = labels == null ? "" : labels + ",";
+		long cumulative = 0L;
+		int last = snapshot.getBucketCount() - 1;
+		for (int i = 0; i < last; i++) {
+			cumulative += snapshot.getBucketCount(i);
+			if ((i + 1) % LatencyHistogram.SUB_BUCKETS == 0) {
+				sample(out, name + "_bucket", prefix + "le=\"" + snapshot.getUpperBound(i) + "\"", cumulative);
+			}
+		}
+		sample(out, name + "_bucket", prefix + "le=\"+Inf\"", snapshot.getCount());
+		sample(out, name + "_sum", labels, snapshot.getSum());
+		sample(out, name + "_count", labels, snapshot.getCount());
+	}
+
+	/**
+	 * Creates label text from the given label names and values.
+	 *
+	 * @param namesAndValues
+	 *            Label names and values, in turns.
+	 * @return Label text (without braces).
+	 */
+	static String labels(String... namesAndValues) {
+		StringBuilder labels = new StringBuilder();
+		for (int i = 0; i < namesAndValues.length; i += 2) {
+			if (i > 0) {
+				labels.append(',');
+			}
+			String value = namesAndValues[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+			labels.append(namesAndValues[i]).append("=\"").append(value).append('"');
+		}
+		return labels.toString();
+	}
+}
@@ -0,0 +1,595 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Class for in-process rollup of a database table. The rollup keeps the row count and the sum of a value column for each aircraft program, aircraft
+ * section and fatigue mission, so that plot tasks can look up the totals of a drill-down level without aggregating the table.
+ * <p>
+ * The rollup is built in the background at server startup. It is then updated incrementally with the changes recorded by the tasks which modify the
+ * table. A build is discarded if any change set is pending (created but not yet applied or discarded) or applied while the table is aggregated, since
+ * the aggregate may or may not contain the change. The build is then repeated once no change set is pending, so that no change is counted twice or
+ * missed. Until the rollup is built, it is not available and plot tasks fall back to database queries.
+ * <p>
+ * Item names are compared case-insensitively (as by the case-insensitive collation of the database), so that rows grouped together by the database
+ * are not split by the incremental changes. Nodes are named after the first recorded spelling.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 22:18:40
+ */
+public class PlotRollup {
+
+	/** Rolled up table name. */
+	private final String table_;
+
+	/** Summed column name. Null if only rows are counted. */
+	private final String sumColumn_;
+
+	/** Database connection pool. */
+	private final HikariDataSource dcpEngine_;
+
+	/** Rollup build thread pool. */
+	private final ExecutorService buildExecutor_;
+
+	/** Server logger. */
+	private final Logger logger_;
+
+	/** True if the rollup is enabled. */
+	private final boolean isEnabled_;
+
+	/** True if build is scheduled. */
+	private final AtomicBoolean buildScheduled_ = new AtomicBoolean();
+
+	/** Number of applied changes (guarded by this rollup). */
+	private long modifications_ = 0L;
+
+	/** Number of pending change sets, created but not yet applied or discarded (guarded by this rollup). */
+	private int pendingChanges_ = 0;
+
+	/** Root node containing the aircraft programs (guarded by this rollup). Null if the rollup is not built yet. */
+	private Node root_ = null;
+
+	/** Build time in milliseconds. */
+	private long buildTime_ = 0L;
+
+	/**
+	 * Creates plot rollup.
+	 *
+	 * @param table
+	 *            Rolled up table name. The table must have <code>id</code>, <code>ac_program</code>, <code>ac_section</code> and <code>fat_mission</code>
+	 *            columns.
+	 * @param sumColumn
+	 *            Summed column name. Can be null if only rows are counted.
+	 * @param dcpEngine
+	 *            Database connection pool.
+	 * @param buildExecutor
+	 *            Rollup build thread pool.
+	 * @param logger
+	 *            Server logger.
+	 * @param isEnabled
+	 *            True if the rollup is enabled. A disabled rollup is never built and doesn't record changes.
+	 */
+	public PlotRollup(String table, String sumColumn, HikariDataSource dcpEngine, ExecutorService buildExecutor, Logger logger, boolean isEnabled) {
+		table_ = table;
+		sumColumn_ = sumColumn;
+		dcpEngine_ = dcpEngine;
+		buildExecutor_ = buildExecutor;
+		logger_ = logger;
+		isEnabled_ = isEnabled;
+	}
+
+	/**
+	 * Returns true if the rollup is built.
+	 *
+	 * @return True if the rollup is built.
+	 */
+	synchronized public boolean isAvailable() {
+		return root_ != null;
+	}
+
+	/**
+	 * Returns the totals of the children of the given drill-down path, in descending order. An empty path returns the totals of aircraft programs, a
+	 * path of program returns the totals of its sections, and a path of program and section returns the totals of its missions.
+	 *
+	 * @param bySum
+	 *            True to order by sum, false to order by row count.
+	 * @param path
+	 *            Drill-down path (aircraft program, aircraft section).
+	 * @return The totals of the children, or null if the rollup is not built yet.
+	 */
+	synchronized public Totals[] getChildren(boolean bySum, String... path) {
+
+		// not built
+		if (root_ == null)
+			return null;
+
+		// find node
+		Node node = root_;
+		for (String name : path) {
+			node = node.children_.get(getKey(name));
+			if (node == null)
+				return new Totals[0];
+		}
+
+		// collect totals of children
+		Totals[] totals = new Totals[node.children_.size()];
+		int i = 0;
+		for (Node child : node.children_.values()) {
+			totals[i++] = new Totals(child.name_, child.count_, child.sum_);
+		}
+		Arrays.sort(totals, Comparator.comparingLong(bySum ? Totals::getSum : Totals::getCount).reversed());
+		return totals;
+	}
+
+	/**
+	 * Creates and returns a new change set for this rollup. The change set is pending until it is applied or discarded, and builds are discarded
+	 * meanwhile. Therefore, it must be created before the table is modified, and either applied or discarded when the modifying transaction ends.
+	 *
+	 * @return New change set.
+	 */
+	synchronized public Changes createChanges() {
+		pendingChanges_++;
+		return new Changes();
+	}
+
+	/**
+	 * Applies the given changes. This should be called after the changes are committed to the database.
+	 *
+	 * @param changes
+	 *            Changes to apply.
+	 */
+	synchronized public void apply(Changes changes) {
+
+		// not pending
+		if (!release(changes))
+			return;
+
+		// no change
+		if (changes.deltas_.isEmpty())
+			return;
+
+		// count modification (discards builds in progress)
+		modifications_++;
+
+		// apply deltas
+		if (root_ != null) {
+			for (Delta delta : changes.deltas_) {
+				root_.add(delta.count_, delta.sum_, delta.program_, delta.section_, delta.mission_);
+			}
+		}
+	}
+
+	/**
+	 * Discards the given changes. This should be called after the modifying transaction is rolled back. Discarding already applied or discarded
+	 * changes has no effect.
+	 *
+	 * @param changes
+	 *            Changes to discard.
+	 */
+	synchronized public void discard(Changes changes) {
+		release(changes);
+	}
+
+	/**
+	 * Invalidates the rollup and schedules rebuild. This should be called after the table is modified in a way which cannot be recorded as changes.
+	 */
+	synchronized public void invalidate() {
+		modifications_++;
+		root_ = null;
+		scheduleBuild();
+	}
+
+	/**
+	 * Schedules build of the rollup (if not already scheduled).
+	 */
+	public void scheduleBuild() {
+		if (isEnabled_ && buildScheduled_.compareAndSet(false, true)) {
+			buildExecutor_.submit(this::build);
+		}
+	}
+
+	/**
+	 * Returns rollup metrics as text.
+	 *
+	 * @return Rollup metrics.
+	 */
+	synchronized public String getMetrics() {
+		if (!isEnabled_)
+			return table_ + ": disabled";
+		if (root_ == null)
+			return table_ + ": not built";
+		return table_ + ": programs " + root_.children_.size() + ", rows " + root_.count_ + ", changes " + modifications_ + ", build time " + buildTime_ + " ms";
+	}
+
+	/**
+	 * Releases the given pending changes, and schedules build if the rollup is not built and no more changes are pending.
+	 *
+	 * @param changes
+	 *            Changes to release.
+	 * @return True if the changes were pending.
+	 */
+	private boolean release(Changes changes) {
+
+		// not pending
+		if (!changes.isPending_)
+			return false;
+
+		// release changes
+		changes.isPending_ = false;
+		pendingChanges_--;
+
+		// schedule build (discarded while changes were pending)
+		if (root_ == null && pendingChanges_ == 0) {
+			scheduleBuild();
+		}
+		return true;
+	}
+
+	/**
+	 * Builds the rollup from the database.
+	 */
+	private void build() {
+
+		// clear scheduled flag
+		buildScheduled_.set(false);
+		long modifications;
+		synchronized (this) {
+
+			// changes are pending (build is scheduled again when they are released)
+			if (pendingChanges_ != 0)
+				return;
+			modifications = modifications_;
+		}
+
+		try {
+
+			// aggregate table
+			long start = System.currentTimeMillis();
+			Node root = new Node(null);
+			String sum = sumColumn_ == null ? "0" : "sum(" + sumColumn_ + ")";
+			String sql = "select ac_program, ac_section, fat_mission, count(id), " + sum + " from " + table_ + " group by ac_program, ac_section, fat_mission";
+			try (Connection connection = dcpEngine_.getConnection()) {
+				try (PreparedStatement statement = connection.prepareStatement(sql)) {
+					try (ResultSet resultSet = statement.executeQuery()) {
+						while (resultSet.next()) {
+							root.add(resultSet.getLong(4), resultSet.getLong(5), resultSet.getString(1), resultSet.getString(2), resultSet.getString(3));
+						}
+					}
+				}
+			}
+
+			// set rollup (if no changes were created or applied meanwhile)
+			synchronized (this) {
+				if (pendingChanges_ == 0 && modifications == modifications_) {
+					root_ = root;
+					buildTime_ = System.currentTimeMillis() - start;
+					logger_.fine("Plot rollup of table '" + table_ + "' built with " + root.count_ + " rows.");
+					return;
+				}
+
+				// changes are pending (build is scheduled again when they are released)
+				if (pendingChanges_ != 0)
+					return;
+			}
+
+			// changes were applied during build
+			scheduleBuild();
+		}
+
+		// exception occurred during building rollup
+		catch (Exception e) {
+			logger_.log(Level.WARNING, "Exception occurred during building plot rollup of table '" + table_ + "'.", e);
+		}
+	}
+
+	/**
+	 * Inner class for totals of a drill-down item.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 22:21:05
+	 */
+	public static class Totals {
+
+		/** Item name. */
+		private final String name_;
+
+		/** Row count and sum. */
+		private final long count_, sum_;
+
+		/**
+		 * Creates totals.
+		 *
+		 * @param name
+		 *            Item name.
+		 * @param count
+		 *            Row count.
+		 * @param sum
+		 *            Sum of summed column.
+		 */
+		private Totals(String name, long count, long sum) {
+			name_ = name;
+			count_ = count;
+			sum_ = sum;
+		}
+
+		/**
+		 * Returns item name.
+		 *
+		 * @return Item name.
+		 */
+		public String getName() {
+			return name_;
+		}
+
+		/**
+		 * Returns row count.
+		 *
+		 * @return Row count.
+		 */
+		public long getCount() {
+			return count_;
+		}
+
+		/**
+		 * Returns sum of summed column.
+		 *
+		 * @return Sum of summed column.
+		 */
+		public long getSum() {
+			return sum_;
+		}
+	}
+
+	/**
+	 * Inner class for change set of a rollup. Changes are recorded within the transaction which modifies the table, and applied to the rollup after
+	 * the transaction is committed.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 22:24:37
+	 */
+	public class Changes {
+
+		/** Recorded deltas. */
+		private final ArrayList<Delta> deltas_ = new ArrayList<>();
+
+		/** True if this change set is not yet applied or discarded (guarded by the rollup). */
+		private boolean isPending_ = true;
+
+		/**
+		 * Creates change set.
+		 */
+		private Changes() {
+			// no implementation
+		}
+
+		/**
+		 * Records rows added to the table.
+		 *
+		 * @param program
+		 *            Aircraft program.
+		 * @param section
+		 *            Aircraft section.
+		 * @param mission
+		 *            Fatigue mission.
+		 * @param count
+		 *            Number of added rows.
+		 * @param sum
+		 *            Sum of summed column of added rows.
+		 * @return This change set.
+		 */
+		public Changes add(String program, String section, String mission, long count, long sum) {
+			deltas_.add(new Delta(program, section, mission, count, sum));
+			return this;
+		}
+
+		/**
+		 * Records the current state of the rows matching the given condition as added. This should be called after the rows are inserted or updated.
+		 *
+		 * @param connection
+		 *            Database connection of the modifying transaction.
+		 * @param condition
+		 *            Where condition of the rows.
+		 * @param parameters
+		 *            Parameters of the condition.
+		 * @return This change set.
+		 * @throws SQLException
+		 *             If exception occurs during process.
+		 */
+		public Changes addRows(Connection connection, String condition, Object... parameters) throws SQLException {
+			return record(connection, condition, parameters, 1L);
+		}
+
+		/**
+		 * Records the current state of the rows matching the given condition as removed. This should be called before the rows are deleted or updated.
+		 *
+		 * @param connection
+		 *            Database connection of the modifying transaction.
+		 * @param condition
+		 *            Where condition of the rows.
+		 * @param parameters
+		 *            Parameters of the condition.
+		 * @return This change set.
+		 * @throws SQLException
+		 *             If exception occurs during process.
+		 */
+		public Changes removeRows(Connection connection, String condition, Object... parameters) throws SQLException {
+			return record(connection, condition, parameters, -1L);
+		}
+
+		/**
+		 * Aggregates the rows matching the given condition and records them with the given sign. The rows are read with a locking read, so that they stay
+		 * locked until the modifying transaction ends. Therefore, concurrent transactions removing the same rows wait for each other, and the rows are
+		 * only recorded by the transaction which removes them first (later transactions find no rows).
+		 *
+		 * @param connection
+		 *            Database connection of the modifying transaction.
+		 * @param condition
+		 *            Where condition of the rows.
+		 * @param parameters
+		 *            Parameters of the condition.
+		 * @param sign
+		 *            1 for added rows, -1 for removed rows.
+		 * @return This change set.
+		 * @throws SQLException
+		 *             If exception occurs during process.
+		 */
+		private Changes record(Connection connection, String condition, Object[] parameters, long sign) throws SQLException {
+
+			// disabled
+			if (!isEnabled_)
+				return this;
+
+			// aggregate rows
+			String sum = sumColumn_ == null ? "0" : "sum(" + sumColumn_ + ")";
+			String sql = "select ac_program, ac_section, fat_mission, count(id), " + sum + " from " + table_ + " where " + condition + " group by ac_program, ac_section, fat_mission for update";
+			try (PreparedStatement statement = connection.prepareStatement(sql)) {
+				for (int i = 0; i < parameters.length; i++) {
+					statement.setObject(i + 1, parameters[i]);
+				}
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						add(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3), sign * resultSet.getLong(4), sign * resultSet.getLong(5));
+					}
+				}
+			}
+			return this;
+		}
+	}
+
+	/**
+	 * Inner class for a recorded delta.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 22:26:12
+	 */
+	private static class Delta {
+
+		/** Aircraft program, section and fatigue mission. */
+		private final String program_, section_, mission_;
+
+		/** Row count and sum deltas. */
+		private final long count_, sum_;
+
+		/**
+		 * Creates delta.
+		 *
+		 * @param program
+		 *            Aircraft program.
+		 * @param section
+		 *            Aircraft section.
+		 * @param mission
+		 *            Fatigue mission.
+		 * @param count
+		 *            Row count delta.
+		 * @param sum
+		 *            Sum delta.
+		 */
+		private Delta(String program, String section, String mission, long count, long sum) {
+			program_ = program;
+			section_ = section;
+			mission_ = mission;
+			count_ = count;
+			sum_ = sum;
+		}
+	}
+
+	/**
+	 * Returns the child node key of the given item name. Keys are case-insensitive.
+	 *
+	 * @param name
+	 *            Item name. Can be null.
+	 * @return The child node key.
+	 */
+	private static String getKey(String name) {
+		return name == null ? null : name.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Inner class for rollup node. A node holds the totals of its item and the nodes of the next drill-down level.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 22:28:50
+	 */
+	private static class Node {
+
+		/** Item name. */
+		private final String name_;
+
+		/** Child nodes mapped to their keys (see {@link PlotRollup#getKey}). */
+		private final HashMap<String, Node> children_ = new HashMap<>();
+
+		/** Row count and sum. */
+		private long count_ = 0L, sum_ = 0L;
+
+		/**
+		 * Creates node.
+		 *
+		 * @param name
+		 *            Item name.
+		 */
+		private Node(String name) {
+			name_ = name;
+		}
+
+		/**
+		 * Adds the given deltas to this node and its descendants along the given path. Descendants without rows are removed.
+		 *
+		 * @param count
+		 *            Row count delta.
+		 * @param sum
+		 *            Sum delta.
+		 * @param path
+		 *            Path of descendants.
+		 */
+		private void add(long count, long sum, String... path) {
+			Node node = this;
+			node.count_ += count;
+			node.sum_ += sum;
+			for (String name : path) {
+				String key = getKey(name);
+				Node child = node.children_.computeIfAbsent(key, x -> new Node(name));
+				child.count_ += count;
+				child.sum_ += sum;
+				if (child.count_ <= 0) {
+					node.children_.remove(key);
+					return;
+				}
+				node = child;
+			}
+		}
+	}
+}
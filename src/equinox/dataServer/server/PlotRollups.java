@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import equinox.dataServer.utility.Utility;
+
+/**
+ * Class for plot rollups of spectra and pilot points. Rollups are built in the background at server startup, and updated incrementally with the
+ * changes recorded by the tasks which modify the rolled up tables. If plot rollups are disabled, rollups are never available and plots are drawn with
+ * database queries.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 22:34:02
+ */
+public class PlotRollups {
+
+	/** Plot rollups. */
+	private final PlotRollup spectra_, pilotPoints_;
+
+	/** Rollup build thread pool. */
+	private final ExecutorService buildExecutor_;
+
+	/** True if plot rollups are enabled. */
+	private final boolean isEnabled_;
+
+	/** Server logger. */
+	private final Logger logger_;
+
+	/**
+	 * Creates plot rollups.
+	 *
+	 * @param properties
+	 *            Server properties.
+	 * @param logger
+	 *            Server logger.
+	 * @param dcpEngine
+	 *            Database connection pool.
+	 */
+	public PlotRollups(Properties properties, Logger logger, HikariDataSource dcpEngine) {
+		logger_ = logger;
+		isEnabled_ = properties.getProperty("rollup.enabled").equals("yes");
+		buildExecutor_ = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Equinox plot rollup builder");
+			thread.setDaemon(true);
+			return thread;
+		});
+		spectra_ = new PlotRollup("spectra", "data_size", dcpEngine, buildExecutor_, logger, isEnabled_);
+		pilotPoints_ = new PlotRollup("pilot_points", null, dcpEngine, buildExecutor_, logger, isEnabled_);
+	}
+
+	/**
+	 * Schedules initial build of plot rollups (if enabled).
+	 */
+	public void initialize() {
+		if (isEnabled_) {
+			spectra_.scheduleBuild();
+			pilotPoints_.scheduleBuild();
+			logger_.info("Plot rollup build scheduled.");
+		}
+	}
+
+	/**
+	 * Returns spectrum rollup. Spectrum rollup counts spectra and sums their data sizes.
+	 *
+	 * @return Spectrum rollup.
+	 */
+	public PlotRollup getSpectra() {
+		return spectra_;
+	}
+
+	/**
+	 * Returns pilot point rollup. Pilot point rollup counts pilot points.
+	 *
+	 * @return Pilot point rollup.
+	 */
+	public PlotRollup getPilotPoints() {
+		return pilotPoints_;
+	}
+
+	/**
+	 * Invalidates all rollups. This should be called after arbitrary modifications of the database.
+	 */
+	public void invalidateAll() {
+		spectra_.invalidate();
+		pilotPoints_.invalidate();
+	}
+
+	/**
+	 * Returns rollup metrics as text lines.
+	 *
+	 * @return Rollup metrics.
+	 */
+	public String[] getMetrics() {
+		return new String[] { spectra_.getMetrics(), pilotPoints_.getMetrics() };
+	}
+
+	/**
+	 * Shuts down the rollup build thread pool.
+	 */
+	public void shutdown() {
+		Utility.shutdownThreadPool(buildExecutor_, logger_);
+	}
+}
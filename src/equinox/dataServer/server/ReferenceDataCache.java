@@ -0,0 +1,165 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.util.ArrayList;
+import java.util.Properties;
+
+import equinox.dataServer.remote.data.HelpVideoInfo;
+
+/**
+ * Class for reference data cache. Reference data (such as aircraft programs, sections, fatigue missions, materials and help videos) only changes when data is
+ * uploaded, updated or deleted. Therefore, it is cached in memory and the corresponding cache regions are invalidated by the tasks which modify the
+ * underlying tables. Cached values are shared between requests and must not be modified.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 18:34:02
+ */
+public class ReferenceDataCache {
+
+	/** Distinct spectrum attributes (programs, sections and missions). */
+	private final CacheRegion<ArrayList<String>> spectrumAttributes_;
+
+	/** Distinct pilot point attributes (programs, sections and missions). */
+	private final CacheRegion<ArrayList<String>> pilotPointAttributes_;
+
+	/** Material ISAMI versions. */
+	private final CacheRegion<ArrayList<String>> materialIsamiVersions_;
+
+	/** Pre-encoded material responses mapped to material types and ISAMI versions. */
+	private final CacheRegion<EncodedResponse> materialResponses_;
+
+	/** Help videos. */
+	private final CacheRegion<ArrayList<HelpVideoInfo>> helpVideos_;
+
+	/**
+	 * Creates reference data cache.
+	 *
+	 * @param properties
+	 *            Server properties.
+	 */
+	public ReferenceDataCache(Properties properties) {
+		int maxEntries = Integer.parseInt(properties.getProperty("cache.maxEntries"));
+		long ttl = Long.parseLong(properties.getProperty("cache.ttl")) * 1000L;
+		spectrumAttributes_ = new CacheRegion<>("Spectrum attributes", maxEntries, ttl);
+		pilotPointAttributes_ = new CacheRegion<>("Pilot point attributes", maxEntries, ttl);
+		materialIsamiVersions_ = new CacheRegion<>("Material ISAMI versions", maxEntries, ttl);
+		materialResponses_ = new CacheRegion<>("Encoded material responses", maxEntries, ttl);
+		helpVideos_ = new CacheRegion<>("Help videos", maxEntries, ttl);
+	}
+
+	/**
+	 * Returns distinct spectrum attributes cache region.
+	 *
+	 * @return Distinct spectrum attributes cache region.
+	 */
+	public CacheRegion<ArrayList<String>> getSpectrumAttributes() {
+		return spectrumAttributes_;
+	}
+
+	/**
+	 * Returns distinct pilot point attributes cache region.
+	 *
+	 * @return Distinct pilot point attributes cache region.
+	 */
+	public CacheRegion<ArrayList<String>> getPilotPointAttributes() {
+		return pilotPointAttributes_;
+	}
+
+	/**
+	 * Returns material ISAMI versions cache region.
+	 *
+	 * @return Material ISAMI versions cache region.
+	 */
+	public CacheRegion<ArrayList<String>> getMaterialIsamiVersions() {
+		return materialIsamiVersions_;
+	}
+
+	/**
+	 * Returns pre-encoded material responses cache region. Responses are keyed by material type and ISAMI version.
+	 *
+	 * @return Pre-encoded material responses cache region.
+	 */
+	public CacheRegion<EncodedResponse> getMaterialResponses() {
+		return materialResponses_;
+	}
+
+	/**
+	 * Returns help videos cache region.
+	 *
+	 * @return Help videos cache region.
+	 */
+	public CacheRegion<ArrayList<HelpVideoInfo>> getHelpVideos() {
+		return helpVideos_;
+	}
+
+	/**
+	 * Invalidates cached spectrum data. This should be called after spectra are uploaded, updated or deleted.
+	 */
+	public void invalidateSpectra() {
+		spectrumAttributes_.invalidate();
+	}
+
+	/**
+	 * Invalidates cached pilot point data. This should be called after pilot points are uploaded, updated or deleted.
+	 */
+	public void invalidatePilotPoints() {
+		pilotPointAttributes_.invalidate();
+	}
+
+	/**
+	 * Invalidates cached material data. This should be called after materials are uploaded or deleted.
+	 */
+	public void invalidateMaterials() {
+		materialIsamiVersions_.invalidate();
+		materialResponses_.invalidate();
+	}
+
+	/**
+	 * Invalidates cached help videos. This should be called after help videos are uploaded or deleted.
+	 */
+	public void invalidateHelpVideos() {
+		helpVideos_.invalidate();
+	}
+
+	/**
+	 * Invalidates all cached data.
+	 */
+	public void invalidateAll() {
+		invalidateSpectra();
+		invalidatePilotPoints();
+		invalidateMaterials();
+		invalidateHelpVideos();
+	}
+
+	/**
+	 * Returns cache metrics as text lines.
+	 *
+	 * @return Cache metrics.
+	 */
+	public String[] getMetrics() {
+		// @formatter:off
+		return new String[] {
+				spectrumAttributes_.getMetrics(),
+				pilotPointAttributes_.getMetrics(),
+				materialIsamiVersions_.getMetrics(),
+				materialResponses_.getMetrics(),
+				helpVideos_.getMetrics()
+		};
+		// @formatter:on
+	}
+}
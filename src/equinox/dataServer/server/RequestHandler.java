@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import equinox.dataServer.client.DataClient;
+import equinox.dataServer.task.ServerTask;
+import equinox.serverUtilities.NetworkMessage;
+import equinox.serverUtilities.Permission;
+
+/**
+ * Class for request handler. Request handler holds the permission required for a request message type and the factory to create the server task responding to it.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 14:05:12
+ * @param <T>
+ *            Request message type.
+ */
+public class RequestHandler<T extends NetworkMessage> {
+
+	/** Request message class. */
+	private final Class<T> type_;
+
+	/** Required permission, or null if no permission is required. */
+	private final Permission permission_;
+
+	/** Task factory. */
+	private final TaskFactory<T> factory_;
+
+	/**
+	 * Creates request handler.
+	 *
+	 * @param type
+	 *            Request message class.
+	 * @param permission
+	 *            Required permission, or null if no permission is required.
+	 * @param factory
+	 *            Task factory.
+	 */
+	public RequestHandler(Class<T> type, Permission permission, TaskFactory<T> factory) {
+		type_ = type;
+		permission_ = permission;
+		factory_ = factory;
+	}
+
+	/**
+	 * Returns request message class.
+	 *
+	 * @return Request message class.
+	 */
+	public Class<T> getType() {
+		return type_;
+	}
+
+	/**
+	 * Returns the required permission, or null if no permission is required.
+	 *
+	 * @return The required permission, or null if no permission is required.
+	 */
+	public Permission getPermission() {
+		return permission_;
+	}
+
+	/**
+	 * Creates and returns the server task responding to the given message.
+	 *
+	 * @param server
+	 *            Server instance.
+	 * @param client
+	 *            Requesting client.
+	 * @param message
+	 *            Request message. Must be an instance of the request message class of this handler.
+	 * @return The newly created server task.
+	 */
+	public ServerTask createTask(DataServer server, DataClient client, NetworkMessage message) {
+		return factory_.create(server, client, type_.cast(message));
+	}
+
+	/**
+	 * Interface for task factory.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 14:07:40
+	 * @param <T>
+	 *            Request message type.
+	 */
+	@FunctionalInterface
+	public interface TaskFactory<T extends NetworkMessage> {
+
+		/**
+		 * Creates and returns server task.
+		 *
+		 * @param server
+		 *            Server instance.
+		 * @param client
+		 *            Requesting client.
+		 * @param message
+		 *            Request message.
+		 * @return The newly created server task.
+		 */
+		ServerTask create(DataServer server, DataClient client, T message);
+	}
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class for per-request-class metrics. Each server task class (which corresponds to a client request type) has latency histograms for the phases of
+ * its execution, and a counter of bytes sent to clients.
+ * <p>
+ * Metrics of the request being executed are bound to the executing thread, so that the database connection pool, filer connection pool and client
+ * connections can record their phases without knowing the request. Phases recorded by threads without a bound request are ignored.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 23:51:14
+ */
+public class RequestMetrics {
+
+	/**
+	 * Enumeration for request execution phases.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 23:52:40
+	 */
+	public enum Phase {
+
+		/** Total execution time (excluding queue wait time). */
+		TOTAL("total"),
+
+		/** Wait time in the task executor queue. */
+		QUEUE_WAIT("queue"),
+
+		/** Database connection acquire time. */
+		CONNECTION_ACQUIRE("connection"),
+
+		/** SQL statement execution time. */
+		SQL("sql"),
+
+		/** Filer (SFTP) connection usage time. */
+		FILER("filer"),
+
+		/** Message serialization and send time. */
+		SEND("send");
+
+		/** Phase name. */
+		private final String name_;
+
+		/**
+		 * Creates phase.
+		 *
+		 * @param name
+		 *            Phase name.
+		 */
+		Phase(String name) {
+			name_ = name;
+		}
+
+		/**
+		 * Returns the phase name.
+		 *
+		 * @return The phase name.
+		 */
+		public String getName() {
+			return name_;
+		}
+	}
+
+	/** Metrics of the request being executed by the current thread. */
+	private static final ThreadLocal<Entry> CURRENT = new ThreadLocal<>();
+
+	/** Metrics mapped to request classes. */
+	private final ConcurrentHashMap<String, Entry> entries_ = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the metrics of the given request class (creates if not already exists).
+	 *
+	 * @param requestClass
+	 *            Request class.
+	 * @return Metrics of the request class.
+	 */
+	public Entry getEntry(String requestClass) {
+		return entries_.computeIfAbsent(requestClass, Entry::new);
+	}
+
+	/**
+	 * Returns snapshots of the given phase histograms of all request classes.
+	 *
+	 * @param phase
+	 *            Request phase.
+	 * @return Mapping of request classes to histogram snapshots.
+	 */
+	public Map<String, LatencyHistogram.Snapshot> snapshot(Phase phase) {
+		HashMap<String, LatencyHistogram.Snapshot> snapshots = new HashMap<>();
+		entries_.forEach((requestClass, entry) -> snapshots.put(requestClass, entry.getHistogram(phase).snapshot()));
+		return snapshots;
+	}
+
+	/**
+	 * Returns request metrics as text lines, in descending order of 99th percentile total latency.
+	 *
+	 * @return Request metrics.
+	 */
+	public String[] getMetrics() {
+
+		// take snapshots
+		ArrayList<Map.Entry<Entry, LatencyHistogram.Snapshot[]>> snapshots = new ArrayList<>();
+		for (Entry entry : entries_.values()) {
+			LatencyHistogram.Snapshot[] phases = new LatencyHistogram.Snapshot[Phase.values().length];
+			for (Phase phase : Phase.values()) {
+				phases[phase.ordinal()] = entry.getHistogram(phase).snapshot();
+			}
+			snapshots.add(Map.entry(entry, phases));
+		}
+
+		// sort by 99th percentile total latency
+		snapshots.sort(Comparator.comparingDouble((Map.Entry<Entry, LatencyHistogram.Snapshot[]> e) -> e.getValue()[Phase.TOTAL.ordinal()].getPercentile(99.0)).reversed());
+
+		// create lines
+		String[] metrics = new String[snapshots.size()];
+		for (int i = 0; i < metrics.length; i++) {
+			Entry entry = snapshots.get(i).getKey();
+			LatencyHistogram.Snapshot[] phases = snapshots.get(i).getValue();
+			LatencyHistogram.Snapshot total = phases[Phase.TOTAL.ordinal()];
+			String line = entry.getRequestClass() + ": " + total.getCount() + " requests, " + entry.getBytesSent() / 1024L + " KB sent";
+			line += String.format(", total p50/p95/p99: %.1f/%.1f/%.1f ms", total.getPercentile(50.0), total.getPercentile(95.0), total.getPercentile(99.0));
+			line += ", p99";
+			for (Phase phase : Phase.values()) {
+				if (phase != Phase.TOTAL) {
+					line += String.format(" %s: %.1f ms", phase.getName(), phases[phase.ordinal()].getPercentile(99.0));
+				}
+			}
+			metrics[i] = line;
+		}
+		return metrics;
+	}
+
+	/**
+	 * Binds the given request metrics to the current thread.
+	 *
+	 * @param entry
+	 *            Request metrics to bind. Null to unbind.
+	 * @return The previously bound request metrics, or null if there was none.
+	 */
+	public static Entry bind(Entry entry) {
+		Entry previous = CURRENT.get();
+		if (entry == null) {
+			CURRENT.remove();
+		}
+		else {
+			CURRENT.set(entry);
+		}
+		return previous;
+	}
+
+	/**
+	 * Returns the request class bound to the current thread.
+	 *
+	 * @return The request class bound to the current thread, or null if there is none.
+	 */
+	public static String getCurrentRequestClass() {
+		Entry entry = CURRENT.get();
+		return entry == null ? null : entry.getRequestClass();
+	}
+
+	/**
+	 * Records the given phase time to the request metrics bound to the current thread (if any).
+	 *
+	 * @param phase
+	 *            Request phase.
+	 * @param nanos
+	 *            Phase time in nanoseconds.
+	 */
+	public static void record(Phase phase, long nanos) {
+		Entry entry = CURRENT.get();
+		if (entry != null) {
+			entry.record(phase, nanos);
+		}
+	}
+
+	/**
+	 * Records a message sent to client to the request metrics bound to the current thread (if any).
+	 *
+	 * @param bytes
+	 *            Number of bytes sent.
+	 * @param nanos
+	 *            Serialization and send time in nanoseconds.
+	 */
+	public static void recordSent(int bytes, long nanos) {
+		Entry entry = CURRENT.get();
+		if (entry != null) {
+			entry.record(Phase.SEND, nanos);
+			entry.bytesSent_.add(bytes);
+		}
+	}
+
+	/**
+	 * Inner class for metrics of a request class.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 23:56:08
+	 */
+	public static class Entry {
+
+		/** Request class. */
+		private final String requestClass_;
+
+		/** Phase histograms (indexed by phase ordinals). */
+		private final LatencyHistogram[] histograms_;
+
+		/** Number of bytes sent to clients. */
+		private final LongAdder bytesSent_ = new LongAdder();
+
+		/**
+		 * Creates request class metrics.
+		 *
+		 * @param requestClass
+		 *            Request class.
+		 */
+		private Entry(String requestClass) {
+			requestClass_ = requestClass;
+			histograms_ = new LatencyHistogram[Phase.values().length];
+			for (int i = 0; i < histograms_.length; i++) {
+				histograms_[i] = new LatencyHistogram();
+			}
+		}
+
+		/**
+		 * Returns the request class.
+		 *
+		 * @return The request class.
+		 */
+		public String getRequestClass() {
+			return requestClass_;
+		}
+
+		/**
+		 * Returns the histogram of the given phase.
+		 *
+		 * @param phase
+		 *            Request phase.
+		 * @return The histogram of the given phase.
+		 */
+		public LatencyHistogram getHistogram(Phase phase) {
+			return histograms_[phase.ordinal()];
+		}
+
+		/**
+		 * Returns the number of bytes sent to clients.
+		 *
+		 * @return The number of bytes sent to clients.
+		 */
+		public long getBytesSent() {
+			return bytesSent_.sum();
+		}
+
+		/**
+		 * Records the given phase time.
+		 *
+		 * @param phase
+		 *            Request phase.
+		 * @param nanos
+		 *            Phase time in nanoseconds.
+		 */
+		public void record(Phase phase, long nanos) {
+			histograms_[phase.ordinal()].record(nanos);
+		}
+	}
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import equinox.dataServer.remote.message.GetSearchHitsRequest;
+
+/**
+ * Class for search hit counters of aircraft programs. Counters are lock-free. Each counter keeps its all time total, and the hits of the last week in
+ * time buckets, so that the hits of the last hour, day or week can be summed without keeping individual hits. Hits recorded exactly while a bucket is
+ * being recycled may be lost, which is acceptable for trend statistics.
+ * <p>
+ * The most popular programs of each time window are kept in a top list, which is refreshed at most once per refresh interval. Therefore, top list
+ * queries don't sort the counters at every call.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 23:04:26
+ */
+public class SearchHits {
+
+	/** Length of time buckets in milliseconds. */
+	private static final long BUCKET_LENGTH = 5L * 60L * 1000L;
+
+	/** Number of time buckets (covering a week). */
+	private static final int NUM_BUCKETS = (int) (7L * 24L * 60L * 60L * 1000L / BUCKET_LENGTH);
+
+	/** Number of time buckets in each time window (indexed by the time window constants of {@link GetSearchHitsRequest}). */
+	private static final int[] WINDOW_BUCKETS = { 0, (int) (60L * 60L * 1000L / BUCKET_LENGTH), (int) (24L * 60L * 60L * 1000L / BUCKET_LENGTH), NUM_BUCKETS };
+
+	/** Refresh interval of top lists in milliseconds. */
+	private static final long REFRESH_INTERVAL = 1000L;
+
+	/** Maximum number of programs kept in top lists. */
+	private static final int TOP_SIZE = 20;
+
+	/** Counters mapped to aircraft programs. */
+	private final ConcurrentHashMap<String, Counter> counters_ = new ConcurrentHashMap<>();
+
+	/** Top lists of time windows. */
+	private final AtomicReferenceArray<TopList> topLists_ = new AtomicReferenceArray<>(WINDOW_BUCKETS.length);
+
+	/**
+	 * Increments search hits of the given aircraft programs. Null programs (search hits without aircraft program) are skipped.
+	 *
+	 * @param programs
+	 *            Aircraft programs.
+	 */
+	public void increment(Iterable<String> programs) {
+		long bucket = System.currentTimeMillis() / BUCKET_LENGTH;
+		for (String program : programs) {
+			if (program != null) {
+				counters_.computeIfAbsent(program, p -> new Counter()).increment(bucket);
+			}
+		}
+	}
+
+	/**
+	 * Returns the most popular aircraft programs of the given time window, in descending order of search hits.
+	 *
+	 * @param window
+	 *            Time window. One of the time window constants of {@link GetSearchHitsRequest}.
+	 * @param limit
+	 *            Maximum number of programs to return.
+	 * @return Mapping of aircraft programs to search hits.
+	 */
+	public Map<String, Integer> getTop(int window, int limit) {
+
+		// invalid window
+		if (window < 0 || window >= WINDOW_BUCKETS.length)
+			throw new IllegalArgumentException("Invalid search hit time window: " + window);
+
+		// get top list (refresh if outdated)
+		long now = System.currentTimeMillis();
+		TopList top = topLists_.get(window);
+		if (top == null || now - top.time_ >= REFRESH_INTERVAL || top.size_ < limit) {
+			TopList refreshed = createTopList(window, now, Math.max(limit, TOP_SIZE));
+			topLists_.compareAndSet(window, top, refreshed);
+			top = refreshed;
+		}
+
+		// create mapping
+		LinkedHashMap<String, Integer> hits = new LinkedHashMap<>();
+		for (int i = 0; i < top.programs_.length && i < limit; i++) {
+			hits.put(top.programs_[i], (int) Math.min(top.hits_[i], Integer.MAX_VALUE));
+		}
+		return hits;
+	}
+
+	/**
+	 * Creates top list of the given time window.
+	 *
+	 * @param window
+	 *            Time window.
+	 * @param now
+	 *            Current time.
+	 * @param size
+	 *            Maximum number of programs in the list.
+	 * @return The top list.
+	 */
+	private TopList createTopList(int window, long now, int size) {
+
+		// select most popular programs with a bounded heap
+		long bucket = now / BUCKET_LENGTH;
+		PriorityQueue<Map.Entry<String, Long>> heap = new PriorityQueue<>(size + 1, Map.Entry.comparingByValue());
+		counters_.forEach((program, counter) -> {
+			long hits = window == GetSearchHitsRequest.ALL_TIME ? counter.total_.sum() : counter.sum(bucket, WINDOW_BUCKETS[window]);
+			if (hits <= 0)
+				return;
+			if (heap.size() < size) {
+				heap.add(Map.entry(program, hits));
+			}
+			else if (hits > heap.peek().getValue()) {
+				heap.poll();
+				heap.add(Map.entry(program, hits));
+			}
+		});
+
+		// create list in descending order
+		String[] programs = new String[heap.size()];
+		long[] hits = new long[heap.size()];
+		for (int i = programs.length - 1; i >= 0; i--) {
+			Map.Entry<String, Long> entry = heap.poll();
+			programs[i] = entry.getKey();
+			hits[i] = entry.getValue();
+		}
+		return new TopList(now, size, programs, hits);
+	}
+
+	/**
+	 * Inner class for search hit counter of an aircraft program.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 23:07:51
+	 */
+	private static class Counter {
+
+		/** All time total. */
+		private final LongAdder total_ = new LongAdder();
+
+		/** Hits of time buckets. */
+		private final AtomicLongArray hits_ = new AtomicLongArray(NUM_BUCKETS);
+
+		/** Time bucket numbers stored in the time buckets. */
+		private final AtomicLongArray buckets_ = new AtomicLongArray(NUM_BUCKETS);
+
+		/**
+		 * Increments the counter.
+		 *
+		 * @param bucket
+		 *            Current time bucket number.
+		 */
+		private void increment(long bucket) {
+
+			// increment total
+			total_.increment();
+
+			// recycle time bucket if it belongs to an expired bucket number
+			int index = (int) (bucket % NUM_BUCKETS);
+			long stored = buckets_.get(index);
+			if (stored != bucket && buckets_.compareAndSet(index, stored, bucket)) {
+				hits_.set(index, 0L);
+			}
+
+			// increment time bucket
+			hits_.incrementAndGet(index);
+		}
+
+		/**
+		 * Returns the hits of the given number of time buckets ending with the given bucket.
+		 *
+		 * @param bucket
+		 *            Current time bucket number.
+		 * @param numBuckets
+		 *            Number of time buckets to sum.
+		 * @return The hits.
+		 */
+		private long sum(long bucket, int numBuckets) {
+			long sum = 0L;
+			for (long b = bucket - numBuckets + 1; b <= bucket; b++) {
+				int index = (int) (b % NUM_BUCKETS);
+				if (buckets_.get(index) == b) {
+					sum += hits_.get(index);
+				}
+			}
+			return sum;
+		}
+	}
+
+	/**
+	 * Inner class for immutable top list.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 23:09:15
+	 */
+	private static class TopList {
+
+		/** Creation time. */
+		private final long time_;
+
+		/** Maximum number of programs in the list. */
+		private final int size_;
+
+		/** Aircraft programs in descending order of hits. */
+		private final String[] programs_;
+
+		/** Hits of programs. */
+		private final long[] hits_;
+
+		/**
+		 * Creates top list.
+		 *
+		 * @param time
+		 *            Creation time.
+		 * @param size
+		 *            Maximum number of programs in the list.
+		 * @param programs
+		 *            Aircraft programs in descending order of hits.
+		 * @param hits
+		 *            Hits of programs.
+		 */
+		private TopList(long time, int size, String[] programs, long[] hits) {
+			time_ = time;
+			size_ = size;
+			programs_ = programs;
+			hits_ = hits;
+		}
+	}
+}
@@ -0,0 +1,449 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import equinox.dataServer.utility.QueryBuilder;
+
+/**
+ * Class for in-process search index of a database table. The index keeps the searchable columns of all rows in memory, together with a trigram inverted
+ * index of each column. Search criteria (contains, equals, starts with and ends with) are answered by intersecting the trigram postings of the searched
+ * value, and verifying the candidate rows against their column values. Values are compared literally (wildcard characters have no special meaning),
+ * and case-insensitively, as by the case-insensitive collation of the database. Matching row IDs are then fetched from the database by primary key.
+ * IDs are bound as parameters of an <code>in</code> list, which is padded to a power of two size, so that searches share a few statement shapes.
+ * Searches matching more than {@link #MAX_ID_PARAMETERS} rows fall back to database queries.
+ * <p>
+ * The index is rebuilt in the background after it is invalidated by the tasks which modify the table. An invalidated index is not used until it is
+ * rebuilt, so that searches fall back to database queries instead of returning outdated results.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 20:47:33
+ */
+public class SearchIndex {
+
+	/** Search criteria. */
+	public static final int CONTAINS = 0, EQUALS = 1, STARTS_WITH = 2, ENDS_WITH = 3;
+
+	/** Maximum number of matching row IDs fetched by primary key. */
+	public static final int MAX_ID_PARAMETERS = 1024;
+
+	/** Minimum size of ID parameter lists. */
+	private static final int MIN_ID_PARAMETERS = 8;
+
+	/** Length of grams. */
+	private static final int GRAM_LENGTH = 3;
+
+	/** Indexed table name. */
+	private final String table_;
+
+	/** Indexed column names. */
+	private final String[] columns_;
+
+	/** Database connection pool. */
+	private final HikariDataSource dcpEngine_;
+
+	/** Index rebuild thread pool. */
+	private final ExecutorService rebuildExecutor_;
+
+	/** Server logger. */
+	private final Logger logger_;
+
+	/** Generation of the indexed table (incremented at every invalidation). */
+	private final AtomicLong generation_ = new AtomicLong();
+
+	/** True if rebuild is scheduled. */
+	private final AtomicBoolean rebuildScheduled_ = new AtomicBoolean();
+
+	/** Current index snapshot. Null if the index is not built yet. */
+	private volatile Snapshot snapshot_ = null;
+
+	/**
+	 * Creates search index.
+	 *
+	 * @param table
+	 *            Indexed table name. The table must have a numeric <code>id</code> primary key column.
+	 * @param columns
+	 *            Indexed column names.
+	 * @param dcpEngine
+	 *            Database connection pool.
+	 * @param rebuildExecutor
+	 *            Index rebuild thread pool.
+	 * @param logger
+	 *            Server logger.
+	 */
+	public SearchIndex(String table, String[] columns, HikariDataSource dcpEngine, ExecutorService rebuildExecutor, Logger logger) {
+		table_ = table;
+		columns_ = columns;
+		dcpEngine_ = dcpEngine;
+		rebuildExecutor_ = rebuildExecutor;
+		logger_ = logger;
+	}
+
+	/**
+	 * Returns the current index snapshot, or null if the index is not built yet or invalidated.
+	 *
+	 * @return The current index snapshot, or null if the index is not built yet or invalidated.
+	 */
+	public Snapshot getSnapshot() {
+		Snapshot snapshot = snapshot_;
+		return snapshot != null && snapshot.generation_ == generation_.get() ? snapshot : null;
+	}
+
+	/**
+	 * Invalidates the index and schedules rebuild. This should be called after the indexed table is modified.
+	 */
+	public void invalidate() {
+		generation_.incrementAndGet();
+		scheduleRebuild();
+	}
+
+	/**
+	 * Schedules rebuild of the index (if not already scheduled).
+	 */
+	public void scheduleRebuild() {
+		if (rebuildScheduled_.compareAndSet(false, true)) {
+			rebuildExecutor_.submit(this::rebuild);
+		}
+	}
+
+	/**
+	 * Returns index metrics as text.
+	 *
+	 * @return Index metrics.
+	 */
+	public String getMetrics() {
+		Snapshot snapshot = snapshot_;
+		if (snapshot == null)
+			return table_ + ": not built";
+		String status = snapshot.generation_ == generation_.get() ? "up to date" : "rebuilding";
+		return table_ + ": " + status + ", rows " + snapshot.ids_.length + ", grams " + snapshot.getGramCount() + ", build time " + snapshot.buildTime_ + " ms";
+	}
+
+	/**
+	 * Rebuilds the index from the database.
+	 */
+	private void rebuild() {
+
+		// clear scheduled flag (so that invalidations during rebuild schedule another rebuild)
+		rebuildScheduled_.set(false);
+		long generation = generation_.get();
+
+		try {
+
+			// load rows
+			long start = System.currentTimeMillis();
+			ArrayList<Long> ids = new ArrayList<>();
+			ArrayList<String[]> rows = new ArrayList<>();
+			try (Connection connection = dcpEngine_.getConnection()) {
+				try (Statement statement = connection.createStatement()) {
+					try (ResultSet resultSet = statement.executeQuery("select id, " + String.join(", ", columns_) + " from " + table_ + " order by id")) {
+						while (resultSet.next()) {
+							ids.add(resultSet.getLong(1));
+							String[] row = new String[columns_.length];
+							for (int i = 0; i < columns_.length; i++) {
+								row[i] = resultSet.getString(i + 2);
+							}
+							rows.add(row);
+						}
+					}
+				}
+			}
+
+			// create snapshot
+			snapshot_ = new Snapshot(generation, columns_, ids, rows, System.currentTimeMillis() - start);
+			logger_.fine("Search index of table '" + table_ + "' rebuilt with " + ids.size() + " rows.");
+		}
+
+		// exception occurred during rebuilding index
+		catch (Exception e) {
+			logger_.log(Level.WARNING, "Exception occurred during rebuilding search index of table '" + table_ + "'.", e);
+		}
+	}
+
+	/**
+	 * Returns the distinct grams of the given value.
+	 *
+	 * @param value
+	 *            Lower case value.
+	 * @return The distinct grams of the given value.
+	 */
+	private static HashSet<String> getGrams(String value) {
+		HashSet<String> grams = new HashSet<>();
+		for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+			grams.add(value.substring(i, i + GRAM_LENGTH));
+		}
+		return grams;
+	}
+
+	/**
+	 * Inner class for immutable index snapshot.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 20:55:12
+	 */
+	public static class Snapshot {
+
+		/** Generation of the indexed table. */
+		private final long generation_;
+
+		/** Column names. */
+		private final String[] columns_;
+
+		/** Row IDs (in ascending order). */
+		private final long[] ids_;
+
+		/** Lower case column values (indexed by column and row). */
+		private final String[][] lowerValues_;
+
+		/** Gram postings (sorted row indices) of each column. */
+		private final ArrayList<HashMap<String, int[]>> postings_;
+
+		/** Build time in milliseconds. */
+		private final long buildTime_;
+
+		/**
+		 * Creates index snapshot.
+		 *
+		 * @param generation
+		 *            Generation of the indexed table.
+		 * @param columns
+		 *            Column names.
+		 * @param ids
+		 *            Row IDs (in ascending order).
+		 * @param rows
+		 *            Column values of rows.
+		 * @param loadTime
+		 *            Load time of rows in milliseconds.
+		 */
+		private Snapshot(long generation, String[] columns, ArrayList<Long> ids, ArrayList<String[]> rows, long loadTime) {
+
+			// set rows
+			long start = System.currentTimeMillis();
+			generation_ = generation;
+			columns_ = columns;
+			ids_ = ids.stream().mapToLong(Long::longValue).toArray();
+			lowerValues_ = new String[columns.length][ids_.length];
+			postings_ = new ArrayList<>(columns.length);
+
+			// loop over columns
+			for (int c = 0; c < columns.length; c++) {
+
+				// collect gram postings (rows are visited in ascending order)
+				HashMap<String, IntList> postings = new HashMap<>();
+				for (int r = 0; r < ids_.length; r++) {
+					String value = rows.get(r)[c];
+					if (value == null) {
+						continue;
+					}
+					String lower = value.toLowerCase(Locale.ROOT);
+					lowerValues_[c][r] = lower;
+					for (String gram : getGrams(lower)) {
+						postings.computeIfAbsent(gram, g -> new IntList()).add(r);
+					}
+				}
+
+				// compact postings
+				HashMap<String, int[]> compact = new HashMap<>(postings.size() * 4 / 3 + 1);
+				postings.forEach((gram, list) -> compact.put(gram, list.toArray()));
+				postings_.add(compact);
+			}
+
+			// set build time
+			buildTime_ = loadTime + System.currentTimeMillis() - start;
+		}
+
+		/**
+		 * Returns the rows matching the given criteria. Null column values never match. Values are compared case-insensitively (whether or not the
+		 * search ignores case), since the database compares them with a case-insensitive collation.
+		 *
+		 * @param column
+		 *            Column name.
+		 * @param criteria
+		 *            Search criteria (contains, equals, starts with or ends with).
+		 * @param value
+		 *            Searched value.
+		 * @return The matching rows.
+		 */
+		public BitSet match(String column, int criteria, String value) {
+
+			// get column
+			int c = Arrays.asList(columns_).indexOf(column);
+			if (c == -1)
+				throw new IllegalArgumentException("Column '" + column + "' is not indexed.");
+
+			// get candidate rows
+			String lower = value.toLowerCase(Locale.ROOT);
+			BitSet candidates = new BitSet(ids_.length);
+			HashSet<String> grams = getGrams(lower);
+			if (grams.isEmpty()) {
+				candidates.set(0, ids_.length);
+			}
+			else {
+				boolean first = true;
+				for (String gram : grams) {
+					int[] posting = postings_.get(c).get(gram);
+					if (posting == null)
+						return new BitSet();
+					BitSet rows = new BitSet(ids_.length);
+					for (int row : posting) {
+						rows.set(row);
+					}
+					if (first) {
+						candidates = rows;
+						first = false;
+					}
+					else {
+						candidates.and(rows);
+					}
+				}
+			}
+
+			// verify candidates
+			String[] values = lowerValues_[c];
+			BitSet matches = new BitSet(ids_.length);
+			for (int r = candidates.nextSetBit(0); r >= 0; r = candidates.nextSetBit(r + 1)) {
+				String v = values[r];
+				if (v == null) {
+					continue;
+				}
+				boolean match = false;
+				if (criteria == CONTAINS) {
+					match = v.contains(lower);
+				}
+				else if (criteria == EQUALS) {
+					match = v.equals(lower);
+				}
+				else if (criteria == STARTS_WITH) {
+					match = v.startsWith(lower);
+				}
+				else if (criteria == ENDS_WITH) {
+					match = v.endsWith(lower);
+				}
+				if (match) {
+					matches.set(r);
+				}
+			}
+			return matches;
+		}
+
+		/**
+		 * Appends SQL condition selecting the given rows by primary key to the given query. IDs are bound as parameters. The parameter list is padded to
+		 * the next power of two size (by repeating the last ID), so that the number of distinct statement shapes stays small. Nothing is appended if
+		 * there are more than {@link SearchIndex#MAX_ID_PARAMETERS} rows.
+		 *
+		 * @param query
+		 *            Search query.
+		 * @param rows
+		 *            Rows.
+		 * @return True if the condition is appended. False if there are too many rows, in which case the search should be done with database query.
+		 */
+		public boolean appendIdCondition(QueryBuilder query, BitSet rows) {
+
+			// no rows
+			int numRows = rows.cardinality();
+			if (numRows == 0) {
+				query.append("1 = 0");
+				return true;
+			}
+
+			// too many rows
+			if (numRows > MAX_ID_PARAMETERS)
+				return false;
+
+			// collect IDs (padded with last ID)
+			int size = Math.max(MIN_ID_PARAMETERS, Integer.highestOneBit(numRows - 1) << 1);
+			Object[] ids = new Object[size];
+			int i = 0;
+			for (int r = rows.nextSetBit(0); r >= 0; r = rows.nextSetBit(r + 1)) {
+				ids[i++] = ids_[r];
+			}
+			Arrays.fill(ids, i, size, ids[i - 1]);
+
+			// append condition
+			StringBuilder sql = new StringBuilder("id in (");
+			for (int j = 0; j < size; j++) {
+				sql.append(j == 0 ? "?" : ", ?");
+			}
+			query.append(sql.append(")").toString(), ids);
+			return true;
+		}
+
+		/**
+		 * Returns the total number of grams of all columns.
+		 *
+		 * @return The total number of grams of all columns.
+		 */
+		private int getGramCount() {
+			return postings_.stream().mapToInt(HashMap::size).sum();
+		}
+	}
+
+	/**
+	 * Inner class for growable list of primitive integers.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 21:03:40
+	 */
+	private static class IntList {
+
+		/** Elements. */
+		private int[] elements_ = new int[4];
+
+		/** Number of elements. */
+		private int size_ = 0;
+
+		/**
+		 * Adds given element.
+		 *
+		 * @param element
+		 *            Element to add.
+		 */
+		void add(int element) {
+			if (size_ == elements_.length) {
+				elements_ = Arrays.copyOf(elements_, size_ * 2);
+			}
+			elements_[size_++] = element;
+		}
+
+		/**
+		 * Returns elements as array.
+		 *
+		 * @return Elements.
+		 */
+		int[] toArray() {
+			return Arrays.copyOf(elements_, size_);
+		}
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import equinox.dataServer.remote.data.MultiplicationTableInfo.MultiplicationTableInfoType;
+import equinox.dataServer.remote.data.PilotPointInfo.PilotPointInfoType;
+import equinox.dataServer.remote.data.SpectrumInfo.SpectrumInfoType;
+import equinox.dataServer.utility.Utility;
+
+/**
+ * Class for search indexes of spectra, pilot points and multiplication tables. Indexes are built in the background at server startup, and rebuilt after
+ * they are invalidated by the tasks which modify the indexed tables. If search indexes are disabled, snapshots are never available and searches are
+ * performed with database queries.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 21:10:18
+ */
+public class SearchIndexes {
+
+	// @formatter:off
+	/** Searchable spectrum columns. */
+	private static final SpectrumInfoType[] SPECTRUM_COLUMNS = { SpectrumInfoType.NAME, SpectrumInfoType.AC_PROGRAM, SpectrumInfoType.AC_SECTION, SpectrumInfoType.FAT_MISSION,
+			SpectrumInfoType.FAT_MISSION_ISSUE, SpectrumInfoType.FLP_ISSUE, SpectrumInfoType.IFLP_ISSUE, SpectrumInfoType.CDF_ISSUE, SpectrumInfoType.DELIVERY_REF, SpectrumInfoType.DESCRIPTION };
+
+	/** Searchable pilot point columns. */
+	private static final PilotPointInfoType[] PILOT_POINT_COLUMNS = { PilotPointInfoType.SPECTRUM_NAME, PilotPointInfoType.NAME, PilotPointInfoType.AC_PROGRAM, PilotPointInfoType.AC_SECTION,
+			PilotPointInfoType.FAT_MISSION, PilotPointInfoType.DESCRIPTION, PilotPointInfoType.ELEMENT_TYPE, PilotPointInfoType.FRAME_RIB_POSITION, PilotPointInfoType.STRINGER_POSITION,
+			PilotPointInfoType.DATA_SOURCE, PilotPointInfoType.GENERATION_SOURCE, PilotPointInfoType.DELIVERY_REF_NUM, PilotPointInfoType.FATIGUE_MATERIAL, PilotPointInfoType.PREFFAS_MATERIAL,
+			PilotPointInfoType.LINEAR_MATERIAL, PilotPointInfoType.EID };
+
+	/** Searchable multiplication table columns. */
+	private static final MultiplicationTableInfoType[] MULTIPLICATION_TABLE_COLUMNS = { MultiplicationTableInfoType.NAME, MultiplicationTableInfoType.SPECTRUM_NAME,
+			MultiplicationTableInfoType.PILOT_POINT_NAME, MultiplicationTableInfoType.AC_PROGRAM, MultiplicationTableInfoType.AC_SECTION, MultiplicationTableInfoType.FAT_MISSION,
+			MultiplicationTableInfoType.ISSUE, MultiplicationTableInfoType.DELIVERY_REF, MultiplicationTableInfoType.DESCRIPTION };
+	// @formatter:on
+
+	/** Search indexes. */
+	private final SearchIndex spectra_, pilotPoints_, multiplicationTables_;
+
+	/** Index rebuild thread pool. */
+	private final ExecutorService rebuildExecutor_;
+
+	/** True if search indexes are enabled. */
+	private final boolean isEnabled_;
+
+	/** Server logger. */
+	private final Logger logger_;
+
+	/**
+	 * Creates search indexes.
+	 *
+	 * @param properties
+	 *            Server properties.
+	 * @param logger
+	 *            Server logger.
+	 * @param dcpEngine
+	 *            Database connection pool.
+	 */
+	public SearchIndexes(Properties properties, Logger logger, HikariDataSource dcpEngine) {
+		logger_ = logger;
+		isEnabled_ = properties.getProperty("index.enabled").equals("yes");
+		rebuildExecutor_ = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Equinox search index builder");
+			thread.setDaemon(true);
+			return thread;
+		});
+		spectra_ = new SearchIndex("spectra", Arrays.stream(SPECTRUM_COLUMNS).map(SpectrumInfoType::getColumnName).toArray(String[]::new), dcpEngine, rebuildExecutor_, logger);
+		pilotPoints_ = new SearchIndex("pilot_points", Arrays.stream(PILOT_POINT_COLUMNS).map(PilotPointInfoType::getColumnName).toArray(String[]::new), dcpEngine, rebuildExecutor_, logger);
+		multiplicationTables_ = new SearchIndex("mult_tables", Arrays.stream(MULTIPLICATION_TABLE_COLUMNS).map(MultiplicationTableInfoType::getColumnName).toArray(String[]::new), dcpEngine, rebuildExecutor_, logger);
+	}
+
+	/**
+	 * Schedules initial build of search indexes (if enabled).
+	 */
+	public void initialize() {
+		if (isEnabled_) {
+			spectra_.scheduleRebuild();
+			pilotPoints_.scheduleRebuild();
+			multiplicationTables_.scheduleRebuild();
+			logger_.info("Search index build scheduled.");
+		}
+	}
+
+	/**
+	 * Returns the current spectrum index snapshot, or null if it is not available.
+	 *
+	 * @return The current spectrum index snapshot, or null if it is not available.
+	 */
+	public SearchIndex.Snapshot getSpectra() {
+		return isEnabled_ ? spectra_.getSnapshot() : null;
+	}
+
+	/**
+	 * Returns the current pilot point index snapshot, or null if it is not available.
+	 *
+	 * @return The current pilot point index snapshot, or null if it is not available.
+	 */
+	public SearchIndex.Snapshot getPilotPoints() {
+		return isEnabled_ ? pilotPoints_.getSnapshot() : null;
+	}
+
+	/**
+	 * Returns the current multiplication table index snapshot, or null if it is not available.
+	 *
+	 * @return The current multiplication table index snapshot, or null if it is not available.
+	 */
+	public SearchIndex.Snapshot getMultiplicationTables() {
+		return isEnabled_ ? multiplicationTables_.getSnapshot() : null;
+	}
+
+	/**
+	 * Invalidates spectrum index. This should be called after spectra are uploaded, updated or deleted.
+	 */
+	public void invalidateSpectra() {
+		if (isEnabled_) {
+			spectra_.invalidate();
+		}
+	}
+
+	/**
+	 * Invalidates pilot point index. This should be called after pilot points are uploaded, updated or deleted.
+	 */
+	public void invalidatePilotPoints() {
+		if (isEnabled_) {
+			pilotPoints_.invalidate();
+		}
+	}
+
+	/**
+	 * Invalidates multiplication table index. This should be called after multiplication tables are uploaded, updated or deleted.
+	 */
+	public void invalidateMultiplicationTables() {
+		if (isEnabled_) {
+			multiplicationTables_.invalidate();
+		}
+	}
+
+	/**
+	 * Invalidates all indexes.
+	 */
+	public void invalidateAll() {
+		invalidateSpectra();
+		invalidatePilotPoints();
+		invalidateMultiplicationTables();
+	}
+
+	/**
+	 * Returns index metrics as text lines.
+	 *
+	 * @return Index metrics.
+	 */
+	public String[] getMetrics() {
+		if (!isEnabled_)
+			return new String[] { "Search indexes are disabled." };
+		return new String[] { spectra_.getMetrics(), pilotPoints_.getMetrics(), multiplicationTables_.getMetrics() };
+	}
+
+	/**
+	 * Shuts down the index rebuild thread pool.
+	 */
+	public void shutdown() {
+		Utility.shutdownThreadPool(rebuildExecutor_, logger_);
+	}
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.Date;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.FileHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import equinox.dataServer.utility.Utility;
+
+/**
+ * Class for slow query log. SQL statements which take longer than the slow query threshold are logged with their bind values, row counts and elapsed
+ * times to a separate rolling log file. Optionally, the query plan (<code>EXPLAIN</code> output) of the first slow occurrence of each statement shape
+ * is captured in the background and logged as well. Statement shapes are the SQL texts with literals replaced by placeholders.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 00:41:09
+ */
+public class SlowQueryLog {
+
+	/** Maximum number of statement shapes whose query plans are captured. */
+	private static final int MAX_SHAPES = 10000;
+
+	/** Maximum length of logged bind values. */
+	private static final int MAX_VALUE_LENGTH = 200;
+
+	/** Patterns for normalizing statement shapes. */
+	private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'"), NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b"), VALUE_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+"), WHITESPACE = Pattern.compile("\\s+");
+
+	/** True if slow query log is enabled. */
+	private final boolean isEnabled_;
+
+	/** True if query plans should be captured. */
+	private final boolean explain_;
+
+	/** Slow query threshold in nanoseconds. */
+	private final long threshold_;
+
+	/** Server logger. */
+	private final Logger logger_;
+
+	/** Slow query logger. Null if slow query log is disabled. */
+	private final Logger log_;
+
+	/** Data source to capture query plans with. */
+	private final DataSource dataSource_;
+
+	/** Query plan capture thread pool. Null if query plans are not captured. */
+	private final ExecutorService explainExecutor_;
+
+	/** Statement shapes whose query plans are captured. */
+	private final Set<String> explained_ = ConcurrentHashMap.newKeySet();
+
+	/** Number of logged slow queries. */
+	private final LongAdder slowQueries_ = new LongAdder();
+
+	/**
+	 * Creates slow query log.
+	 *
+	 * @param properties
+	 *            Server properties.
+	 * @param logger
+	 *            Server logger.
+	 * @param dataSource
+	 *            Data source to capture query plans with.
+	 */
+	public SlowQueryLog(Properties properties, Logger logger, DataSource dataSource) {
+
+		// set parameters
+		logger_ = logger;
+		dataSource_ = dataSource;
+		threshold_ = Long.parseLong(properties.getProperty("slowQuery.threshold")) * 1000000L;
+
+		// create slow query logger
+		Logger log = null;
+		if (properties.getProperty("slowQuery.enabled").equals("yes")) {
+			try {
+				FileHandler fileHandler = new FileHandler(properties.getProperty("slowQuery.filename"), Integer.parseInt(properties.getProperty("slowQuery.fileSize")), Integer.parseInt(properties.getProperty("slowQuery.fileCount")), true);
+				fileHandler.setFormatter(new SimpleFormatter());
+				log = Logger.getLogger(SlowQueryLog.class.getName());
+				log.setUseParentHandlers(false);
+				log.addHandler(fileHandler);
+				log.setLevel(Level.INFO);
+			}
+
+			// exception occurred during creating log file
+			catch (Exception e) {
+				logger.log(Level.WARNING, "Exception occurred during creating slow query log. Slow query log is disabled.", e);
+				log = null;
+			}
+		}
+		log_ = log;
+		isEnabled_ = log_ != null;
+
+		// create query plan capture thread pool
+		explain_ = isEnabled_ && properties.getProperty("slowQuery.explain").equals("yes");
+		explainExecutor_ = !explain_ ? null : Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Equinox query plan capture");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Returns true if slow query log is enabled.
+	 *
+	 * @return True if slow query log is enabled.
+	 */
+	public boolean isEnabled() {
+		return isEnabled_;
+	}
+
+	/**
+	 * Records the given statement execution. The statement is logged if it took longer than the slow query threshold.
+	 *
+	 * @param sql
+	 *            SQL text of the statement.
+	 * @param parameters
+	 *            Bind values mapped to parameter indices. Can be null.
+	 * @param rows
+	 *            Number of fetched or affected rows, or -1 if unknown.
+	 * @param nanos
+	 *            Elapsed time (execution and fetch) in nanoseconds.
+	 */
+	public void record(String sql, Map<Integer, Object> parameters, long rows, long nanos) {
+
+		// disabled, not slow or a query plan capture
+		if (!isEnabled_ || nanos < threshold_ || sql == null || sql.regionMatches(true, 0, "explain", 0, 7))
+			return;
+
+		// log slow query
+		slowQueries_.increment();
+		String shape = getShape(sql);
+		String request = RequestMetrics.getCurrentRequestClass();
+		String text = String.format("%.1f ms", nanos / 1e6);
+		text += ", rows: " + (rows < 0 ? "unknown" : rows);
+		text += ", request: " + (request == null ? "none" : request);
+		text += ", sql: " + WHITESPACE.matcher(sql).replaceAll(" ").trim();
+		if (parameters != null && !parameters.isEmpty()) {
+			text += ", parameters: " + format(parameters);
+		}
+		log_.info(text);
+
+		// capture query plan of first occurrence of statement shape
+		if (explain_ && isExplainable(shape, parameters) && explained_.size() < MAX_SHAPES && explained_.add(shape)) {
+			try {
+				explainExecutor_.execute(() -> explain(sql, shape, parameters));
+			}
+			catch (RejectedExecutionException e) {
+				explained_.remove(shape);
+			}
+		}
+	}
+
+	/**
+	 * Returns slow query log metrics as text lines.
+	 *
+	 * @return Slow query log metrics.
+	 */
+	public String[] getMetrics() {
+		if (!isEnabled_)
+			return new String[] { "Slow query log is disabled." };
+		return new String[] { "Slow queries: " + slowQueries_.sum() + " (threshold: " + threshold_ / 1000000L + " ms)", "Captured query plans: " + (explain_ ? explained_.size() : "disabled") };
+	}
+
+	/**
+	 * Shuts down the query plan capture thread pool and closes the slow query log file.
+	 */
+	public void shutdown() {
+		if (explainExecutor_ != null) {
+			Utility.shutdownThreadPool(explainExecutor_, logger_);
+		}
+		if (log_ != null) {
+			for (Handler handler : log_.getHandlers()) {
+				handler.close();
+			}
+		}
+	}
+
+	/**
+	 * Captures and logs the query plan of the given statement.
+	 *
+	 * @param sql
+	 *            SQL text of the statement.
+	 * @param shape
+	 *            Statement shape.
+	 * @param parameters
+	 *            Bind values mapped to parameter indices. Can be null.
+	 */
+	private void explain(String sql, String shape, Map<Integer, Object> parameters) {
+
+		// get connection
+		try (Connection connection = dataSource_.getConnection()) {
+
+			// prepare statement
+			try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+
+				// bind values
+				if (parameters != null) {
+					for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+						statement.setObject(parameter.getKey(), parameter.getValue());
+					}
+				}
+
+				// execute
+				try (ResultSet resultSet = statement.executeQuery()) {
+
+					// write header
+					ResultSetMetaData metaData = resultSet.getMetaData();
+					StringBuilder plan = new StringBuilder("Query plan of: " + shape);
+					plan.append(System.lineSeparator()).append('\t');
+					for (int i = 1; i <= metaData.getColumnCount(); i++) {
+						plan.append(i == 1 ? "" : " | ").append(metaData.getColumnLabel(i));
+					}
+
+					// write rows
+					while (resultSet.next()) {
+						plan.append(System.lineSeparator()).append('\t');
+						for (int i = 1; i <= metaData.getColumnCount(); i++) {
+							plan.append(i == 1 ? "" : " | ").append(resultSet.getString(i));
+						}
+					}
+					log_.info(plan.toString());
+				}
+			}
+		}
+
+		// exception occurred during capturing query plan
+		catch (Exception e) {
+			log_.log(Level.WARNING, "Exception occurred during capturing query plan of: " + shape, e);
+		}
+	}
+
+	/**
+	 * Returns true if the query plan of the given statement can be captured. Only data manipulation statements with simple bind values are explainable.
+	 *
+	 * @param shape
+	 *            Statement shape.
+	 * @param parameters
+	 *            Bind values mapped to parameter indices. Can be null.
+	 * @return True if the query plan of the given statement can be captured.
+	 */
+	private static boolean isExplainable(String shape, Map<Integer, Object> parameters) {
+
+		// not a data manipulation statement
+		String keyword = shape.split(" ", 2)[0].toLowerCase();
+		if (!keyword.equals("select") && !keyword.equals("insert") && !keyword.equals("update") && !keyword.equals("delete") && !keyword.equals("replace"))
+			return false;
+
+		// streamed bind values cannot be bound again
+		if (parameters != null) {
+			for (Object value : parameters.values()) {
+				if (value != null && !(value instanceof Number) && !(value instanceof CharSequence) && !(value instanceof Boolean) && !(value instanceof Date))
+					return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the shape of the given SQL text. Literals and lists of placeholders are replaced by single placeholders, and whitespace is collapsed.
+	 *
+	 * @param sql
+	 *            SQL text.
+	 * @return The statement shape.
+	 */
+	static String getShape(String sql) {
+		String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+		shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+		shape = VALUE_LIST.matcher(shape).replaceAll("?");
+		return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+	}
+
+	/**
+	 * Formats the given bind values for logging. Long values are truncated.
+	 *
+	 * @param parameters
+	 *            Bind values mapped to parameter indices.
+	 * @return Formatted bind values.
+	 */
+	private static String format(Map<Integer, Object> parameters) {
+		TreeMap<Integer, String> values = new TreeMap<>();
+		parameters.forEach((index, value) -> {
+			String text = value == null ? "null" : value instanceof CharSequence || value instanceof Number || value instanceof Boolean || value instanceof Date ? value.toString() : "<" + value.getClass().getSimpleName() + ">";
+			values.put(index, text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH) + "..." : text);
+		});
+		return values.toString();
+	}
+}
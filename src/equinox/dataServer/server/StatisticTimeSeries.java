@@ -0,0 +1,183 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import equinox.dataServer.remote.data.PeriodicDataServerStatistic;
+
+/**
+ * Class for fixed-capacity, lock-free time series of periodic server statistics. Samples are stored as primitive fields in a ring buffer, so that
+ * appending a sample overwrites the oldest one. Samples older than the expiry time are skipped by snapshots. Therefore, both appending and expiry take
+ * constant time.
+ * <p>
+ * Samples must be appended by a single thread, while snapshots can be taken concurrently by any thread. A sample being overwritten during a snapshot
+ * is detected with its sequence number and skipped.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 23:32:48
+ */
+public class StatisticTimeSeries {
+
+	/** Sample fields. */
+	private static final int RECORDED = 0, CLIENTS = 1, QUERIES = 2, FAILED_QUERIES = 3, THREAD_POOL_SIZE = 4, ACTIVE_THREADS = 5, LATENCY_50 = 6, LATENCY_95 = 7, LATENCY_99 = 8, SLOWEST_LATENCY_99 = 9, NUM_FIELDS = 10;
+
+	/** Maximum number of samples. */
+	private final int capacity_;
+
+	/** Expiry time of samples in milliseconds. */
+	private final long expiry_;
+
+	/** Sample fields (indexed by slot and field). */
+	private final AtomicLongArray data_;
+
+	/** Slowest request classes of samples (indexed by slot). */
+	private final AtomicReferenceArray<String> slowestRequests_;
+
+	/** Sequence numbers of samples stored in slots. -1 while a slot is being written. */
+	private final AtomicLongArray sequences_;
+
+	/** Number of appended samples. */
+	private final AtomicLong count_ = new AtomicLong();
+
+	/**
+	 * Creates statistic time series.
+	 *
+	 * @param expiryDays
+	 *            Expiry time of samples in days.
+	 * @param period
+	 *            Statistics collection period in seconds.
+	 */
+	public StatisticTimeSeries(int expiryDays, long period) {
+		expiry_ = expiryDays * 24L * 60L * 60L * 1000L;
+		capacity_ = (int) Math.max(1L, (expiry_ / 1000L + period - 1L) / period + 1L);
+		data_ = new AtomicLongArray(capacity_ * NUM_FIELDS);
+		slowestRequests_ = new AtomicReferenceArray<>(capacity_);
+		sequences_ = new AtomicLongArray(capacity_);
+		for (int i = 0; i < capacity_; i++) {
+			sequences_.set(i, -1L);
+		}
+	}
+
+	/**
+	 * Returns the maximum number of samples.
+	 *
+	 * @return The maximum number of samples.
+	 */
+	public int getCapacity() {
+		return capacity_;
+	}
+
+	/**
+	 * Appends the given sample. The oldest sample is overwritten if the time series is full. This method must be called from a single thread.
+	 *
+	 * @param stat
+	 *            Sample to append.
+	 */
+	public void add(PeriodicDataServerStatistic stat) {
+
+		// get slot
+		long sequence = count_.get();
+		int slot = (int) (sequence % capacity_);
+		int offset = slot * NUM_FIELDS;
+
+		// write sample
+		sequences_.set(slot, -1L);
+		data_.set(offset + RECORDED, stat.getRecorded().getTime());
+		data_.set(offset + CLIENTS, stat.getClients());
+		data_.set(offset + QUERIES, stat.getQueries());
+		data_.set(offset + FAILED_QUERIES, stat.getFailedQueries());
+		data_.set(offset + THREAD_POOL_SIZE, stat.getThreadPoolSize());
+		data_.set(offset + ACTIVE_THREADS, stat.getActiveThreads());
+		data_.set(offset + LATENCY_50, Double.doubleToRawLongBits(stat.getLatency50()));
+		data_.set(offset + LATENCY_95, Double.doubleToRawLongBits(stat.getLatency95()));
+		data_.set(offset + LATENCY_99, Double.doubleToRawLongBits(stat.getLatency99()));
+		data_.set(offset + SLOWEST_LATENCY_99, Double.doubleToRawLongBits(stat.getSlowestLatency99()));
+		slowestRequests_.set(slot, stat.getSlowestRequest());
+		sequences_.set(slot, sequence);
+
+		// publish sample
+		count_.set(sequence + 1L);
+	}
+
+	/**
+	 * Returns the unexpired samples in recording order.
+	 *
+	 * @return The unexpired samples.
+	 */
+	public PeriodicDataServerStatistic[] snapshot() {
+		return snapshot(null, null);
+	}
+
+	/**
+	 * Returns the unexpired samples recorded after and before the given dates, in recording order.
+	 *
+	 * @param from
+	 *            Samples must be recorded after this date. Can be null.
+	 * @param to
+	 *            Samples must be recorded before this date. Can be null.
+	 * @return The samples.
+	 */
+	public PeriodicDataServerStatistic[] snapshot(Date from, Date to) {
+
+		// get range of stored samples
+		long end = count_.get();
+		long start = Math.max(0L, end - capacity_);
+		long epoch = System.currentTimeMillis() - expiry_;
+
+		// loop over samples
+		ArrayList<PeriodicDataServerStatistic> stats = new ArrayList<>();
+		for (long sequence = start; sequence < end; sequence++) {
+
+			// read sample
+			int slot = (int) (sequence % capacity_);
+			int offset = slot * NUM_FIELDS;
+			if (sequences_.get(slot) != sequence) {
+				continue;
+			}
+			long recorded = data_.get(offset + RECORDED);
+			PeriodicDataServerStatistic stat = new PeriodicDataServerStatistic(new Date(recorded));
+			stat.setClients((int) data_.get(offset + CLIENTS));
+			stat.setQueries((int) data_.get(offset + QUERIES));
+			stat.setFailedQueries((int) data_.get(offset + FAILED_QUERIES));
+			stat.setThreadPoolSize((int) data_.get(offset + THREAD_POOL_SIZE));
+			stat.setActiveThreads((int) data_.get(offset + ACTIVE_THREADS));
+			stat.setLatencies(Double.longBitsToDouble(data_.get(offset + LATENCY_50)), Double.longBitsToDouble(data_.get(offset + LATENCY_95)), Double.longBitsToDouble(data_.get(offset + LATENCY_99)));
+			stat.setSlowestRequest(slowestRequests_.get(slot), Double.longBitsToDouble(data_.get(offset + SLOWEST_LATENCY_99)));
+
+			// sample was overwritten while reading
+			if (sequences_.get(slot) != sequence) {
+				continue;
+			}
+
+			// expired or out of range
+			if (recorded < epoch || from != null && recorded <= from.getTime() || to != null && recorded >= to.getTime()) {
+				continue;
+			}
+
+			// add sample
+			stats.add(stat);
+		}
+
+		// return samples
+		return stats.toArray(new PeriodicDataServerStatistic[stats.size()]);
+	}
+}
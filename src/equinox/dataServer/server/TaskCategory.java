@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+/**
+ * Enumeration for task categories. Each category is executed on its own bounded thread pool so that long running bulk tasks cannot starve short interactive queries.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 10:12:37
+ */
+public enum TaskCategory {
+
+	/** Task category. */
+	// @formatter:off
+	INTERACTIVE("interactive", "Interactive Query"),
+	BULK("bulk", "Bulk Upload/Delete"),
+	HOUSEKEEPING("housekeeping", "Housekeeping");
+	// @formatter:on
+
+	/** Property key prefix and display name. */
+	private final String key_, name_;
+
+	/**
+	 * Creates task category.
+	 *
+	 * @param key
+	 *            Key used in server properties (e.g. <code>exec.interactive.poolSize</code>).
+	 * @param name
+	 *            Display name of category.
+	 */
+	TaskCategory(String key, String name) {
+		key_ = key;
+		name_ = name;
+	}
+
+	/**
+	 * Returns the key used in server properties.
+	 *
+	 * @return The key used in server properties.
+	 */
+	public String getKey() {
+		return key_;
+	}
+
+	@Override
+	public String toString() {
+		return name_;
+	}
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import java.util.EnumMap;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import equinox.dataServer.task.ServerTask;
+import equinox.dataServer.utility.Utility;
+
+/**
+ * Class for task executor. Task executor keeps a separate bounded thread pool with a bounded work queue for each task category. Tasks which cannot be admitted to their category (i.e. all worker threads are busy and the queue is full) are rejected, and the rejection is reported back to the owning task.
+ * <p>
+ * If virtual threads are enabled, each task runs on its own virtual thread instead. Admission is then limited by the same pool and queue sizes, and tasks of database bound categories additionally wait for one of the permits sized to the database connection pool before they start. Waiting on a virtual thread doesn't occupy a platform thread.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 10:24:05
+ */
+public class TaskExecutor {
+
+	/** Executors mapped to task categories. */
+	private final EnumMap<TaskCategory, ExecutorService> pools_;
+
+	/** Admission permits (only used in virtual thread mode). */
+	private final EnumMap<TaskCategory, Semaphore> admissions_;
+
+	/** Number of running tasks (only used in virtual thread mode). */
+	private final EnumMap<TaskCategory, AtomicInteger> running_;
+
+	/** Admission limits of task categories (only used in virtual thread mode). */
+	private final EnumMap<TaskCategory, Integer> limits_;
+
+	/** Database connection permits (only used in virtual thread mode). */
+	private final Semaphore connectionPermits_;
+
+	/** True if tasks run on virtual threads. */
+	private final boolean virtualThreads_;
+
+	/** Server logger. */
+	private final Logger logger_;
+
+	/**
+	 * Creates task executor.
+	 *
+	 * @param properties
+	 *            Server properties.
+	 * @param logger
+	 *            Server logger.
+	 */
+	public TaskExecutor(Properties properties, Logger logger) {
+
+		// set attributes
+		logger_ = logger;
+		virtualThreads_ = "yes".equals(properties.getProperty("exec.virtualThreads"));
+		connectionPermits_ = virtualThreads_ ? new Semaphore(Integer.parseInt(properties.getProperty("hikari.maxPoolSize")), true) : null;
+
+		// create executors
+		pools_ = new EnumMap<>(TaskCategory.class);
+		admissions_ = new EnumMap<>(TaskCategory.class);
+		running_ = new EnumMap<>(TaskCategory.class);
+		limits_ = new EnumMap<>(TaskCategory.class);
+		for (TaskCategory category : TaskCategory.values()) {
+
+			// get pool properties
+			int poolSize = Integer.parseInt(properties.getProperty("exec." + category.getKey() + ".poolSize"));
+			int queueSize = Integer.parseInt(properties.getProperty("exec." + category.getKey() + ".queueSize"));
+
+			// virtual threads
+			if (virtualThreads_) {
+				ThreadFactory factory = Thread.ofVirtual().name("Equinox " + category.getKey() + " vthread-", 1).factory();
+				pools_.put(category, Executors.newThreadPerTaskExecutor(factory));
+				admissions_.put(category, new Semaphore(poolSize + queueSize));
+				running_.put(category, new AtomicInteger());
+				limits_.put(category, poolSize + queueSize);
+				logger_.info(category + " virtual thread executor created with admission limit of " + (poolSize + queueSize) + " tasks.");
+			}
+
+			// platform threads
+			else {
+				ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(queueSize), new WorkerThreadFactory(category), new ThreadPoolExecutor.AbortPolicy());
+				pool.allowCoreThreadTimeOut(true);
+				pools_.put(category, pool);
+				logger_.info(category + " thread pool created with " + poolSize + " threads and queue size of " + queueSize + ".");
+			}
+		}
+	}
+
+	/**
+	 * Returns true if tasks run on virtual threads.
+	 *
+	 * @return True if tasks run on virtual threads.
+	 */
+	public boolean isVirtualThreads() {
+		return virtualThreads_;
+	}
+
+	/**
+	 * Submits the given server task to the thread pool of its category. If the task cannot be admitted, it is notified via {@link ServerTask#rejected(RejectedExecutionException)}.
+	 *
+	 * @param task
+	 *            Server task to submit.
+	 * @return True if the task is admitted for execution.
+	 */
+	public boolean submit(ServerTask task) {
+
+		// submit task
+		try {
+			task.submitted();
+			execute(task.getCategory(), task);
+			return true;
+		}
+
+		// task rejected
+		catch (RejectedExecutionException e) {
+			task.rejected(e);
+			return false;
+		}
+	}
+
+	/**
+	 * Submits the given runnable to the thread pool of given category.
+	 *
+	 * @param category
+	 *            Task category.
+	 * @param runnable
+	 *            Runnable to submit.
+	 * @return True if the runnable is admitted for execution.
+	 */
+	public boolean submit(TaskCategory category, Runnable runnable) {
+
+		// submit runnable
+		try {
+			execute(category, runnable);
+			return true;
+		}
+
+		// rejected
+		catch (RejectedExecutionException e) {
+			logger_.log(Level.WARNING, category + " thread pool rejected task.", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the approximate number of threads that are actively executing tasks in all thread pools.
+	 *
+	 * @return The approximate number of threads that are actively executing tasks.
+	 */
+	public int getActiveCount() {
+		if (virtualThreads_)
+			return running_.values().stream().mapToInt(AtomicInteger::get).sum();
+		return pools_.values().stream().mapToInt(pool -> ((ThreadPoolExecutor) pool).getActiveCount()).sum();
+	}
+
+	/**
+	 * Returns the current number of threads in all thread pools. In virtual thread mode, this is the number of admitted tasks.
+	 *
+	 * @return The current number of threads in all thread pools.
+	 */
+	public int getPoolSize() {
+		if (virtualThreads_)
+			return limits_.keySet().stream().mapToInt(this::getAdmitted).sum();
+		return pools_.values().stream().mapToInt(pool -> ((ThreadPoolExecutor) pool).getPoolSize()).sum();
+	}
+
+	/**
+	 * Returns the number of tasks waiting in the queue of given category. In virtual thread mode, these are the tasks waiting for a database connection permit.
+	 *
+	 * @param category
+	 *            Task category.
+	 * @return The number of tasks waiting in the queue of given category.
+	 */
+	public int getQueueSize(TaskCategory category) {
+		if (virtualThreads_)
+			return getAdmitted(category) - running_.get(category).get();
+		return ((ThreadPoolExecutor) pools_.get(category)).getQueue().size();
+	}
+
+	/**
+	 * Shuts down all thread pools.
+	 */
+	public void shutdown() {
+		pools_.values().forEach(pool -> Utility.shutdownThreadPool(pool, logger_));
+	}
+
+	/**
+	 * Executes the given runnable on the executor of given category.
+	 *
+	 * @param category
+	 *            Task category.
+	 * @param runnable
+	 *            Runnable to execute.
+	 * @throws RejectedExecutionException
+	 *             If the runnable cannot be admitted.
+	 */
+	private void execute(TaskCategory category, Runnable runnable) throws RejectedExecutionException {
+
+		// platform threads
+		if (!virtualThreads_) {
+			pools_.get(category).execute(runnable);
+			return;
+		}
+
+		// acquire admission permit
+		Semaphore admission = admissions_.get(category);
+		if (!admission.tryAcquire())
+			throw new RejectedExecutionException(category + " admission limit of " + limits_.get(category) + " tasks is reached.");
+
+		// execute on virtual thread
+		try {
+			pools_.get(category).execute(() -> runOnVirtualThread(category, runnable, admission));
+		}
+
+		// executor is shut down
+		catch (RejectedExecutionException e) {
+			admission.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Runs the given runnable on the current virtual thread. Tasks of database bound categories first wait for a database connection permit.
+	 *
+	 * @param category
+	 *            Task category.
+	 * @param runnable
+	 *            Runnable to run.
+	 * @param admission
+	 *            Admission permits of the category.
+	 */
+	private void runOnVirtualThread(TaskCategory category, Runnable runnable, Semaphore admission) {
+
+		// database bound category
+		boolean needsConnection = category != TaskCategory.HOUSEKEEPING;
+
+		try {
+
+			// wait for database connection permit
+			if (needsConnection) {
+				connectionPermits_.acquire();
+			}
+
+			// run
+			running_.get(category).incrementAndGet();
+			try {
+				runnable.run();
+			}
+			finally {
+				running_.get(category).decrementAndGet();
+				if (needsConnection) {
+					connectionPermits_.release();
+				}
+			}
+		}
+
+		// interrupted while waiting for permit (executor is shutting down)
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		// release admission permit
+		finally {
+			admission.release();
+		}
+	}
+
+	/**
+	 * Returns the number of admitted tasks of given category (only used in virtual thread mode).
+	 *
+	 * @param category
+	 *            Task category.
+	 * @return The number of admitted tasks of given category.
+	 */
+	private int getAdmitted(TaskCategory category) {
+		return limits_.get(category) - admissions_.get(category).availablePermits();
+	}
+
+	/**
+	 * Inner class for worker thread factory.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 10:31:48
+	 */
+	private static class WorkerThreadFactory implements ThreadFactory {
+
+		/** Task category. */
+		private final TaskCategory category_;
+
+		/** Thread counter. */
+		private final AtomicInteger count_ = new AtomicInteger();
+
+		/**
+		 * Creates worker thread factory.
+		 *
+		 * @param category
+		 *            Task category.
+		 */
+		public WorkerThreadFactory(TaskCategory category) {
+			category_ = category;
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "Equinox " + category_.getKey() + " worker-" + count_.incrementAndGet());
+			thread.setDaemon(false);
+			return thread;
+		}
+	}
+}
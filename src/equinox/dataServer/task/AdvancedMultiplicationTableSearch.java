@@ -16,8 +16,9 @@
 package equinox.dataServer.task;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -25,11 +26,12 @@ import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.data.MultiplicationTableInfo;
 import equinox.dataServer.remote.data.MultiplicationTableInfo.MultiplicationTableInfoType;
 import equinox.dataServer.remote.data.MultiplicationTableSearchInput;
-import equinox.dataServer.remote.data.SearchInput;
 import equinox.dataServer.remote.data.SearchItem;
 import equinox.dataServer.remote.message.AdvancedMultiplicationTableSearchRequest;
 import equinox.dataServer.remote.message.AdvancedMultiplicationTableSearchResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.SearchIndex;
+import equinox.dataServer.utility.QueryBuilder;
 
 /**
  * Class for advanced multiplication table search task.
@@ -40,6 +42,9 @@ import equinox.dataServer.server.DataServer;
  */
 public class AdvancedMultiplicationTableSearch extends DatabaseQueryTask {
 
+	/** Searched columns. */
+	private static final MultiplicationTableInfoType[] SEARCH_ITEMS = { MultiplicationTableInfoType.NAME, MultiplicationTableInfoType.SPECTRUM_NAME, MultiplicationTableInfoType.PILOT_POINT_NAME, MultiplicationTableInfoType.AC_PROGRAM, MultiplicationTableInfoType.AC_SECTION, MultiplicationTableInfoType.FAT_MISSION, MultiplicationTableInfoType.ISSUE, MultiplicationTableInfoType.DELIVERY_REF, MultiplicationTableInfoType.DESCRIPTION };
+
 	/**
 	 * Creates advanced multiplication table search task.
 	 *
@@ -68,8 +73,12 @@ public class AdvancedMultiplicationTableSearch extends DatabaseQueryTask {
 		// get search input
 		MultiplicationTableSearchInput input = ((AdvancedMultiplicationTableSearchRequest) request_).getInput();
 
+		// create result stream
+		SearchResultStream stream = new SearchResultStream(server_, client_, input, response);
+
 		// build SQL query
-		String sql = buildSQL(input);
+		String orderByColumn = getOrderByColumn(input, "delivery_ref_num");
+		QueryBuilder query = buildSQL(input, orderByColumn, server_.getSearchIndexes().getMultiplicationTables());
 
 		// create unique programs set
 		Set<String> uniquePrograms = new HashSet<>();
@@ -77,42 +86,51 @@ public class AdvancedMultiplicationTableSearch extends DatabaseQueryTask {
 		// get connection to database
 		try (Connection connection = server_.getDCP().getConnection()) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
-
-				// set max hits
-				statement.setMaxRows(input.getMaxHits());
+			// prepare statement
+			try (PreparedStatement statement = query.prepare(connection)) {
 
 				// execute query
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
+				try (ResultSet resultSet = statement.executeQuery()) {
+
+					// create page cursor
+					int hits = 0;
+					String cursorValue = null;
+					long cursorId = -1L;
 
 					// loop over spectra
 					while (resultSet.next()) {
 
+						// page is full (there are more results)
+						if (++hits > input.getMaxHits()) {
+							response.setNextPage(cursorValue, cursorId);
+							break;
+						}
+
 						// get spectrum info
 						MultiplicationTableInfo info = new MultiplicationTableInfo();
 						for (MultiplicationTableInfoType infoType : MultiplicationTableInfoType.values()) {
 							info.setInfo(infoType, resultSet.getObject(infoType.getColumnName()));
 						}
 
-						// add info to response
-						response.add(info);
+						// add info to stream
+						stream.add(info);
 
 						// add programs
 						uniquePrograms.add(resultSet.getString(MultiplicationTableInfoType.AC_PROGRAM.getColumnName()));
+
+						// update page cursor
+						cursorValue = getCursorValue(resultSet, orderByColumn);
+						cursorId = resultSet.getLong("id");
 					}
 				}
-
-				// reset statement
-				statement.setMaxRows(0);
 			}
 		}
 
 		// increment search trends
 		server_.incrementSearchHits(uniquePrograms);
 
-		// respond to client
-		client_.sendMessage(response);
+		// finish result stream
+		stream.finish();
 	}
 
 	/**
@@ -120,102 +138,119 @@ public class AdvancedMultiplicationTableSearch extends DatabaseQueryTask {
 	 *
 	 * @param input
 	 *            Search input.
+	 * @param orderByColumn
+	 *            The database column to order search results by.
+	 * @param index
+	 *            Search index snapshot, or null if search index is not available.
 	 * @return The SQL search query.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static String buildSQL(MultiplicationTableSearchInput input) throws Exception {
+	private static QueryBuilder buildSQL(MultiplicationTableSearchInput input, String orderByColumn, SearchIndex.Snapshot index) throws Exception {
 
 		// initialize parameters
-		String sql = "select * from mult_tables where ";
-
-		// add search items
-		sql += buildQueryForStringBasedItem(MultiplicationTableInfoType.NAME, input);
-		sql += buildQueryForStringBasedItem(MultiplicationTableInfoType.SPECTRUM_NAME, input);
-		sql += buildQueryForStringBasedItem(MultiplicationTableInfoType.PILOT_POINT_NAME, input);
-		sql += buildQueryForStringBasedItem(MultiplicationTableInfoType.AC_PROGRAM, input);
-		sql += buildQueryForStringBasedItem(MultiplicationTableInfoType.AC_SECTION, input);
-		sql += buildQueryForStringBasedItem(MultiplicationTableInfoType.FAT_MISSION, input);
-		sql += buildQueryForStringBasedItem(MultiplicationTableInfoType.ISSUE, input);
-		sql += buildQueryForStringBasedItem(MultiplicationTableInfoType.DELIVERY_REF, input);
-		sql += buildQueryForStringBasedItem(MultiplicationTableInfoType.DESCRIPTION, input);
-
-		// remove trailing operator
-		if (sql.endsWith(" and ")) {
-			sql = sql.substring(0, sql.lastIndexOf(" and "));
-		}
-		else if (sql.endsWith(" or ")) {
-			sql = sql.substring(0, sql.lastIndexOf(" or "));
-		}
+		String sql = "select * from mult_tables where (";
+		QueryBuilder query = new QueryBuilder(sql);
 
-		// add order by criteria
-		String orderBy = input.getOrderByCriteria();
-		if (orderBy.equals(SearchInput.NAME)) {
-			sql += " order by name";
-		}
-		else if (orderBy.equals(SearchInput.PROGRAM)) {
-			sql += " order by ac_program";
-		}
-		else if (orderBy.equals(SearchInput.SECTION)) {
-			sql += " order by ac_section";
-		}
-		else if (orderBy.equals(SearchInput.MISSION)) {
-			sql += " order by fat_mission";
-		}
-		else if (orderBy.equals(SearchInput.DELIVERY)) {
-			sql += " order by delivery_ref_num";
+		// add matching IDs from search index (if available and matches are few enough to fetch by ID), or else search items
+		if (index == null || !index.appendIdCondition(query, matchIndex(index, input))) {
+			for (MultiplicationTableInfoType type : SEARCH_ITEMS) {
+				addQueryForStringBasedItem(query, type, input);
+			}
+
+			// remove trailing operator
+			query.removeTrailing(query.endsWith(" and ") ? " and " : " or ");
 		}
 
-		// add order
-		sql += input.getOrder() ? " asc" : " desc";
+		// add keyset pagination
+		query.append(")");
+		paginate(query, orderByColumn, input);
 
 		// return query
-		return sql;
+		return query;
 	}
 
 	/**
-	 * Builds and returns SQL query for the given type of string based search item.
+	 * Returns the rows of the given search index matching the search items.
 	 *
+	 * @param index
+	 *            Search index snapshot.
+	 * @param input
+	 *            Search input.
+	 * @return The matching rows.
+	 */
+	private static BitSet matchIndex(SearchIndex.Snapshot index, MultiplicationTableSearchInput input) {
+
+		// loop over searched columns
+		BitSet rows = null;
+		for (MultiplicationTableInfoType type : SEARCH_ITEMS) {
+
+			// get search item
+			SearchItem item = input.getInput(type);
+			if (item == null) {
+				continue;
+			}
+
+			// combine matches with logical operator
+			BitSet matches = index.match(type.getColumnName(), item.getCriteria(), item.getValue().toString());
+			if (rows == null) {
+				rows = matches;
+			}
+			else if (input.getOperator()) {
+				rows.and(matches);
+			}
+			else {
+				rows.or(matches);
+			}
+		}
+
+		// return matching rows
+		return rows == null ? new BitSet() : rows;
+	}
+
+	/**
+	 * Adds SQL condition for the given type of string based search item to the given query.
+	 *
+	 * @param query
+	 *            Search query.
 	 * @param type
 	 *            Type of search item.
 	 * @param input
 	 *            Search input.
-	 * @return SQL query.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static String buildQueryForStringBasedItem(MultiplicationTableInfoType type, MultiplicationTableSearchInput input) throws Exception {
+	private static void addQueryForStringBasedItem(QueryBuilder query, MultiplicationTableInfoType type, MultiplicationTableSearchInput input) throws Exception {
 
 		// get search item
 		SearchItem item = input.getInput(type);
 
 		// search item exists
-		String sql = "";
 		if (item != null) {
 
 			// get database column name
 			String columnName = type.getColumnName();
 
-			// create query
-			sql += input.getCase() ? "upper(" + columnName + ") like " : columnName + " like ";
+			// create pattern
 			int criteria = item.getCriteria();
-			String value = item.getValue().toString();
+			String value = QueryBuilder.escapeLike(item.getValue().toString());
+			String pattern = null;
 			if (criteria == 0) {
-				sql += input.getCase() ? "upper('%" + value + "%')" : "'%" + value + "%'"; // contains
+				pattern = "%" + value + "%"; // contains
 			}
 			else if (criteria == 1) {
-				sql += input.getCase() ? "upper('" + value + "')" : "'" + value + "'"; // equals
+				pattern = value; // equals
 			}
 			else if (criteria == 2) {
-				sql += input.getCase() ? "upper('" + value + "%')" : "'" + value + "%'"; // starts with
+				pattern = value + "%"; // starts with
 			}
 			else if (criteria == 3) {
-				sql += input.getCase() ? "upper('%" + value + "')" : "'%" + value + "'"; // ends with
+				pattern = "%" + value; // ends with
 			}
-			sql += input.getOperator() ? " and " : " or ";
-		}
 
-		// return query
-		return sql;
+			// create query
+			query.append(input.getCase() ? "upper(" + columnName + ") like upper(?)" : columnName + " like ?", pattern);
+			query.append(input.getOperator() ? " and " : " or ");
+		}
 	}
 }
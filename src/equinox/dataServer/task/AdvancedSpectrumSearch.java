@@ -18,12 +18,11 @@ package equinox.dataServer.task;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Set;
 
 import equinox.dataServer.client.DataClient;
-import equinox.dataServer.remote.data.SearchInput;
 import equinox.dataServer.remote.data.SearchItem;
 import equinox.dataServer.remote.data.SpectrumInfo;
 import equinox.dataServer.remote.data.SpectrumInfo.SpectrumInfoType;
@@ -31,6 +30,8 @@ import equinox.dataServer.remote.data.SpectrumSearchInput;
 import equinox.dataServer.remote.message.AdvancedSpectrumSearchRequest;
 import equinox.dataServer.remote.message.AdvancedSpectrumSearchResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.SearchIndex;
+import equinox.dataServer.utility.QueryBuilder;
 
 /**
  * Class for advanced spectrum search task.
@@ -41,6 +42,9 @@ import equinox.dataServer.server.DataServer;
  */
 public class AdvancedSpectrumSearch extends DatabaseQueryTask {
 
+	/** Searched columns. */
+	private static final SpectrumInfoType[] SEARCH_ITEMS = { SpectrumInfoType.NAME, SpectrumInfoType.AC_PROGRAM, SpectrumInfoType.AC_SECTION, SpectrumInfoType.FAT_MISSION, SpectrumInfoType.FAT_MISSION_ISSUE, SpectrumInfoType.FLP_ISSUE, SpectrumInfoType.IFLP_ISSUE, SpectrumInfoType.CDF_ISSUE, SpectrumInfoType.DELIVERY_REF, SpectrumInfoType.DESCRIPTION };
+
 	/**
 	 * Creates advanced spectrum search task.
 	 *
@@ -69,8 +73,12 @@ public class AdvancedSpectrumSearch extends DatabaseQueryTask {
 		// get search input
 		SpectrumSearchInput input = ((AdvancedSpectrumSearchRequest) request_).getInput();
 
+		// create result stream
+		SearchResultStream stream = new SearchResultStream(server_, client_, input, response);
+
 		// build SQL query
-		String sql = buildSQL(input);
+		String orderByColumn = getOrderByColumn(input, "delivery_ref");
+		QueryBuilder query = buildSQL(input, orderByColumn, server_.getSearchIndexes().getSpectra());
 
 		// create unique programs set
 		Set<String> uniquePrograms = new HashSet<>();
@@ -78,85 +86,66 @@ public class AdvancedSpectrumSearch extends DatabaseQueryTask {
 		// get connection to database
 		try (Connection connection = server_.getDCP().getConnection()) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
-
-				// set max hits
-				statement.setMaxRows(input.getMaxHits());
+			// prepare statement
+			try (PreparedStatement statement = query.prepare(connection)) {
 
 				// execute query
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
-
-					// prepare statement to count connected pilot points
-					sql = "select count(id) as numpps from pilot_points where spectrum_name = ?";
-					try (PreparedStatement countPPs = connection.prepareStatement(sql)) {
-
-						// prepare statement to count connected multiplication tables
-						sql = "select count(id) as nummults from mult_tables where spectrum_name = ?";
-						try (PreparedStatement countMultTables = connection.prepareStatement(sql)) {
-
-							// loop over spectra
-							while (resultSet.next()) {
-
-								// get A/C program
-								String program = resultSet.getString("ac_program");
-
-								// get spectrum info
-								SpectrumInfo info = new SpectrumInfo();
-								info.setInfo(SpectrumInfoType.ID, resultSet.getLong("id"));
-								info.setInfo(SpectrumInfoType.NAME, resultSet.getString("name"));
-								info.setInfo(SpectrumInfoType.DATA_SIZE, resultSet.getLong("data_size"));
-								info.setInfo(SpectrumInfoType.DATA_URL, resultSet.getString("data_url"));
-								info.setInfo(SpectrumInfoType.AC_PROGRAM, program);
-								info.setInfo(SpectrumInfoType.AC_SECTION, resultSet.getString("ac_section"));
-								info.setInfo(SpectrumInfoType.FAT_MISSION, resultSet.getString("fat_mission"));
-								info.setInfo(SpectrumInfoType.FAT_MISSION_ISSUE, resultSet.getString("fat_mission_issue"));
-								info.setInfo(SpectrumInfoType.FLP_ISSUE, resultSet.getString("flp_issue"));
-								info.setInfo(SpectrumInfoType.IFLP_ISSUE, resultSet.getString("iflp_issue"));
-								info.setInfo(SpectrumInfoType.CDF_ISSUE, resultSet.getString("cdf_issue"));
-								info.setInfo(SpectrumInfoType.DELIVERY_REF, resultSet.getString("delivery_ref"));
-								info.setInfo(SpectrumInfoType.DESCRIPTION, resultSet.getString("description"));
-
-								// get number of connected pilot points
-								int numPPs = 0;
-								countPPs.setString(1, resultSet.getString("name"));
-								try (ResultSet resultSet2 = countPPs.executeQuery()) {
-									if (resultSet2.next()) {
-										numPPs = resultSet2.getInt("numpps");
-									}
-								}
-								info.setInfo(SpectrumInfoType.PILOT_POINTS, numPPs);
-
-								// get number of connected multiplication tables
-								int numMult = 0;
-								countMultTables.setString(1, resultSet.getString("name"));
-								try (ResultSet resultSet2 = countMultTables.executeQuery()) {
-									if (resultSet2.next()) {
-										numMult = resultSet2.getInt("nummults");
-									}
-								}
-								info.setInfo(SpectrumInfoType.MULT_TABLES, numMult);
-
-								// add info to response
-								response.add(info);
-
-								// add programs
-								uniquePrograms.add(program);
-							}
+				try (ResultSet resultSet = statement.executeQuery()) {
+
+					// create page cursor
+					int hits = 0;
+					String cursorValue = null;
+					long cursorId = -1L;
+
+					// loop over spectra
+					while (resultSet.next()) {
+
+						// page is full (there are more results)
+						if (++hits > input.getMaxHits()) {
+							response.setNextPage(cursorValue, cursorId);
+							break;
 						}
+
+						// get A/C program
+						String program = resultSet.getString("ac_program");
+
+						// get spectrum info
+						SpectrumInfo info = new SpectrumInfo();
+						info.setInfo(SpectrumInfoType.ID, resultSet.getLong("id"));
+						info.setInfo(SpectrumInfoType.NAME, resultSet.getString("name"));
+						info.setInfo(SpectrumInfoType.DATA_SIZE, resultSet.getLong("data_size"));
+						info.setInfo(SpectrumInfoType.DATA_URL, resultSet.getString("data_url"));
+						info.setInfo(SpectrumInfoType.AC_PROGRAM, program);
+						info.setInfo(SpectrumInfoType.AC_SECTION, resultSet.getString("ac_section"));
+						info.setInfo(SpectrumInfoType.FAT_MISSION, resultSet.getString("fat_mission"));
+						info.setInfo(SpectrumInfoType.FAT_MISSION_ISSUE, resultSet.getString("fat_mission_issue"));
+						info.setInfo(SpectrumInfoType.FLP_ISSUE, resultSet.getString("flp_issue"));
+						info.setInfo(SpectrumInfoType.IFLP_ISSUE, resultSet.getString("iflp_issue"));
+						info.setInfo(SpectrumInfoType.CDF_ISSUE, resultSet.getString("cdf_issue"));
+						info.setInfo(SpectrumInfoType.DELIVERY_REF, resultSet.getString("delivery_ref"));
+						info.setInfo(SpectrumInfoType.DESCRIPTION, resultSet.getString("description"));
+						info.setInfo(SpectrumInfoType.PILOT_POINTS, resultSet.getInt("num_pilot_points"));
+						info.setInfo(SpectrumInfoType.MULT_TABLES, resultSet.getInt("num_mult_tables"));
+
+						// add info to stream
+						stream.add(info);
+
+						// add programs
+						uniquePrograms.add(program);
+
+						// update page cursor
+						cursorValue = getCursorValue(resultSet, orderByColumn);
+						cursorId = resultSet.getLong("id");
 					}
 				}
-
-				// reset statement
-				statement.setMaxRows(0);
 			}
 		}
 
 		// increment search trends
 		server_.incrementSearchHits(uniquePrograms);
 
-		// respond to client
-		client_.sendMessage(response);
+		// finish result stream
+		stream.finish();
 	}
 
 	/**
@@ -164,103 +153,119 @@ public class AdvancedSpectrumSearch extends DatabaseQueryTask {
 	 *
 	 * @param input
 	 *            Search input.
+	 * @param orderByColumn
+	 *            The database column to order search results by.
+	 * @param index
+	 *            Search index snapshot, or null if search index is not available.
 	 * @return The SQL search query.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static String buildSQL(SpectrumSearchInput input) throws Exception {
+	static QueryBuilder buildSQL(SpectrumSearchInput input, String orderByColumn, SearchIndex.Snapshot index) throws Exception {
 
 		// initialize parameters
-		String sql = "select * from spectra where ";
-
-		// add search items
-		sql += buildQueryForStringBasedItem(SpectrumInfoType.NAME, input);
-		sql += buildQueryForStringBasedItem(SpectrumInfoType.AC_PROGRAM, input);
-		sql += buildQueryForStringBasedItem(SpectrumInfoType.AC_SECTION, input);
-		sql += buildQueryForStringBasedItem(SpectrumInfoType.FAT_MISSION, input);
-		sql += buildQueryForStringBasedItem(SpectrumInfoType.FAT_MISSION_ISSUE, input);
-		sql += buildQueryForStringBasedItem(SpectrumInfoType.FLP_ISSUE, input);
-		sql += buildQueryForStringBasedItem(SpectrumInfoType.IFLP_ISSUE, input);
-		sql += buildQueryForStringBasedItem(SpectrumInfoType.CDF_ISSUE, input);
-		sql += buildQueryForStringBasedItem(SpectrumInfoType.DELIVERY_REF, input);
-		sql += buildQueryForStringBasedItem(SpectrumInfoType.DESCRIPTION, input);
-
-		// remove trailing operator
-		if (sql.endsWith(" and ")) {
-			sql = sql.substring(0, sql.lastIndexOf(" and "));
-		}
-		else if (sql.endsWith(" or ")) {
-			sql = sql.substring(0, sql.lastIndexOf(" or "));
-		}
+		String sql = "select * from spectra where (";
+		QueryBuilder query = new QueryBuilder(sql);
 
-		// add order by criteria
-		String orderBy = input.getOrderByCriteria();
-		if (orderBy.equals(SearchInput.NAME)) {
-			sql += " order by name";
-		}
-		else if (orderBy.equals(SearchInput.PROGRAM)) {
-			sql += " order by ac_program";
-		}
-		else if (orderBy.equals(SearchInput.SECTION)) {
-			sql += " order by ac_section";
-		}
-		else if (orderBy.equals(SearchInput.MISSION)) {
-			sql += " order by fat_mission";
-		}
-		else if (orderBy.equals(SearchInput.DELIVERY)) {
-			sql += " order by delivery_ref";
+		// add matching IDs from search index (if available and matches are few enough to fetch by ID), or else search items
+		if (index == null || !index.appendIdCondition(query, matchIndex(index, input))) {
+			for (SpectrumInfoType type : SEARCH_ITEMS) {
+				addQueryForStringBasedItem(query, type, input);
+			}
+
+			// remove trailing operator
+			query.removeTrailing(query.endsWith(" and ") ? " and " : " or ");
 		}
 
-		// add order
-		sql += input.getOrder() ? " asc" : " desc";
+		// add keyset pagination
+		query.append(")");
+		paginate(query, orderByColumn, input);
 
 		// return query
-		return sql;
+		return query;
 	}
 
 	/**
-	 * Builds and returns SQL query for the given type of string based search item.
+	 * Returns the rows of the given search index matching the search items.
 	 *
+	 * @param index
+	 *            Search index snapshot.
+	 * @param input
+	 *            Search input.
+	 * @return The matching rows.
+	 */
+	private static BitSet matchIndex(SearchIndex.Snapshot index, SpectrumSearchInput input) {
+
+		// loop over searched columns
+		BitSet rows = null;
+		for (SpectrumInfoType type : SEARCH_ITEMS) {
+
+			// get search item
+			SearchItem item = input.getInput(type);
+			if (item == null) {
+				continue;
+			}
+
+			// combine matches with logical operator
+			BitSet matches = index.match(type.getColumnName(), item.getCriteria(), item.getValue().toString());
+			if (rows == null) {
+				rows = matches;
+			}
+			else if (input.getOperator()) {
+				rows.and(matches);
+			}
+			else {
+				rows.or(matches);
+			}
+		}
+
+		// return matching rows
+		return rows == null ? new BitSet() : rows;
+	}
+
+	/**
+	 * Adds SQL condition for the given type of string based search item to the given query.
+	 *
+	 * @param query
+	 *            Search query.
 	 * @param type
 	 *            Type of search item.
 	 * @param input
 	 *            Search input.
-	 * @return SQL query.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static String buildQueryForStringBasedItem(SpectrumInfoType type, SpectrumSearchInput input) throws Exception {
+	private static void addQueryForStringBasedItem(QueryBuilder query, SpectrumInfoType type, SpectrumSearchInput input) throws Exception {
 
 		// get search item
 		SearchItem item = input.getInput(type);
 
 		// search item exists
-		String sql = "";
 		if (item != null) {
 
 			// get database column name
 			String columnName = type.getColumnName();
 
-			// create query
-			sql += input.getCase() ? "upper(" + columnName + ") like " : columnName + " like ";
+			// create pattern
 			int criteria = item.getCriteria();
-			String value = item.getValue().toString();
+			String value = QueryBuilder.escapeLike(item.getValue().toString());
+			String pattern = null;
 			if (criteria == 0) {
-				sql += input.getCase() ? "upper('%" + value + "%')" : "'%" + value + "%'"; // contains
+				pattern = "%" + value + "%"; // contains
 			}
 			else if (criteria == 1) {
-				sql += input.getCase() ? "upper('" + value + "')" : "'" + value + "'"; // equals
+				pattern = value; // equals
 			}
 			else if (criteria == 2) {
-				sql += input.getCase() ? "upper('" + value + "%')" : "'" + value + "%'"; // starts with
+				pattern = value + "%"; // starts with
 			}
 			else if (criteria == 3) {
-				sql += input.getCase() ? "upper('%" + value + "')" : "'%" + value + "'"; // ends with
+				pattern = "%" + value; // ends with
 			}
-			sql += input.getOperator() ? " and " : " or ";
-		}
 
-		// return query
-		return sql;
+			// create query
+			query.append(input.getCase() ? "upper(" + columnName + ") like upper(?)" : columnName + " like ?", pattern);
+			query.append(input.getOperator() ? " and " : " or ");
+		}
 	}
 }
@@ -16,8 +16,9 @@
 package equinox.dataServer.task;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -25,10 +26,11 @@ import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.data.BasicSearchInput;
 import equinox.dataServer.remote.data.PilotPointInfo;
 import equinox.dataServer.remote.data.PilotPointInfo.PilotPointInfoType;
-import equinox.dataServer.remote.data.SearchInput;
 import equinox.dataServer.remote.message.BasicPilotPointSearchRequest;
 import equinox.dataServer.remote.message.BasicPilotPointSearchResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.SearchIndex;
+import equinox.dataServer.utility.QueryBuilder;
 
 /**
  * Class for basic pilot point search task.
@@ -39,6 +41,9 @@ import equinox.dataServer.server.DataServer;
  */
 public class BasicPilotPointSearch extends DatabaseQueryTask {
 
+	/** Searched columns. */
+	private static final PilotPointInfoType[] SEARCH_ITEMS = { PilotPointInfoType.SPECTRUM_NAME, PilotPointInfoType.NAME, PilotPointInfoType.AC_PROGRAM, PilotPointInfoType.AC_SECTION, PilotPointInfoType.FAT_MISSION, PilotPointInfoType.DESCRIPTION, PilotPointInfoType.ELEMENT_TYPE, PilotPointInfoType.FRAME_RIB_POSITION, PilotPointInfoType.STRINGER_POSITION, PilotPointInfoType.DATA_SOURCE, PilotPointInfoType.GENERATION_SOURCE, PilotPointInfoType.DELIVERY_REF_NUM, PilotPointInfoType.FATIGUE_MATERIAL, PilotPointInfoType.PREFFAS_MATERIAL, PilotPointInfoType.LINEAR_MATERIAL, PilotPointInfoType.EID };
+
 	/**
 	 * Creates advanced multiplication table search task.
 	 *
@@ -67,8 +72,12 @@ public class BasicPilotPointSearch extends DatabaseQueryTask {
 		// get search input
 		BasicSearchInput input = ((BasicPilotPointSearchRequest) request_).getInput();
 
+		// create result stream
+		SearchResultStream stream = new SearchResultStream(server_, client_, input, response);
+
 		// build SQL query
-		String sql = buildSQL(input);
+		String orderByColumn = getOrderByColumn(input, "delivery_ref_num");
+		QueryBuilder query = buildSQL(input, orderByColumn, server_.getSearchIndexes().getPilotPoints());
 
 		// create unique programs set
 		Set<String> uniquePrograms = new HashSet<>();
@@ -76,16 +85,24 @@ public class BasicPilotPointSearch extends DatabaseQueryTask {
 		// get connection to database
 		try (Connection connection = server_.getDCP().getConnection()) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
-
-				// set max hits
-				statement.setMaxRows(input.getMaxHits());
+			// prepare statement
+			try (PreparedStatement statement = query.prepare(connection)) {
 
 				// execute query
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
+				try (ResultSet resultSet = statement.executeQuery()) {
+
+					// create page cursor
+					int hits = 0;
+					String cursorValue = null;
+					long cursorId = -1L;
 					while (resultSet.next()) {
 
+						// page is full (there are more results)
+						if (++hits > input.getMaxHits()) {
+							response.setNextPage(cursorValue, cursorId);
+							break;
+						}
+
 						// get program
 						String program = resultSet.getString("ac_program");
 
@@ -110,24 +127,25 @@ public class BasicPilotPointSearch extends DatabaseQueryTask {
 						info.setInfo(PilotPointInfoType.LINEAR_MATERIAL, resultSet.getString("linear_material"));
 						info.setInfo(PilotPointInfoType.EID, resultSet.getString("eid"));
 
-						// add info to response
-						response.add(info);
+						// add info to stream
+						stream.add(info);
 
 						// add programs
 						uniquePrograms.add(program);
+
+						// update page cursor
+						cursorValue = getCursorValue(resultSet, orderByColumn);
+						cursorId = resultSet.getLong("id");
 					}
 				}
-
-				// reset statement
-				statement.setMaxRows(0);
 			}
 		}
 
 		// increment search trends
 		server_.incrementSearchHits(uniquePrograms);
 
-		// respond to client
-		client_.sendMessage(response);
+		// finish result stream
+		stream.finish();
 	}
 
 	/**
@@ -135,94 +153,109 @@ public class BasicPilotPointSearch extends DatabaseQueryTask {
 	 *
 	 * @param input
 	 *            Search input.
+	 * @param orderByColumn
+	 *            The database column to order search results by.
+	 * @param index
+	 *            Search index snapshot, or null if search index is not available.
 	 * @return The SQL search query.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static String buildSQL(BasicSearchInput input) throws Exception {
+	private static QueryBuilder buildSQL(BasicSearchInput input, String orderByColumn, SearchIndex.Snapshot index) throws Exception {
 
 		// create SQL query
 		String sql = "select id, spectrum_name, name, ac_program, ac_section, fat_mission, description, element_type, ";
 		sql += "frame_rib_position, stringer_position, data_source, generation_source, delivery_ref_num, issue, ";
-		sql += "fatigue_material, preffas_material, linear_material, eid from pilot_points where ";
-
-		// add search items
-		sql += buildQueryForStringBasedItem(PilotPointInfoType.SPECTRUM_NAME, input);
-		sql += buildQueryForStringBasedItem(PilotPointInfoType.NAME, input);
-		sql += buildQueryForStringBasedItem(PilotPointInfoType.AC_PROGRAM, input);
-		sql += buildQueryForStringBasedItem(PilotPointInfoType.AC_SECTION, input);
-		sql += buildQueryForStringBasedItem(PilotPointInfoType.FAT_MISSION, input);
-		sql += buildQueryForStringBasedItem(PilotPointInfoType.DESCRIPTION, input);
-		sql += buildQueryForStringBasedItem(PilotPointInfoType.ELEMENT_TYPE, input);
-		sql += buildQueryForStringBasedItem(PilotPointInfoType.FRAME_RIB_POSITION, input);
-		sql += buildQueryForStringBasedItem(PilotPointInfoType.STRINGER_POSITION, input);
-		sql += buildQueryForStringBasedItem(PilotPointInfoType.DATA_SOURCE, input);
-		sql += buildQueryForStringBasedItem(PilotPointInfoType.GENERATION_SOURCE, input);
-		sql += buildQueryForStringBasedItem(PilotPointInfoType.DELIVERY_REF_NUM, input);
-		sql += buildQueryForStringBasedItem(PilotPointInfoType.FATIGUE_MATERIAL, input);
-		sql += buildQueryForStringBasedItem(PilotPointInfoType.PREFFAS_MATERIAL, input);
-		sql += buildQueryForStringBasedItem(PilotPointInfoType.LINEAR_MATERIAL, input);
-		sql += buildQueryForStringBasedItem(PilotPointInfoType.EID, input);
+		sql += "fatigue_material, preffas_material, linear_material, eid from pilot_points where (";
+		QueryBuilder query = new QueryBuilder(sql);
 
-		// remove trailing operator
-		sql = sql.substring(0, sql.lastIndexOf(" or "));
+		// add matching IDs from search index (if available and matches are few enough to fetch by ID), or else search items
+		if (index == null || !index.appendIdCondition(query, matchIndex(index, input))) {
+			for (PilotPointInfoType type : SEARCH_ITEMS) {
+				addQueryForStringBasedItem(query, type, input);
+			}
 
-		// add order by criteria
-		String orderBy = input.getOrderByCriteria();
-		if (orderBy.equals(SearchInput.NAME)) {
-			sql += " order by name";
-		}
-		else if (orderBy.equals(SearchInput.PROGRAM)) {
-			sql += " order by ac_program";
-		}
-		else if (orderBy.equals(SearchInput.SECTION)) {
-			sql += " order by ac_section";
-		}
-		else if (orderBy.equals(SearchInput.MISSION)) {
-			sql += " order by fat_mission";
-		}
-		else if (orderBy.equals(SearchInput.DELIVERY)) {
-			sql += " order by delivery_ref_num";
+			// remove trailing operator
+			query.removeTrailing(" or ");
 		}
 
-		// add order
-		sql += input.getOrder() ? " asc" : " desc";
+		// add keyset pagination
+		query.append(")");
+		paginate(query, orderByColumn, input);
 
 		// return query
-		return sql;
+		return query;
+	}
+
+	/**
+	 * Returns the rows of the given search index matching the search keywords.
+	 *
+	 * @param index
+	 *            Search index snapshot.
+	 * @param input
+	 *            Search input.
+	 * @return The matching rows.
+	 */
+	private static BitSet matchIndex(SearchIndex.Snapshot index, BasicSearchInput input) {
+
+		// loop over searched columns
+		BitSet rows = new BitSet();
+		for (PilotPointInfoType type : SEARCH_ITEMS) {
+
+			// combine keyword matches of column with logical operator
+			BitSet columnRows = null;
+			for (String keyword : input.getKeywords()) {
+				BitSet matches = index.match(type.getColumnName(), SearchIndex.CONTAINS, keyword);
+				if (columnRows == null) {
+					columnRows = matches;
+				}
+				else if (input.getOperator()) {
+					columnRows.and(matches);
+				}
+				else {
+					columnRows.or(matches);
+				}
+			}
+
+			// add matches of column
+			if (columnRows != null) {
+				rows.or(columnRows);
+			}
+		}
+
+		// return matching rows
+		return rows;
 	}
 
 	/**
-	 * Builds and returns SQL query for the given type of string based search item.
+	 * Adds SQL condition for the given type of string based search item to the given query.
 	 *
+	 * @param query
+	 *            Search query.
 	 * @param type
 	 *            Type of search item.
 	 * @param input
 	 *            Search input.
-	 * @return SQL query.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static String buildQueryForStringBasedItem(PilotPointInfoType type, BasicSearchInput input) throws Exception {
+	private static void addQueryForStringBasedItem(QueryBuilder query, PilotPointInfoType type, BasicSearchInput input) throws Exception {
 
 		// get database column name
 		String columnName = type.getColumnName();
 
 		// create query
-		String sql = "(";
+		query.append("(");
 		for (String keyword : input.getKeywords()) {
-			sql += input.getCase() ? "upper(" + columnName + ") like upper('%" + keyword + "%')" : columnName + " like '%" + keyword + "%'";
-			sql += input.getOperator() ? " and " : " or ";
+			query.append(input.getCase() ? "upper(" + columnName + ") like upper(?)" : columnName + " like ?", "%" + QueryBuilder.escapeLike(keyword) + "%");
+			query.append(input.getOperator() ? " and " : " or ");
 		}
 
 		// remove trailing operator
-		sql = input.getOperator() ? sql.substring(0, sql.lastIndexOf(" and ")) : sql.substring(0, sql.lastIndexOf(" or "));
-		sql += ")";
+		query.removeTrailing(input.getOperator() ? " and " : " or ");
+		query.append(")");
 
 		// add or operator
-		sql += " or ";
-
-		// return query
-		return sql;
+		query.append(" or ");
 	}
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.task;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class for bulk loader. Rows added to the loader are collected into chunks of the configured JDBC batch size. Each chunk is written to database by the
+ * supplied chunk writer, and loading throughput is reported to the client of the owning task.
+ * <p>
+ * Note that, chunks are not committed separately. The loader writes through the connection of the owning task, which commits (or rolls back) the whole
+ * upload in a single transaction. This is deliberate: uploaded workbooks add reference data (materials, damage contributions) which other clients
+ * read concurrently, so a partially loaded workbook must never become visible, and the client protocol has no way of resuming a failed upload from a
+ * committed chunk. Chunking only bounds the memory and the size of JDBC batches; large uploads may therefore need a larger undo log on the database
+ * server.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 14:12:08
+ * @param <T>
+ *            Row type.
+ */
+public class BulkLoader<T> {
+
+	/** Minimum interval between progress messages in milliseconds. */
+	private static final long PROGRESS_INTERVAL = 1000L;
+
+	/** Owner task. */
+	private final DatabaseQueryTask task_;
+
+	/** Description of loaded data. */
+	private final String description_;
+
+	/** Chunk writer. */
+	private final ChunkWriter<T> writer_;
+
+	/** Chunk size. */
+	private final int chunkSize_;
+
+	/** Current chunk. */
+	private final List<T> chunk_;
+
+	/** Start time of loading. */
+	private final long startTime_;
+
+	/** Time of last progress message. */
+	private long lastProgress_;
+
+	/** Number of loaded rows. */
+	private int loaded_ = 0;
+
+	/**
+	 * Creates bulk loader.
+	 *
+	 * @param task
+	 *            Owner task.
+	 * @param description
+	 *            Description of loaded data (used for progress messages).
+	 * @param writer
+	 *            Chunk writer.
+	 */
+	public BulkLoader(DatabaseQueryTask task, String description, ChunkWriter<T> writer) {
+		task_ = task;
+		description_ = description;
+		writer_ = writer;
+		chunkSize_ = task.getBatchSize();
+		chunk_ = new ArrayList<>(chunkSize_);
+		startTime_ = System.currentTimeMillis();
+		lastProgress_ = startTime_;
+	}
+
+	/**
+	 * Adds given row to loader. Current chunk is written to database if it is full.
+	 *
+	 * @param row
+	 *            Row to add.
+	 * @throws Exception
+	 *             If exception occurs during writing chunk to database.
+	 */
+	public void add(T row) throws Exception {
+		chunk_.add(row);
+		if (chunk_.size() >= chunkSize_) {
+			flush();
+		}
+	}
+
+	/**
+	 * Writes remaining rows to database and reports final throughput to client.
+	 *
+	 * @return Total number of loaded rows.
+	 * @throws Exception
+	 *             If exception occurs during writing chunk to database.
+	 */
+	public int finish() throws Exception {
+
+		// write remaining rows
+		flush();
+
+		// report throughput
+		task_.sendProgressMessage("Uploaded " + loaded_ + " " + description_ + getThroughput(System.currentTimeMillis()) + ".");
+		return loaded_;
+	}
+
+	/**
+	 * Writes current chunk to database and reports throughput to client (at most once in every second).
+	 *
+	 * @throws Exception
+	 *             If exception occurs during writing chunk to database.
+	 */
+	private void flush() throws Exception {
+
+		// no rows to write
+		if (chunk_.isEmpty())
+			return;
+
+		// write chunk
+		writer_.write(chunk_);
+		loaded_ += chunk_.size();
+		chunk_.clear();
+
+		// report throughput
+		long now = System.currentTimeMillis();
+		if (now - lastProgress_ >= PROGRESS_INTERVAL) {
+			task_.sendProgressMessage("Uploading " + description_ + ": " + loaded_ + " rows loaded" + getThroughput(now) + "...");
+			lastProgress_ = now;
+		}
+	}
+
+	/**
+	 * Returns throughput text.
+	 *
+	 * @param now
+	 *            Current time.
+	 * @return Throughput text.
+	 */
+	private String getThroughput(long now) {
+		long elapsed = Math.max(1L, now - startTime_);
+		return " (" + loaded_ * 1000L / elapsed + " rows/s)";
+	}
+
+	/**
+	 * Executes batch of given insert statement and returns generated keys in the order of the batched rows. The statement must be prepared with
+	 * <code>Statement.RETURN_GENERATED_KEYS</code>.
+	 *
+	 * @param statement
+	 *            Insert statement with batched rows.
+	 * @param expected
+	 *            Expected number of generated keys.
+	 * @return Generated keys.
+	 * @throws Exception
+	 *             If exception occurs during process or number of generated keys doesn't match the expected number.
+	 */
+	public static long[] executeBatchWithGeneratedKeys(PreparedStatement statement, int expected) throws Exception {
+
+		// execute batch
+		statement.executeBatch();
+
+		// get generated keys
+		long[] keys = new long[expected];
+		int index = 0;
+		try (ResultSet resultSet = statement.getGeneratedKeys()) {
+			while (resultSet.next()) {
+				if (index == expected)
+					throw new Exception("Unexpected number of generated keys returned for batch insert. Expected " + expected + " keys.");
+				keys[index++] = resultSet.getLong(1);
+			}
+		}
+
+		// missing keys
+		if (index != expected)
+			throw new Exception("Unexpected number of generated keys returned for batch insert. Expected " + expected + " keys, returned " + index + " keys.");
+
+		// return keys
+		return keys;
+	}
+
+	/**
+	 * Interface for chunk writer.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 14:12:08
+	 * @param <T>
+	 *            Row type.
+	 */
+	@FunctionalInterface
+	public interface ChunkWriter<T> {
+
+		/**
+		 * Writes given chunk of rows to database.
+		 *
+		 * @param chunk
+		 *            Chunk of rows. The list is reused by the loader after this method returns.
+		 * @throws Exception
+		 *             If exception occurs during process.
+		 */
+		void write(List<T> chunk) throws Exception;
+	}
+}
@@ -16,8 +16,8 @@
 package equinox.dataServer.task;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
 
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.data.EquinoxUpdate;
@@ -25,6 +25,7 @@ import equinox.dataServer.remote.data.EquinoxUpdate.EquinoxUpdateInfoType;
 import equinox.dataServer.remote.message.CheckForEquinoxUpdatesRequest;
 import equinox.dataServer.remote.message.CheckForEquinoxUpdatesResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.utility.QueryBuilder;
 
 /**
  * Class for check for Equinox container updates task.
@@ -62,20 +63,17 @@ public class CheckForEquinoxContainerUpdates extends DatabaseQueryTask {
 
 		// build query
 		CheckForEquinoxUpdatesRequest request = (CheckForEquinoxUpdatesRequest) request_;
-		String sql = "select * from containers where os_type = '" + request.getOsType() + "' and os_arch = '" + request.getOsArch();
-		sql += "' and version_number > " + Double.toString(request.getVersionNumber()) + " order by version_number desc";
+		QueryBuilder query = new QueryBuilder("select * from containers where os_type = ? and os_arch = ? ", request.getOsType(), request.getOsArch());
+		query.append("and version_number > ? order by version_number desc limit 1", request.getVersionNumber());
 
 		// get connection to database
 		try (Connection connection = server_.getDCP().getConnection()) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
-
-				// only 1 version
-				statement.setMaxRows(1);
+			// prepare statement
+			try (PreparedStatement statement = query.prepare(connection)) {
 
 				// execute query
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
+				try (ResultSet resultSet = statement.executeQuery()) {
 					if (resultSet.next()) {
 
 						// create update info
@@ -92,9 +90,6 @@ public class CheckForEquinoxContainerUpdates extends DatabaseQueryTask {
 						response.setUpdate(update);
 					}
 				}
-
-				// reset statement
-				statement.setMaxRows(0);
 			}
 		}
 
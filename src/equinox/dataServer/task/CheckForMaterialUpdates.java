@@ -15,9 +15,6 @@
  */
 package equinox.dataServer.task;
 
-import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.Statement;
 import java.util.ArrayList;
 
 import equinox.dataServer.client.DataClient;
@@ -62,21 +59,10 @@ public class CheckForMaterialUpdates extends DatabaseQueryTask {
 		// get client's material ISAMI versions
 		ArrayList<String> localMaterialIsamiVersions = ((CheckForMaterialUpdatesRequest) request_).getMaterialIsamiVersions();
 
-		// get connection to database
-		try (Connection connection = server_.getDCP().getConnection()) {
-
-			// create statement
-			try (Statement statement = connection.createStatement()) {
-
-				// get library version from fatigue materials table
-				try (ResultSet resultSet = statement.executeQuery("select distinct isami_version from fatigue_materials")) {
-					while (resultSet.next()) {
-						String materialIsamiVersion = resultSet.getString("isami_version");
-						if (!localMaterialIsamiVersions.contains(materialIsamiVersion)) {
-							response.addMaterialIsamiVersion(materialIsamiVersion);
-						}
-					}
-				}
+		// get library versions from fatigue materials table
+		for (String materialIsamiVersion : getDistinctValues(server_.getReferenceDataCache().getMaterialIsamiVersions(), "select distinct isami_version from fatigue_materials")) {
+			if (!localMaterialIsamiVersions.contains(materialIsamiVersion)) {
+				response.addMaterialIsamiVersion(materialIsamiVersion);
 			}
 		}
 
@@ -15,13 +15,15 @@
  */
 package equinox.dataServer.task;
 
-import java.util.Calendar;
-import java.util.Date;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.logging.Level;
 
 import equinox.dataServer.remote.data.PeriodicDataServerStatistic;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.LatencyHistogram;
+import equinox.dataServer.server.RequestMetrics;
+import equinox.dataServer.server.TaskCategory;
 
 /**
  * Class for collect server statistics task.
@@ -33,6 +35,12 @@ import equinox.dataServer.server.DataServer;
  */
 public final class CollectServerStatistics extends ServerTask {
 
+	/** Query latency snapshot of the previous period. */
+	private LatencyHistogram.Snapshot lastLatency_ = null;
+
+	/** Request latency snapshots of the previous period. */
+	private Map<String, LatencyHistogram.Snapshot> lastRequestLatencies_ = new HashMap<>();
+
 	/**
 	 * Creates collect server statistics task.
 	 *
@@ -43,6 +51,11 @@ public final class CollectServerStatistics extends ServerTask {
 		super(server);
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.HOUSEKEEPING;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
@@ -51,16 +64,33 @@ public final class CollectServerStatistics extends ServerTask {
 			server_.getLogger().info("Collecting server statistics...");
 		}
 
-		// remove expired statistics
-		removeExpiredStatistics();
+		// get query latencies of the period
+		LatencyHistogram.Snapshot latency = server_.getQueryLatency().snapshot();
+		LatencyHistogram.Snapshot periodLatency = latency.minus(lastLatency_);
+		lastLatency_ = latency;
+
+		// find request class with the highest 99th percentile latency of the period
+		Map<String, LatencyHistogram.Snapshot> requestLatencies = server_.getRequestMetrics().snapshot(RequestMetrics.Phase.TOTAL);
+		String slowestRequest = null;
+		double slowestLatency99 = 0.0;
+		for (Map.Entry<String, LatencyHistogram.Snapshot> entry : requestLatencies.entrySet()) {
+			LatencyHistogram.Snapshot periodRequestLatency = entry.getValue().minus(lastRequestLatencies_.get(entry.getKey()));
+			if (periodRequestLatency.getCount() > 0L && (slowestRequest == null || periodRequestLatency.getPercentile(99.0) > slowestLatency99)) {
+				slowestRequest = entry.getKey();
+				slowestLatency99 = periodRequestLatency.getPercentile(99.0);
+			}
+		}
+		lastRequestLatencies_ = requestLatencies;
 
-		// insert new statistics
+		// insert new statistics (overwrites the oldest statistics if expired)
 		PeriodicDataServerStatistic stats = new PeriodicDataServerStatistic();
 		stats.setClients(server_.getClients().size());
 		stats.setFailedQueries(server_.getFailedQueries());
 		stats.setQueries(server_.getQueryRequests());
-		stats.setActiveThreads(((ThreadPoolExecutor) server_.getThreadPool()).getActiveCount());
-		stats.setThreadPoolSize(((ThreadPoolExecutor) server_.getThreadPool()).getPoolSize());
+		stats.setActiveThreads(server_.getTaskExecutor().getActiveCount());
+		stats.setThreadPoolSize(server_.getTaskExecutor().getPoolSize());
+		stats.setLatencies(periodLatency.getPercentile(50.0), periodLatency.getPercentile(95.0), periodLatency.getPercentile(99.0));
+		stats.setSlowestRequest(slowestRequest, slowestLatency99);
 		server_.getStatistics().add(stats);
 	}
 
@@ -68,24 +98,4 @@ public final class CollectServerStatistics extends ServerTask {
 	protected void failed(Exception e) {
 		server_.getLogger().log(Level.WARNING, "Exception occurred during collecting server statistics.", e);
 	}
-
-	/**
-	 * Removes the expired statistics.
-	 *
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void removeExpiredStatistics() throws Exception {
-
-		// get statistics expiry days
-		int expiryDays = Integer.parseInt(server_.getProperties().getProperty("stat.expiry"));
-
-		// compute epoch
-		Calendar calendar = Calendar.getInstance();
-		calendar.add(Calendar.DAY_OF_MONTH, -expiryDays);
-		Date epoch = new Date(calendar.getTimeInMillis());
-
-		// remove expired
-		server_.getStatistics().removeIf(x -> x.getRecorded().before(epoch));
-	}
 }
@@ -15,13 +15,23 @@
  */
 package equinox.dataServer.task;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 
 import equinox.dataServer.client.DataClient;
+import equinox.dataServer.remote.data.SearchInput;
 import equinox.dataServer.remote.message.DatabaseQueryFailed;
 import equinox.dataServer.remote.message.DatabaseQueryProgress;
 import equinox.dataServer.remote.message.DatabaseQueryRequest;
+import equinox.dataServer.server.CacheRegion;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.utility.QueryBuilder;
 
 /**
  * Abstract class for database query task.
@@ -58,6 +68,19 @@ public abstract class DatabaseQueryTask extends ServerTask {
 		client_ = client;
 	}
 
+	@Override
+	public void run() {
+
+		// run task and record its latency
+		long start = System.nanoTime();
+		try {
+			super.run();
+		}
+		finally {
+			server_.getQueryLatency().record(System.nanoTime() - start);
+		}
+	}
+
 	@Override
 	protected void failed(Exception e) {
 
@@ -94,6 +117,157 @@ public abstract class DatabaseQueryTask extends ServerTask {
 		}
 	}
 
+	@Override
+	public void rejected(RejectedExecutionException e) {
+
+		// increment failed query count for server statistics
+		server_.incrementFailedQueries();
+
+		// log rejection
+		server_.getLogger().warning(getClass().getSimpleName() + " task of client '" + client_.getUsername() + "' is rejected by " + getCategory() + " thread pool.");
+
+		// send query failed message to client
+		DatabaseQueryFailed message = new DatabaseQueryFailed();
+		message.setListenerHashCode(request_.getListenerHashCode());
+		message.setException(new RejectedExecutionException("Server is currently busy processing other " + getCategory().toString().toLowerCase() + " requests. Please try again later."));
+		client_.sendMessage(message);
+	}
+
+	/**
+	 * Returns the maximum number of statements to be sent to database in a single JDBC batch.
+	 *
+	 * @return The maximum number of statements to be sent to database in a single JDBC batch.
+	 */
+	protected int getBatchSize() {
+		return Integer.parseInt(server_.getProperties().getProperty("ds.batchSize"));
+	}
+
+	/**
+	 * Returns the distinct values selected by the given query from the given reference data cache region. The query is only executed if the values are
+	 * not cached.
+	 *
+	 * @param region
+	 *            Reference data cache region.
+	 * @param sql
+	 *            Query selecting a single string column.
+	 * @param parameters
+	 *            Query parameters.
+	 * @return The distinct values (must not be modified).
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	protected ArrayList<String> getDistinctValues(CacheRegion<ArrayList<String>> region, String sql, String... parameters) throws Exception {
+		return region.get(sql + Arrays.toString(parameters), () -> {
+			ArrayList<String> values = new ArrayList<>();
+			try (Connection connection = server_.getDCP().getConnection()) {
+				try (PreparedStatement statement = connection.prepareStatement(sql)) {
+					for (int i = 0; i < parameters.length; i++) {
+						statement.setString(i + 1, parameters[i]);
+					}
+					try (ResultSet resultSet = statement.executeQuery()) {
+						while (resultSet.next()) {
+							values.add(resultSet.getString(1));
+						}
+					}
+				}
+			}
+			return values;
+		});
+	}
+
+	/**
+	 * Returns the database column to order search results by.
+	 *
+	 * @param input
+	 *            Search input.
+	 * @param deliveryRefColumn
+	 *            Name of the delivery reference column of the searched table.
+	 * @return The database column to order search results by.
+	 */
+	protected static String getOrderByColumn(SearchInput input, String deliveryRefColumn) {
+		String orderBy = input.getOrderByCriteria();
+		if (orderBy.equals(SearchInput.PROGRAM))
+			return "ac_program";
+		else if (orderBy.equals(SearchInput.SECTION))
+			return "ac_section";
+		else if (orderBy.equals(SearchInput.MISSION))
+			return "fat_mission";
+		else if (orderBy.equals(SearchInput.DELIVERY))
+			return deliveryRefColumn;
+		return "name";
+	}
+
+	/**
+	 * Appends keyset pagination condition, order by clause and page limit to the given search query. Results are ordered by the given column and ID, so
+	 * that a page starts right after the cursor (the last result of the previous page) no matter how deep the page is.
+	 * <p>
+	 * The order by column is compared directly (not through a function), so that the keyset condition can be resolved with index range seeks. Null
+	 * column values are ordered as by the database (first in ascending, last in descending order), and the group of null values is paged through with its
+	 * own <code>is null</code> condition on ID.
+	 *
+	 * @param query
+	 *            Search query ending with its where condition.
+	 * @param orderByColumn
+	 *            The database column to order search results by.
+	 * @param input
+	 *            Search input.
+	 */
+	protected static void paginate(QueryBuilder query, String orderByColumn, SearchInput input) {
+
+		// add keyset condition
+		if (input.hasCursor()) {
+			String value = input.getCursorValue();
+			long id = input.getCursorId();
+
+			// ascending order (null values first)
+			if (input.getOrder()) {
+
+				// cursor in null values: rest of null values, then all non-null values
+				if (value == null) {
+					query.append(" and ((" + orderByColumn + " is null and id > ?) or " + orderByColumn + " is not null)", id);
+				}
+
+				// cursor in non-null values: rest of non-null values
+				else {
+					query.append(" and (" + orderByColumn + " > ? or (" + orderByColumn + " = ? and id > ?))", value, value, id);
+				}
+			}
+
+			// descending order (null values last)
+			else {
+
+				// cursor in null values: rest of null values
+				if (value == null) {
+					query.append(" and " + orderByColumn + " is null and id < ?", id);
+				}
+
+				// cursor in non-null values: rest of non-null values, then all null values
+				else {
+					query.append(" and (" + orderByColumn + " < ? or (" + orderByColumn + " = ? and id < ?) or " + orderByColumn + " is null)", value, value, id);
+				}
+			}
+		}
+
+		// add order by criteria and limit (one more than page size to detect next page)
+		String order = input.getOrder() ? " asc" : " desc";
+		query.append(" order by " + orderByColumn + order + ", id" + order + " limit ?", input.getMaxHits() + 1);
+	}
+
+	/**
+	 * Returns the page cursor value of the current row of the given search result set.
+	 *
+	 * @param resultSet
+	 *            Search result set.
+	 * @param orderByColumn
+	 *            The database column to order search results by.
+	 * @return The page cursor value, or null if the order by value of the row is null.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	protected static String getCursorValue(ResultSet resultSet, String orderByColumn) throws SQLException {
+		return resultSet.getString(orderByColumn);
+	}
+
 	/**
 	 * Sends progress message to client.
 	 *
@@ -24,6 +24,7 @@ import equinox.dataServer.remote.data.HelpVideoInfo.HelpVideoInfoType;
 import equinox.dataServer.remote.message.DeleteHelpVideoRequest;
 import equinox.dataServer.remote.message.DeleteHelpVideoResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.TaskCategory;
 import equinox.serverUtilities.FilerConnection;
 
 /**
@@ -49,6 +50,11 @@ public class DeleteHelpVideo extends DatabaseQueryTask {
 		super(server, client, request);
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.BULK;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
@@ -94,6 +100,9 @@ public class DeleteHelpVideo extends DatabaseQueryTask {
 				// commit updates
 				connection.commit();
 				connection.setAutoCommit(true);
+
+				// invalidate cached help videos
+				server_.getReferenceDataCache().invalidateHelpVideos();
 			}
 
 			// exception occurred during process
@@ -17,6 +17,7 @@ package equinox.dataServer.task;
 
 import java.sql.Connection;
 import java.sql.Statement;
+import java.util.Collections;
 
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.data.MultiplicationTableInfo;
@@ -24,6 +25,8 @@ import equinox.dataServer.remote.data.MultiplicationTableInfo.MultiplicationTabl
 import equinox.dataServer.remote.message.DeleteMultiplicationTableRequest;
 import equinox.dataServer.remote.message.DeleteMultiplicationTableResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.TaskCategory;
+import equinox.dataServer.utility.Utility;
 import equinox.serverUtilities.FilerConnection;
 
 /**
@@ -49,6 +52,11 @@ public class DeleteMultiplicationTable extends DatabaseQueryTask {
 		super(server, client, request);
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.BULK;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
@@ -91,9 +99,15 @@ public class DeleteMultiplicationTable extends DatabaseQueryTask {
 					statement.executeUpdate("delete from mult_tables where id = " + (long) info.getInfo(MultiplicationTableInfoType.ID));
 				}
 
+				// update spectrum connection counters
+				Utility.updateSpectrumConnectionCounts(connection, Collections.singleton((String) info.getInfo(MultiplicationTableInfoType.SPECTRUM_NAME)));
+
 				// commit updates
 				connection.commit();
 				connection.setAutoCommit(true);
+
+				// invalidate search indexes
+				server_.getSearchIndexes().invalidateMultiplicationTables();
 			}
 
 			// exception occurred during process
@@ -18,6 +18,9 @@ package equinox.dataServer.task;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map.Entry;
 
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.data.PilotPointImageType;
@@ -26,6 +29,10 @@ import equinox.dataServer.remote.data.PilotPointInfo.PilotPointInfoType;
 import equinox.dataServer.remote.message.DeletePilotPointRequest;
 import equinox.dataServer.remote.message.DeletePilotPointResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.PlotRollup;
+import equinox.dataServer.server.TaskCategory;
+import equinox.dataServer.utility.PilotPointImageRepository;
+import equinox.dataServer.utility.Utility;
 import equinox.serverUtilities.FilerConnection;
 
 /**
@@ -51,6 +58,11 @@ public class DeletePilotPoint extends DatabaseQueryTask {
 		super(server, client, request);
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.BULK;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
@@ -69,11 +81,17 @@ public class DeletePilotPoint extends DatabaseQueryTask {
 		// get connection to database
 		try (Connection connection = server_.getDCP().getConnection()) {
 
+			// create rollup changes (pending until applied or discarded)
+			PlotRollup.Changes changes = server_.getPlotRollups().getPilotPoints().createChanges();
+
 			try {
 
 				// disable auto-commit
 				connection.setAutoCommit(false);
 
+				// record rollup changes
+				changes.removeRows(connection, "id = ?", (long) info.getInfo(PilotPointInfoType.ID));
+
 				// create statement
 				try (Statement statement = connection.createStatement()) {
 
@@ -84,14 +102,32 @@ public class DeletePilotPoint extends DatabaseQueryTask {
 					deleteConnectedMultiplicationTables(statement, connection, info);
 				}
 
+				// update spectrum connection counters
+				Utility.updateSpectrumConnectionCounts(connection, Collections.singleton((String) info.getInfo(PilotPointInfoType.SPECTRUM_NAME)));
+
 				// commit updates
 				connection.commit();
+
+				// update plot rollups (right after commit, so that committed changes are never discarded)
+				server_.getPlotRollups().getPilotPoints().apply(changes);
+
+				// enable auto-commit
 				connection.setAutoCommit(true);
+
+				// invalidate cached reference data
+				server_.getReferenceDataCache().invalidatePilotPoints();
+
+				// invalidate search indexes
+				server_.getSearchIndexes().invalidatePilotPoints();
+				server_.getSearchIndexes().invalidateMultiplicationTables();
 			}
 
 			// exception occurred during process
 			catch (Exception e) {
 
+				// discard rollup changes
+				server_.getPlotRollups().getPilotPoints().discard(changes);
+
 				// roll back updates
 				if (connection != null) {
 					connection.rollback();
@@ -169,32 +205,22 @@ public class DeletePilotPoint extends DatabaseQueryTask {
 			sql = "delete from pilot_point_attribute where id = " + (long) info.getInfo(PilotPointInfoType.ID);
 			statement.executeUpdate(sql);
 
-			// loop over pilot point images
-			for (PilotPointImageType imageType : PilotPointImageType.values()) {
+			// get image URLs
+			sendProgressMessage("Getting pilot point image URLs from global database...");
+			long id = (long) info.getInfo(PilotPointInfoType.ID);
+			EnumMap<PilotPointImageType, String> imageUrls = PilotPointImageRepository.getImageUrls(statement.getConnection(), id);
 
-				// get image URL
-				sendProgressMessage("Getting pilot point image URL for '" + imageType.getPageName() + "' from global database...");
-				url = null;
-				sql = "select image_url from " + imageType.getTableName() + " where id = " + (long) info.getInfo(PilotPointInfoType.ID);
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
-					while (resultSet.next()) {
-						url = resultSet.getString("image_url");
-					}
+			// delete images from filer
+			for (Entry<PilotPointImageType, String> imageUrl : imageUrls.entrySet()) {
+				sendProgressMessage("Deleting pilot point image for '" + imageUrl.getKey().getPageName() + "' from filer...");
+				if (imageUrl.getValue() != null && filer.fileExists(imageUrl.getValue())) {
+					filer.getSftpChannel().rm(imageUrl.getValue());
 				}
-
-				// delete image from filer
-				if (url != null) {
-					sendProgressMessage("Deleting pilot point image for '" + imageType.getPageName() + "' from filer...");
-					if (filer.fileExists(url)) {
-						filer.getSftpChannel().rm(url);
-					}
-				}
-
-				// delete image from database
-				sendProgressMessage("Deleting pilot point image for '" + imageType.getPageName() + "' from global database...");
-				sql = "delete from " + imageType.getTableName() + " where id = " + (long) info.getInfo(PilotPointInfoType.ID);
-				statement.executeUpdate(sql);
 			}
+
+			// delete images from database
+			sendProgressMessage("Deleting pilot point images from global database...");
+			PilotPointImageRepository.deleteImages(statement.getConnection(), id);
 		}
 
 		// delete pilot point info
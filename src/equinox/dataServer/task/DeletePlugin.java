@@ -24,6 +24,7 @@ import equinox.dataServer.remote.data.ServerPluginInfo.PluginInfoType;
 import equinox.dataServer.remote.message.DeletePluginRequest;
 import equinox.dataServer.remote.message.DeletePluginResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.TaskCategory;
 import equinox.serverUtilities.FilerConnection;
 
 /**
@@ -49,6 +50,11 @@ public class DeletePlugin extends DatabaseQueryTask {
 		super(server, client, request);
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.BULK;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
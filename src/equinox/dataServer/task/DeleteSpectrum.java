@@ -18,16 +18,19 @@ package equinox.dataServer.task;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 import equinox.dataServer.client.DataClient;
-import equinox.dataServer.remote.data.PilotPointImageType;
 import equinox.dataServer.remote.data.SpectrumInfo;
 import equinox.dataServer.remote.data.SpectrumInfo.SpectrumInfoType;
 import equinox.dataServer.remote.message.DeleteSpectrumRequest;
 import equinox.dataServer.remote.message.DeleteSpectrumResponse;
 import equinox.dataServer.server.DataServer;
-import equinox.serverUtilities.FilerConnection;
+import equinox.dataServer.server.PlotRollup;
+import equinox.dataServer.server.TaskCategory;
+import equinox.dataServer.utility.PilotPointImageRepository;
 
 /**
  * Class for delete spectrum task.
@@ -52,6 +55,11 @@ public class DeleteSpectrum extends DatabaseQueryTask {
 		super(server, client, request);
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.BULK;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
@@ -66,36 +74,66 @@ public class DeleteSpectrum extends DatabaseQueryTask {
 		// get request message
 		DeleteSpectrumRequest request = (DeleteSpectrumRequest) request_;
 		SpectrumInfo info = request.getSpectrumInfo();
+		String spectrumName = (String) info.getInfo(SpectrumInfoType.NAME);
+
+		// filer files to delete
+		ArrayList<String> urls = new ArrayList<>();
 
 		// get connection to database
 		try (Connection connection = server_.getDCP().getConnection()) {
 
+			// create rollup changes (pending until applied or discarded)
+			PlotRollup.Changes spectrumChanges = server_.getPlotRollups().getSpectra().createChanges();
+			PlotRollup.Changes pilotPointChanges = server_.getPlotRollups().getPilotPoints().createChanges();
+
 			try {
 
 				// disable auto-commit
 				connection.setAutoCommit(false);
 
-				// create statement
-				try (Statement statement = connection.createStatement()) {
+				// record rollup changes
+				spectrumChanges.removeRows(connection, "id = ?", (long) info.getInfo(SpectrumInfoType.ID));
+				pilotPointChanges.removeRows(connection, "spectrum_name = ?", spectrumName);
 
-					// delete spectrum
-					deleteSpectrum(statement, info);
+				// delete spectrum
+				deleteSpectrum(connection, info, urls);
 
-					// delete connected pilot points
-					deleteConnectedPilotPoints(statement, connection, info);
+				// delete connected pilot points
+				deleteConnectedPilotPoints(connection, spectrumName, urls);
 
-					// delete connected multiplication tables
-					deleteConnectedMultiplicationTables(statement, connection, info);
-				}
+				// delete connected multiplication tables
+				deleteConnectedMultiplicationTables(connection, spectrumName, urls);
+
+				// record filer files to delete
+				server_.getFilerDeleteQueue().enqueue(connection, urls);
 
 				// commit updates
 				connection.commit();
+
+				// update plot rollups (right after commit, so that committed changes are never discarded)
+				server_.getPlotRollups().getSpectra().apply(spectrumChanges);
+				server_.getPlotRollups().getPilotPoints().apply(pilotPointChanges);
+
+				// enable auto-commit
 				connection.setAutoCommit(true);
+
+				// invalidate cached reference data
+				server_.getReferenceDataCache().invalidateSpectra();
+				server_.getReferenceDataCache().invalidatePilotPoints();
+
+				// invalidate search indexes
+				server_.getSearchIndexes().invalidateSpectra();
+				server_.getSearchIndexes().invalidatePilotPoints();
+				server_.getSearchIndexes().invalidateMultiplicationTables();
 			}
 
 			// exception occurred during process
 			catch (Exception e) {
 
+				// discard rollup changes
+				server_.getPlotRollups().getSpectra().discard(spectrumChanges);
+				server_.getPlotRollups().getPilotPoints().discard(pilotPointChanges);
+
 				// roll back updates
 				if (connection != null) {
 					connection.rollback();
@@ -107,6 +145,13 @@ public class DeleteSpectrum extends DatabaseQueryTask {
 			}
 		}
 
+		// delete files from filer
+		sendProgressMessage("Deleting spectrum, pilot point and multiplication table files from filer...");
+		int failed = server_.getFilerDeleteQueue().delete(urls);
+		if (failed > 0) {
+			sendProgressMessage(failed + " files couldn't be deleted from filer. They will be retried later.");
+		}
+
 		// video deleted
 		response.setSpectrumDeleted(true);
 
@@ -117,191 +162,124 @@ public class DeleteSpectrum extends DatabaseQueryTask {
 	/**
 	 * Deletes spectrum from global database.
 	 *
-	 * @param statement
-	 *            Database statement.
+	 * @param connection
+	 *            Database connection.
 	 * @param info
 	 *            Spectrum info.
+	 * @param urls
+	 *            List to add the filer URLs of deleted files.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void deleteSpectrum(Statement statement, SpectrumInfo info) throws Exception {
-
-		// delete spectrum data from filer
-		sendProgressMessage("Deleting spectrum data from filer...");
-		String url = (String) info.getInfo(SpectrumInfoType.DATA_URL);
-		try (FilerConnection filer = getFilerConnection()) {
-			if (filer.fileExists(url)) {
-				filer.getSftpChannel().rm(url);
-			}
-		}
+	private void deleteSpectrum(Connection connection, SpectrumInfo info, List<String> urls) throws Exception {
+
+		// add spectrum data URL
+		urls.add((String) info.getInfo(SpectrumInfoType.DATA_URL));
 
 		// delete spectrum info
 		sendProgressMessage("Deleting spectrum info from global database...");
-		statement.executeUpdate("delete from spectra where id = " + (long) info.getInfo(SpectrumInfoType.ID));
+		try (PreparedStatement statement = connection.prepareStatement("delete from spectra where id = ?")) {
+			statement.setLong(1, (long) info.getInfo(SpectrumInfoType.ID));
+			statement.executeUpdate();
+		}
 	}
 
 	/**
 	 * Deletes connected pilot points from global database.
 	 *
-	 * @param statement
-	 *            Database statement.
 	 * @param connection
 	 *            Database connection.
-	 * @param info
-	 *            Spectrum info.
+	 * @param spectrumName
+	 *            Spectrum name.
+	 * @param urls
+	 *            List to add the filer URLs of deleted files.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void deleteConnectedPilotPoints(Statement statement, Connection connection, SpectrumInfo info) throws Exception {
+	private void deleteConnectedPilotPoints(Connection connection, String spectrumName, List<String> urls) throws Exception {
 
 		// progress info
 		sendProgressMessage("Deleting connected pilot point data and images from global database...");
 
-		// get connection to filer
-		try (FilerConnection filer = getFilerConnection()) {
-
-			// prepare statement to get pilot point data URL
-			String sql = "select data_url from pilot_point_data where id = ?";
-			try (PreparedStatement getPilotPointDataUrl = connection.prepareStatement(sql)) {
-
-				// prepare statement to delete pilot point data
-				sql = "delete from pilot_point_data where id = ?";
-				try (PreparedStatement deletePilotPointData = connection.prepareStatement(sql)) {
-
-					// prepare statement to get pilot point attribute URL
-					sql = "select data_url from pilot_point_attribute where id = ?";
-					try (PreparedStatement getPilotPointAttributeUrl = connection.prepareStatement(sql)) {
-
-						// prepare statement to delete pilot point attribute
-						sql = "delete from pilot_point_attribute where id = ?";
-						try (PreparedStatement deletePilotPointAttribute = connection.prepareStatement(sql)) {
-
-							// create statement
-							try (Statement statement2 = connection.createStatement()) {
-
-								// get pilot point IDs
-								sql = "select id from pilot_points where spectrum_name = '" + (String) info.getInfo(SpectrumInfoType.NAME) + "'";
-								try (ResultSet ppIDs = statement.executeQuery(sql)) {
-
-									// loop over pilot point IDs
-									while (ppIDs.next()) {
-
-										// delete pilot point data
-										long id = ppIDs.getLong("id");
-
-										// get pilot point data URL
-										String url = null;
-										getPilotPointDataUrl.setLong(1, id);
-										try (ResultSet ppDataUrls = getPilotPointDataUrl.executeQuery()) {
-											while (ppDataUrls.next()) {
-												url = ppDataUrls.getString("data_url");
-											}
-										}
-
-										// delete pilot point data from filer
-										if (url != null) {
-											if (filer.fileExists(url)) {
-												filer.getSftpChannel().rm(url);
-											}
-										}
-
-										// delete pilot point data from database
-										deletePilotPointData.setLong(1, id);
-										deletePilotPointData.executeUpdate();
-
-										// get pilot point attribute URL
-										url = null;
-										getPilotPointAttributeUrl.setLong(1, id);
-										try (ResultSet ppAttributeUrls = getPilotPointAttributeUrl.executeQuery()) {
-											while (ppAttributeUrls.next()) {
-												url = ppAttributeUrls.getString("data_url");
-											}
-										}
-
-										// delete pilot point attribute from filer
-										if (url != null) {
-											if (filer.fileExists(url)) {
-												filer.getSftpChannel().rm(url);
-											}
-										}
-
-										// delete pilot point attribute from database
-										deletePilotPointAttribute.setLong(1, id);
-										deletePilotPointAttribute.executeUpdate();
-
-										// delete pilot point images
-										for (PilotPointImageType imageType : PilotPointImageType.values()) {
-
-											// get pilot point image URL
-											url = null;
-											sql = "select image_url from " + imageType.getTableName() + " where id = " + id;
-											try (ResultSet ppImageUrls = statement2.executeQuery(sql)) {
-												while (ppImageUrls.next()) {
-													url = ppImageUrls.getString("image_url");
-												}
-											}
-
-											// delete pilot point image from filer
-											if (url != null) {
-												if (filer.fileExists(url)) {
-													filer.getSftpChannel().rm(url);
-												}
-											}
-
-											// delete pilot point image from database
-											sql = "delete from " + imageType.getTableName() + " where id = " + id;
-											statement2.executeUpdate(sql);
-										}
-									}
-								}
-							}
-						}
-					}
-				}
-			}
-		}
+		// connected pilot point IDs
+		String connected = " where id in (select id from pilot_points where spectrum_name = ?)";
+
+		// delete pilot point data and attributes
+		collectUrls(connection, "select data_url from pilot_point_data" + connected, spectrumName, urls);
+		delete(connection, "delete from pilot_point_data" + connected, spectrumName);
+		collectUrls(connection, "select data_url from pilot_point_attribute" + connected, spectrumName, urls);
+		delete(connection, "delete from pilot_point_attribute" + connected, spectrumName);
+
+		// delete pilot point images
+		urls.addAll(PilotPointImageRepository.getImageUrlsOfSpectrum(connection, spectrumName));
+		PilotPointImageRepository.deleteImagesOfSpectrum(connection, spectrumName);
 
 		// delete connected pilot point info
 		sendProgressMessage("Deleting connected pilot point info from global database...");
-		String sql = "delete from pilot_points where spectrum_name = '" + (String) info.getInfo(SpectrumInfoType.NAME) + "'";
-		statement.executeUpdate(sql);
+		delete(connection, "delete from pilot_points where spectrum_name = ?", spectrumName);
 	}
 
 	/**
 	 * Deletes connected multiplication tables from global database.
 	 *
-	 * @param statement
-	 *            Database statement.
 	 * @param connection
 	 *            Database connection.
-	 * @param info
-	 *            Spectrum info.
+	 * @param spectrumName
+	 *            Spectrum name.
+	 * @param urls
+	 *            List to add the filer URLs of deleted files.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void deleteConnectedMultiplicationTables(Statement statement, Connection connection, SpectrumInfo info) throws Exception {
+	private void deleteConnectedMultiplicationTables(Connection connection, String spectrumName, List<String> urls) throws Exception {
 
-		// get connection to filer
-		sendProgressMessage("Deleting connected multiplication table data from filer...");
-		try (FilerConnection filer = getFilerConnection()) {
+		// delete connected multiplication table info
+		sendProgressMessage("Deleting connected multiplication table info from global database...");
+		collectUrls(connection, "select data_url from mult_tables where spectrum_name = ?", spectrumName, urls);
+		delete(connection, "delete from mult_tables where spectrum_name = ?", spectrumName);
+	}
 
-			// get multiplication table IDs
-			String sql = "select data_url from mult_tables where spectrum_name = '" + (String) info.getInfo(SpectrumInfoType.NAME) + "'";
-			try (ResultSet resultSet = statement.executeQuery(sql)) {
+	/**
+	 * Executes given query and adds the returned filer URLs to the given list.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param sql
+	 *            Query with a single spectrum name parameter.
+	 * @param spectrumName
+	 *            Spectrum name.
+	 * @param urls
+	 *            List to add the filer URLs.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	private static void collectUrls(Connection connection, String sql, String spectrumName, List<String> urls) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setString(1, spectrumName);
+			try (ResultSet resultSet = statement.executeQuery()) {
 				while (resultSet.next()) {
-					String url = resultSet.getString("data_url");
-					if (url != null) {
-						if (filer.fileExists(url)) {
-							filer.getSftpChannel().rm(url);
-						}
-					}
+					urls.add(resultSet.getString(1));
 				}
 			}
 		}
+	}
 
-		// delete connected multiplication table info
-		sendProgressMessage("Deleting connected multiplication table info from global database...");
-		String sql = "delete from mult_tables where spectrum_name = '" + (String) info.getInfo(SpectrumInfoType.NAME) + "'";
-		statement.executeUpdate(sql);
+	/**
+	 * Executes given delete statement.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param sql
+	 *            Delete statement with a single spectrum name parameter.
+	 * @param spectrumName
+	 *            Spectrum name.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	private static void delete(Connection connection, String sql, String spectrumName) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setString(1, spectrumName);
+			statement.executeUpdate();
+		}
 	}
 }
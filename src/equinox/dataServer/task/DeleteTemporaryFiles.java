@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.logging.Level;
 
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.TaskCategory;
 
 /**
  * Class for delete temporary files task.
@@ -56,6 +57,11 @@ public final class DeleteTemporaryFiles extends ServerTask {
 		files_ = files;
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.HOUSEKEEPING;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
@@ -24,6 +24,7 @@ import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.message.DeleteUsersRequest;
 import equinox.dataServer.remote.message.DeleteUsersResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.TaskCategory;
 import equinox.serverUtilities.FilerConnection;
 
 /**
@@ -49,6 +50,11 @@ public class DeleteUsers extends DatabaseQueryTask {
 		super(server, client, request);
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.BULK;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
@@ -16,13 +16,14 @@
 package equinox.dataServer.task;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
 
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.message.DownloadHelpVideoRequest;
 import equinox.dataServer.remote.message.DownloadHelpVideoResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.utility.QueryBuilder;
 
 /**
  * Class for download help video task.
@@ -64,14 +65,16 @@ public class DownloadHelpVideo extends DatabaseQueryTask {
 		// get connection to database
 		try (Connection connection = server_.getDCP().getConnection()) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
+			// build query
+			QueryBuilder selectWithName = new QueryBuilder("select data_url from videos where name = ?", request.getVideoName());
+			QueryBuilder selectWithId = new QueryBuilder("select data_url from videos where id = ?", request.getVideoId());
+			QueryBuilder query = request.getVideoId() == -1L ? selectWithName : selectWithId;
+
+			// prepare statement
+			try (PreparedStatement statement = query.prepare(connection)) {
 
 				// execute query
-				String selectWithName = "select data_url from videos where name = '" + request.getVideoName() + "'";
-				String selectWithId = "select data_url from videos where id = " + request.getVideoId();
-				String sql = request.getVideoId() == -1L ? selectWithName : selectWithId;
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
+				try (ResultSet resultSet = statement.executeQuery()) {
 
 					// get download URL
 					if (resultSet.next()) {
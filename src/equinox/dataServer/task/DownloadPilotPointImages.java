@@ -16,14 +16,12 @@
 package equinox.dataServer.task;
 
 import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.Statement;
 
 import equinox.dataServer.client.DataClient;
-import equinox.dataServer.remote.data.PilotPointImageType;
 import equinox.dataServer.remote.message.DownloadPilotPointImagesRequest;
 import equinox.dataServer.remote.message.DownloadPilotPointImagesResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.utility.PilotPointImageRepository;
 
 /**
  * Class for download pilot point images task.
@@ -66,21 +64,8 @@ public class DownloadPilotPointImages extends DatabaseQueryTask {
 		// get connection to database
 		try (Connection connection = server_.getDCP().getConnection()) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
-
-				// loop over image types
-				for (PilotPointImageType imageType : PilotPointImageType.values()) {
-
-					// execute query
-					String sql = "select image_url from " + imageType.getTableName() + " where id = " + ppId;
-					try (ResultSet resultSet = statement.executeQuery(sql)) {
-						if (resultSet.next()) {
-							response.putDownloadUrl(imageType, resultSet.getString("image_url"));
-						}
-					}
-				}
-			}
+			// get image URLs of all image types
+			PilotPointImageRepository.getImageUrls(connection, ppId).forEach(response::putDownloadUrl);
 		}
 
 		// respond to client
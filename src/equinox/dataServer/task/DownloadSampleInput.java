@@ -16,8 +16,8 @@
 package equinox.dataServer.task;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
 
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.message.DownloadSampleInputRequest;
@@ -64,12 +64,12 @@ public class DownloadSampleInput extends DatabaseQueryTask {
 		// get connection to database
 		try (Connection connection = server_.getDCP().getConnection()) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
+			// prepare statement
+			try (PreparedStatement statement = connection.prepareStatement("select data_url from input_samples where name = ?")) {
 
 				// download
-				String sql = "select data_url from input_samples where name = '" + request.getName() + "'";
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
+				statement.setString(1, request.getName());
+				try (ResultSet resultSet = statement.executeQuery()) {
 					if (resultSet.next()) {
 						response.setDownloadUrl(resultSet.getString("data_url"));
 					}
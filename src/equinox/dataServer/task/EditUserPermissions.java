@@ -161,10 +161,12 @@ public class EditUserPermissions extends DatabaseQueryTask {
 		try (Statement statement = connection.createStatement()) {
 
 			// get user id
-			String sql = "select id from users where alias = '" + request.getAlias() + "'";
-			try (ResultSet resultSet = statement.executeQuery(sql)) {
-				while (resultSet.next()) {
-					userId = resultSet.getLong("id");
+			try (PreparedStatement selectUser = connection.prepareStatement("select id from users where alias = ?")) {
+				selectUser.setString(1, request.getAlias());
+				try (ResultSet resultSet = selectUser.executeQuery()) {
+					while (resultSet.next()) {
+						userId = resultSet.getLong("id");
+					}
 				}
 			}
 
@@ -173,7 +175,7 @@ public class EditUserPermissions extends DatabaseQueryTask {
 				throw new Exception("No user found with alias '" + request.getAlias() + "'. User permissions cannot be edited.");
 
 			// check if user is admin
-			sql = "select id from admins where user_id = " + userId;
+			String sql = "select id from admins where user_id = " + userId;
 			try (ResultSet resultSet = statement.executeQuery(sql)) {
 				if (resultSet.next())
 					throw new Exception("Administrator permissions cannot be edited with this operation. Operation aborted.");
@@ -77,6 +77,15 @@ public class ExecuteSQLStatement extends DatabaseQueryTask {
 				// commit updates
 				connection.commit();
 				connection.setAutoCommit(true);
+
+				// invalidate cached reference data
+				server_.getReferenceDataCache().invalidateAll();
+
+				// invalidate search indexes
+				server_.getSearchIndexes().invalidateAll();
+
+				// invalidate plot rollups
+				server_.getPlotRollups().invalidateAll();
 			}
 
 			// exception occurred during process
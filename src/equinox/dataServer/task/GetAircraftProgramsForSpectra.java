@@ -15,10 +15,6 @@
  */
 package equinox.dataServer.task;
 
-import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.Statement;
-
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.message.GetAircraftProgramsForSpectraRequest;
 import equinox.dataServer.remote.message.GetAircraftProgramsForSpectraResponse;
@@ -58,20 +54,8 @@ public class GetAircraftProgramsForSpectra extends DatabaseQueryTask {
 		GetAircraftProgramsForSpectraResponse response = new GetAircraftProgramsForSpectraResponse();
 		response.setListenerHashCode(request_.getListenerHashCode());
 
-		// get connection to database
-		try (Connection connection = server_.getDCP().getConnection()) {
-
-			// create statement
-			try (Statement statement = connection.createStatement()) {
-
-				// get programs
-				try (ResultSet resultSet = statement.executeQuery("select distinct ac_program from spectra order by ac_program asc")) {
-					while (resultSet.next()) {
-						response.addProgram(resultSet.getString("ac_program"));
-					}
-				}
-			}
-		}
+		// get programs
+		getDistinctValues(server_.getReferenceDataCache().getSpectrumAttributes(), "select distinct ac_program from spectra order by ac_program asc").forEach(response::addProgram);
 
 		// respond to client
 		client_.sendMessage(response);
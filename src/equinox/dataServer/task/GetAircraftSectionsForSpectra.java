@@ -15,10 +15,6 @@
  */
 package equinox.dataServer.task;
 
-import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.Statement;
-
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.message.GetAircraftSectionsForSpectraRequest;
 import equinox.dataServer.remote.message.GetAircraftSectionsForSpectraResponse;
@@ -62,21 +58,8 @@ public class GetAircraftSectionsForSpectra extends DatabaseQueryTask {
 		GetAircraftSectionsForSpectraRequest request = (GetAircraftSectionsForSpectraRequest) request_;
 		String program = request.getProgram();
 
-		// get connection to database
-		try (Connection connection = server_.getDCP().getConnection()) {
-
-			// create statement
-			try (Statement statement = connection.createStatement()) {
-
-				// get sections
-				String sql = "select distinct ac_section from spectra where ac_program = '" + program + "' order by ac_section asc";
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
-					while (resultSet.next()) {
-						response.addSection(resultSet.getString("ac_section"));
-					}
-				}
-			}
-		}
+		// get sections
+		getDistinctValues(server_.getReferenceDataCache().getSpectrumAttributes(), "select distinct ac_section from spectra where ac_program = ? order by ac_section asc", program).forEach(response::addSection);
 
 		// respond to client
 		client_.sendMessage(response);
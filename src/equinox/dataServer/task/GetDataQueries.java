@@ -15,7 +15,6 @@
  */
 package equinox.dataServer.task;
 
-import java.util.Arrays;
 import java.util.logging.Level;
 
 import equinox.dataServer.client.DataClient;
@@ -61,12 +60,7 @@ public class GetDataQueries extends ServerTask {
 		response.setListenerHashCode(request.getListenerHashCode());
 
 		// get requested periodic statistics
-		PeriodicDataServerStatistic[] stats = server_.getStatistics().stream().filter(x -> x.getRecorded().after(request.getFrom()) && x.getRecorded().before(request.getTo())).toArray(PeriodicDataServerStatistic[]::new);
-
-		// sort periodic statistics
-		if (stats != null) {
-			Arrays.sort(stats, (o1, o2) -> o1.getRecorded().compareTo(o2.getRecorded()));
-		}
+		PeriodicDataServerStatistic[] stats = server_.getStatistics().snapshot(request.getFrom(), request.getTo());
 
 		// set periodic statistics
 		response.setPeriodicStatistics(stats);
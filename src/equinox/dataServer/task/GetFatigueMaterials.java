@@ -16,14 +16,16 @@
 package equinox.dataServer.task;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
+import java.util.ArrayList;
 
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.data.FatigueMaterial;
 import equinox.dataServer.remote.message.GetFatigueMaterialsRequest;
 import equinox.dataServer.remote.message.GetFatigueMaterialsResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.EncodedResponse;
 
 /**
  * Class for get fatigue materials task.
@@ -63,14 +65,49 @@ public class GetFatigueMaterials extends DatabaseQueryTask {
 		GetFatigueMaterialsRequest request = (GetFatigueMaterialsRequest) request_;
 		String materialIsamiVersion = request.getMaterialIsamiVersion();
 
+		// get pre-encoded response (materials are only cached within the response)
+		EncodedResponse encoded = server_.getReferenceDataCache().getMaterialResponses().get("fatigue:" + materialIsamiVersion, () -> {
+			GetFatigueMaterialsResponse prototype = new GetFatigueMaterialsResponse();
+			loadMaterials(materialIsamiVersion).forEach(prototype::addMaterial);
+			return EncodedResponse.encode(prototype);
+		});
+
+		// big response, send pre-encoded parts
+		if (encoded.isSplit()) {
+			client_.sendMessage(encoded, response.getListenerHashCode());
+			return;
+		}
+
+		// copy cached materials
+		((GetFatigueMaterialsResponse) encoded.getResponse()).getMaterials().forEach(response::addMaterial);
+
+		// respond to client
+		client_.sendMessage(response);
+	}
+
+	/**
+	 * Loads fatigue materials of the given ISAMI version from database.
+	 *
+	 * @param materialIsamiVersion
+	 *            Material ISAMI version.
+	 * @return List of materials.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private ArrayList<FatigueMaterial> loadMaterials(String materialIsamiVersion) throws Exception {
+
+		// create list
+		ArrayList<FatigueMaterial> materialList = new ArrayList<>();
+
 		// get connection to database
 		try (Connection connection = server_.getDCP().getConnection()) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
+			// prepare statement
+			try (PreparedStatement statement = connection.prepareStatement("select * from fatigue_materials where isami_version = ?")) {
+				statement.setString(1, materialIsamiVersion);
 
 				// get all fatigue materials
-				try (ResultSet materials = statement.executeQuery("select * from fatigue_materials where isami_version = '" + materialIsamiVersion + "'")) {
+				try (ResultSet materials = statement.executeQuery()) {
 
 					// loop over materials
 					while (materials.next()) {
@@ -88,14 +125,14 @@ public class GetFatigueMaterials extends DatabaseQueryTask {
 						material.setM(materials.getDouble("par_m"));
 						material.setIsamiVersion(materials.getString("isami_version"));
 
-						// add material to response
-						response.addMaterial(material);
+						// add material to list
+						materialList.add(material);
 					}
 				}
 			}
 		}
 
-		// respond to client
-		client_.sendMessage(response);
+		// return list
+		return materialList;
 	}
 }
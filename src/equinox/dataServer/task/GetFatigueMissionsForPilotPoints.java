@@ -15,9 +15,7 @@
  */
 package equinox.dataServer.task;
 
-import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.Statement;
+import java.util.ArrayList;
 
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.message.GetAircraftSectionsForPilotPointsRequest;
@@ -64,27 +62,15 @@ public class GetFatigueMissionsForPilotPoints extends DatabaseQueryTask {
 		String program = request.getProgram();
 		String section = request.getSection();
 
-		// get connection to database
-		try (Connection connection = server_.getDCP().getConnection()) {
-
-			// create statement
-			try (Statement statement = connection.createStatement()) {
-
-				// get sections
-				String sql = null;
-				if (section.equals(GetAircraftSectionsForPilotPointsRequest.ALL_SECTIONS)) {
-					sql = "select distinct fat_mission from pilot_points where ac_program = '" + program + "' order by fat_mission asc";
-				}
-				else {
-					sql = "select distinct fat_mission from pilot_points where ac_program = '" + program + "' and ac_section = '" + section + "' order by fat_mission asc";
-				}
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
-					while (resultSet.next()) {
-						response.addMission(resultSet.getString("fat_mission"));
-					}
-				}
-			}
+		// get missions
+		ArrayList<String> missions = null;
+		if (section.equals(GetAircraftSectionsForPilotPointsRequest.ALL_SECTIONS)) {
+			missions = getDistinctValues(server_.getReferenceDataCache().getPilotPointAttributes(), "select distinct fat_mission from pilot_points where ac_program = ? order by fat_mission asc", program);
+		}
+		else {
+			missions = getDistinctValues(server_.getReferenceDataCache().getPilotPointAttributes(), "select distinct fat_mission from pilot_points where ac_program = ? and ac_section = ? order by fat_mission asc", program, section);
 		}
+		missions.forEach(response::addMission);
 
 		// respond to client
 		client_.sendMessage(response);
@@ -15,10 +15,6 @@
  */
 package equinox.dataServer.task;
 
-import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.Statement;
-
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.message.GetFatigueMissionsForSpectraRequest;
 import equinox.dataServer.remote.message.GetFatigueMissionsForSpectraResponse;
@@ -63,21 +59,8 @@ public class GetFatigueMissionsForSpectra extends DatabaseQueryTask {
 		String program = request.getProgram();
 		String section = request.getSection();
 
-		// get connection to database
-		try (Connection connection = server_.getDCP().getConnection()) {
-
-			// create statement
-			try (Statement statement = connection.createStatement()) {
-
-				// get sections
-				String sql = "select distinct fat_mission from spectra where ac_program = '" + program + "' and ac_section = '" + section + "' order by fat_mission asc";
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
-					while (resultSet.next()) {
-						response.addMission(resultSet.getString("fat_mission"));
-					}
-				}
-			}
-		}
+		// get missions
+		getDistinctValues(server_.getReferenceDataCache().getSpectrumAttributes(), "select distinct fat_mission from spectra where ac_program = ? and ac_section = ? order by fat_mission asc", program, section).forEach(response::addMission);
 
 		// respond to client
 		client_.sendMessage(response);
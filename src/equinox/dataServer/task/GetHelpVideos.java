@@ -18,6 +18,7 @@ package equinox.dataServer.task;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.ArrayList;
 
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.data.HelpVideoInfo;
@@ -60,6 +61,25 @@ public class GetHelpVideos extends DatabaseQueryTask {
 		GetHelpVideosResponse response = new GetHelpVideosResponse();
 		response.setListenerHashCode(request_.getListenerHashCode());
 
+		// get help videos
+		server_.getReferenceDataCache().getHelpVideos().get("videos", this::loadVideos).forEach(response::addVideo);
+
+		// respond to client
+		client_.sendMessage(response);
+	}
+
+	/**
+	 * Loads help videos from database.
+	 *
+	 * @return List of help videos.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private ArrayList<HelpVideoInfo> loadVideos() throws Exception {
+
+		// create list
+		ArrayList<HelpVideoInfo> videos = new ArrayList<>();
+
 		// get connection to database
 		try (Connection connection = server_.getDCP().getConnection()) {
 
@@ -77,13 +97,13 @@ public class GetHelpVideos extends DatabaseQueryTask {
 						for (HelpVideoInfoType type : HelpVideoInfoType.values()) {
 							info.setInfo(type, resultSet.getObject(type.getColumnName()));
 						}
-						response.addVideo(info);
+						videos.add(info);
 					}
 				}
 			}
 		}
 
-		// respond to client
-		client_.sendMessage(response);
+		// return list
+		return videos;
 	}
 }
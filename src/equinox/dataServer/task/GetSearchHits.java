@@ -58,8 +58,8 @@ public class GetSearchHits extends ServerTask {
 		GetSearchHitsResponse response = new GetSearchHitsResponse();
 		response.setListenerHashCode(request.getListenerHashCode());
 
-		// get top 4 search hits
-		response.setSearchHits(server_.getSearchHits(4));
+		// get top 4 search hits of requested time window
+		response.setSearchHits(server_.getSearchHits(request.getWindow(), 4));
 
 		// send it
 		client.sendMessage(response);
@@ -16,6 +16,7 @@
 package equinox.dataServer.task;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.ArrayList;
@@ -72,10 +73,12 @@ public class GetUserPermissions extends DatabaseQueryTask {
 
 				// get user id
 				long userId = -1;
-				String sql = "select id from users where alias = '" + request.getAlias() + "'";
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
-					while (resultSet.next()) {
-						userId = resultSet.getLong("id");
+				try (PreparedStatement selectUser = connection.prepareStatement("select id from users where alias = ?")) {
+					selectUser.setString(1, request.getAlias());
+					try (ResultSet resultSet = selectUser.executeQuery()) {
+						while (resultSet.next()) {
+							userId = resultSet.getLong("id");
+						}
 					}
 				}
 
@@ -84,7 +87,7 @@ public class GetUserPermissions extends DatabaseQueryTask {
 					throw new Exception("No user found with alias '" + request.getAlias() + "'. User permissions cannot be retrieved.");
 
 				// check if user is admin
-				sql = "select id from admins where user_id = " + userId;
+				String sql = "select id from admins where user_id = " + userId;
 				try (ResultSet resultSet = statement.executeQuery(sql)) {
 					if (resultSet.next())
 						throw new Exception("Administrator permissions cannot be requested with this operation. Operation aborted.");
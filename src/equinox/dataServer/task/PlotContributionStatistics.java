@@ -18,7 +18,8 @@ package equinox.dataServer.task;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 
 import org.jfree.data.category.DefaultCategoryDataset;
 
@@ -29,6 +30,7 @@ import equinox.dataServer.remote.message.GetFatigueMissionsForPilotPointsRequest
 import equinox.dataServer.remote.message.PlotContributionStatisticsRequest;
 import equinox.dataServer.remote.message.PlotContributionStatisticsResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.utility.QueryBuilder;
 
 /**
  * Class for plot contribution statistics task.
@@ -73,18 +75,14 @@ public class PlotContributionStatistics extends DatabaseQueryTask {
 		// get connection to database
 		try (Connection connection = server_.getDCP().getConnection()) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
-
-				// all sections
-				if (request.getSection().equals(GetAircraftSectionsForPilotPointsRequest.ALL_SECTIONS)) {
-					plotForAllSections(request, connection, statement, dataset);
-				}
+			// all sections
+			if (request.getSection().equals(GetAircraftSectionsForPilotPointsRequest.ALL_SECTIONS)) {
+				plotForAllSections(request, connection, dataset);
+			}
 
-				// single section
-				else {
-					plotForSingleSection(request, statement, dataset);
-				}
+			// single section
+			else {
+				plotForSingleSection(request, connection, dataset);
 			}
 		}
 
@@ -100,14 +98,14 @@ public class PlotContributionStatistics extends DatabaseQueryTask {
 	 *
 	 * @param request
 	 *            Request message.
-	 * @param statement
-	 *            Database statement.
+	 * @param connection
+	 *            Database connection.
 	 * @param dataset
 	 *            Plot dataset.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static void plotForSingleSection(PlotContributionStatisticsRequest request, Statement statement, DefaultCategoryDataset dataset) throws Exception {
+	private static void plotForSingleSection(PlotContributionStatisticsRequest request, Connection connection, DefaultCategoryDataset dataset) throws Exception {
 
 		// get inputs
 		String program = request.getProgram();
@@ -115,26 +113,18 @@ public class PlotContributionStatistics extends DatabaseQueryTask {
 		String mission = request.getMission();
 
 		// build query
-		String sql = null;
-
-		// all missions
-		if (mission.equals(GetFatigueMissionsForPilotPointsRequest.ALL_MISSIONS)) {
-			sql = "select increment_contributions.event, avg(increment_contributions.contribution) as avgvalue from damage_contributions ";
-			sql += "inner join increment_contributions on increment_contributions.damcont_id = damage_contributions.id where ";
-			sql += "damage_contributions.ac_program = '" + program + "' and damage_contributions.ac_section = '" + section + "' group by ";
-			sql += "increment_contributions.event order by avgvalue desc";
-		}
+		QueryBuilder query = new QueryBuilder("select increment_contributions.event, avg(increment_contributions.contribution) as avgvalue from damage_contributions ");
+		query.append("inner join increment_contributions on increment_contributions.damcont_id = damage_contributions.id where ");
+		query.append("damage_contributions.ac_program = ? and damage_contributions.ac_section = ? ", program, section);
 
 		// specific mission
-		else {
-			sql = "select increment_contributions.event, avg(increment_contributions.contribution) as avgvalue from damage_contributions inner ";
-			sql += "join increment_contributions on increment_contributions.damcont_id = damage_contributions.id where ";
-			sql += "damage_contributions.ac_program = '" + program + "' and damage_contributions.ac_section = '" + section + "' and ";
-			sql += "damage_contributions.fat_mission = '" + mission + "' group by increment_contributions.event order by avgvalue desc";
+		if (!mission.equals(GetFatigueMissionsForPilotPointsRequest.ALL_MISSIONS)) {
+			query.append("and damage_contributions.fat_mission = ? ", mission);
 		}
+		query.append("group by increment_contributions.event order by avgvalue desc");
 
 		// execute
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
+		try (PreparedStatement statement = query.prepare(connection); ResultSet resultSet = statement.executeQuery()) {
 			while (resultSet.next()) {
 				String event = resultSet.getString("event");
 				double avgval = resultSet.getDouble("avgvalue");
@@ -149,15 +139,13 @@ public class PlotContributionStatistics extends DatabaseQueryTask {
 	 * @param request
 	 *            Request message.
 	 * @param connection
-	 *            Database statement.
-	 * @param statement
-	 *            Database statement.
+	 *            Database connection.
 	 * @param dataset
 	 *            Plot dataset.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void plotForAllSections(PlotContributionStatisticsRequest request, Connection connection, Statement statement, DefaultCategoryDataset dataset) throws Exception {
+	private static void plotForAllSections(PlotContributionStatisticsRequest request, Connection connection, DefaultCategoryDataset dataset) throws Exception {
 
 		// get inputs
 		String program = request.getProgram();
@@ -166,31 +154,24 @@ public class PlotContributionStatistics extends DatabaseQueryTask {
 
 		// incremental contributions
 		if (contType.equals(ContributionType.INCREMENT)) {
-			plotIncrementsForAllSections(request, connection, statement, dataset);
+			plotIncrementsForAllSections(request, connection, dataset);
 		}
 
 		// steady contributions
 		else {
 
 			// build query
-			String sql = null;
-
-			// all missions
-			if (mission.equals(GetFatigueMissionsForPilotPointsRequest.ALL_MISSIONS)) {
-				sql = "select damage_contributions.ac_section, avg(steady_contributions." + contType.getColumnName() + ") as avgvalue from damage_contributions inner join ";
-				sql += "steady_contributions on steady_contributions.damcont_id = damage_contributions.id where damage_contributions.ac_program = '" + program + "' ";
-				sql += "group by damage_contributions.ac_section";
-			}
+			QueryBuilder query = new QueryBuilder("select damage_contributions.ac_section, avg(steady_contributions." + contType.getColumnName() + ") as avgvalue from damage_contributions inner join ");
+			query.append("steady_contributions on steady_contributions.damcont_id = damage_contributions.id where damage_contributions.ac_program = ? ", program);
 
 			// specific mission
-			else {
-				sql = "select damage_contributions.ac_section, avg(steady_contributions." + contType.getColumnName() + ") as avgvalue from damage_contributions inner join ";
-				sql += "steady_contributions on steady_contributions.damcont_id = damage_contributions.id where damage_contributions.ac_program = '" + program + "' ";
-				sql += "and damage_contributions.fat_mission = '" + mission + "' group by damage_contributions.ac_section";
+			if (!mission.equals(GetFatigueMissionsForPilotPointsRequest.ALL_MISSIONS)) {
+				query.append("and damage_contributions.fat_mission = ? ", mission);
 			}
+			query.append("group by damage_contributions.ac_section");
 
 			// execute
-			try (ResultSet resultSet = statement.executeQuery(sql)) {
+			try (PreparedStatement select = query.prepare(connection); ResultSet resultSet = select.executeQuery()) {
 				while (resultSet.next()) {
 					String section = resultSet.getString("ac_section");
 					double avgval = resultSet.getDouble("avgvalue");
@@ -201,88 +182,150 @@ public class PlotContributionStatistics extends DatabaseQueryTask {
 	}
 
 	/**
-	 * Plots incremental contributions for all aircraft sections.
+	 * Plots incremental contributions for all aircraft sections. Average contributions of events are computed with a single grouped query, and the
+	 * events with the highest contributions are selected for each section in memory.
 	 *
 	 * @param request
 	 *            Request message.
 	 * @param connection
-	 *            Database statement.
-	 * @param statement
-	 *            Database statement.
+	 *            Database connection.
 	 * @param dataset
 	 *            Plot dataset.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void plotIncrementsForAllSections(PlotContributionStatisticsRequest request, Connection connection, Statement statement, DefaultCategoryDataset dataset) throws Exception {
-
-		// create a view containing section, event and contribution value
-		String viewName = "tempView_" + client_.getAlias();
+	private static void plotIncrementsForAllSections(PlotContributionStatisticsRequest request, Connection connection, DefaultCategoryDataset dataset) throws Exception {
 
 		// get inputs
 		String program = request.getProgram();
 		String mission = request.getMission();
 		int limit = request.getLimit();
 
+		// no event requested
+		if (limit <= 0)
+			return;
+
 		// build query
-		String sql = null;
-
-		// all missions
-		if (mission.equals(GetFatigueMissionsForPilotPointsRequest.ALL_MISSIONS)) {
-			sql = "create view " + viewName + "(section, event, val) as select damage_contributions.ac_section, increment_contributions.event, ";
-			sql += "avg(increment_contributions.contribution) as avgvalue from damage_contributions inner join increment_contributions on ";
-			sql += "increment_contributions.damcont_id = damage_contributions.id where damage_contributions.ac_program = '" + program + "' ";
-			sql += "group by damage_contributions.ac_section, increment_contributions.event";
-		}
+		QueryBuilder query = new QueryBuilder("select damage_contributions.ac_section, increment_contributions.event, avg(increment_contributions.contribution) as avgvalue ");
+		query.append("from damage_contributions inner join increment_contributions on increment_contributions.damcont_id = damage_contributions.id ");
+		query.append("where damage_contributions.ac_program = ? ", program);
 
 		// specific mission
-		else {
-			sql = "create view " + viewName + "(section, event, val) as select damage_contributions.ac_section, increment_contributions.event, ";
-			sql += "avg(increment_contributions.contribution) as avgvalue from damage_contributions inner join increment_contributions on ";
-			sql += "increment_contributions.damcont_id = damage_contributions.id where damage_contributions.ac_program = '" + program + "' ";
-			sql += "and damage_contributions.fat_mission = '" + mission + "' group by damage_contributions.ac_section, increment_contributions.event";
+		if (!mission.equals(GetFatigueMissionsForPilotPointsRequest.ALL_MISSIONS)) {
+			query.append("and damage_contributions.fat_mission = ? ", mission);
 		}
+		query.append("group by damage_contributions.ac_section, increment_contributions.event");
 
-		// execute statement
-		statement.executeUpdate(sql);
-
-		try {
-
-			// prepare statement to select event and contribution value for given section
-			sql = "select event, val from " + viewName + " where section = ? order by val desc limit " + limit;
-			try (PreparedStatement selectEventVal = connection.prepareStatement(sql)) {
-
-				// select distinct sections
-				sql = "select distinct section from " + viewName;
-				try (ResultSet sections = statement.executeQuery(sql)) {
+		// collect top contributions of each section
+		LinkedHashMap<String, TopContributions> sections = new LinkedHashMap<>();
+		try (PreparedStatement select = query.prepare(connection); ResultSet resultSet = select.executeQuery()) {
+			while (resultSet.next()) {
+				String section = resultSet.getString("ac_section");
+				String event = resultSet.getString("event");
+				double val = resultSet.getDouble("avgvalue");
+				sections.computeIfAbsent(section, x -> new TopContributions(limit)).add(event, val);
+			}
+		}
 
-					// loop over sections
-					while (sections.next()) {
+		// add top contributions to dataset
+		sections.forEach((section, top) -> top.addTo(dataset, section));
+	}
 
-						// set section
-						String section = sections.getString("section");
+	/**
+	 * Inner class for selecting the events with the highest contributions. Events are kept in a bounded min-heap, so that the event with the lowest
+	 * contribution is replaced when a higher contribution is added to a full heap.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 22:52:14
+	 */
+	private static class TopContributions {
+
+		/** Events. */
+		private final String[] events_;
+
+		/** Contribution values. */
+		private final double[] values_;
+
+		/** Number of events in the heap. */
+		private int size_ = 0;
+
+		/**
+		 * Creates top contributions.
+		 *
+		 * @param limit
+		 *            Maximum number of events to keep.
+		 */
+		private TopContributions(int limit) {
+			events_ = new String[limit];
+			values_ = new double[limit];
+		}
 
-						// get event and contribution value for section
-						selectEventVal.setString(1, section);
-						try (ResultSet eventVal = selectEventVal.executeQuery()) {
+		/**
+		 * Adds given event contribution.
+		 *
+		 * @param event
+		 *            Event.
+		 * @param value
+		 *            Contribution value.
+		 */
+		private void add(String event, double value) {
+
+			// heap is not full
+			if (size_ < values_.length) {
+				int i = size_++;
+				while (i > 0 && values_[(i - 1) / 2] > value) {
+					events_[i] = events_[(i - 1) / 2];
+					values_[i] = values_[(i - 1) / 2];
+					i = (i - 1) / 2;
+				}
+				events_[i] = event;
+				values_[i] = value;
+				return;
+			}
 
-							// loop over event and contribution values
-							while (eventVal.next()) {
+			// lower than the lowest contribution
+			if (value <= values_[0])
+				return;
 
-								// get event
-								String event = eventVal.getString("event");
-								double val = eventVal.getDouble("val");
-								dataset.addValue(val, event, section);
-							}
-						}
-					}
+			// replace the lowest contribution
+			int i = 0;
+			while (true) {
+				int child = 2 * i + 1;
+				if (child >= size_) {
+					break;
 				}
+				if (child + 1 < size_ && values_[child + 1] < values_[child]) {
+					child++;
+				}
+				if (values_[child] >= value) {
+					break;
+				}
+				events_[i] = events_[child];
+				values_[i] = values_[child];
+				i = child;
 			}
+			events_[i] = event;
+			values_[i] = value;
 		}
 
-		// drop view
-		finally {
-			statement.executeUpdate("drop view " + viewName);
+		/**
+		 * Adds the events to the given dataset in descending order of contribution.
+		 *
+		 * @param dataset
+		 *            Plot dataset.
+		 * @param section
+		 *            Aircraft section.
+		 */
+		private void addTo(DefaultCategoryDataset dataset, String section) {
+			Integer[] order = new Integer[size_];
+			for (int i = 0; i < size_; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, (i1, i2) -> Double.compare(values_[i2], values_[i1]));
+			for (int i : order) {
+				dataset.addValue(values_[i], events_[i], section);
+			}
 		}
 	}
 }
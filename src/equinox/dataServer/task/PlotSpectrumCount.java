@@ -16,8 +16,8 @@
 package equinox.dataServer.task;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
 
 import org.jfree.data.category.DefaultCategoryDataset;
 
@@ -25,6 +25,9 @@ import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.message.PlotSpectrumCountRequest;
 import equinox.dataServer.remote.message.PlotSpectrumCountResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.PlotRollup;
+import equinox.dataServer.server.PlotRollup.Totals;
+import equinox.dataServer.utility.QueryBuilder;
 
 /**
  * Class for plot spectrum count task.
@@ -69,30 +72,30 @@ public class PlotSpectrumCount extends DatabaseQueryTask {
 		// create data set
 		DefaultCategoryDataset dataset = new DefaultCategoryDataset();
 
-		// get connection to database
-		try (Connection connection = server_.getDCP().getConnection()) {
+		// rollup is not available, plot from database
+		if (!plotFromRollup(dataset, program, section, mission)) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
+			// get connection to database
+			try (Connection connection = server_.getDCP().getConnection()) {
 
 				// all programs
 				if (program == null) {
-					plotAllPrograms(dataset, statement);
+					plotAllPrograms(dataset, connection);
 				}
 
 				// all sections
 				else if (program != null && section == null) {
-					plotAllSections(dataset, statement, program);
+					plotAllSections(dataset, connection, program);
 				}
 
 				// all missions
 				else if (program != null && section != null && mission == null) {
-					plotAllMissions(dataset, statement, program, section);
+					plotAllMissions(dataset, connection, program, section);
 				}
 
 				// single mission
 				else if (program != null && section != null && mission != null) {
-					plotSingleMission(dataset, statement, program, section, mission);
+					plotSingleMission(dataset, connection, program, section, mission);
 				}
 			}
 		}
@@ -104,13 +107,46 @@ public class PlotSpectrumCount extends DatabaseQueryTask {
 		client_.sendMessage(response);
 	}
 
+	/**
+	 * Plots spectrum count from the spectrum rollup.
+	 *
+	 * @param dataset
+	 *            Chart dataset.
+	 * @param program
+	 *            Aircraft program. Null for all programs.
+	 * @param section
+	 *            Aircraft section. Null for all sections.
+	 * @param mission
+	 *            Fatigue mission. Null for all missions.
+	 * @return True if plotted, false if the rollup is not available.
+	 */
+	private boolean plotFromRollup(DefaultCategoryDataset dataset, String program, String section, String mission) {
+
+		// get totals of drill-down level
+		PlotRollup rollup = server_.getPlotRollups().getSpectra();
+		Totals[] totals = program == null ? rollup.getChildren(false) : section == null ? rollup.getChildren(false, program) : rollup.getChildren(false, program, section);
+
+		// rollup is not available
+		if (totals == null)
+			return false;
+
+		// add totals (of given mission, if specified, matched case-insensitively and labeled with the requested name as in database queries)
+		String selected = program == null || section == null ? null : mission;
+		for (Totals total : totals) {
+			if (selected == null || selected.equalsIgnoreCase(total.getName())) {
+				dataset.addValue((int) total.getCount(), "Spectrum Summary", selected == null ? total.getName() : selected);
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Plots spectrum count for a single mission.
 	 *
 	 * @param dataset
 	 *            Chart dataset.
-	 * @param statement
-	 *            Database statement.
+	 * @param connection
+	 *            Database connection.
 	 * @param program
 	 *            Aircraft program.
 	 * @param section
@@ -120,12 +156,12 @@ public class PlotSpectrumCount extends DatabaseQueryTask {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static void plotSingleMission(DefaultCategoryDataset dataset, Statement statement, String program, String section, String mission) throws Exception {
-		String sql = "select fat_mission, count(id) as spectrumCount from spectra where ac_program = '" + program + "' and ac_section = '" + section + "' and fat_mission = '" + mission + "' group by fat_mission order by spectrumCount desc";
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
+	private static void plotSingleMission(DefaultCategoryDataset dataset, Connection connection, String program, String section, String mission) throws Exception {
+		QueryBuilder query = new QueryBuilder("select fat_mission, count(id) as spectrumCount from spectra where ac_program = ? and ac_section = ? and fat_mission = ? group by fat_mission order by spectrumCount desc", program, section, mission);
+		try (PreparedStatement statement = query.prepare(connection); ResultSet resultSet = statement.executeQuery()) {
 			while (resultSet.next()) {
 				int spectrumCount = resultSet.getInt("spectrumCount");
-				dataset.addValue(spectrumCount, "Spectrum Summary", section);
+				dataset.addValue(spectrumCount, "Spectrum Summary", mission);
 			}
 		}
 	}
@@ -135,8 +171,8 @@ public class PlotSpectrumCount extends DatabaseQueryTask {
 	 *
 	 * @param dataset
 	 *            Chart dataset.
-	 * @param statement
-	 *            Database statement.
+	 * @param connection
+	 *            Database connection.
 	 * @param program
 	 *            Aircraft program.
 	 * @param section
@@ -144,9 +180,9 @@ public class PlotSpectrumCount extends DatabaseQueryTask {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static void plotAllMissions(DefaultCategoryDataset dataset, Statement statement, String program, String section) throws Exception {
-		String sql = "select fat_mission, count(id) as spectrumCount from spectra where ac_program = '" + program + "' and ac_section = '" + section + "' group by fat_mission order by spectrumCount desc";
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
+	private static void plotAllMissions(DefaultCategoryDataset dataset, Connection connection, String program, String section) throws Exception {
+		QueryBuilder query = new QueryBuilder("select fat_mission, count(id) as spectrumCount from spectra where ac_program = ? and ac_section = ? group by fat_mission order by spectrumCount desc", program, section);
+		try (PreparedStatement statement = query.prepare(connection); ResultSet resultSet = statement.executeQuery()) {
 			while (resultSet.next()) {
 				String mission = resultSet.getString("fat_mission");
 				int spectrumCount = resultSet.getInt("spectrumCount");
@@ -160,16 +196,16 @@ public class PlotSpectrumCount extends DatabaseQueryTask {
 	 *
 	 * @param dataset
 	 *            Chart dataset.
-	 * @param statement
-	 *            Database statement.
+	 * @param connection
+	 *            Database connection.
 	 * @param program
 	 *            Aircraft program.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static void plotAllSections(DefaultCategoryDataset dataset, Statement statement, String program) throws Exception {
-		String sql = "select ac_section, count(id) as spectrumCount from spectra where ac_program = '" + program + "' group by ac_section order by spectrumCount desc";
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
+	private static void plotAllSections(DefaultCategoryDataset dataset, Connection connection, String program) throws Exception {
+		QueryBuilder query = new QueryBuilder("select ac_section, count(id) as spectrumCount from spectra where ac_program = ? group by ac_section order by spectrumCount desc", program);
+		try (PreparedStatement statement = query.prepare(connection); ResultSet resultSet = statement.executeQuery()) {
 			while (resultSet.next()) {
 				String section = resultSet.getString("ac_section");
 				int spectrumCount = resultSet.getInt("spectrumCount");
@@ -183,14 +219,14 @@ public class PlotSpectrumCount extends DatabaseQueryTask {
 	 *
 	 * @param dataset
 	 *            Chart dataset.
-	 * @param statement
-	 *            Database statement.
+	 * @param connection
+	 *            Database connection.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static void plotAllPrograms(DefaultCategoryDataset dataset, Statement statement) throws Exception {
-		String sql = "select ac_program, count(id) as spectrumCount from spectra group by ac_program order by spectrumCount desc";
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
+	private static void plotAllPrograms(DefaultCategoryDataset dataset, Connection connection) throws Exception {
+		QueryBuilder query = new QueryBuilder("select ac_program, count(id) as spectrumCount from spectra group by ac_program order by spectrumCount desc");
+		try (PreparedStatement statement = query.prepare(connection); ResultSet resultSet = statement.executeQuery()) {
 			while (resultSet.next()) {
 				String program = resultSet.getString("ac_program");
 				int spectrumCount = resultSet.getInt("spectrumCount");
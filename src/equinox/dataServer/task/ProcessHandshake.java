@@ -16,6 +16,7 @@
 package equinox.dataServer.task;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -71,7 +72,7 @@ public class ProcessHandshake extends ServerTask {
 			try (Statement statement = connection.createStatement()) {
 
 				// get client id and username
-				client = getClient(statement);
+				client = getClient(connection);
 
 				// no client found (create anonymous client)
 				if (client == null) {
@@ -160,22 +161,24 @@ public class ProcessHandshake extends ServerTask {
 	/**
 	 * Queries and returns client.
 	 *
-	 * @param statement
-	 *            Database statement.
+	 * @param connection
+	 *            Database connection.
 	 * @return The client or null.
 	 * @throws SQLException
 	 *             If exception occurs during process.
 	 */
-	private DataClient getClient(Statement statement) throws SQLException {
+	private DataClient getClient(Connection connection) throws SQLException {
 		DataClient client = null;
-		String sql = "select id, username from users where alias = '" + message_.getAlias() + "'";
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			if (resultSet.next()) {
-
-				// create client
-				long id = resultSet.getLong("id");
-				String username = resultSet.getString("username");
-				client = new DataClient(clientConnection_, id, message_.getAlias(), username, server_.getLobby());
+		try (PreparedStatement statement = connection.prepareStatement("select id, username from users where alias = ?")) {
+			statement.setString(1, message_.getAlias());
+			try (ResultSet resultSet = statement.executeQuery()) {
+				if (resultSet.next()) {
+
+					// create client
+					long id = resultSet.getLong("id");
+					String username = resultSet.getString("username");
+					client = new DataClient(clientConnection_, id, message_.getAlias(), username, server_.getLobby());
+				}
 			}
 		}
 		return client;
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.task;
+
+import java.util.logging.Level;
+
+import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.TaskCategory;
+
+/**
+ * Class for retry pending filer deletes task. The task is periodically submitted by the server, so that filer removals don't block the scheduler
+ * thread of the server.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 16:51:27
+ */
+public final class RetryPendingFilerDeletes extends ServerTask {
+
+	/** Minimum age of queued files in seconds. */
+	private final long minAge_;
+
+	/**
+	 * Creates retry pending filer deletes task.
+	 *
+	 * @param server
+	 *            Server instance.
+	 * @param minAge
+	 *            Minimum age of queued files in seconds (so that files of ongoing deletions are not picked up).
+	 */
+	public RetryPendingFilerDeletes(DataServer server, long minAge) {
+		super(server);
+		minAge_ = minAge;
+	}
+
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.HOUSEKEEPING;
+	}
+
+	@Override
+	protected void runTask() throws Exception {
+		server_.getFilerDeleteQueue().retryPendingDeletes(minAge_);
+	}
+
+	@Override
+	protected void failed(Exception e) {
+		server_.getLogger().log(Level.WARNING, "Exception occurred during retrying pending filer deletes.", e);
+	}
+}
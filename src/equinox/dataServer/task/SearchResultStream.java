@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.task;
+
+import equinox.dataServer.client.DataClient;
+import equinox.dataServer.remote.data.DownloadInfo;
+import equinox.dataServer.remote.data.SearchInput;
+import equinox.dataServer.remote.message.SearchResponse;
+import equinox.dataServer.server.DataServer;
+
+/**
+ * Class for search result stream. Search results are collected in the search response. If the search input requests streaming, collected results are
+ * sent to the client as incomplete responses whenever the chunk size is reached or the chunk interval has elapsed, so that the client can display the
+ * first results before the search is completed. The stream is finished with a complete response containing the remaining results.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 20:21:16
+ */
+public class SearchResultStream {
+
+	/** Requesting client. */
+	private final DataClient client_;
+
+	/** Search response. */
+	private final SearchResponse response_;
+
+	/** True if results are streamed. */
+	private final boolean isStreaming_;
+
+	/** Maximum number of results in a chunk. */
+	private final int chunkSize_;
+
+	/** Maximum time between chunks in milliseconds. */
+	private final long chunkInterval_;
+
+	/** Time of last chunk. */
+	private long lastChunk_;
+
+	/**
+	 * Creates search result stream.
+	 *
+	 * @param server
+	 *            Server instance.
+	 * @param client
+	 *            Requesting client.
+	 * @param input
+	 *            Search input.
+	 * @param response
+	 *            Search response. Listener hash code must be set.
+	 */
+	public SearchResultStream(DataServer server, DataClient client, SearchInput input, SearchResponse response) {
+		client_ = client;
+		response_ = response;
+		isStreaming_ = input.isStreaming();
+		chunkSize_ = Integer.parseInt(server.getProperties().getProperty("search.chunkSize"));
+		chunkInterval_ = Long.parseLong(server.getProperties().getProperty("search.chunkInterval"));
+		lastChunk_ = System.currentTimeMillis();
+	}
+
+	/**
+	 * Adds given search result to stream. Collected results are sent as a chunk if the chunk size is reached or the chunk interval has elapsed.
+	 *
+	 * @param result
+	 *            Search result to add.
+	 */
+	public void add(DownloadInfo result) {
+
+		// add result
+		response_.add(result);
+
+		// not streaming
+		if (!isStreaming_)
+			return;
+
+		// send chunk
+		long now = System.currentTimeMillis();
+		if (response_.getSearchResults().size() >= chunkSize_ || now - lastChunk_ >= chunkInterval_) {
+			response_.setComplete(false);
+			client_.sendMessage(response_);
+			response_.reset();
+			lastChunk_ = now;
+		}
+	}
+
+	/**
+	 * Sends the complete response with the remaining results.
+	 */
+	public void finish() {
+		response_.setComplete(true);
+		client_.sendMessage(response_);
+	}
+}
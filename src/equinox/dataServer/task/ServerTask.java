@@ -19,10 +19,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
 
-import com.jcraft.jsch.JSchException;
 
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.RequestMetrics;
+import equinox.dataServer.server.TaskCategory;
 import equinox.dataServer.utility.Utility;
 import equinox.serverUtilities.FilerConnection;
 
@@ -38,6 +41,9 @@ public abstract class ServerTask implements Runnable {
 	/** Working directory. */
 	private Path workingDirectory_ = null;
 
+	/** Submission time in nanoseconds. Zero if the task is not submitted to the task executor. */
+	private volatile long submitted_ = 0L;
+
 	/** Server instance. */
 	protected final DataServer server_;
 
@@ -54,6 +60,14 @@ public abstract class ServerTask implements Runnable {
 	@Override
 	public void run() {
 
+		// bind request metrics to thread
+		long start = System.nanoTime();
+		RequestMetrics.Entry metrics = server_.getRequestMetrics().getEntry(getClass().getSimpleName());
+		RequestMetrics.Entry previous = RequestMetrics.bind(metrics);
+		if (submitted_ != 0L) {
+			metrics.record(RequestMetrics.Phase.QUEUE_WAIT, start - submitted_);
+		}
+
 		// execute and return result of task
 		try {
 			runTask();
@@ -67,9 +81,18 @@ public abstract class ServerTask implements Runnable {
 		// clean up
 		finally {
 			deleteTemporaryFiles();
+			metrics.record(RequestMetrics.Phase.TOTAL, System.nanoTime() - start);
+			RequestMetrics.bind(previous);
 		}
 	}
 
+	/**
+	 * Called by the task executor when this task is submitted, in order to measure the queue wait time of the task.
+	 */
+	public void submitted() {
+		submitted_ = System.nanoTime();
+	}
+
 	/**
 	 * Runs this task and returns the result.
 	 *
@@ -86,6 +109,25 @@ public abstract class ServerTask implements Runnable {
 	 */
 	protected abstract void failed(Exception e);
 
+	/**
+	 * Returns the category of this task. The task executor runs the task on the thread pool of this category. By default, tasks are interactive.
+	 *
+	 * @return The category of this task.
+	 */
+	public TaskCategory getCategory() {
+		return TaskCategory.INTERACTIVE;
+	}
+
+	/**
+	 * Called by the task executor if this task cannot be admitted for execution.
+	 *
+	 * @param e
+	 *            Rejection exception.
+	 */
+	public void rejected(RejectedExecutionException e) {
+		server_.getLogger().log(Level.WARNING, getClass().getSimpleName() + " task is rejected by " + getCategory() + " thread pool.", e);
+	}
+
 	/**
 	 * Returns a list of temporary files to delete, or null if no temporary file was produced.
 	 *
@@ -112,14 +154,15 @@ public abstract class ServerTask implements Runnable {
 	}
 
 	/**
-	 * Creates and returns connection to SFTP filer server. Note that, the supplied session, channel and sftpChannel objects must be disconnected after usage.
+	 * Borrows and returns connection to SFTP filer server from the filer connection pool. Note that, the connection must be closed after usage, which
+	 * returns it to the pool.
 	 *
-	 * @return Newly created filer connection.
-	 * @throws JSchException
-	 *             If exception occurs during process.
+	 * @return Filer connection.
+	 * @throws Exception
+	 *             If no connection becomes available within the borrow timeout, or exception occurs during creating connection.
 	 */
-	protected FilerConnection getFilerConnection() throws JSchException {
-		return Utility.createFilerConnection(server_.getLogger());
+	protected FilerConnection getFilerConnection() throws Exception {
+		return server_.getFilerConnectionPool().borrow();
 	}
 
 	/**
@@ -137,6 +180,6 @@ public abstract class ServerTask implements Runnable {
 			return;
 
 		// delete temporary files
-		server_.getThreadPool().submit(new DeleteTemporaryFiles(server_, tempFiles));
+		server_.getTaskExecutor().submit(new DeleteTemporaryFiles(server_, tempFiles));
 	}
 }
\ No newline at end of file
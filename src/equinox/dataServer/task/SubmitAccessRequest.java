@@ -18,7 +18,6 @@ package equinox.dataServer.task;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
 import java.sql.Timestamp;
 
 import equinox.dataServer.client.DataClient;
@@ -80,9 +79,11 @@ public class SubmitAccessRequest extends DatabaseQueryTask {
 
 				// check if request already exists
 				boolean exists = false;
-				String sql = "select status from access_requests where user_id = " + client_.getID() + " and permission_name = '" + permission.toString() + "'";
-				try (Statement statement = connection.createStatement()) {
-					try (ResultSet resultSet = statement.executeQuery(sql)) {
+				String sql = "select status from access_requests where user_id = ? and permission_name = ?";
+				try (PreparedStatement statement = connection.prepareStatement(sql)) {
+					statement.setLong(1, client_.getID());
+					statement.setString(2, permission.toString());
+					try (ResultSet resultSet = statement.executeQuery()) {
 						while (resultSet.next()) {
 							String status = resultSet.getString("status");
 							int serverResponse = status.equals(AccessRequest.PENDING) ? SubmitAccessRequestResponse.PENDING : SubmitAccessRequestResponse.REJECTED;
@@ -17,6 +17,8 @@ package equinox.dataServer.task;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
 
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.data.MultiplicationTableInfo;
@@ -24,6 +26,7 @@ import equinox.dataServer.remote.data.MultiplicationTableInfo.MultiplicationTabl
 import equinox.dataServer.remote.message.UpdateMultiplicationTableRequest;
 import equinox.dataServer.remote.message.UpdateMultiplicationTableResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.utility.Utility;
 
 /**
  * Class for update multiplication table task.
@@ -71,12 +74,21 @@ public class UpdateMultiplicationTable extends DatabaseQueryTask {
 				// disable auto-commit
 				connection.setAutoCommit(false);
 
+				// get current spectrum name
+				String spectrumName = getSpectrumName(connection, info.getID());
+
 				// update multiplication table
 				updateMultiplicationTable(connection, info);
 
+				// update spectrum connection counters (spectrum of multiplication table may have changed)
+				Utility.updateSpectrumConnectionCounts(connection, Arrays.asList(spectrumName, (String) info.getInfo(MultiplicationTableInfoType.SPECTRUM_NAME)));
+
 				// commit updates
 				connection.commit();
 				connection.setAutoCommit(true);
+
+				// invalidate search indexes
+				server_.getSearchIndexes().invalidateMultiplicationTables();
 			}
 
 			// exception occurred during process
@@ -149,4 +161,24 @@ public class UpdateMultiplicationTable extends DatabaseQueryTask {
 			update.executeUpdate();
 		}
 	}
+
+	/**
+	 * Returns the current spectrum name of the multiplication table.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param id
+	 *            Multiplication table ID.
+	 * @return The current spectrum name of the multiplication table, or null if multiplication table doesn't exist.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static String getSpectrumName(Connection connection, long id) throws Exception {
+		try (PreparedStatement statement = connection.prepareStatement("select spectrum_name from mult_tables where id = ?")) {
+			statement.setLong(1, id);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next() ? resultSet.getString("spectrum_name") : null;
+			}
+		}
+	}
 }
@@ -17,6 +17,8 @@ package equinox.dataServer.task;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
 
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.data.PilotPointInfo;
@@ -24,6 +26,8 @@ import equinox.dataServer.remote.data.PilotPointInfo.PilotPointInfoType;
 import equinox.dataServer.remote.message.UpdatePilotPointRequest;
 import equinox.dataServer.remote.message.UpdatePilotPointResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.PlotRollup;
+import equinox.dataServer.utility.Utility;
 
 /**
  * Class for update pilot point task.
@@ -66,22 +70,47 @@ public class UpdatePilotPoint extends DatabaseQueryTask {
 		// get connection to database
 		try (Connection connection = server_.getDCP().getConnection()) {
 
+			// create rollup changes (pending until applied or discarded)
+			PlotRollup.Changes changes = server_.getPlotRollups().getPilotPoints().createChanges();
+
 			try {
 
 				// disable auto-commit
 				connection.setAutoCommit(false);
 
-				// update pilot point info
+				// get current spectrum name
+				String spectrumName = getSpectrumName(connection, info.getID());
+
+				// update pilot point info (recording rollup changes)
+				changes.removeRows(connection, "id = ?", info.getID());
 				updatePilotPoint(connection, info);
+				changes.addRows(connection, "id = ?", info.getID());
+
+				// update spectrum connection counters (spectrum of pilot point may have changed)
+				Utility.updateSpectrumConnectionCounts(connection, Arrays.asList(spectrumName, (String) info.getInfo(PilotPointInfoType.SPECTRUM_NAME)));
 
 				// commit updates
 				connection.commit();
+
+				// update plot rollups (right after commit, so that committed changes are never discarded)
+				server_.getPlotRollups().getPilotPoints().apply(changes);
+
+				// enable auto-commit
 				connection.setAutoCommit(true);
+
+				// invalidate cached reference data
+				server_.getReferenceDataCache().invalidatePilotPoints();
+
+				// invalidate search indexes
+				server_.getSearchIndexes().invalidatePilotPoints();
 			}
 
 			// exception occurred during process
 			catch (Exception e) {
 
+				// discard rollup changes
+				server_.getPlotRollups().getPilotPoints().discard(changes);
+
 				// roll back updates
 				if (connection != null) {
 					connection.rollback();
@@ -183,4 +212,24 @@ public class UpdatePilotPoint extends DatabaseQueryTask {
 			update.executeUpdate();
 		}
 	}
+
+	/**
+	 * Returns the current spectrum name of the pilot point.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param id
+	 *            Pilot point ID.
+	 * @return The current spectrum name of the pilot point, or null if pilot point doesn't exist.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static String getSpectrumName(Connection connection, long id) throws Exception {
+		try (PreparedStatement statement = connection.prepareStatement("select spectrum_name from pilot_points where id = ?")) {
+			statement.setLong(1, id);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next() ? resultSet.getString("spectrum_name") : null;
+			}
+		}
+	}
 }
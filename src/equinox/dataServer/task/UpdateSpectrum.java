@@ -24,6 +24,7 @@ import equinox.dataServer.remote.data.SpectrumInfo.SpectrumInfoType;
 import equinox.dataServer.remote.message.UpdateSpectrumRequest;
 import equinox.dataServer.remote.message.UpdateSpectrumResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.PlotRollup;
 
 /**
  * Class for update spectrum task.
@@ -66,22 +67,41 @@ public class UpdateSpectrum extends DatabaseQueryTask {
 		// get connection to database
 		try (Connection connection = server_.getDCP().getConnection()) {
 
+			// create rollup changes (pending until applied or discarded)
+			PlotRollup.Changes changes = server_.getPlotRollups().getSpectra().createChanges();
+
 			try {
 
 				// disable auto-commit
 				connection.setAutoCommit(false);
 
-				// update spectrum info
+				// update spectrum info (recording rollup changes)
+				changes.removeRows(connection, "id = ?", info.getID());
 				updateSpectrum(connection, info);
+				changes.addRows(connection, "id = ?", info.getID());
 
 				// commit updates
 				connection.commit();
+
+				// update plot rollups (right after commit, so that committed changes are never discarded)
+				server_.getPlotRollups().getSpectra().apply(changes);
+
+				// enable auto-commit
 				connection.setAutoCommit(true);
+
+				// invalidate cached reference data
+				server_.getReferenceDataCache().invalidateSpectra();
+
+				// invalidate search indexes
+				server_.getSearchIndexes().invalidateSpectra();
 			}
 
 			// exception occurred during process
 			catch (Exception e) {
 
+				// discard rollup changes
+				server_.getPlotRollups().getSpectra().discard(changes);
+
 				// roll back updates
 				if (connection != null) {
 					connection.rollback();
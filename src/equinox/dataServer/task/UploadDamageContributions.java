@@ -19,19 +19,20 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.message.UploadDamageContributionsRequest;
 import equinox.dataServer.remote.message.UploadDamageContributionsResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.TaskCategory;
+import equinox.dataServer.utility.RowReader;
 import equinox.dataServer.utility.Utility;
+import equinox.dataServer.utility.WorkbookReader;
 import equinox.serverUtilities.FilerConnection;
 import equinox.serverUtilities.SharedFileInfo;
 import equinox.serverUtilities.SharedFileInfo.SharedFileInfoType;
-import jxl.Sheet;
-import jxl.Workbook;
 
 /**
  * Class for upload damage contributions task.
@@ -56,6 +57,11 @@ public class UploadDamageContributions extends DatabaseQueryTask {
 		super(server, client, request);
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.BULK;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
@@ -121,22 +127,22 @@ public class UploadDamageContributions extends DatabaseQueryTask {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static void uploadData(Connection connection, Path inputFile) throws Exception {
-
-		// initialize variables
-		Workbook workbook = null;
-
-		try {
-
-			// get workbook
-			workbook = Workbook.getWorkbook(inputFile.toFile());
-
-			// get worksheet
-			Sheet worksheet = workbook.getSheet("Damage Contributions");
-
-			// cannot find worksheet
-			if (worksheet == null)
-				throw new Exception("Cannot find worksheet 'Damage Contributions' in input XLS file '" + inputFile.getFileName().toString() + "'. Aborting damage contribution upload.");
+	private void uploadData(Connection connection, Path inputFile) throws Exception {
+
+		// open worksheet
+		String fileName = inputFile.getFileName().toString();
+		try (WorkbookReader workbook = Utility.openWorkbook(inputFile); RowReader reader = workbook.createRowReader("Damage Contributions")) {
+
+			// get increment event names from header row
+			String[] header = reader.nextRow();
+			if (header == null)
+				throw new Exception("Cannot find header row of worksheet 'Damage Contributions' in input file '" + fileName + "'. Aborting damage contribution upload.");
+			String[] events = new String[Math.max(0, header.length - 9)];
+			for (int j = 9; j < header.length; j++) {
+				events[j - 9] = header[j];
+				if (events[j - 9].isEmpty())
+					throw new Exception("Invalid increment event name encountered at row 0, column " + j + " in input file '" + fileName + "'. Aborting damage contribution upload.");
+			}
 
 			// prepare statement to insert damage contributions
 			String sql = "insert into damage_contributions(spectrum_name, pp_name, ac_program, ac_section, fat_mission) values(?, ?, ?, ?, ?)";
@@ -150,108 +156,102 @@ public class UploadDamageContributions extends DatabaseQueryTask {
 					sql = "insert into increment_contributions(damcont_id, event, contribution) values(?, ?, ?)";
 					try (PreparedStatement insertIncrementContributions = connection.prepareStatement(sql)) {
 
-						// loop over rows
-						for (int i = 1; i < worksheet.getRows(); i++) {
-
-							// get contribution info
-							String program = worksheet.getCell(0, i).getContents().trim();
-							String section = worksheet.getCell(1, i).getContents().trim();
-							String mission = worksheet.getCell(2, i).getContents().trim();
-							String spectrumName = worksheet.getCell(3, i).getContents().trim();
-							String ppName = worksheet.getCell(4, i).getContents().trim();
-
-							// invalid value given
-							if (spectrumName == null || spectrumName.isEmpty())
-								throw new Exception("Invalid spectrum name encountered at row " + i + " in input XLS file '" + inputFile.getFileName().toString() + "'. Aborting damage contribution upload.");
-							if (ppName == null || ppName.isEmpty())
-								throw new Exception("Invalid pilot point name encountered at row " + i + " in input XLS file '" + inputFile.getFileName().toString() + "'. Aborting damage contribution upload.");
-							if (program == null || program.isEmpty())
-								throw new Exception("Invalid aircraft program encountered at row " + i + " in input XLS file '" + inputFile.getFileName().toString() + "'. Aborting damage contribution upload.");
-							if (section == null || section.isEmpty())
-								throw new Exception("Invalid aircraft section encountered at row " + i + " in input XLS file '" + inputFile.getFileName().toString() + "'. Aborting damage contribution upload.");
-							if (mission == null || mission.isEmpty())
-								throw new Exception("Invalid fatigue mission encountered at row " + i + " in input XLS file '" + inputFile.getFileName().toString() + "'. Aborting damage contribution upload.");
+						// create bulk loader
+						BulkLoader<String[]> loader = new BulkLoader<>(this, "damage contributions", chunk -> {
 
 							// insert damage contributions
-							insertDamageContributions.setString(1, spectrumName);
-							insertDamageContributions.setString(2, ppName);
-							insertDamageContributions.setString(3, program);
-							insertDamageContributions.setString(4, section);
-							insertDamageContributions.setString(5, mission);
-							insertDamageContributions.executeUpdate();
-
-							// get output file ID
-							int damContID = -1;
-							try (ResultSet resultSet = insertDamageContributions.getGeneratedKeys()) {
-								if (resultSet.next()) {
-									damContID = resultSet.getBigDecimal(1).intValue();
+							for (String[] row : chunk) {
+								insertDamageContributions.setString(1, row[3]);
+								insertDamageContributions.setString(2, row[4]);
+								insertDamageContributions.setString(3, row[0]);
+								insertDamageContributions.setString(4, row[1]);
+								insertDamageContributions.setString(5, row[2]);
+								insertDamageContributions.addBatch();
+							}
+
+							// get damage contribution IDs (in the order of rows)
+							long[] damContIDs = BulkLoader.executeBatchWithGeneratedKeys(insertDamageContributions, chunk.size());
+
+							// loop over rows
+							for (int k = 0; k < chunk.size(); k++) {
+
+								// insert steady contributions
+								String[] row = chunk.get(k);
+								insertSteadyContributions.setLong(1, damContIDs[k]);
+								setDouble(insertSteadyContributions, 2, row[6]);
+								setDouble(insertSteadyContributions, 3, row[7]);
+								setDouble(insertSteadyContributions, 4, row[8]);
+								setDouble(insertSteadyContributions, 5, row[5]);
+								insertSteadyContributions.addBatch();
+
+								// insert increment contributions
+								insertIncrementContributions.setLong(1, damContIDs[k]);
+								for (int j = 0; j < events.length; j++) {
+									insertIncrementContributions.setString(2, events[j]);
+									insertIncrementContributions.setDouble(3, Double.parseDouble(row[9 + j]));
+									insertIncrementContributions.addBatch();
 								}
 							}
 
-							// get steady contributions
-							String oneg = worksheet.getCell(5, i).getContents().trim();
-							String gag = worksheet.getCell(6, i).getContents().trim();
-							String dp = worksheet.getCell(7, i).getContents().trim();
-							String dt = worksheet.getCell(8, i).getContents().trim();
+							// execute batches
+							insertSteadyContributions.executeBatch();
+							insertIncrementContributions.executeBatch();
+						});
 
-							// insert steady contributions
-							insertSteadyContributions.setInt(1, damContID);
-							if (gag == null || gag.isEmpty()) {
-								insertSteadyContributions.setNull(2, java.sql.Types.DOUBLE);
-							}
-							else {
-								insertSteadyContributions.setDouble(2, Double.parseDouble(gag));
-							}
-							if (dp == null || dp.isEmpty()) {
-								insertSteadyContributions.setNull(3, java.sql.Types.DOUBLE);
-							}
-							else {
-								insertSteadyContributions.setDouble(3, Double.parseDouble(dp));
-							}
-							if (dt == null || dt.isEmpty()) {
-								insertSteadyContributions.setNull(4, java.sql.Types.DOUBLE);
-							}
-							else {
-								insertSteadyContributions.setDouble(4, Double.parseDouble(dt));
-							}
-							if (oneg == null || oneg.isEmpty()) {
-								insertSteadyContributions.setNull(5, java.sql.Types.DOUBLE);
-							}
-							else {
-								insertSteadyContributions.setDouble(5, Double.parseDouble(oneg));
-							}
-							insertSteadyContributions.executeUpdate();
-
-							// loop over increment contributions
-							insertIncrementContributions.setInt(1, damContID);
-							for (int j = 9; j < worksheet.getColumns(); j++) {
-
-								// get event and value
-								String event = worksheet.getCell(j, 0).getContents().trim();
-								String value = worksheet.getCell(j, i).getContents().trim();
-
-								// invalid value given
-								if (event == null || event.isEmpty())
-									throw new Exception("Invalid increment event name encountered at row " + i + ", column " + j + " in input XLS file '" + inputFile.getFileName().toString() + "'. Aborting damage contribution upload.");
-								if (value == null || value.isEmpty())
-									throw new Exception("Invalid increment contribution value encountered at row " + i + ", column " + j + " in input XLS file '" + inputFile.getFileName().toString() + "'. Aborting damage contribution upload.");
-
-								// insert increment contribution
-								insertIncrementContributions.setString(2, event);
-								insertIncrementContributions.setDouble(3, Double.parseDouble(value));
-								insertIncrementContributions.executeUpdate();
+						// loop over rows
+						String[] row;
+						while ((row = reader.nextRow()) != null) {
+
+							// get row contents
+							int i = reader.getRowIndex();
+							row = RowReader.getCells(row, 9 + events.length);
+
+							// invalid value given
+							if (row[3].isEmpty())
+								throw new Exception("Invalid spectrum name encountered at row " + i + " in input file '" + fileName + "'. Aborting damage contribution upload.");
+							if (row[4].isEmpty())
+								throw new Exception("Invalid pilot point name encountered at row " + i + " in input file '" + fileName + "'. Aborting damage contribution upload.");
+							if (row[0].isEmpty())
+								throw new Exception("Invalid aircraft program encountered at row " + i + " in input file '" + fileName + "'. Aborting damage contribution upload.");
+							if (row[1].isEmpty())
+								throw new Exception("Invalid aircraft section encountered at row " + i + " in input file '" + fileName + "'. Aborting damage contribution upload.");
+							if (row[2].isEmpty())
+								throw new Exception("Invalid fatigue mission encountered at row " + i + " in input file '" + fileName + "'. Aborting damage contribution upload.");
+							for (int j = 9; j < row.length; j++) {
+								if (row[j].isEmpty())
+									throw new Exception("Invalid increment contribution value encountered at row " + i + ", column " + j + " in input file '" + fileName + "'. Aborting damage contribution upload.");
 							}
+
+							// add row to loader
+							loader.add(row);
 						}
+
+						// write remaining rows
+						loader.finish();
 					}
 				}
 			}
 		}
+	}
 
-		// close workbook
-		finally {
-			if (workbook != null) {
-				workbook.close();
-			}
+	/**
+	 * Sets given double parameter to statement, or SQL null if the value is empty.
+	 *
+	 * @param statement
+	 *            Statement.
+	 * @param index
+	 *            Parameter index.
+	 * @param value
+	 *            Parameter value.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	private static void setDouble(PreparedStatement statement, int index, String value) throws SQLException {
+		if (value == null || value.isEmpty()) {
+			statement.setNull(index, java.sql.Types.DOUBLE);
+		}
+		else {
+			statement.setDouble(index, Double.parseDouble(value));
 		}
 	}
 
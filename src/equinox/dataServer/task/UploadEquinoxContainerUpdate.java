@@ -28,6 +28,7 @@ import equinox.dataServer.remote.data.EquinoxUpdate.EquinoxUpdateInfoType;
 import equinox.dataServer.remote.message.UploadContainerUpdateRequest;
 import equinox.dataServer.remote.message.UploadContainerUpdateResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.TaskCategory;
 
 /**
  * Class for upload Equinox container update task.
@@ -52,6 +53,11 @@ public class UploadEquinoxContainerUpdate extends DatabaseQueryTask {
 		super(server, client, request);
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.BULK;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
@@ -26,6 +26,7 @@ import equinox.dataServer.remote.data.HelpVideoInfo.HelpVideoInfoType;
 import equinox.dataServer.remote.message.UploadHelpVideoRequest;
 import equinox.dataServer.remote.message.UploadHelpVideoResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.TaskCategory;
 
 /**
  * Class for upload help video task.
@@ -50,6 +51,11 @@ public class UploadHelpVideo extends DatabaseQueryTask {
 		super(server, client, request);
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.BULK;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
@@ -79,6 +85,9 @@ public class UploadHelpVideo extends DatabaseQueryTask {
 				// commit updates
 				connection.commit();
 				connection.setAutoCommit(true);
+
+				// invalidate cached help videos
+				server_.getReferenceDataCache().invalidateHelpVideos();
 			}
 
 			// exception occurred during process
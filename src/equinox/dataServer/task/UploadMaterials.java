@@ -19,17 +19,19 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.message.UploadMaterialsRequest;
 import equinox.dataServer.remote.message.UploadMaterialsResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.TaskCategory;
+import equinox.dataServer.utility.RowReader;
 import equinox.dataServer.utility.Utility;
+import equinox.dataServer.utility.WorkbookReader;
 import equinox.serverUtilities.FilerConnection;
 import equinox.serverUtilities.SharedFileInfo;
 import equinox.serverUtilities.SharedFileInfo.SharedFileInfoType;
-import jxl.Sheet;
-import jxl.Workbook;
 
 /**
  * Class for upload materials task.
@@ -54,6 +56,11 @@ public class UploadMaterials extends DatabaseQueryTask {
 		super(server, client, request);
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.BULK;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
@@ -86,6 +93,9 @@ public class UploadMaterials extends DatabaseQueryTask {
 				// commit updates
 				connection.commit();
 				connection.setAutoCommit(true);
+
+				// invalidate cached reference data
+				server_.getReferenceDataCache().invalidateMaterials();
 			}
 
 			// exception occurred during process
@@ -121,37 +131,25 @@ public class UploadMaterials extends DatabaseQueryTask {
 	 */
 	private void uploadMaterialData(Connection connection, Path inputFile) throws Exception {
 
-		// initialize variables
-		Workbook workbook = null;
-
-		try {
-
-			// get workbook
-			workbook = Workbook.getWorkbook(inputFile.toFile());
+		// open workbook
+		try (WorkbookReader workbook = Utility.openWorkbook(inputFile)) {
 
 			// load fatigue data
 			sendProgressMessage("Uploading fatigue material data to database...");
-			loadFatigueData(workbook.getSheet("Fatigue"), connection);
+			loadFatigueData(workbook, "Fatigue", connection);
 
 			// load Linear data
 			sendProgressMessage("Uploading linear propagation material data to database...");
-			loadPropagationData("linear_materials", workbook.getSheet("Linear"), connection);
+			loadPropagationData("linear_materials", workbook, "Linear", connection);
 
 			// load Preffas data
 			sendProgressMessage("Uploading preffas propagation material data to database...");
-			loadPropagationData("preffas_materials", workbook.getSheet("Preffas"), connection);
+			loadPropagationData("preffas_materials", workbook, "Preffas", connection);
 
 			// load other propagation data
 			sendProgressMessage("Uploading other propagation material data to database...");
-			loadPropagationData("linear_materials", workbook.getSheet("Other"), connection);
-			loadPropagationData("preffas_materials", workbook.getSheet("Other"), connection);
-		}
-
-		// close workbook
-		finally {
-			if (workbook != null) {
-				workbook.close();
-			}
+			loadPropagationData("linear_materials", workbook, "Other", connection);
+			loadPropagationData("preffas_materials", workbook, "Other", connection);
 		}
 	}
 
@@ -160,162 +158,139 @@ public class UploadMaterials extends DatabaseQueryTask {
 	 *
 	 * @param tableName
 	 *            Database table name.
-	 * @param dataSheet
-	 *            Linear sheet.
+	 * @param workbook
+	 *            Input workbook.
+	 * @param sheetName
+	 *            Worksheet name.
 	 * @param connection
 	 *            Database connection.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static void loadPropagationData(String tableName, Sheet dataSheet, Connection connection) throws Exception {
+	private void loadPropagationData(String tableName, WorkbookReader workbook, String sheetName, Connection connection) throws Exception {
 
 		// create statement
 		String sql = "insert into tableName(name, specification, library_version, family, orientation, configuration, par_ceff, par_m, par_a, par_b, par_c, par_ftu, par_fty, isami_version) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 		try (PreparedStatement statement = connection.prepareStatement(sql.replaceFirst("tableName", tableName))) {
 
-			// set location
-			int startRow = 1, endRow = dataSheet.getRows() - 1;
-
-			// loop over rows
-			for (int i = startRow; i <= endRow; i++) {
-
-				// get material data
-				String name = dataSheet.getCell(0, i).getContents().trim();
-				String specification = dataSheet.getCell(1, i).getContents().trim();
-				String libraryVersion = dataSheet.getCell(2, i).getContents().trim();
-				String family = dataSheet.getCell(3, i).getContents().trim();
-				String orientation = dataSheet.getCell(4, i).getContents().trim();
-				String configuration = dataSheet.getCell(5, i).getContents().trim();
-				double parCeff = Double.parseDouble(dataSheet.getCell(6, i).getContents().trim());
-				double parM = Double.parseDouble(dataSheet.getCell(7, i).getContents().trim());
-				double parA = Double.parseDouble(dataSheet.getCell(8, i).getContents().trim());
-				double parB = Double.parseDouble(dataSheet.getCell(9, i).getContents().trim());
-				double parC = Double.parseDouble(dataSheet.getCell(10, i).getContents().trim());
-				double parFtu = Double.parseDouble(dataSheet.getCell(11, i).getContents().trim());
-				double parFty = Double.parseDouble(dataSheet.getCell(12, i).getContents().trim());
-				String isamiVersion = dataSheet.getCell(13, i).getContents().trim();
-
-				// set parameters
-				statement.setString(1, name);
-				if (specification == null || specification.isEmpty()) {
-					statement.setNull(2, java.sql.Types.VARCHAR);
-				}
-				else {
-					statement.setString(2, specification);
+			// create bulk loader
+			BulkLoader<String[]> loader = new BulkLoader<>(this, tableName.replace('_', ' '), chunk -> {
+
+				// loop over rows
+				for (String[] row : chunk) {
+
+					// set parameters
+					statement.setString(1, row[0]);
+					setString(statement, 2, row[1]);
+					setString(statement, 3, row[2]);
+					setString(statement, 4, row[3]);
+					setString(statement, 5, row[4]);
+					setString(statement, 6, row[5]);
+					statement.setDouble(7, Double.parseDouble(row[6]));
+					statement.setDouble(8, Double.parseDouble(row[7]));
+					statement.setDouble(9, Double.parseDouble(row[8]));
+					statement.setDouble(10, Double.parseDouble(row[9]));
+					statement.setDouble(11, Double.parseDouble(row[10]));
+					statement.setDouble(12, Double.parseDouble(row[11]));
+					statement.setDouble(13, Double.parseDouble(row[12]));
+					statement.setString(14, row[13]);
+					statement.addBatch();
 				}
-				if (libraryVersion == null || libraryVersion.isEmpty()) {
-					statement.setNull(3, java.sql.Types.VARCHAR);
-				}
-				else {
-					statement.setString(3, libraryVersion);
-				}
-				if (family == null || family.isEmpty()) {
-					statement.setNull(4, java.sql.Types.VARCHAR);
-				}
-				else {
-					statement.setString(4, family);
-				}
-				if (orientation == null || orientation.isEmpty()) {
-					statement.setNull(5, java.sql.Types.VARCHAR);
-				}
-				else {
-					statement.setString(5, orientation);
-				}
-				if (configuration == null || configuration.isEmpty()) {
-					statement.setNull(6, java.sql.Types.VARCHAR);
-				}
-				else {
-					statement.setString(6, configuration);
+
+				// execute batch
+				statement.executeBatch();
+			});
+
+			// loop over rows (skipping header row)
+			try (RowReader reader = workbook.createRowReader(sheetName)) {
+				String[] row;
+				while ((row = reader.nextRow()) != null) {
+					if (reader.getRowIndex() > 0) {
+						loader.add(RowReader.getCells(row, 14));
+					}
 				}
-				statement.setDouble(7, parCeff);
-				statement.setDouble(8, parM);
-				statement.setDouble(9, parA);
-				statement.setDouble(10, parB);
-				statement.setDouble(11, parC);
-				statement.setDouble(12, parFtu);
-				statement.setDouble(13, parFty);
-				statement.setString(14, isamiVersion);
-
-				// execute update
-				statement.executeUpdate();
 			}
+
+			// write remaining rows
+			loader.finish();
 		}
 	}
 
 	/**
 	 * Loads fatigue material data.
 	 *
-	 * @param fatigueSheet
-	 *            Fatigue sheet.
+	 * @param workbook
+	 *            Input workbook.
+	 * @param sheetName
+	 *            Worksheet name.
 	 * @param connection
 	 *            Database connection.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static void loadFatigueData(Sheet fatigueSheet, Connection connection) throws Exception {
+	private void loadFatigueData(WorkbookReader workbook, String sheetName, Connection connection) throws Exception {
 
 		// create statement
 		String sql = "insert into fatigue_materials(name, specification, library_version, family, orientation, configuration, par_p, par_q, par_m, isami_version) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 		try (PreparedStatement statement = connection.prepareStatement(sql)) {
 
-			// set location
-			int startRow = 1, endRow = fatigueSheet.getRows() - 1;
-
-			// loop over rows
-			for (int i = startRow; i <= endRow; i++) {
-
-				// get material data
-				String name = fatigueSheet.getCell(0, i).getContents().trim();
-				String specification = fatigueSheet.getCell(1, i).getContents().trim();
-				String libraryVersion = fatigueSheet.getCell(2, i).getContents().trim();
-				String family = fatigueSheet.getCell(3, i).getContents().trim();
-				String orientation = fatigueSheet.getCell(4, i).getContents().trim();
-				String configuration = fatigueSheet.getCell(5, i).getContents().trim();
-				double parP = Double.parseDouble(fatigueSheet.getCell(6, i).getContents().trim());
-				double parQ = Double.parseDouble(fatigueSheet.getCell(7, i).getContents().trim());
-				double parM = Double.parseDouble(fatigueSheet.getCell(8, i).getContents().trim());
-				String isamiVersion = fatigueSheet.getCell(9, i).getContents().trim();
-
-				// set parameters
-				statement.setString(1, name);
-				if (specification == null || specification.isEmpty()) {
-					statement.setNull(2, java.sql.Types.VARCHAR);
+			// create bulk loader
+			BulkLoader<String[]> loader = new BulkLoader<>(this, "fatigue materials", chunk -> {
+
+				// loop over rows
+				for (String[] row : chunk) {
+
+					// set parameters
+					statement.setString(1, row[0]);
+					setString(statement, 2, row[1]);
+					setString(statement, 3, row[2]);
+					setString(statement, 4, row[3]);
+					setString(statement, 5, row[4]);
+					setString(statement, 6, row[5]);
+					statement.setDouble(7, Double.parseDouble(row[6]));
+					statement.setDouble(8, Double.parseDouble(row[7]));
+					statement.setDouble(9, Double.parseDouble(row[8]));
+					statement.setString(10, row[9]);
+					statement.addBatch();
 				}
-				else {
-					statement.setString(2, specification);
-				}
-				if (libraryVersion == null || libraryVersion.isEmpty()) {
-					statement.setNull(3, java.sql.Types.VARCHAR);
-				}
-				else {
-					statement.setString(3, libraryVersion);
-				}
-				if (family == null || family.isEmpty()) {
-					statement.setNull(4, java.sql.Types.VARCHAR);
-				}
-				else {
-					statement.setString(4, family);
-				}
-				if (orientation == null || orientation.isEmpty()) {
-					statement.setNull(5, java.sql.Types.VARCHAR);
-				}
-				else {
-					statement.setString(5, orientation);
-				}
-				if (configuration == null || configuration.isEmpty()) {
-					statement.setNull(6, java.sql.Types.VARCHAR);
-				}
-				else {
-					statement.setString(6, configuration);
-				}
-				statement.setDouble(7, parP);
-				statement.setDouble(8, parQ);
-				statement.setDouble(9, parM);
-				statement.setString(10, isamiVersion);
 
-				// execute update
-				statement.executeUpdate();
+				// execute batch
+				statement.executeBatch();
+			});
+
+			// loop over rows (skipping header row)
+			try (RowReader reader = workbook.createRowReader(sheetName)) {
+				String[] row;
+				while ((row = reader.nextRow()) != null) {
+					if (reader.getRowIndex() > 0) {
+						loader.add(RowReader.getCells(row, 10));
+					}
+				}
 			}
+
+			// write remaining rows
+			loader.finish();
+		}
+	}
+
+	/**
+	 * Sets given string parameter to statement, or SQL null if the value is empty.
+	 *
+	 * @param statement
+	 *            Statement.
+	 * @param index
+	 *            Parameter index.
+	 * @param value
+	 *            Parameter value.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	private static void setString(PreparedStatement statement, int index, String value) throws SQLException {
+		if (value == null || value.isEmpty()) {
+			statement.setNull(index, java.sql.Types.VARCHAR);
+		}
+		else {
+			statement.setString(index, value);
 		}
 	}
 
@@ -19,6 +19,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.stream.Collectors;
 
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.data.MultiplicationTableInfo;
@@ -26,6 +27,8 @@ import equinox.dataServer.remote.data.MultiplicationTableInfo.MultiplicationTabl
 import equinox.dataServer.remote.message.UploadMultiplicationTablesRequest;
 import equinox.dataServer.remote.message.UploadMultiplicationTablesResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.TaskCategory;
+import equinox.dataServer.utility.Utility;
 
 /**
  * Class for upload multiplication tables task.
@@ -50,6 +53,11 @@ public class UploadMultiplicationTables extends DatabaseQueryTask {
 		super(server, client, request);
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.BULK;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
@@ -76,9 +84,15 @@ public class UploadMultiplicationTables extends DatabaseQueryTask {
 				// upload data
 				uploadData(connection, infos);
 
+				// update spectrum connection counters
+				Utility.updateSpectrumConnectionCounts(connection, infos.stream().map(x -> (String) x.getInfo(MultiplicationTableInfoType.SPECTRUM_NAME)).collect(Collectors.toSet()));
+
 				// commit updates
 				connection.commit();
 				connection.setAutoCommit(true);
+
+				// invalidate search indexes
+				server_.getSearchIndexes().invalidateMultiplicationTables();
 			}
 
 			// exception occurred during process
@@ -21,6 +21,7 @@ import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.stream.Collectors;
 
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.data.PilotPointImageType;
@@ -29,6 +30,9 @@ import equinox.dataServer.remote.data.PilotPointInfo.PilotPointInfoType;
 import equinox.dataServer.remote.message.UploadPilotPointsRequest;
 import equinox.dataServer.remote.message.UploadPilotPointsResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.PlotRollup;
+import equinox.dataServer.server.TaskCategory;
+import equinox.dataServer.utility.Utility;
 
 /**
  * Class for upload pilot points task.
@@ -53,6 +57,11 @@ public class UploadPilotPoints extends DatabaseQueryTask {
 		super(server, client, request);
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.BULK;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
@@ -74,13 +83,16 @@ public class UploadPilotPoints extends DatabaseQueryTask {
 		// get connection to database
 		try (Connection connection = server_.getDCP().getConnection()) {
 
+			// create rollup changes (pending until applied or discarded)
+			PlotRollup.Changes changes = server_.getPlotRollups().getPilotPoints().createChanges();
+
 			try {
 
 				// disable auto-commit
 				connection.setAutoCommit(false);
 
 				// upload info
-				ArrayList<Long> ids = uploadInfo(connection, infos);
+				ArrayList<Long> ids = uploadInfo(connection, infos, changes);
 
 				// upload data URLs
 				uploadDataUrls(connection, dataUrls, ids);
@@ -93,14 +105,31 @@ public class UploadPilotPoints extends DatabaseQueryTask {
 				// upload image URLs
 				uploadImageUrls(connection, imageUrls, ids);
 
+				// update spectrum connection counters
+				Utility.updateSpectrumConnectionCounts(connection, infos.stream().map(x -> (String) x.getInfo(PilotPointInfoType.SPECTRUM_NAME)).collect(Collectors.toSet()));
+
 				// commit updates
 				connection.commit();
+
+				// update plot rollups (right after commit, so that committed changes are never discarded)
+				server_.getPlotRollups().getPilotPoints().apply(changes);
+
+				// enable auto-commit
 				connection.setAutoCommit(true);
+
+				// invalidate cached reference data
+				server_.getReferenceDataCache().invalidatePilotPoints();
+
+				// invalidate search indexes
+				server_.getSearchIndexes().invalidatePilotPoints();
 			}
 
 			// exception occurred during process
 			catch (Exception e) {
 
+				// discard rollup changes
+				server_.getPlotRollups().getPilotPoints().discard(changes);
+
 				// roll back updates
 				if (connection != null) {
 					connection.rollback();
@@ -136,174 +165,49 @@ public class UploadPilotPoints extends DatabaseQueryTask {
 		// send progress info
 		sendProgressMessage("Uploading pilot point image URLs to central database...");
 
-		// prepare statement for uploading pilot point image
-		String sql = "insert into pilot_point_image(id, image_url) values(?, ?)";
-		try (PreparedStatement uploadPilotPointImage = connection.prepareStatement(sql)) {
-
-			// prepare statement for uploading pilot point mission profile plot
-			sql = "insert into pilot_point_mp(id, image_url) values(?, ?)";
-			try (PreparedStatement uploadPilotPointMP = connection.prepareStatement(sql)) {
-
-				// prepare statement for uploading pilot point longest flight plot
-				sql = "insert into pilot_point_tf_l(id, image_url) values(?, ?)";
-				try (PreparedStatement uploadPilotPointTFL = connection.prepareStatement(sql)) {
-
-					// prepare statement for uploading pilot point flight with highest occurrence plot
-					sql = "insert into pilot_point_tf_ho(id, image_url) values(?, ?)";
-					try (PreparedStatement uploadPilotPointTFHO = connection.prepareStatement(sql)) {
-
-						// prepare statement for uploading pilot point flight with highest stress plot
-						sql = "insert into pilot_point_tf_hs(id, image_url) values(?, ?)";
-						try (PreparedStatement uploadPilotPointTFHS = connection.prepareStatement(sql)) {
-
-							// prepare statement for uploading pilot point level crossing plot
-							sql = "insert into pilot_point_lc(id, image_url) values(?, ?)";
-							try (PreparedStatement uploadPilotPointLC = connection.prepareStatement(sql)) {
-
-								// prepare statement for uploading pilot point damage angle plot
-								sql = "insert into pilot_point_da(id, image_url) values(?, ?)";
-								try (PreparedStatement uploadPilotPointDA = connection.prepareStatement(sql)) {
-
-									// prepare statement for uploading pilot point number of peaks plot
-									sql = "insert into pilot_point_st_nop(id, image_url) values(?, ?)";
-									try (PreparedStatement uploadPilotPointSTNOP = connection.prepareStatement(sql)) {
-
-										// prepare statement for uploading pilot point flight occurrence plot
-										sql = "insert into pilot_point_st_fo(id, image_url) values(?, ?)";
-										try (PreparedStatement uploadPilotPointSTFO = connection.prepareStatement(sql)) {
-
-											// prepare statement for uploading pilot point rainflow histogram plot
-											sql = "insert into pilot_point_st_rh(id, image_url) values(?, ?)";
-											try (PreparedStatement uploadPilotPointSTRH = connection.prepareStatement(sql)) {
-
-												// prepare statement for uploading pilot point loadcase damage contribution plot
-												sql = "insert into pilot_point_dc(id, image_url) values(?, ?)";
-												try (PreparedStatement uploadPilotPointDC = connection.prepareStatement(sql)) {
-
-													// prepare statement for uploading pilot point typical flight damage contribution plot
-													sql = "insert into pilot_point_tf_dc(id, image_url) values(?, ?)";
-													try (PreparedStatement uploadPilotPointTFDC = connection.prepareStatement(sql)) {
-
-														// loop over pilot points
-														for (int i = 0; i < ids.size(); i++) {
-
-															// get pilot point id
-															long id = ids.get(i);
-
-															// get image URLs
-															HashMap<PilotPointImageType, String> urls = imageUrls.get(i);
-
-															// no images
-															if (urls == null || urls.isEmpty()) {
-																continue;
-															}
-
-															// upload image
-															String url = urls.get(PilotPointImageType.IMAGE);
-															if (url != null) {
-																uploadPilotPointImage.setLong(1, id);
-																uploadPilotPointImage.setString(2, url);
-																uploadPilotPointImage.executeUpdate();
-															}
-
-															// upload pilot point mission profile plot
-															url = urls.get(PilotPointImageType.MISSION_PROFILE);
-															if (url != null) {
-																uploadPilotPointMP.setLong(1, id);
-																uploadPilotPointMP.setString(2, url);
-																uploadPilotPointMP.executeUpdate();
-															}
-
-															// upload pilot point longest flight plot
-															url = urls.get(PilotPointImageType.LONGEST_FLIGHT);
-															if (url != null) {
-																uploadPilotPointTFL.setLong(1, id);
-																uploadPilotPointTFL.setString(2, url);
-																uploadPilotPointTFL.executeUpdate();
-															}
-
-															// upload pilot point highest occurrence flight plot
-															url = urls.get(PilotPointImageType.FLIGHT_WITH_HIGHEST_OCCURRENCE);
-															if (url != null) {
-																uploadPilotPointTFHO.setLong(1, id);
-																uploadPilotPointTFHO.setString(2, url);
-																uploadPilotPointTFHO.executeUpdate();
-															}
-
-															// upload pilot point highest stress flight plot
-															url = urls.get(PilotPointImageType.FLIGHT_WITH_MAX_TOTAL_STRESS);
-															if (url != null) {
-																uploadPilotPointTFHS.setLong(1, id);
-																uploadPilotPointTFHS.setString(2, url);
-																uploadPilotPointTFHS.executeUpdate();
-															}
-
-															// upload pilot point level crossing plot
-															url = urls.get(PilotPointImageType.LEVEL_CROSSING);
-															if (url != null) {
-																uploadPilotPointLC.setLong(1, id);
-																uploadPilotPointLC.setString(2, url);
-																uploadPilotPointLC.executeUpdate();
-															}
-
-															// upload pilot point damage angle plot
-															url = urls.get(PilotPointImageType.DAMAGE_ANGLE);
-															if (url != null) {
-																uploadPilotPointDA.setLong(1, id);
-																uploadPilotPointDA.setString(2, url);
-																uploadPilotPointDA.executeUpdate();
-															}
-
-															// upload pilot point number of peaks plot
-															url = urls.get(PilotPointImageType.NUMBER_OF_PEAKS);
-															if (url != null) {
-																uploadPilotPointSTNOP.setLong(1, id);
-																uploadPilotPointSTNOP.setString(2, url);
-																uploadPilotPointSTNOP.executeUpdate();
-															}
-
-															// upload pilot point flight occurrence plot
-															url = urls.get(PilotPointImageType.FLIGHT_OCCURRENCE);
-															if (url != null) {
-																uploadPilotPointSTFO.setLong(1, id);
-																uploadPilotPointSTFO.setString(2, url);
-																uploadPilotPointSTFO.executeUpdate();
-															}
-
-															// upload pilot point rainflow histogram plot
-															url = urls.get(PilotPointImageType.RAINFLOW_HISTOGRAM);
-															if (url != null) {
-																uploadPilotPointSTRH.setLong(1, id);
-																uploadPilotPointSTRH.setString(2, url);
-																uploadPilotPointSTRH.executeUpdate();
-															}
-
-															// upload pilot point loadcase damage contribution plot
-															url = urls.get(PilotPointImageType.LOADCASE_DAMAGE_CONTRIBUTION);
-															if (url != null) {
-																uploadPilotPointDC.setLong(1, id);
-																uploadPilotPointDC.setString(2, url);
-																uploadPilotPointDC.executeUpdate();
-															}
-
-															// upload pilot point typical flight damage contribution plot
-															url = urls.get(PilotPointImageType.FLIGHT_DAMAGE_CONTRIBUTION);
-															if (url != null) {
-																uploadPilotPointTFDC.setLong(1, id);
-																uploadPilotPointTFDC.setString(2, url);
-																uploadPilotPointTFDC.executeUpdate();
-															}
-														}
-													}
-												}
-											}
-										}
-									}
-								}
-							}
-						}
+		// get batch size
+		int batchSize = getBatchSize();
+
+		// loop over image types
+		for (PilotPointImageType imageType : PilotPointImageType.values()) {
+
+			// prepare statement for uploading pilot point images of this type
+			String sql = "insert into " + imageType.getTableName() + "(id, image_url) values(?, ?)";
+			try (PreparedStatement uploadImage = connection.prepareStatement(sql)) {
+
+				// loop over pilot points
+				int batched = 0;
+				for (int i = 0; i < ids.size(); i++) {
+
+					// get image URLs
+					HashMap<PilotPointImageType, String> urls = imageUrls.get(i);
+
+					// no images
+					if (urls == null || urls.isEmpty()) {
+						continue;
+					}
+
+					// no image of this type
+					String url = urls.get(imageType);
+					if (url == null) {
+						continue;
+					}
+
+					// add image to batch
+					uploadImage.setLong(1, ids.get(i));
+					uploadImage.setString(2, url);
+					uploadImage.addBatch();
+
+					// execute batch
+					if (++batched % batchSize == 0) {
+						uploadImage.executeBatch();
 					}
 				}
+
+				// execute remaining batch
+				if (batched % batchSize != 0) {
+					uploadImage.executeBatch();
+				}
 			}
 		}
 	}
@@ -330,12 +234,23 @@ public class UploadPilotPoints extends DatabaseQueryTask {
 		try (PreparedStatement uploadPilotPointData = connection.prepareStatement(sql)) {
 
 			// loop over pilot points
+			int batchSize = getBatchSize();
 			for (int i = 0; i < ids.size(); i++) {
 
-				// upload pilot point data
+				// add pilot point data to batch
 				uploadPilotPointData.setLong(1, ids.get(i));
 				uploadPilotPointData.setString(2, dataUrls.get(i));
-				uploadPilotPointData.executeUpdate();
+				uploadPilotPointData.addBatch();
+
+				// execute batch
+				if ((i + 1) % batchSize == 0) {
+					uploadPilotPointData.executeBatch();
+				}
+			}
+
+			// execute remaining batch
+			if (ids.size() % batchSize != 0) {
+				uploadPilotPointData.executeBatch();
 			}
 		}
 	}
@@ -362,6 +277,7 @@ public class UploadPilotPoints extends DatabaseQueryTask {
 		try (PreparedStatement uploadPilotPointData = connection.prepareStatement(sql)) {
 
 			// loop over pilot points
+			int batchSize = getBatchSize(), batched = 0;
 			for (int i = 0; i < ids.size(); i++) {
 
 				// no attribute supplied
@@ -370,10 +286,20 @@ public class UploadPilotPoints extends DatabaseQueryTask {
 					continue;
 				}
 
-				// upload pilot point data
+				// add pilot point data to batch
 				uploadPilotPointData.setLong(1, ids.get(i));
 				uploadPilotPointData.setString(2, url);
-				uploadPilotPointData.executeUpdate();
+				uploadPilotPointData.addBatch();
+
+				// execute batch
+				if (++batched % batchSize == 0) {
+					uploadPilotPointData.executeBatch();
+				}
+			}
+
+			// execute remaining batch
+			if (batched % batchSize != 0) {
+				uploadPilotPointData.executeBatch();
 			}
 		}
 	}
@@ -385,11 +311,13 @@ public class UploadPilotPoints extends DatabaseQueryTask {
 	 *            Database connection.
 	 * @param infos
 	 *            Pilot point info list.
+	 * @param changes
+	 *            Pilot point rollup changes.
 	 * @return List of pilot point ids. Note that, the returned list is in the same order as the supplied info list.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private ArrayList<Long> uploadInfo(Connection connection, ArrayList<PilotPointInfo> infos) throws Exception {
+	private ArrayList<Long> uploadInfo(Connection connection, ArrayList<PilotPointInfo> infos, PlotRollup.Changes changes) throws Exception {
 
 		// send progress info
 		sendProgressMessage("Uploading pilot point info to central database...");
@@ -543,6 +471,7 @@ public class UploadPilotPoints extends DatabaseQueryTask {
 							uploadPilotPointInfo.setString(17, eid);
 						}
 						uploadPilotPointInfo.executeUpdate();
+						changes.add(program, section, mission, 1L, 0L);
 
 						// get pilot point id
 						long ppID = -1L;
@@ -26,6 +26,7 @@ import equinox.dataServer.remote.data.ServerPluginInfo.PluginInfoType;
 import equinox.dataServer.remote.message.UploadPluginRequest;
 import equinox.dataServer.remote.message.UploadPluginResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.TaskCategory;
 
 /**
  * Class for upload plugin task.
@@ -50,6 +51,11 @@ public class UploadPlugin extends DatabaseQueryTask {
 		super(server, client, request);
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.BULK;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
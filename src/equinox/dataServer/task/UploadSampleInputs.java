@@ -24,6 +24,7 @@ import equinox.dataServer.remote.data.SampleInputInfo;
 import equinox.dataServer.remote.message.UploadSampleInputsRequest;
 import equinox.dataServer.remote.message.UploadSampleInputsResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.TaskCategory;
 
 /**
  * Class for upload sample inputs task.
@@ -48,6 +49,11 @@ public class UploadSampleInputs extends DatabaseQueryTask {
 		super(server, client, request);
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.BULK;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
@@ -19,6 +19,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.stream.Collectors;
 
 import equinox.dataServer.client.DataClient;
 import equinox.dataServer.remote.data.SpectrumInfo;
@@ -26,6 +27,9 @@ import equinox.dataServer.remote.data.SpectrumInfo.SpectrumInfoType;
 import equinox.dataServer.remote.message.UploadSpectraRequest;
 import equinox.dataServer.remote.message.UploadSpectraResponse;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.PlotRollup;
+import equinox.dataServer.server.TaskCategory;
+import equinox.dataServer.utility.Utility;
 
 /**
  * Class for upload spectra task.
@@ -50,6 +54,11 @@ public class UploadSpectra extends DatabaseQueryTask {
 		super(server, client, request);
 	}
 
+	@Override
+	public TaskCategory getCategory() {
+		return TaskCategory.BULK;
+	}
+
 	@Override
 	protected void runTask() throws Exception {
 
@@ -68,6 +77,9 @@ public class UploadSpectra extends DatabaseQueryTask {
 		// get connection to database
 		try (Connection connection = server_.getDCP().getConnection()) {
 
+			// create rollup changes (pending until applied or discarded)
+			PlotRollup.Changes changes = server_.getPlotRollups().getSpectra().createChanges();
+
 			try {
 
 				// disable auto-commit
@@ -84,19 +96,36 @@ public class UploadSpectra extends DatabaseQueryTask {
 
 						// upload spectra
 						for (SpectrumInfo info : infos) {
-							uploadSpectra(checkSpectrum, uploadSpectrumInfo, info);
+							uploadSpectra(checkSpectrum, uploadSpectrumInfo, info, changes);
 						}
 					}
 				}
 
+				// update connection counters of uploaded spectra (existing pilot points and multiplication tables may refer to them by name)
+				Utility.updateSpectrumConnectionCounts(connection, infos.stream().map(x -> (String) x.getInfo(SpectrumInfoType.NAME)).collect(Collectors.toSet()));
+
 				// commit updates
 				connection.commit();
+
+				// update plot rollups (right after commit, so that committed changes are never discarded)
+				server_.getPlotRollups().getSpectra().apply(changes);
+
+				// enable auto-commit
 				connection.setAutoCommit(true);
+
+				// invalidate cached reference data
+				server_.getReferenceDataCache().invalidateSpectra();
+
+				// invalidate search indexes
+				server_.getSearchIndexes().invalidateSpectra();
 			}
 
 			// exception occurred during process
 			catch (Exception e) {
 
+				// discard rollup changes
+				server_.getPlotRollups().getSpectra().discard(changes);
+
 				// roll back updates
 				if (connection != null) {
 					connection.rollback();
@@ -124,10 +153,12 @@ public class UploadSpectra extends DatabaseQueryTask {
 	 *            Database statement for uploading spectrum info.
 	 * @param info
 	 *            Spectrum info.
+	 * @param changes
+	 *            Spectrum rollup changes.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static void uploadSpectra(PreparedStatement checkSpectrum, PreparedStatement uploadSpectrumInfo, SpectrumInfo info) throws Exception {
+	private static void uploadSpectra(PreparedStatement checkSpectrum, PreparedStatement uploadSpectrumInfo, SpectrumInfo info, PlotRollup.Changes changes) throws Exception {
 
 		// get spectrum info
 		String spectrumName = (String) info.getInfo(SpectrumInfoType.NAME);
@@ -187,5 +218,8 @@ public class UploadSpectra extends DatabaseQueryTask {
 		uploadSpectrumInfo.setLong(11, dataSize);
 		uploadSpectrumInfo.setString(12, dataUrl);
 		uploadSpectrumInfo.executeUpdate();
+
+		// record rollup change
+		changes.add(program, section, mission, 1L, dataSize);
 	}
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.utility;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+/**
+ * Class for CSV row reader. Comma separated values with optional double quoted cells (as defined in RFC 4180) are supported. Input files are expected
+ * to be UTF-8 encoded.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 15:16:53
+ */
+public class CSVRowReader implements RowReader {
+
+	/** Cell separator and quote characters. */
+	private static final char SEPARATOR = ',', QUOTE = '"';
+
+	/** Input reader. */
+	private final BufferedReader reader_;
+
+	/** Input file name. */
+	private final String fileName_;
+
+	/** Cell buffer. */
+	private final StringBuilder cell_ = new StringBuilder();
+
+	/** Index of last returned row. */
+	private int rowIndex_ = -1;
+
+	/**
+	 * Creates CSV row reader.
+	 *
+	 * @param file
+	 *            Input CSV file.
+	 * @throws IOException
+	 *             If exception occurs during opening file.
+	 */
+	public CSVRowReader(Path file) throws IOException {
+
+		// open file
+		reader_ = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+		fileName_ = file.getFileName().toString();
+
+		// skip byte order mark
+		reader_.mark(1);
+		if (reader_.read() != '\uFEFF') {
+			reader_.reset();
+		}
+	}
+
+	@Override
+	public String[] nextRow() throws IOException {
+
+		// end of file
+		int c = reader_.read();
+		if (c == -1)
+			return null;
+
+		// loop over characters of row
+		ArrayList<String> row = new ArrayList<>();
+		boolean quoted = false;
+		cell_.setLength(0);
+		while (true) {
+
+			// quoted cell
+			if (quoted) {
+				if (c == -1)
+					throw new IOException("Unterminated quoted cell encountered at row " + (rowIndex_ + 1) + " in input CSV file '" + fileName_ + "'.");
+				if (c == QUOTE) {
+					reader_.mark(1);
+					int next = reader_.read();
+					if (next == QUOTE) {
+						cell_.append(QUOTE);
+					}
+					else {
+						quoted = false;
+						reader_.reset();
+					}
+				}
+				else {
+					cell_.append((char) c);
+				}
+			}
+
+			// end of cell
+			else if (c == SEPARATOR) {
+				row.add(cell_.toString().trim());
+				cell_.setLength(0);
+			}
+
+			// end of row
+			else if (c == '\n' || c == '\r' || c == -1) {
+				if (c == '\r') {
+					reader_.mark(1);
+					if (reader_.read() != '\n') {
+						reader_.reset();
+					}
+				}
+				break;
+			}
+
+			// start of quoted cell
+			else if (c == QUOTE && cell_.toString().trim().isEmpty()) {
+				cell_.setLength(0);
+				quoted = true;
+			}
+
+			// cell content
+			else {
+				cell_.append((char) c);
+			}
+
+			// read next character
+			c = reader_.read();
+		}
+
+		// add last cell
+		row.add(cell_.toString().trim());
+		rowIndex_++;
+		return row.toArray(new String[row.size()]);
+	}
+
+	@Override
+	public int getRowIndex() {
+		return rowIndex_;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader_.close();
+	}
+}
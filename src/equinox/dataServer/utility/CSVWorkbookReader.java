@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.utility;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Class for CSV workbook reader. Each worksheet must be supplied as a separate CSV file named after the worksheet (i.e. <code>sheetName.csv</code>)
+ * in the directory of the input file.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 16:33:05
+ */
+public class CSVWorkbookReader implements WorkbookReader {
+
+	/** Input file. */
+	private final Path file_;
+
+	/**
+	 * Creates CSV workbook reader.
+	 *
+	 * @param file
+	 *            Input CSV file.
+	 */
+	public CSVWorkbookReader(Path file) {
+		file_ = file;
+	}
+
+	@Override
+	public CSVRowReader createRowReader(String sheetName) throws Exception {
+		Path sheetFile = file_.resolveSibling(sheetName + ".csv");
+		if (!Files.exists(sheetFile))
+			throw new Exception("Cannot find worksheet '" + sheetName + "' for input CSV file '" + file_.getFileName().toString() + "'. Each worksheet must be supplied as a separate CSV file named '" + sheetName + ".csv'.");
+		return new CSVRowReader(sheetFile);
+	}
+
+	@Override
+	public void close() {
+		// no implementation
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.utility;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+
+import equinox.dataServer.remote.data.PilotPointImageType;
+
+/**
+ * Utility class for accessing pilot point images. Pilot point images are stored in a separate table for each image type. This class resolves the image
+ * URLs of all image types with a single <code>union all</code> query instead of one query per image type.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 17:48:19
+ */
+public class PilotPointImageRepository {
+
+	/** Condition selecting images of pilot points of a spectrum. */
+	private static final String SPECTRUM_CONDITION = "id in (select id from pilot_points where spectrum_name = ?)";
+
+	/** Query to get image URLs of a pilot point. */
+	private static final String PILOT_POINT_QUERY = createUnionQuery("id = ?");
+
+	/** Query to get image URLs of pilot points of a spectrum. */
+	private static final String SPECTRUM_QUERY = createUnionQuery(SPECTRUM_CONDITION);
+
+	/**
+	 * No instantiation allowed.
+	 */
+	private PilotPointImageRepository() {
+	}
+
+	/**
+	 * Returns image URLs of the given pilot point mapped to image types. Image types without an image are not contained in the returned map.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param id
+	 *            Pilot point ID.
+	 * @return Image URLs of the given pilot point mapped to image types.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static EnumMap<PilotPointImageType, String> getImageUrls(Connection connection, long id) throws SQLException {
+		EnumMap<PilotPointImageType, String> urls = new EnumMap<>(PilotPointImageType.class);
+		try (PreparedStatement statement = connection.prepareStatement(PILOT_POINT_QUERY)) {
+			for (int i = 1; i <= PilotPointImageType.values().length; i++) {
+				statement.setLong(i, id);
+			}
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					urls.put(PilotPointImageType.valueOf(resultSet.getString("image_type")), resultSet.getString("image_url"));
+				}
+			}
+		}
+		return urls;
+	}
+
+	/**
+	 * Returns image URLs of all pilot points of the given spectrum.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param spectrumName
+	 *            Spectrum name.
+	 * @return Image URLs of all pilot points of the given spectrum.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static List<String> getImageUrlsOfSpectrum(Connection connection, String spectrumName) throws SQLException {
+		ArrayList<String> urls = new ArrayList<>();
+		try (PreparedStatement statement = connection.prepareStatement(SPECTRUM_QUERY)) {
+			for (int i = 1; i <= PilotPointImageType.values().length; i++) {
+				statement.setString(i, spectrumName);
+			}
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					urls.add(resultSet.getString("image_url"));
+				}
+			}
+		}
+		return urls;
+	}
+
+	/**
+	 * Deletes all images of the given pilot point from the database. The delete statements of all image types are sent in a single batch.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param id
+	 *            Pilot point ID.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static void deleteImages(Connection connection, long id) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			for (PilotPointImageType imageType : PilotPointImageType.values()) {
+				statement.addBatch("delete from " + imageType.getTableName() + " where id = " + id);
+			}
+			statement.executeBatch();
+		}
+	}
+
+	/**
+	 * Deletes all images of pilot points of the given spectrum from the database.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param spectrumName
+	 *            Spectrum name.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static void deleteImagesOfSpectrum(Connection connection, String spectrumName) throws SQLException {
+		for (PilotPointImageType imageType : PilotPointImageType.values()) {
+			try (PreparedStatement statement = connection.prepareStatement("delete from " + imageType.getTableName() + " where " + SPECTRUM_CONDITION)) {
+				statement.setString(1, spectrumName);
+				statement.executeUpdate();
+			}
+		}
+	}
+
+	/**
+	 * Creates and returns query to get image URLs of all image types with the given condition.
+	 *
+	 * @param condition
+	 *            Condition with a single parameter.
+	 * @return Query to get image URLs.
+	 */
+	private static String createUnionQuery(String condition) {
+		StringBuilder sql = new StringBuilder();
+		for (PilotPointImageType imageType : PilotPointImageType.values()) {
+			if (sql.length() > 0) {
+				sql.append(" union all ");
+			}
+			sql.append("select '").append(imageType.name()).append("' as image_type, image_url from ").append(imageType.getTableName()).append(" where ").append(condition);
+		}
+		return sql.toString();
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.utility;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Class for parameterized query builder. Values are never concatenated into the SQL text. They are collected as parameters and bound to the prepared
+ * statement. Therefore, queries of the same shape share the same SQL text, and can be reused from the prepared statement caches of the driver and the
+ * database server.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 21:42:06
+ */
+public class QueryBuilder {
+
+	/** SQL text. */
+	private final StringBuilder sql_;
+
+	/** Query parameters. */
+	private final ArrayList<Object> parameters_ = new ArrayList<>();
+
+	/**
+	 * Creates query builder.
+	 *
+	 * @param sql
+	 *            Initial SQL text.
+	 * @param parameters
+	 *            Parameters of the initial SQL text.
+	 */
+	public QueryBuilder(String sql, Object... parameters) {
+		sql_ = new StringBuilder(sql);
+		Collections.addAll(parameters_, parameters);
+	}
+
+	/**
+	 * Appends the given SQL text with its parameters. The SQL text must contain a <code>?</code> placeholder for each parameter.
+	 *
+	 * @param sql
+	 *            SQL text to append.
+	 * @param parameters
+	 *            Parameters of the appended SQL text.
+	 * @return This builder.
+	 */
+	public QueryBuilder append(String sql, Object... parameters) {
+		sql_.append(sql);
+		Collections.addAll(parameters_, parameters);
+		return this;
+	}
+
+	/**
+	 * Returns true if the SQL text ends with the given suffix.
+	 *
+	 * @param suffix
+	 *            Suffix.
+	 * @return True if the SQL text ends with the given suffix.
+	 */
+	public boolean endsWith(String suffix) {
+		int start = sql_.length() - suffix.length();
+		return start >= 0 && sql_.indexOf(suffix, start) == start;
+	}
+
+	/**
+	 * Removes the given suffix from the SQL text (if the SQL text ends with it).
+	 *
+	 * @param suffix
+	 *            Suffix to remove.
+	 * @return This builder.
+	 */
+	public QueryBuilder removeTrailing(String suffix) {
+		if (endsWith(suffix)) {
+			sql_.setLength(sql_.length() - suffix.length());
+		}
+		return this;
+	}
+
+	/**
+	 * Escapes the wildcard (<code>%</code> and <code>_</code>) and escape (<code>\</code>) characters of the given value, so that the value is matched
+	 * literally within a <code>like</code> pattern with the default escape character.
+	 *
+	 * @param value
+	 *            Value to escape.
+	 * @return The escaped value.
+	 */
+	public static String escapeLike(String value) {
+		StringBuilder escaped = new StringBuilder(value.length() + 8);
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '\\' || c == '%' || c == '_') {
+				escaped.append('\\');
+			}
+			escaped.append(c);
+		}
+		return escaped.toString();
+	}
+
+	/**
+	 * Returns the SQL text.
+	 *
+	 * @return The SQL text.
+	 */
+	public String getSQL() {
+		return sql_.toString();
+	}
+
+	/**
+	 * Returns the number of parameters.
+	 *
+	 * @return The number of parameters.
+	 */
+	public int getParameterCount() {
+		return parameters_.size();
+	}
+
+	/**
+	 * Prepares statement for the query and sets its parameters. The statement must be closed after usage.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @return The prepared statement.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public PreparedStatement prepare(Connection connection) throws SQLException {
+		PreparedStatement statement = connection.prepareStatement(sql_.toString());
+		try {
+			setParameters(statement);
+			return statement;
+		}
+		catch (SQLException e) {
+			statement.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Sets the parameters of the given statement.
+	 *
+	 * @param statement
+	 *            Statement prepared for the query.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public void setParameters(PreparedStatement statement) throws SQLException {
+		for (int i = 0; i < parameters_.size(); i++) {
+			statement.setObject(i + 1, parameters_.get(i));
+		}
+	}
+
+	@Override
+	public String toString() {
+		return sql_.toString() + " " + parameters_;
+	}
+}
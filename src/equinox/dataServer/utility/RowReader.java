@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.utility;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Interface for worksheet row readers. Row readers return the rows of a single worksheet one at a time, so that only the current row is held in memory.
+ * Row readers are created with {@link WorkbookReader#createRowReader(String)}.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 15:02:41
+ */
+public interface RowReader extends AutoCloseable {
+
+	/**
+	 * Returns the trimmed cell contents of next row, or <code>null</code> if there are no more rows. Empty cells are returned as empty strings. Note that
+	 * the returned array may be shorter than the number of columns of the worksheet if the trailing cells of the row are empty.
+	 *
+	 * @return The trimmed cell contents of next row, or <code>null</code> if there are no more rows.
+	 * @throws Exception
+	 *             If exception occurs during reading row.
+	 */
+	String[] nextRow() throws Exception;
+
+	/**
+	 * Returns the zero based index of the last row returned by this reader.
+	 *
+	 * @return The zero based index of the last row returned by this reader.
+	 */
+	int getRowIndex();
+
+	@Override
+	void close() throws IOException;
+
+	/**
+	 * Returns given row contents padded with empty cells up to the given number of columns.
+	 *
+	 * @param row
+	 *            Row contents.
+	 * @param columns
+	 *            Number of columns.
+	 * @return Row contents with at least the given number of columns.
+	 */
+	static String[] getCells(String[] row, int columns) {
+
+		// row is long enough
+		if (row.length >= columns)
+			return row;
+
+		// pad row with empty cells
+		String[] cells = Arrays.copyOf(row, columns);
+		Arrays.fill(cells, row.length, columns, "");
+		return cells;
+	}
+}
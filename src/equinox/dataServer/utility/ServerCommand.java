@@ -31,7 +31,8 @@ public enum ServerCommand {
 	CLIENTS("clients", "Lists currently connected clients."),
 	PROPERTIES("properties", "Lists all current server properties."),
 	TEMPORARY_FILES("manage temporary files", "Enables/disables temporary file deletion."),
-	STATISTICS("statistics", "Prints server statistics.");
+	STATISTICS("statistics", "Prints server statistics."),
+	RECONCILE_COUNTERS("reconcile counters", "Recomputes the connected pilot point and multiplication table counters of all spectra.");
 	// @formatter:on
 
 	/** Command and description text. */
@@ -12,8 +12,14 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -44,6 +50,7 @@ import equinox.dataServer.client.ClientConnection;
 import equinox.dataServer.client.ClientHandler;
 import equinox.dataServer.remote.Registry;
 import equinox.dataServer.server.DataServer;
+import equinox.dataServer.server.InstrumentedDataSource;
 import equinox.serverUtilities.FilerConnection;
 
 /*
@@ -232,6 +239,32 @@ public class Utility {
 		return Files.createDirectory(workingDirectory);
 	}
 
+	/**
+	 * Opens and returns workbook reader for the given input file. The reader is selected by the file extension. XLSX files are streamed, CSV files are
+	 * streamed as a single worksheet per file and all other files are read as legacy XLS workbooks. For CSV files, each worksheet must be supplied as a
+	 * separate file named after the worksheet (i.e. <code>sheetName.csv</code>) in the directory of the input file.
+	 *
+	 * @param file
+	 *            Input file.
+	 * @return Newly opened workbook reader.
+	 * @throws Exception
+	 *             If exception occurs during opening file.
+	 */
+	public static WorkbookReader openWorkbook(Path file) throws Exception {
+
+		// XLSX file
+		String fileName = file.getFileName().toString().toLowerCase();
+		if (fileName.endsWith(".xlsx") || fileName.endsWith(".xlsm"))
+			return new XLSXWorkbookReader(file);
+
+		// CSV file
+		if (fileName.endsWith(".csv"))
+			return new CSVWorkbookReader(file);
+
+		// legacy XLS file
+		return new XLSWorkbookReader(file);
+	}
+
 	/**
 	 * Creates database connection pool using the selected engine and returns the data source get fetch database connections.
 	 *
@@ -241,7 +274,7 @@ public class Utility {
 	 *            Logger.
 	 * @return Database connection pool engine.
 	 */
-	public static HikariDataSource setupDCPEngine(Properties properties, Logger logger) {
+	public static InstrumentedDataSource setupDCPEngine(Properties properties, Logger logger) {
 
 		// get database server properties
 		String hostname = System.getenv("ds.hostname");
@@ -251,6 +284,9 @@ public class Utility {
 		String password = System.getenv("ds.password");
 		boolean allowPublicKeyRetrieval = Boolean.parseBoolean(properties.getProperty("ds.allowPublicKeyRetrieval"));
 		boolean useSSL = Boolean.parseBoolean(properties.getProperty("ds.useSSL"));
+		boolean rewriteBatchedStatements = Boolean.parseBoolean(properties.getProperty("ds.rewriteBatchedStatements"));
+		boolean useServerPrepStmts = Boolean.parseBoolean(properties.getProperty("ds.useServerPrepStmts"));
+		String prepStmtCacheSqlLimit = properties.getProperty("ds.prepStmtCacheSqlLimit");
 
 		// get database connection pool properties
 		String poolName = properties.getProperty("hikari.poolName");
@@ -269,19 +305,22 @@ public class Utility {
 		config.setIdleTimeout(idleTimeout);
 		config.addDataSourceProperty("cachePrepStmts", "true");
 		config.addDataSourceProperty("prepStmtCacheSize", "250");
-		config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+		config.addDataSourceProperty("prepStmtCacheSqlLimit", prepStmtCacheSqlLimit);
+		config.addDataSourceProperty("useServerPrepStmts", useServerPrepStmts);
 		config.addDataSourceProperty("allowPublicKeyRetrieval", allowPublicKeyRetrieval);
 		config.addDataSourceProperty("useSSL", useSSL);
+		config.addDataSourceProperty("rewriteBatchedStatements", rewriteBatchedStatements);
 
 		// log info
 		logger.info("Database connection pool created.");
 
-		// create and return data source
-		return new HikariDataSource(config);
+		// create and return data source (instrumented for request metrics and slow query log)
+		return new InstrumentedDataSource(config, properties, logger);
 	}
 
 	/**
-	 * Builds and returns a new connection to filer SFTP server.
+	 * Builds and returns a new connection to filer SFTP server. Note that, tasks should borrow filer connections from the filer connection pool of the
+	 * server instead.
 	 *
 	 * @param logger
 	 *            Server logger.
@@ -315,6 +354,70 @@ public class Utility {
 		return new FilerConnection(session, channel, sftpChannel, logger, filerRoot);
 	}
 
+	/**
+	 * Recomputes the materialized connection counters <code>num_pilot_points</code> and <code>num_mult_tables</code> of all spectra. The counter columns
+	 * are created by the migration script <code>resources/migrations/001_spectrum_connection_counters.sql</code>. This is a full table update, and is
+	 * only run on demand from the server console.
+	 *
+	 * @param dataSource
+	 *            Database connection pool.
+	 * @param logger
+	 *            Server logger.
+	 * @return Number of reconciled spectra.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static int reconcileSpectrumConnectionCounts(HikariDataSource dataSource, Logger logger) throws SQLException {
+
+		// get connection to database
+		try (java.sql.Connection connection = dataSource.getConnection()) {
+
+			// create statement
+			try (Statement statement = connection.createStatement()) {
+
+				// recompute counters
+				String sql = "update spectra set num_pilot_points = (select count(id) from pilot_points where pilot_points.spectrum_name = spectra.name), ";
+				sql += "num_mult_tables = (select count(id) from mult_tables where mult_tables.spectrum_name = spectra.name)";
+				int reconciled = statement.executeUpdate(sql);
+				logger.info("Spectrum connection counters reconciled for " + reconciled + " spectra.");
+				return reconciled;
+			}
+		}
+	}
+
+	/**
+	 * Recomputes the materialized numbers of connected pilot points and multiplication tables of the given spectra. This method should be called within the transaction which modifies the connected items, so that the counters are committed together with the modification.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param spectrumNames
+	 *            Names of spectra to update.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static void updateSpectrumConnectionCounts(java.sql.Connection connection, Collection<String> spectrumNames) throws SQLException {
+
+		// prepare statement
+		String sql = "update spectra set num_pilot_points = (select count(id) from pilot_points where spectrum_name = ?), ";
+		sql += "num_mult_tables = (select count(id) from mult_tables where spectrum_name = ?) where name = ?";
+		try (PreparedStatement update = connection.prepareStatement(sql)) {
+
+			// loop over spectrum names
+			for (String name : new HashSet<>(spectrumNames)) {
+				if (name == null) {
+					continue;
+				}
+				update.setString(1, name);
+				update.setString(2, name);
+				update.setString(3, name);
+				update.addBatch();
+			}
+
+			// execute updates
+			update.executeBatch();
+		}
+	}
+
 	/**
 	 * Returns server properties.
 	 *
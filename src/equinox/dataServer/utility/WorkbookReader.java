@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.utility;
+
+import java.io.IOException;
+
+/**
+ * Interface for workbook readers. Workbook readers open an input workbook once, and create row readers for its worksheets. Closing a row reader only
+ * closes its worksheet, the workbook is closed when the workbook reader is closed. Workbook readers are created with
+ * {@link Utility#openWorkbook(java.nio.file.Path)}.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 16:21:52
+ */
+public interface WorkbookReader extends AutoCloseable {
+
+	/**
+	 * Creates and returns row reader for the given worksheet.
+	 *
+	 * @param sheetName
+	 *            Worksheet name.
+	 * @return Newly created row reader.
+	 * @throws Exception
+	 *             If exception occurs during opening worksheet or the worksheet cannot be found.
+	 */
+	RowReader createRowReader(String sheetName) throws Exception;
+
+	@Override
+	void close() throws IOException;
+}
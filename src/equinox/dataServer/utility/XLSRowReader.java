@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.utility;
+
+import jxl.Cell;
+import jxl.Sheet;
+
+/**
+ * Class for legacy XLS worksheet row reader. XLS row readers are created with {@link XLSWorkbookReader#createRowReader(String)}.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 15:10:26
+ */
+public class XLSRowReader implements RowReader {
+
+	/** Worksheet. */
+	private final Sheet sheet_;
+
+	/** Index of last returned row. */
+	private int rowIndex_ = -1;
+
+	/**
+	 * Creates XLS row reader.
+	 *
+	 * @param sheet
+	 *            Worksheet.
+	 */
+	XLSRowReader(Sheet sheet) {
+		sheet_ = sheet;
+	}
+
+	@Override
+	public String[] nextRow() {
+
+		// no more rows
+		if (rowIndex_ + 1 >= sheet_.getRows())
+			return null;
+
+		// get cell contents
+		Cell[] cells = sheet_.getRow(++rowIndex_);
+		String[] row = new String[cells.length];
+		for (int i = 0; i < cells.length; i++) {
+			row[i] = cells[i].getContents().trim();
+		}
+		return row;
+	}
+
+	@Override
+	public int getRowIndex() {
+		return rowIndex_;
+	}
+
+	@Override
+	public void close() {
+		// no implementation (the workbook is closed by the workbook reader)
+	}
+}
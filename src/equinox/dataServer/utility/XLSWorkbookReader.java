@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.utility;
+
+import java.nio.file.Path;
+
+import jxl.Sheet;
+import jxl.Workbook;
+
+/**
+ * Class for legacy XLS workbook reader. Note that the underlying library loads the whole workbook into memory. This reader is only kept for
+ * compatibility with existing XLS input files, XLSX or CSV input files should be preferred for large data.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 16:29:14
+ */
+public class XLSWorkbookReader implements WorkbookReader {
+
+	/** Workbook. */
+	private final Workbook workbook_;
+
+	/** Input file name. */
+	private final String fileName_;
+
+	/**
+	 * Creates XLS workbook reader.
+	 *
+	 * @param file
+	 *            Input XLS file.
+	 * @throws Exception
+	 *             If exception occurs during opening workbook.
+	 */
+	public XLSWorkbookReader(Path file) throws Exception {
+		workbook_ = Workbook.getWorkbook(file.toFile());
+		fileName_ = file.getFileName().toString();
+	}
+
+	@Override
+	public XLSRowReader createRowReader(String sheetName) throws Exception {
+		Sheet sheet = workbook_.getSheet(sheetName);
+		if (sheet == null)
+			throw new Exception("Cannot find worksheet '" + sheetName + "' in input XLS file '" + fileName_ + "'.");
+		return new XLSRowReader(sheet);
+	}
+
+	@Override
+	public void close() {
+		workbook_.close();
+	}
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.utility;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Class for XLSX worksheet row reader. The worksheet XML is streamed with a StAX parser, so that only the current row (and the shared string table of
+ * the workbook) is held in memory. XLSX row readers are created with {@link XLSXWorkbookReader#createRowReader(String)}.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 15:31:07
+ */
+public class XLSXRowReader implements RowReader {
+
+	/** Workbook reader. */
+	private final XLSXWorkbookReader workbook_;
+
+	/** Worksheet input stream. */
+	private final InputStream sheetStream_;
+
+	/** Worksheet XML reader. */
+	private final XMLStreamReader reader_;
+
+	/** Index of last returned row. */
+	private int rowIndex_ = -1;
+
+	/**
+	 * Creates XLSX row reader.
+	 *
+	 * @param workbook
+	 *            Workbook reader.
+	 * @param sheetStream
+	 *            Worksheet input stream. The stream is closed when this reader is closed.
+	 * @throws Exception
+	 *             If exception occurs during opening worksheet.
+	 */
+	XLSXRowReader(XLSXWorkbookReader workbook, InputStream sheetStream) throws Exception {
+		workbook_ = workbook;
+		sheetStream_ = sheetStream;
+		try {
+			reader_ = XLSXWorkbookReader.FACTORY.createXMLStreamReader(sheetStream_);
+		}
+
+		// exception occurred during process
+		catch (Exception e) {
+			sheetStream_.close();
+			throw e;
+		}
+	}
+
+	@Override
+	public String[] nextRow() throws XMLStreamException {
+
+		// loop over worksheet elements
+		while (reader_.hasNext()) {
+
+			// row element
+			if (reader_.next() == XMLStreamConstants.START_ELEMENT && "row".equals(reader_.getLocalName())) {
+				String ref = reader_.getAttributeValue(null, "r");
+				rowIndex_ = ref == null ? rowIndex_ + 1 : Integer.parseInt(ref) - 1;
+				return readRow();
+			}
+		}
+
+		// no more rows
+		return null;
+	}
+
+	@Override
+	public int getRowIndex() {
+		return rowIndex_;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			reader_.close();
+		}
+
+		// exception occurred during closing worksheet parser
+		catch (XMLStreamException e) {
+			throw new IOException("Exception occurred during closing XLSX worksheet parser.", e);
+		}
+		finally {
+			sheetStream_.close();
+		}
+	}
+
+	/**
+	 * Reads cells of the current row element.
+	 *
+	 * @return Trimmed cell contents.
+	 * @throws XMLStreamException
+	 *             If exception occurs during process.
+	 */
+	private String[] readRow() throws XMLStreamException {
+
+		// loop over row elements
+		ArrayList<String> row = new ArrayList<>();
+		while (reader_.hasNext()) {
+
+			// get next element
+			int event = reader_.next();
+
+			// end of row
+			if (event == XMLStreamConstants.END_ELEMENT && "row".equals(reader_.getLocalName())) {
+				break;
+			}
+
+			// cell
+			if (event == XMLStreamConstants.START_ELEMENT && "c".equals(reader_.getLocalName())) {
+
+				// get column index, type and style
+				String ref = reader_.getAttributeValue(null, "r");
+				String type = reader_.getAttributeValue(null, "t");
+				String style = reader_.getAttributeValue(null, "s");
+				int column = ref == null ? row.size() : getColumnIndex(ref);
+
+				// pad skipped (empty) cells
+				while (row.size() < column) {
+					row.add("");
+				}
+
+				// add cell value
+				String value = readCellValue(type, style);
+				if (column < row.size()) {
+					row.set(column, value);
+				}
+				else {
+					row.add(value);
+				}
+			}
+		}
+
+		// return row
+		return row.toArray(new String[row.size()]);
+	}
+
+	/**
+	 * Reads value of the current cell element.
+	 *
+	 * @param type
+	 *            Cell type attribute (can be null).
+	 * @param style
+	 *            Cell style attribute (can be null).
+	 * @return Trimmed cell value.
+	 * @throws XMLStreamException
+	 *             If exception occurs during process.
+	 */
+	private String readCellValue(String type, String style) throws XMLStreamException {
+
+		// loop over cell elements
+		StringBuilder value = new StringBuilder();
+		while (reader_.hasNext()) {
+
+			// get next element
+			int event = reader_.next();
+
+			// end of cell
+			if (event == XMLStreamConstants.END_ELEMENT && "c".equals(reader_.getLocalName())) {
+				break;
+			}
+
+			// value or inline string text
+			if (event == XMLStreamConstants.START_ELEMENT && ("v".equals(reader_.getLocalName()) || "t".equals(reader_.getLocalName()))) {
+				value.append(reader_.getElementText());
+			}
+		}
+
+		// shared string
+		if ("s".equals(type) && value.length() > 0)
+			return workbook_.getSharedString(Integer.parseInt(value.toString().trim())).trim();
+
+		// boolean
+		if ("b".equals(type))
+			return "1".equals(value.toString().trim()) ? "TRUE" : "FALSE";
+
+		// number
+		String text = value.toString().trim();
+		if ((type == null || "n".equals(type)) && !text.isEmpty())
+			return workbook_.formatNumber(text, style);
+
+		// other types
+		return text;
+	}
+
+	/**
+	 * Returns zero based column index of the given cell reference (such as 'AB12').
+	 *
+	 * @param ref
+	 *            Cell reference.
+	 * @return Zero based column index.
+	 */
+	private static int getColumnIndex(String ref) {
+		int column = 0;
+		for (int i = 0; i < ref.length(); i++) {
+			char c = ref.charAt(i);
+			if (c < 'A' || c > 'Z') {
+				break;
+			}
+			column = column * 26 + c - 'A' + 1;
+		}
+		return column - 1;
+	}
+}
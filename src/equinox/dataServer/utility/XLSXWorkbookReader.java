@@ -0,0 +1,422 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.utility;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Class for XLSX workbook reader. The workbook archive, its shared string table and cell number formats are read once, and shared by the worksheet
+ * row readers created by this reader.
+ * <p>
+ * Numeric cells are formatted with their number formats, as the legacy XLS reader (jxl) does, so that the same workbook gives the same cell contents
+ * in both file formats. Number formats are converted to {@link DecimalFormat} patterns, and cells with general number format are formatted with at
+ * most 3 decimals. Cells with date, time or fraction formats are returned as the shortest decimal text of their values.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 16:24:38
+ */
+public class XLSXWorkbookReader implements WorkbookReader {
+
+	/** Relationships namespace. */
+	private static final String RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+	/** Pattern of general number format (as used by jxl). */
+	private static final String GENERAL = "#.###";
+
+	/** Patterns of built-in number formats (indexed by number format ID). Null for general, date, time, fraction and text formats. */
+	private static final String[] BUILT_IN_FORMATS = new String[50];
+
+	static {
+		BUILT_IN_FORMATS[1] = "0";
+		BUILT_IN_FORMATS[2] = "0.00";
+		BUILT_IN_FORMATS[3] = "#,##0";
+		BUILT_IN_FORMATS[4] = "#,##0.00";
+		BUILT_IN_FORMATS[5] = BUILT_IN_FORMATS[6] = "$#,##0;($#,##0)";
+		BUILT_IN_FORMATS[7] = BUILT_IN_FORMATS[8] = "$#,##0.00;($#,##0.00)";
+		BUILT_IN_FORMATS[9] = "0%";
+		BUILT_IN_FORMATS[10] = "0.00%";
+		BUILT_IN_FORMATS[11] = "0.00E00";
+		BUILT_IN_FORMATS[37] = BUILT_IN_FORMATS[38] = "#,##0;(#,##0)";
+		BUILT_IN_FORMATS[39] = BUILT_IN_FORMATS[40] = "#,##0.00;(#,##0.00)";
+		BUILT_IN_FORMATS[48] = "##0.0E0";
+	}
+
+	/** IDs of built-in date and time formats. */
+	private static final int[] BUILT_IN_DATE_FORMATS = { 14, 15, 16, 17, 18, 19, 20, 21, 22, 45, 46, 47 };
+
+	/** Patterns for converting custom number formats. */
+	private static final Pattern QUOTED_TEXT = Pattern.compile("\"([^\"]*)\""), BRACKETS = Pattern.compile("\\[[^\\]]*\\]"), PADDING = Pattern.compile("[_*]."), DATE = Pattern.compile("[dDmMyYhHsS?/@]");
+
+	/** XML input factory. */
+	static final XMLInputFactory FACTORY = createFactory();
+
+	/** Workbook archive. */
+	private final ZipFile workbook_;
+
+	/** Input file name. */
+	private final String fileName_;
+
+	/** Shared strings of workbook. */
+	private final ArrayList<String> sharedStrings_;
+
+	/** Number formats of cell styles (indexed by cell style). Null for formats returning the shortest decimal text. */
+	private final ArrayList<DecimalFormat> cellFormats_;
+
+	/**
+	 * Creates XLSX workbook reader.
+	 *
+	 * @param file
+	 *            Input XLSX file.
+	 * @throws Exception
+	 *             If exception occurs during opening workbook.
+	 */
+	public XLSXWorkbookReader(Path file) throws Exception {
+
+		// open workbook
+		workbook_ = new ZipFile(file.toFile());
+		fileName_ = file.getFileName().toString();
+
+		try {
+
+			// read shared strings and cell formats
+			sharedStrings_ = readSharedStrings();
+			cellFormats_ = readCellFormats();
+		}
+
+		// exception occurred during process
+		catch (Exception e) {
+			workbook_.close();
+			throw e;
+		}
+	}
+
+	@Override
+	public XLSXRowReader createRowReader(String sheetName) throws Exception {
+
+		// get worksheet entry
+		ZipEntry sheetEntry = getSheetEntry(sheetName);
+		if (sheetEntry == null)
+			throw new Exception("Cannot find worksheet '" + sheetName + "' in input XLSX file '" + fileName_ + "'.");
+
+		// create row reader
+		return new XLSXRowReader(this, workbook_.getInputStream(sheetEntry));
+	}
+
+	@Override
+	public void close() throws IOException {
+		workbook_.close();
+	}
+
+	/**
+	 * Returns the shared string with the given index.
+	 *
+	 * @param index
+	 *            Shared string index.
+	 * @return The shared string.
+	 */
+	String getSharedString(int index) {
+		return sharedStrings_.get(index);
+	}
+
+	/**
+	 * Formats the given numeric cell value with the number format of the given cell style.
+	 *
+	 * @param value
+	 *            Numeric cell value.
+	 * @param style
+	 *            Cell style attribute (can be null).
+	 * @return Formatted value.
+	 */
+	String formatNumber(String value, String style) {
+
+		// get number format
+		int index = style == null ? 0 : Integer.parseInt(style);
+		DecimalFormat format = index < cellFormats_.size() ? cellFormats_.get(index) : cellFormats_.get(0);
+
+		// format value
+		BigDecimal number = new BigDecimal(value);
+		if (format == null)
+			return number.stripTrailingZeros().toPlainString();
+		return format.format(number.doubleValue());
+	}
+
+	/**
+	 * Returns the worksheet archive entry with the given name, or null if no such worksheet exists.
+	 *
+	 * @param sheetName
+	 *            Worksheet name.
+	 * @return The worksheet archive entry, or null if no such worksheet exists.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private ZipEntry getSheetEntry(String sheetName) throws Exception {
+
+		// get relationship ID of worksheet
+		String relationshipID = null;
+		try (InputStream inputStream = getEntryStream("xl/workbook.xml")) {
+			XMLStreamReader reader = FACTORY.createXMLStreamReader(inputStream);
+			try {
+				while (reader.hasNext() && relationshipID == null) {
+					if (reader.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(reader.getLocalName()) && sheetName.equals(reader.getAttributeValue(null, "name"))) {
+						relationshipID = reader.getAttributeValue(RELATIONSHIPS, "id");
+					}
+				}
+			}
+			finally {
+				reader.close();
+			}
+		}
+
+		// worksheet not found
+		if (relationshipID == null)
+			return null;
+
+		// get worksheet path
+		String target = null;
+		try (InputStream inputStream = getEntryStream("xl/_rels/workbook.xml.rels")) {
+			XMLStreamReader reader = FACTORY.createXMLStreamReader(inputStream);
+			try {
+				while (reader.hasNext() && target == null) {
+					if (reader.next() == XMLStreamConstants.START_ELEMENT && "Relationship".equals(reader.getLocalName()) && relationshipID.equals(reader.getAttributeValue(null, "Id"))) {
+						target = reader.getAttributeValue(null, "Target");
+					}
+				}
+			}
+			finally {
+				reader.close();
+			}
+		}
+
+		// worksheet path not found
+		if (target == null)
+			return null;
+
+		// return worksheet entry
+		return workbook_.getEntry(target.startsWith("/") ? target.substring(1) : "xl/" + target);
+	}
+
+	/**
+	 * Reads and returns the shared strings of the workbook.
+	 *
+	 * @return Shared strings of the workbook.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private ArrayList<String> readSharedStrings() throws Exception {
+
+		// no shared strings
+		ArrayList<String> sharedStrings = new ArrayList<>();
+		ZipEntry entry = workbook_.getEntry("xl/sharedStrings.xml");
+		if (entry == null)
+			return sharedStrings;
+
+		// read shared strings
+		try (InputStream inputStream = workbook_.getInputStream(entry)) {
+			XMLStreamReader reader = FACTORY.createXMLStreamReader(inputStream);
+			try {
+				StringBuilder text = new StringBuilder();
+				int phonetic = 0;
+				while (reader.hasNext()) {
+					int event = reader.next();
+					if (event == XMLStreamConstants.START_ELEMENT) {
+						String name = reader.getLocalName();
+						if ("si".equals(name)) {
+							text.setLength(0);
+						}
+						else if ("rPh".equals(name)) {
+							phonetic++;
+						}
+						else if ("t".equals(name) && phonetic == 0) {
+							text.append(reader.getElementText());
+						}
+					}
+					else if (event == XMLStreamConstants.END_ELEMENT) {
+						String name = reader.getLocalName();
+						if ("si".equals(name)) {
+							sharedStrings.add(text.toString());
+						}
+						else if ("rPh".equals(name)) {
+							phonetic--;
+						}
+					}
+				}
+			}
+			finally {
+				reader.close();
+			}
+		}
+
+		// return shared strings
+		return sharedStrings;
+	}
+
+	/**
+	 * Reads and returns the number formats of the cell styles of the workbook.
+	 *
+	 * @return Number formats of the cell styles (indexed by cell style). Null for formats returning the shortest decimal text.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private ArrayList<DecimalFormat> readCellFormats() throws Exception {
+
+		// no styles (all cells have general number format)
+		ArrayList<DecimalFormat> cellFormats = new ArrayList<>();
+		ZipEntry entry = workbook_.getEntry("xl/styles.xml");
+		if (entry == null) {
+			cellFormats.add(new DecimalFormat(GENERAL));
+			return cellFormats;
+		}
+
+		// read custom number formats and number format IDs of cell styles
+		ArrayList<String> formatCodes = new ArrayList<>();
+		ArrayList<Integer> formatIDs = new ArrayList<>();
+		ArrayList<Integer> cellFormatIDs = new ArrayList<>();
+		try (InputStream inputStream = workbook_.getInputStream(entry)) {
+			XMLStreamReader reader = FACTORY.createXMLStreamReader(inputStream);
+			try {
+				boolean isCellStyle = false;
+				while (reader.hasNext()) {
+					int event = reader.next();
+					if (event == XMLStreamConstants.START_ELEMENT) {
+						String name = reader.getLocalName();
+						if ("numFmt".equals(name)) {
+							formatIDs.add(Integer.parseInt(reader.getAttributeValue(null, "numFmtId")));
+							formatCodes.add(reader.getAttributeValue(null, "formatCode"));
+						}
+						else if ("cellXfs".equals(name)) {
+							isCellStyle = true;
+						}
+						else if ("xf".equals(name) && isCellStyle) {
+							String id = reader.getAttributeValue(null, "numFmtId");
+							cellFormatIDs.add(id == null ? 0 : Integer.parseInt(id));
+						}
+					}
+					else if (event == XMLStreamConstants.END_ELEMENT && "cellXfs".equals(reader.getLocalName())) {
+						isCellStyle = false;
+					}
+				}
+			}
+			finally {
+				reader.close();
+			}
+		}
+
+		// create number formats of cell styles
+		for (int id : cellFormatIDs) {
+			int custom = formatIDs.indexOf(id);
+			cellFormats.add(createFormat(id, custom == -1 ? null : formatCodes.get(custom)));
+		}
+		if (cellFormats.isEmpty()) {
+			cellFormats.add(new DecimalFormat(GENERAL));
+		}
+		return cellFormats;
+	}
+
+	/**
+	 * Creates number format for the given number format ID and code. Excel format codes are converted to {@link DecimalFormat} patterns the way jxl
+	 * converts them: only the positive and negative sections are kept, quoted text is kept as literal text, and colors, conditions, padding and escape
+	 * characters are removed.
+	 *
+	 * @param id
+	 *            Number format ID.
+	 * @param code
+	 *            Format code of custom number format, or null for built-in number formats.
+	 * @return The number format, or null if the shortest decimal text should be returned (date, time, fraction and invalid formats).
+	 */
+	private static DecimalFormat createFormat(int id, String code) {
+
+		// built-in number format
+		if (code == null) {
+			for (int dateFormat : BUILT_IN_DATE_FORMATS) {
+				if (id == dateFormat)
+					return null;
+			}
+			if (id == 12 || id == 13)
+				return null;
+			return new DecimalFormat(id < BUILT_IN_FORMATS.length && BUILT_IN_FORMATS[id] != null ? BUILT_IN_FORMATS[id] : GENERAL);
+		}
+
+		// general number format
+		if (code.equalsIgnoreCase("General") || code.equals("@"))
+			return new DecimalFormat(GENERAL);
+
+		// keep positive and negative sections
+		String[] sections = code.split(";", -1);
+		String pattern = sections.length > 1 ? sections[0] + ";" + sections[1] : sections[0];
+
+		// remove colors, conditions, padding and escapes
+		pattern = BRACKETS.matcher(pattern).replaceAll("");
+		pattern = PADDING.matcher(pattern).replaceAll("").replace("\\", "");
+
+		// date, time or fraction format
+		if (DATE.matcher(QUOTED_TEXT.matcher(pattern).replaceAll("")).find())
+			return null;
+
+		// convert quoted text and exponents
+		pattern = QUOTED_TEXT.matcher(pattern.replace("'", "''")).replaceAll("'$1'").replace("E+", "E").replace("e+", "E");
+
+		// create format
+		try {
+			return new DecimalFormat(pattern.isEmpty() ? GENERAL : pattern);
+		}
+
+		// invalid pattern
+		catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns input stream of the given workbook archive entry.
+	 *
+	 * @param name
+	 *            Entry name.
+	 * @return Input stream of the entry.
+	 * @throws Exception
+	 *             If the entry cannot be found or exception occurs during process.
+	 */
+	private InputStream getEntryStream(String name) throws Exception {
+		ZipEntry entry = workbook_.getEntry(name);
+		if (entry == null)
+			throw new Exception("Invalid XLSX file. Cannot find workbook entry '" + name + "'.");
+		return workbook_.getInputStream(entry);
+	}
+
+	/**
+	 * Creates XML input factory with external entity resolution disabled.
+	 *
+	 * @return XML input factory.
+	 */
+	private static XMLInputFactory createFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		return factory;
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import equinox.dataServer.remote.data.FatigueMaterial;
+import equinox.dataServer.remote.message.GetFatigueMaterialsResponse;
+import equinox.serverUtilities.PartialMessage;
+import equinox.serverUtilities.SplitMessage;
+
+/**
+ * Tests of pre-encoded responses. Partial messages of encoded responses must be combined by the clients (with {@link SplitMessage#combineMessages})
+ * into the original response, carrying the patched listener hash code.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 12:46:10
+ */
+public class EncodedResponseTest {
+
+	/**
+	 * Encoded response is split with a patched listener hash code and combined back into an equal response.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void roundTripWithPatchedListenerHashCode() throws Exception {
+
+		// encode response
+		GetFatigueMaterialsResponse response = createResponse(500);
+		response.setListenerHashCode(123);
+		EncodedResponse encoded = EncodedResponse.encode(response);
+		assertTrue(encoded.isSplit());
+		assertEquals(123, response.getListenerHashCode());
+
+		// split with patched listener hash codes and combine
+		for (int listenerHashCode : new int[] { 0, 42, -559038737, Integer.MIN_VALUE, Integer.MAX_VALUE }) {
+			PartialMessage[] parts = encoded.split(listenerHashCode);
+			assertTrue(parts.length > 1);
+			GetFatigueMaterialsResponse combined = (GetFatigueMaterialsResponse) SplitMessage.combineMessages(parts);
+			assertEquals(listenerHashCode, combined.getListenerHashCode());
+			assertEquals(response.getMaterials(), combined.getMaterials());
+			for (int i = 0; i < response.getMaterials().size(); i++) {
+				assertEquals(response.getMaterials().get(i).getName(), combined.getMaterials().get(i).getName());
+				assertEquals(response.getMaterials().get(i).getP(), combined.getMaterials().get(i).getP());
+			}
+		}
+	}
+
+	/**
+	 * Encoded response is split into the same bytes as the response split by {@link SplitMessage#splitMessage}.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void splitMatchesSplitMessage() throws Exception {
+		GetFatigueMaterialsResponse response = createResponse(500);
+		EncodedResponse encoded = EncodedResponse.encode(response);
+		response.setListenerHashCode(987654321);
+		assertArrayEquals(concatenate(SplitMessage.splitMessage(response)), concatenate(encoded.split(987654321)));
+	}
+
+	/**
+	 * Small responses are not split, and only keep the response object. Big responses only keep the serialized form.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void smallResponseIsNotSplit() throws Exception {
+		GetFatigueMaterialsResponse response = createResponse(1);
+		response.setListenerHashCode(7);
+		EncodedResponse encoded = EncodedResponse.encode(response);
+		assertFalse(encoded.isSplit());
+		assertSame(response, encoded.getResponse());
+		assertEquals(7, response.getListenerHashCode());
+		assertNull(EncodedResponse.encode(createResponse(500)).getResponse());
+	}
+
+	/**
+	 * Creates fatigue materials response with the given number of materials.
+	 *
+	 * @param numMaterials
+	 *            Number of materials.
+	 * @return The response.
+	 */
+	private static GetFatigueMaterialsResponse createResponse(int numMaterials) {
+		GetFatigueMaterialsResponse response = new GetFatigueMaterialsResponse();
+		for (int i = 0; i < numMaterials; i++) {
+			FatigueMaterial material = new FatigueMaterial(i);
+			material.setName("Material " + i);
+			material.setSpecification("Specification " + i);
+			material.setLibraryVersion("Library " + i % 3);
+			material.setIsamiVersion("v9.2.0");
+			material.setFamily("Family " + i % 7);
+			material.setOrientation("L-T");
+			material.setConfiguration("Configuration " + i % 5);
+			material.setP(i * 0.5);
+			material.setQ(i * 0.25);
+			material.setM(i * 0.125);
+			response.addMaterial(material);
+		}
+		return response;
+	}
+
+	/**
+	 * Concatenates the data of the given partial messages.
+	 *
+	 * @param parts
+	 *            Partial messages.
+	 * @return Concatenated data.
+	 */
+	private static byte[] concatenate(PartialMessage[] parts) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		for (PartialMessage part : parts) {
+			bytes.writeBytes(part.getData());
+		}
+		return bytes.toByteArray();
+	}
+}
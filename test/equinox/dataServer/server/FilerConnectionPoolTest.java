@@ -0,0 +1,236 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+import org.apache.sshd.common.file.virtualfs.VirtualFileSystemFactory;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.apache.sshd.sftp.server.SftpSubsystemFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.jcraft.jsch.Channel;
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.Session;
+import com.jcraft.jsch.SftpException;
+
+import equinox.serverUtilities.FilerConnection;
+
+/**
+ * Tests of filer connection pool against an embedded SFTP server.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 12:08:36
+ */
+public class FilerConnectionPoolTest {
+
+	/** Size of the test file in bytes. */
+	private static final int FILE_SIZE = 4 * 1024 * 1024;
+
+	/** Server root directory. */
+	@TempDir
+	Path root_;
+
+	/** Embedded SFTP server. */
+	private SshServer server_;
+
+	/** Content of the test file. */
+	private byte[] content_;
+
+	/** Pool under test. */
+	private FilerConnectionPool pool_;
+
+	/**
+	 * Starts embedded SFTP server and writes the test file.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@BeforeEach
+	public void setUp() throws Exception {
+
+		// write test file
+		content_ = new byte[FILE_SIZE];
+		new Random(42L).nextBytes(content_);
+		Files.write(root_.resolve("data.bin"), content_);
+
+		// start server
+		server_ = SshServer.setUpDefaultServer();
+		server_.setHost("localhost");
+		server_.setPort(0);
+		SimpleGeneratorHostKeyProvider hostKeyProvider = new SimpleGeneratorHostKeyProvider(root_.resolveSibling(root_.getFileName() + ".hostkey"));
+		hostKeyProvider.setAlgorithm("RSA");
+		server_.setKeyPairProvider(hostKeyProvider);
+		server_.setPasswordAuthenticator((username, password, session) -> "equinox".equals(username) && "secret".equals(password));
+		server_.setSubsystemFactories(Collections.singletonList(new SftpSubsystemFactory()));
+		server_.setFileSystemFactory(new VirtualFileSystemFactory(root_));
+		server_.start();
+	}
+
+	/**
+	 * Shuts down the pool and stops the server.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@AfterEach
+	public void tearDown() throws Exception {
+		if (pool_ != null) {
+			pool_.shutdown();
+		}
+		server_.stop(true);
+	}
+
+	/**
+	 * Borrowing from an exhausted pool times out, and the returned connection is reused afterwards.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void borrowTimesOutWhenPoolIsExhausted() throws Exception {
+		pool_ = createPool(1, 60000L);
+		FilerConnection first = pool_.borrow();
+		long start = System.nanoTime();
+		assertThrows(TimeoutException.class, pool_::borrow);
+		assertFalse(System.nanoTime() - start < 200L * 1000000L, "borrow returned before the borrow timeout");
+		assertEquals(1L, pool_.getTimeoutCount());
+		first.close();
+		try (FilerConnection second = pool_.borrow()) {
+			assertSame(first.getSession(), second.getSession());
+		}
+		assertEquals(1L, pool_.getCreatedCount());
+	}
+
+	/**
+	 * Idle connections are evicted and disconnected once they exceed the idle timeout.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void evictsIdleConnections() throws Exception {
+		pool_ = createPool(2, 100L);
+		FilerConnection connection = pool_.borrow();
+		connection.close();
+		assertEquals(1, pool_.getIdleCount());
+		Thread.sleep(200L);
+		pool_.evictIdleConnections();
+		assertEquals(0, pool_.getIdleCount());
+		assertEquals(1L, pool_.getDiscardedCount());
+		assertFalse(connection.getSession().isConnected());
+	}
+
+	/**
+	 * A connection returned after a failed transfer is not handed out again in a broken state. The transfer is aborted by interrupting the task
+	 * thread (as task cancellation does), which leaves the SFTP channel connected but unusable.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void discardsConnectionAfterFailedTransfer() throws Exception {
+		pool_ = createPool(1, 60000L);
+
+		// abort transfer after first 100 KB
+		Thread thread = Thread.currentThread();
+		try (FilerConnection connection = pool_.borrow()) {
+			OutputStream output = new OutputStream() {
+
+				/** Number of received bytes. */
+				private int received_ = 0;
+
+				@Override
+				public void write(int b) {
+					write(new byte[] { (byte) b }, 0, 1);
+				}
+
+				@Override
+				public void write(byte[] b, int off, int len) {
+					received_ += len;
+					if (received_ > 100 * 1024) {
+						thread.interrupt();
+					}
+				}
+			};
+			assertThrows(SftpException.class, () -> connection.getSftpChannel().get("data.bin", output));
+		}
+		finally {
+			Thread.interrupted();
+		}
+
+		// broken connection is discarded on return
+		assertEquals(0, pool_.getIdleCount());
+		assertEquals(1L, pool_.getDiscardedCount());
+
+		// next borrower gets a working connection
+		try (FilerConnection connection = pool_.borrow()) {
+			ByteArrayOutputStream output = new ByteArrayOutputStream(FILE_SIZE);
+			connection.getSftpChannel().get("data.bin", output);
+			assertArrayEquals(content_, output.toByteArray());
+		}
+		assertEquals(2L, pool_.getCreatedCount());
+	}
+
+	/**
+	 * Creates pool connecting to the embedded server.
+	 *
+	 * @param maxPoolSize
+	 *            Maximum pool size.
+	 * @param idleTimeout
+	 *            Idle timeout in milliseconds.
+	 * @return The pool.
+	 */
+	private FilerConnectionPool createPool(int maxPoolSize, long idleTimeout) {
+		Properties properties = new Properties();
+		properties.setProperty("filer.maxPoolSize", Integer.toString(maxPoolSize));
+		properties.setProperty("filer.borrowTimeout", "200");
+		properties.setProperty("filer.idleTimeout", Long.toString(idleTimeout));
+		properties.setProperty("filer.maxLifeTime", "600000");
+		properties.setProperty("filer.validationInterval", "5000");
+		Logger logger = Logger.getLogger(FilerConnectionPoolTest.class.getName());
+		return new FilerConnectionPool(properties, logger, () -> {
+			JSch jsch = new JSch();
+			Session session = jsch.getSession("equinox", "localhost", server_.getPort());
+			session.setConfig("StrictHostKeyChecking", "no");
+			session.setPassword("secret");
+			session.connect();
+			Channel channel = session.openChannel("sftp");
+			channel.connect();
+			return new FilerConnection(session, channel, (ChannelSftp) channel, logger, "/");
+		});
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of latency histogram.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 15:18:44
+ */
+public class LatencyHistogramTest {
+
+	/** Relative resolution of buckets. */
+	private static final double RESOLUTION = Math.pow(2.0, 1.0 / LatencyHistogram.SUB_BUCKETS);
+
+	/**
+	 * Percentiles of uniformly distributed latencies are the upper bounds of the buckets containing them, within bucket resolution.
+	 */
+	@Test
+	public void percentilesAreWithinBucketResolution() {
+
+		// record 1 to 1000 microseconds
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L);
+		}
+
+		// check percentiles (in milliseconds)
+		LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+		assertEquals(1000L, snapshot.getCount());
+		assertEquals(500500L * 1000L / 1e9, snapshot.getSum(), 1e-12);
+		for (double percentile : new double[] { 1.0, 50.0, 95.0, 99.0, 100.0 }) {
+			double exact = percentile * 10.0 / 1000.0;
+			double value = snapshot.getPercentile(percentile);
+			assertTrue(value >= exact && value <= exact * RESOLUTION, "p" + percentile + " = " + value + " ms, exact " + exact + " ms");
+		}
+	}
+
+	/**
+	 * Latencies below 1 microsecond fall into the first bucket, and latencies beyond the histogram range into the overflow bucket, whose percentile is
+	 * the upper bound of the last finite bucket.
+	 */
+	@Test
+	public void boundaryLatencies() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(0L);
+		histogram.record(500L);
+		LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+		assertEquals(2L, snapshot.getBucketCount(0));
+		assertEquals(RESOLUTION / 1000.0, snapshot.getPercentile(100.0), 1e-12);
+
+		// ten hours
+		histogram.record(10L * 60L * 60L * 1000000000L);
+		snapshot = histogram.snapshot();
+		int last = snapshot.getBucketCount() - 1;
+		assertEquals(1L, snapshot.getBucketCount(last));
+		assertEquals(Double.POSITIVE_INFINITY, snapshot.getUpperBound(last));
+		assertEquals(snapshot.getUpperBound(last - 1) * 1000.0, snapshot.getPercentile(100.0), 1e-6);
+	}
+
+	/**
+	 * Bucket upper bounds increase by bucket resolution, and every latency is counted in the bucket whose bounds contain it.
+	 */
+	@Test
+	public void latenciesAreCountedInContainingBucket() {
+		LatencyHistogram.Snapshot empty = new LatencyHistogram().snapshot();
+		for (int i = 1; i < empty.getBucketCount() - 1; i++) {
+			assertEquals(RESOLUTION, empty.getUpperBound(i) / empty.getUpperBound(i - 1), 1e-9);
+		}
+		for (long nanos = 1001L; nanos < 1000000000000L; nanos = nanos * 3L + 7L) {
+			LatencyHistogram histogram = new LatencyHistogram();
+			histogram.record(nanos);
+			LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+			int bucket = 0;
+			while (snapshot.getBucketCount(bucket) == 0L) {
+				bucket++;
+			}
+			double seconds = nanos / 1e9;
+			double lowerBound = bucket == 0 ? 0.0 : snapshot.getUpperBound(bucket - 1);
+			assertTrue(seconds <= snapshot.getUpperBound(bucket) && seconds > lowerBound, nanos + " ns in bucket " + bucket);
+		}
+	}
+
+	/**
+	 * Statistics of a period are computed from the difference of snapshots.
+	 */
+	@Test
+	public void differenceOfSnapshots() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 0; i < 100; i++) {
+			histogram.record(1000000000L);
+		}
+		LatencyHistogram.Snapshot earlier = histogram.snapshot();
+		for (int i = 0; i < 10; i++) {
+			histogram.record(1000000L);
+		}
+		LatencyHistogram.Snapshot period = histogram.snapshot().minus(earlier);
+		assertEquals(10L, period.getCount());
+		assertEquals(0.01, period.getSum(), 1e-12);
+		double p99 = period.getPercentile(99.0);
+		assertTrue(p99 >= 1.0 && p99 <= RESOLUTION, "p99 = " + p99 + " ms");
+		assertEquals(earlier, earlier.minus(null));
+		assertEquals(0.0, new LatencyHistogram().snapshot().getPercentile(99.0));
+	}
+}
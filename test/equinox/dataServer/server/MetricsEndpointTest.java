@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of metrics endpoint text exposition format.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 15:44:26
+ */
+public class MetricsEndpointTest {
+
+	/** Pattern of histogram bucket samples. */
+	private static final Pattern BUCKET = Pattern.compile("x_bucket\\{request=\"Foo\",le=\"([^\"]+)\"\\} (\\d+)");
+
+	/**
+	 * Histogram buckets are written at every power of two with cumulative counts, followed by the <code>+Inf</code> bucket, sum and count.
+	 */
+	@Test
+	public void histogramExposition() {
+
+		// record 1.5 ms three times and 3 s once
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(1500000L);
+		histogram.record(1500000L);
+		histogram.record(1500000L);
+		histogram.record(3000000000L);
+
+		// write histogram
+		StringBuilder out = new StringBuilder();
+		MetricsEndpoint.histogram(out, "x", MetricsEndpoint.labels("request", "Foo"), histogram.snapshot());
+		String[] lines = out.toString().split("\n");
+
+		// parse buckets
+		ArrayList<Double> bounds = new ArrayList<>();
+		ArrayList<Long> counts = new ArrayList<>();
+		for (int i = 0; i < lines.length - 2; i++) {
+			Matcher matcher = BUCKET.matcher(lines[i]);
+			assertTrue(matcher.matches(), lines[i]);
+			bounds.add(matcher.group(1).equals("+Inf") ? Double.POSITIVE_INFINITY : Double.parseDouble(matcher.group(1)));
+			counts.add(Long.parseLong(matcher.group(2)));
+		}
+
+		// bucket per power of two (from 2 microseconds) and +Inf
+		assertEquals(33, bounds.size());
+		for (int i = 0; i < 32; i++) {
+			assertEquals(Math.pow(2.0, i + 1) / 1e6, bounds.get(i), 1e-15 * Math.pow(2.0, i + 1));
+		}
+		assertEquals(Double.POSITIVE_INFINITY, bounds.get(32));
+
+		// cumulative counts
+		for (int i = 0; i < bounds.size(); i++) {
+			long expected = (bounds.get(i) >= 0.0015 ? 3L : 0L) + (bounds.get(i) >= 3.0 ? 1L : 0L);
+			assertEquals(expected, counts.get(i), "bucket le=" + bounds.get(i));
+		}
+
+		// sum and count
+		assertEquals("x_sum{request=\"Foo\"} 3.0045", lines[lines.length - 2]);
+		assertEquals("x_count{request=\"Foo\"} 4", lines[lines.length - 1]);
+	}
+
+	/**
+	 * Empty histograms without labels have zero buckets, sum and count.
+	 */
+	@Test
+	public void emptyHistogramWithoutLabels() {
+		StringBuilder out = new StringBuilder();
+		MetricsEndpoint.histogram(out, "x", null, new LatencyHistogram().snapshot());
+		String[] lines = out.toString().split("\n");
+		assertEquals(35, lines.length);
+		assertEquals("x_bucket{le=\"2.0E-6\"} 0", lines[0]);
+		assertEquals("x_bucket{le=\"+Inf\"} 0", lines[32]);
+		assertEquals("x_sum 0", lines[33]);
+		assertEquals("x_count 0", lines[34]);
+	}
+
+	/**
+	 * Sample values are written as integers when integral, and label values are escaped.
+	 */
+	@Test
+	public void samplesAndLabels() {
+		StringBuilder out = new StringBuilder();
+		MetricsEndpoint.sample(out, "a", null, 42.0);
+		MetricsEndpoint.sample(out, "b", "", 0.25);
+		MetricsEndpoint.sample(out, "c", MetricsEndpoint.labels("gc", "G1 \"Young\"\\\nGen", "area", "heap"), Double.POSITIVE_INFINITY);
+		assertEquals("a 42\nb 0.25\nc{gc=\"G1 \\\"Young\\\"\\\\\\nGen\",area=\"heap\"} +Inf\n", out.toString());
+	}
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Tests of plot rollup. The rollup is built from an in-memory table, served by a data source returning the aggregated rows of the table for any query.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 14:48:22
+ */
+public class PlotRollupTest {
+
+	/** Aggregated rows of the table (aircraft program, section, fatigue mission, count and sum). */
+	private final ArrayList<Object[]> table_ = new ArrayList<>();
+
+	/** Rollup build thread pool. */
+	private ExecutorService buildExecutor_;
+
+	/** Rollup under test. */
+	private PlotRollup rollup_;
+
+	/**
+	 * Creates the rollup.
+	 */
+	@BeforeEach
+	public void setUp() {
+		buildExecutor_ = Executors.newSingleThreadExecutor();
+		rollup_ = new PlotRollup("spectra", "data_size", new TableDataSource(), buildExecutor_, Logger.getLogger(PlotRollupTest.class.getName()), true);
+	}
+
+	/**
+	 * Shuts down the build thread pool.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@AfterEach
+	public void tearDown() throws Exception {
+		buildExecutor_.shutdown();
+		buildExecutor_.awaitTermination(10L, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * A change committed before the build reads the table, and applied after the build, is counted once. The build is discarded while the change set
+	 * is pending, and repeated when it is applied.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void changeCommittedDuringBuildIsCountedOnce() throws Exception {
+		table_.add(new Object[] { "A350", "Wing", "M1", 10L, 100L });
+
+		// record and commit change before the build
+		PlotRollup.Changes changes = rollup_.createChanges();
+		changes.add("A350", "Wing", "M1", 5L, 50L);
+		table_.set(0, new Object[] { "A350", "Wing", "M1", 15L, 150L });
+
+		// build is discarded while the change set is pending
+		build();
+		assertFalse(rollup_.isAvailable());
+
+		// applying the change set repeats the build
+		rollup_.apply(changes);
+		drain();
+		assertTrue(rollup_.isAvailable());
+		PlotRollup.Totals[] programs = rollup_.getChildren(false);
+		assertEquals(1, programs.length);
+		assertEquals(15L, programs[0].getCount());
+		assertEquals(150L, programs[0].getSum());
+	}
+
+	/**
+	 * A discarded change set (rolled back transaction) releases the build.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void discardedChangesReleaseBuild() throws Exception {
+		table_.add(new Object[] { "A350", "Wing", "M1", 10L, 100L });
+		PlotRollup.Changes changes = rollup_.createChanges();
+		build();
+		assertFalse(rollup_.isAvailable());
+		rollup_.discard(changes);
+		drain();
+		assertTrue(rollup_.isAvailable());
+		assertEquals(10L, rollup_.getChildren(false)[0].getCount());
+
+		// discarded change set is not applied
+		changes.add("A350", "Wing", "M1", 5L, 50L);
+		rollup_.apply(changes);
+		assertEquals(10L, rollup_.getChildren(false)[0].getCount());
+	}
+
+	/**
+	 * Item names differing only in case are rolled up together, as grouped by the case-insensitive collation of the database.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void itemNamesAreCaseInsensitive() throws Exception {
+		table_.add(new Object[] { "A350", "Wing", "M1", 10L, 100L });
+		build();
+		assertTrue(rollup_.isAvailable());
+
+		// apply changes with different spelling
+		rollup_.apply(rollup_.createChanges().add("a350", "WING", "m1", 2L, 20L).add("a350", "Fuselage", "M2", 3L, 30L));
+
+		// programs
+		PlotRollup.Totals[] programs = rollup_.getChildren(false);
+		assertEquals(1, programs.length);
+		assertEquals("A350", programs[0].getName());
+		assertEquals(15L, programs[0].getCount());
+
+		// sections (looked up with any spelling)
+		PlotRollup.Totals[] sections = rollup_.getChildren(false, "a350");
+		assertEquals(2, sections.length);
+		assertEquals("Wing", sections[0].getName());
+		assertEquals(12L, sections[0].getCount());
+
+		// missions
+		PlotRollup.Totals[] missions = rollup_.getChildren(true, "A350", "wing");
+		assertEquals(1, missions.length);
+		assertEquals(120L, missions[0].getSum());
+
+		// removing all rows of an item removes it regardless of spelling
+		rollup_.apply(rollup_.createChanges().add("A350", "FUSELAGE", "m2", -3L, -30L));
+		assertEquals(1, rollup_.getChildren(false, "A350").length);
+	}
+
+	/**
+	 * Schedules build and waits until it is done.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void build() throws Exception {
+		rollup_.scheduleBuild();
+		drain();
+	}
+
+	/**
+	 * Waits until the scheduled builds are done.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void drain() throws Exception {
+		buildExecutor_.submit(() -> {
+			// no implementation
+		}).get(10L, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Inner class for data source returning the aggregated rows of the in-memory table for any query.
+	 *
+	 * @author Murat Artim
+	 * @date 19 Oct 2026
+	 * @time 14:52:09
+	 */
+	private class TableDataSource extends HikariDataSource {
+
+		@Override
+		public Connection getConnection() {
+			return proxy(Connection.class, (method, args) -> method.equals("prepareStatement") ? proxy(PreparedStatement.class, (method2, args2) -> method2.equals("executeQuery") ? createResultSet() : null) : null);
+		}
+
+		/**
+		 * Creates result set over a copy of the table rows.
+		 *
+		 * @return The result set.
+		 */
+		private ResultSet createResultSet() {
+			Iterator<Object[]> rows = new ArrayList<>(table_).iterator();
+			Object[][] row = new Object[1][];
+			return proxy(ResultSet.class, (method, args) -> {
+				if (method.equals("next")) {
+					row[0] = rows.hasNext() ? rows.next() : null;
+					return row[0] != null;
+				}
+				if (method.equals("getString") || method.equals("getLong"))
+					return row[0][(int) args[0] - 1];
+				return null;
+			});
+		}
+	}
+
+	/**
+	 * Interface for handler of proxy method calls.
+	 *
+	 * @author Murat Artim
+	 * @date 19 Oct 2026
+	 * @time 14:53:40
+	 */
+	private interface Handler {
+
+		/**
+		 * Handles method call.
+		 *
+		 * @param method
+		 *            Method name.
+		 * @param args
+		 *            Method arguments.
+		 * @return Return value.
+		 */
+		Object invoke(String method, Object[] args);
+	}
+
+	/**
+	 * Creates proxy of the given interface.
+	 *
+	 * @param type
+	 *            Interface.
+	 * @param handler
+	 *            Method call handler.
+	 * @return The proxy.
+	 */
+	private static <T> T proxy(Class<T> type, Handler handler) {
+		return type.cast(Proxy.newProxyInstance(PlotRollupTest.class.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> handler.invoke(method.getName(), args)));
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import equinox.dataServer.remote.message.GetSearchHitsRequest;
+
+/**
+ * Tests of search hit statistics.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 15:06:31
+ */
+public class SearchHitsTest {
+
+	/**
+	 * Search hits without aircraft program are skipped.
+	 */
+	@Test
+	public void skipsNullPrograms() {
+		SearchHits hits = new SearchHits();
+		hits.increment(new HashSet<>(Arrays.asList("A350", null)));
+		hits.increment(Arrays.asList(null, "A350", "A380"));
+		Map<String, Integer> top = hits.getTop(GetSearchHitsRequest.LAST_HOUR, 10);
+		assertEquals(2, top.size());
+		assertEquals(2, top.get("A350"));
+		assertEquals(1, top.get("A380"));
+	}
+
+	/**
+	 * Top lists are ordered by search hits and limited to the requested size.
+	 */
+	@Test
+	public void topListIsOrderedAndLimited() {
+		SearchHits hits = new SearchHits();
+		for (int i = 1; i <= 30; i++) {
+			for (int j = 0; j < i; j++) {
+				hits.increment(Arrays.asList("P" + i));
+			}
+		}
+		Map<String, Integer> top = hits.getTop(GetSearchHitsRequest.ALL_TIME, 3);
+		assertEquals(Arrays.asList("P30", "P29", "P28"), Arrays.asList(top.keySet().toArray()));
+		assertEquals(30, top.get("P30"));
+		assertEquals(25, hits.getTop(GetSearchHitsRequest.LAST_WEEK, 25).size());
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of slow query log statement shapes.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 16:02:18
+ */
+public class SlowQueryLogTest {
+
+	/**
+	 * String and number literals are replaced by placeholders.
+	 */
+	@Test
+	public void literalsAreReplaced() {
+		assertEquals("select * from spectra where name = ? and id = ?", SlowQueryLog.getShape("select * from spectra where name = 'SPECTRUM-1' and id = 42"));
+		assertEquals("select * from t where a = ? and b = ?", SlowQueryLog.getShape("select * from t where a = 'it''s' and b = 'a\\'b'"));
+		assertEquals("select * from t where a = ? and b > ?", SlowQueryLog.getShape("select * from t where a = '1, 2 or 3' and b > 2.5"));
+	}
+
+	/**
+	 * Identifiers containing digits are kept.
+	 */
+	@Test
+	public void identifiersAreKept() {
+		assertEquals("select col1, t2.x3 from t2 where col1 = ?", SlowQueryLog.getShape("select col1, t2.x3 from t2 where col1 = 7"));
+	}
+
+	/**
+	 * Value lists of any length (placeholders or literals) collapse to a single placeholder, and whitespace is collapsed.
+	 */
+	@Test
+	public void valueListsAndWhitespaceAreCollapsed() {
+		String shape = "select * from spectra where (id in (?)) order by name asc, id asc limit ?";
+		assertEquals(shape, SlowQueryLog.getShape("select * from spectra where (id in (?, ?, ?, ?, ?, ?, ?, ?)) order by name asc, id asc limit ?"));
+		assertEquals(shape, SlowQueryLog.getShape("select * from spectra where (id in (?,?)) order by name asc, id asc limit ?"));
+		assertEquals(shape, SlowQueryLog.getShape("  select *\n\tfrom spectra   where (id in (1, 2, 3.5, 'x'))\norder by name asc, id asc limit 101 "));
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import equinox.dataServer.remote.data.PeriodicDataServerStatistic;
+
+/**
+ * Tests of statistic time series.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 15:31:07
+ */
+public class StatisticTimeSeriesTest {
+
+	/** One hour in milliseconds. */
+	private static final long HOUR = 60L * 60L * 1000L;
+
+	/**
+	 * Capacity covers the expiry time with one extra sample.
+	 */
+	@Test
+	public void capacityCoversExpiry() {
+		assertEquals(25, new StatisticTimeSeries(1, 60L * 60L).getCapacity());
+		assertEquals(3, new StatisticTimeSeries(1, 12L * 60L * 60L).getCapacity());
+		assertEquals(2, new StatisticTimeSeries(1, 7L * 24L * 60L * 60L).getCapacity());
+	}
+
+	/**
+	 * Appending to a full time series overwrites the oldest samples, and snapshots return the remaining samples in recording order.
+	 */
+	@Test
+	public void oldestSamplesAreOverwritten() {
+		StatisticTimeSeries series = new StatisticTimeSeries(1, 12L * 60L * 60L);
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < 7; i++) {
+			series.add(createSample(now - (6 - i) * 60000L, i));
+		}
+		PeriodicDataServerStatistic[] samples = series.snapshot();
+		assertEquals(3, samples.length);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(4 + i, samples[i].getQueries());
+			assertEquals(now - (2 - i) * 60000L, samples[i].getRecorded().getTime());
+			assertEquals("Request" + (4 + i), samples[i].getSlowestRequest());
+			assertEquals((4 + i) * 0.5, samples[i].getLatency95());
+		}
+	}
+
+	/**
+	 * Samples older than the expiry time are skipped by snapshots.
+	 */
+	@Test
+	public void expiredSamplesAreSkipped() {
+		StatisticTimeSeries series = new StatisticTimeSeries(1, 60L * 60L);
+		long now = System.currentTimeMillis();
+		series.add(createSample(now - 30L * HOUR, 0));
+		series.add(createSample(now - 25L * HOUR, 1));
+		series.add(createSample(now - 23L * HOUR, 2));
+		series.add(createSample(now - HOUR, 3));
+		PeriodicDataServerStatistic[] samples = series.snapshot();
+		assertEquals(2, samples.length);
+		assertEquals(2, samples[0].getQueries());
+		assertEquals(3, samples[1].getQueries());
+	}
+
+	/**
+	 * Snapshots of a date range exclude the range boundaries.
+	 */
+	@Test
+	public void snapshotOfDateRange() {
+		StatisticTimeSeries series = new StatisticTimeSeries(1, 60L * 60L);
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < 5; i++) {
+			series.add(createSample(now - (5 - i) * HOUR, i));
+		}
+		PeriodicDataServerStatistic[] samples = series.snapshot(new Date(now - 4L * HOUR), new Date(now - HOUR));
+		assertEquals(2, samples.length);
+		assertEquals(2, samples[0].getQueries());
+		assertEquals(3, samples[1].getQueries());
+		assertEquals(0, new StatisticTimeSeries(1, 60L * 60L).snapshot().length);
+	}
+
+	/**
+	 * Creates sample.
+	 *
+	 * @param recorded
+	 *            Recording time.
+	 * @param index
+	 *            Sample index (stored as query count, and in slowest request and latencies).
+	 * @return The sample.
+	 */
+	private static PeriodicDataServerStatistic createSample(long recorded, int index) {
+		PeriodicDataServerStatistic stat = new PeriodicDataServerStatistic(new Date(recorded));
+		stat.setQueries(index);
+		stat.setClients(index % 3);
+		stat.setLatencies(index * 0.25, index * 0.5, index * 0.75);
+		stat.setSlowestRequest("Request" + index, index * 1.5);
+		return stat;
+	}
+}
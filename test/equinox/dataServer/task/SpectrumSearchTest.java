@@ -0,0 +1,263 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import equinox.dataServer.remote.data.BasicSearchInput;
+import equinox.dataServer.remote.data.SearchInput;
+import equinox.dataServer.remote.data.SearchItem;
+import equinox.dataServer.remote.data.SpectrumInfo.SpectrumInfoType;
+import equinox.dataServer.remote.data.SpectrumSearchInput;
+import equinox.dataServer.server.SearchIndex;
+import equinox.dataServer.utility.EmbeddedDatabase;
+import equinox.dataServer.utility.QueryBuilder;
+
+/**
+ * Tests of spectrum searches. Each search is run both with database query and with search index, on the same rows of an embedded database table with
+ * case-insensitive collation, and both must return the same spectra.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 17:12:45
+ */
+public class SpectrumSearchTest {
+
+	/** Searched columns. */
+	private static final SpectrumInfoType[] COLUMNS = { SpectrumInfoType.NAME, SpectrumInfoType.AC_PROGRAM, SpectrumInfoType.AC_SECTION, SpectrumInfoType.FAT_MISSION, SpectrumInfoType.FAT_MISSION_ISSUE, SpectrumInfoType.FLP_ISSUE, SpectrumInfoType.IFLP_ISSUE, SpectrumInfoType.CDF_ISSUE, SpectrumInfoType.DELIVERY_REF, SpectrumInfoType.DESCRIPTION };
+
+	/** Spectra (name, A/C program, A/C section, fatigue mission and description). IDs are assigned in this order starting from 1. */
+	private static final String[][] SPECTRA = { { "A350_WING-01", "A350", "Wing", "M1", "Wing spectrum" }, { "A350XWING-02", "a350", "WING", "m1", "50% load case" }, { "A380-WING\\03", "A380", "wing", "M2", "50 percent load case" }, { "a380_wing_04", "A380", "Fuselage", "M2", "path\\to\\file" }, { "B777-Tail", "B777", "Tail", null, null } };
+
+	/** Embedded database server. */
+	private static EmbeddedDatabase database_;
+
+	/** Connection pool. */
+	private static HikariDataSource dataSource_;
+
+	/** Search index rebuild thread pool. */
+	private static ExecutorService rebuildExecutor_;
+
+	/** Search index snapshot of spectra. */
+	private static SearchIndex.Snapshot index_;
+
+	/**
+	 * Starts embedded database, loads spectra and builds the search index.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@BeforeAll
+	public static void setUp() throws Exception {
+
+		// start database
+		database_ = new EmbeddedDatabase();
+		dataSource_ = database_.createDataSource(2);
+
+		// create and load spectra table
+		try (Connection connection = dataSource_.getConnection()) {
+			StringBuilder sql = new StringBuilder("create table spectra(id int auto_increment primary key");
+			for (SpectrumInfoType column : COLUMNS) {
+				sql.append(", ").append(column.getColumnName()).append(" varchar(100)");
+			}
+			try (Statement statement = connection.createStatement()) {
+				statement.executeUpdate(sql.append(") default charset utf8mb4 collate utf8mb4_general_ci").toString());
+			}
+			try (PreparedStatement statement = connection.prepareStatement("insert into spectra(name, ac_program, ac_section, fat_mission, description) values(?, ?, ?, ?, ?)")) {
+				for (String[] spectrum : SPECTRA) {
+					for (int i = 0; i < spectrum.length; i++) {
+						statement.setString(i + 1, spectrum[i]);
+					}
+					statement.executeUpdate();
+				}
+			}
+		}
+
+		// build search index
+		rebuildExecutor_ = Executors.newSingleThreadExecutor();
+		String[] columns = Arrays.stream(COLUMNS).map(SpectrumInfoType::getColumnName).toArray(String[]::new);
+		SearchIndex index = new SearchIndex("spectra", columns, dataSource_, rebuildExecutor_, Logger.getLogger(SpectrumSearchTest.class.getName()));
+		index.scheduleRebuild();
+		while ((index_ = index.getSnapshot()) == null) {
+			Thread.sleep(10L);
+		}
+	}
+
+	/**
+	 * Stops embedded database.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@AfterAll
+	public static void tearDown() throws Exception {
+		dataSource_.close();
+		rebuildExecutor_.shutdown();
+		database_.stop();
+	}
+
+	/**
+	 * Wildcard and escape characters of basic search keywords are matched literally, and case is ignored as by the database collation.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void basicSearchPathsAgree() throws Exception {
+		assertBasic(ids(1, 4), true, "_wing");
+		assertBasic(ids(2), true, "50%");
+		assertBasic(ids(3, 4), true, "\\");
+		assertBasic(ids(1, 2, 3, 4), true, "WING");
+		assertBasic(ids(3, 4), true, "wing", "a380");
+		assertBasic(ids(1, 2, 3, 4, 5), false, "wing", "tail");
+		assertBasic(ids(2), true, "%");
+	}
+
+	/**
+	 * Wildcard and escape characters of advanced search items are matched literally for all criteria, and case is ignored as by the database
+	 * collation.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void advancedSearchPathsAgree() throws Exception {
+		assertAdvanced(ids(1, 4), true, SpectrumInfoType.NAME, "_WING", SearchIndex.CONTAINS);
+		assertAdvanced(ids(1), true, SpectrumInfoType.NAME, "a350_wing-01", SearchIndex.EQUALS);
+		assertAdvanced(ids(4), true, SpectrumInfoType.NAME, "A380_", SearchIndex.STARTS_WITH);
+		assertAdvanced(ids(3), true, SpectrumInfoType.NAME, "\\03", SearchIndex.ENDS_WITH);
+		assertAdvanced(ids(4), true, SpectrumInfoType.DESCRIPTION, "\\TO\\", SearchIndex.CONTAINS);
+		assertAdvanced(ids(1, 2), true, SpectrumInfoType.AC_PROGRAM, "A350", SearchIndex.EQUALS, SpectrumInfoType.AC_SECTION, "wi", SearchIndex.STARTS_WITH);
+		assertAdvanced(ids(1, 2, 3, 4), false, SpectrumInfoType.AC_PROGRAM, "80", SearchIndex.ENDS_WITH, SpectrumInfoType.FAT_MISSION, "M1", SearchIndex.EQUALS);
+		assertAdvanced(ids(), true, SpectrumInfoType.FAT_MISSION, "_", SearchIndex.CONTAINS);
+	}
+
+	/**
+	 * Runs basic search with the given keywords (with and without ignoring case), and asserts that both search paths return the expected spectra.
+	 *
+	 * @param expected
+	 *            Expected spectrum IDs.
+	 * @param isAndOperator
+	 *            True for logical and operator.
+	 * @param keywords
+	 *            Search keywords.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void assertBasic(TreeSet<Long> expected, boolean isAndOperator, String... keywords) throws Exception {
+		for (boolean ignoreCase : new boolean[] { true, false }) {
+			BasicSearchInput input = new BasicSearchInput();
+			input.setKeywords(new ArrayList<>(Arrays.asList(keywords)));
+			input.setOperator(isAndOperator);
+			input.setCase(ignoreCase);
+			assertEquals(expected, search(BasicSpectrumSearch.buildSQL(input, "name", null)), "database query " + toString(input, keywords));
+			assertEquals(expected, search(BasicSpectrumSearch.buildSQL(input, "name", index_)), "search index " + toString(input, keywords));
+		}
+	}
+
+	/**
+	 * Runs advanced search with the given items (with and without ignoring case), and asserts that both search paths return the expected spectra.
+	 *
+	 * @param expected
+	 *            Expected spectrum IDs.
+	 * @param isAndOperator
+	 *            True for logical and operator.
+	 * @param items
+	 *            Search items (column, value and criteria of each item).
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void assertAdvanced(TreeSet<Long> expected, boolean isAndOperator, Object... items) throws Exception {
+		for (boolean ignoreCase : new boolean[] { true, false }) {
+			SpectrumSearchInput input = new SpectrumSearchInput();
+			for (int i = 0; i < items.length; i += 3) {
+				input.addInput((SpectrumInfoType) items[i], new SearchItem(items[i + 1], (int) items[i + 2]));
+			}
+			input.setOperator(isAndOperator);
+			input.setCase(ignoreCase);
+			assertEquals(expected, search(AdvancedSpectrumSearch.buildSQL(input, "name", null)), "database query " + toString(input, items));
+			assertEquals(expected, search(AdvancedSpectrumSearch.buildSQL(input, "name", index_)), "search index " + toString(input, items));
+		}
+	}
+
+	/**
+	 * Executes the given search query and returns the IDs of the found spectra.
+	 *
+	 * @param query
+	 *            Search query.
+	 * @return IDs of the found spectra.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static TreeSet<Long> search(QueryBuilder query) throws Exception {
+		TreeSet<Long> ids = new TreeSet<>();
+		try (Connection connection = dataSource_.getConnection()) {
+			try (PreparedStatement statement = query.prepare(connection)) {
+				try (ResultSet resultSet = statement.executeQuery()) {
+					while (resultSet.next()) {
+						ids.add(resultSet.getLong("id"));
+					}
+				}
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * Returns the given spectrum IDs as set.
+	 *
+	 * @param ids
+	 *            Spectrum IDs.
+	 * @return The set of spectrum IDs.
+	 */
+	private static TreeSet<Long> ids(long... ids) {
+		TreeSet<Long> set = new TreeSet<>();
+		for (long id : ids) {
+			set.add(id);
+		}
+		return set;
+	}
+
+	/**
+	 * Returns description of the given search for assertion messages.
+	 *
+	 * @param input
+	 *            Search input.
+	 * @param items
+	 *            Search keywords or items.
+	 * @return Description of the search.
+	 */
+	private static String toString(SearchInput input, Object[] items) {
+		return Arrays.toString(items) + (input.getOperator() ? " (and" : " (or") + (input.getCase() ? ", ignore case)" : ")");
+	}
+}
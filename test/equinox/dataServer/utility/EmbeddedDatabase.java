@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.utility;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/**
+ * Class for embedded MariaDB server used by database tests and benchmarks as a local MySQL compatible stand-in. The server binaries are unpacked from the
+ * MariaDB4j artifacts and started on a free port with an empty data directory. Connection pools are created with the same data source properties as
+ * the server's own connection pool (see {@link Utility#setupDCPEngine}).
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 11:20:04
+ */
+public class EmbeddedDatabase {
+
+	/** Database name. */
+	public static final String DATABASE_NAME = "equinox";
+
+	/** Embedded server. */
+	private final DB db_;
+
+	/** Server port. */
+	private final int port_;
+
+	/**
+	 * Starts embedded database server and creates the test database.
+	 *
+	 * @throws ManagedProcessException
+	 *             If the server cannot be started.
+	 * @throws SQLException
+	 *             If the database cannot be created.
+	 */
+	public EmbeddedDatabase() throws ManagedProcessException, SQLException {
+
+		// configure server (MariaDB refuses to run as root unless asked to)
+		DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+		config.setPort(0);
+		if ("root".equals(System.getProperty("user.name"))) {
+			config.addArg("--user=root");
+		}
+
+		// start server
+		db_ = DB.newEmbeddedDB(config.build());
+		db_.start();
+		port_ = db_.getConfiguration().getPort();
+
+		// create database (over JDBC, the bundled command line client may lack its shared libraries)
+		try (Connection connection = DriverManager.getConnection("jdbc:mysql://localhost:" + port_ + "/?useSSL=false&allowPublicKeyRetrieval=true", "root", "")) {
+			try (Statement statement = connection.createStatement()) {
+				statement.executeUpdate("create database " + DATABASE_NAME);
+			}
+		}
+	}
+
+	/**
+	 * Creates a connection pool to the test database. Prepared statements are server-side and cached, as configured in the default server
+	 * properties.
+	 *
+	 * @param maxPoolSize
+	 *            Maximum pool size.
+	 * @return The connection pool.
+	 */
+	public HikariDataSource createDataSource(int maxPoolSize) {
+		HikariConfig config = new HikariConfig();
+		config.setJdbcUrl("jdbc:mysql://localhost:" + port_ + "/" + DATABASE_NAME);
+		config.setUsername("root");
+		config.setPassword("");
+		config.setMaximumPoolSize(maxPoolSize);
+		config.addDataSourceProperty("cachePrepStmts", "true");
+		config.addDataSourceProperty("prepStmtCacheSize", "250");
+		config.addDataSourceProperty("prepStmtCacheSqlLimit", "8192");
+		config.addDataSourceProperty("useServerPrepStmts", "true");
+		config.addDataSourceProperty("allowPublicKeyRetrieval", "true");
+		config.addDataSourceProperty("useSSL", "false");
+		config.addDataSourceProperty("rewriteBatchedStatements", "true");
+		return new HikariDataSource(config);
+	}
+
+	/**
+	 * Returns the value of the given global status variable (e.g. <code>Questions</code> or <code>Com_stmt_prepare</code>).
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param name
+	 *            Status variable name.
+	 * @return The value of the status variable.
+	 * @throws SQLException
+	 *             If exception occurs during process.
+	 */
+	public static long getGlobalStatus(Connection connection, String name) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			try (ResultSet resultSet = statement.executeQuery("show global status like '" + name + "'")) {
+				return resultSet.next() ? resultSet.getLong(2) : 0L;
+			}
+		}
+	}
+
+	/**
+	 * Stops the embedded database server.
+	 *
+	 * @throws ManagedProcessException
+	 *             If the server cannot be stopped.
+	 */
+	public void stop() throws ManagedProcessException {
+		db_.stop();
+	}
+}
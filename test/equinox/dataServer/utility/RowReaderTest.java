@@ -0,0 +1,217 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.dataServer.utility;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jxl.write.Label;
+import jxl.write.NumberFormat;
+import jxl.write.NumberFormats;
+import jxl.write.WritableCellFormat;
+import jxl.write.WritableSheet;
+import jxl.write.WritableWorkbook;
+
+/**
+ * Tests of workbook row readers. The same workbook is saved as XLS (with jxl) and as XLSX (as written by Excel), and both are read back.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 16:02:14
+ */
+public class RowReaderTest {
+
+	/** Sheet name. */
+	private static final String SHEET = "Linear";
+
+	/** Numeric cell values (as stored in XLSX files) and number format IDs (0 for general number format, 164 for custom format). */
+	private static final Object[][] CELLS = { { "9.0999999999999996", 0 }, { "3", 0 }, { "1.23456", 0 }, { "9.9999999999999995E-8", 0 }, { "1234567.891", 164 }, { "0.5", 1 }, { "9.1", 2 }, { "9.1", 10 }, { "-2.5", 0 } };
+
+	/** Custom number format. */
+	private static final String CUSTOM = "#,##0.000";
+
+	/** Temporary directory. */
+	@TempDir
+	Path directory_;
+
+	/**
+	 * Numeric cells of XLSX files are formatted with their number formats, as in XLS files.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void xlsxNumbersMatchXls() throws Exception {
+		ArrayList<String[]> xls = readRows(writeXLS());
+		ArrayList<String[]> xlsx = readRows(writeXLSX());
+		assertEquals(2, xls.size());
+		assertArrayEquals(new String[] { "name", "", "version", "", "", "", "", "", "" }, xls.get(0));
+		assertArrayEquals(new String[] { "9.1", "3", "1.235", "0", "1,234,567.891", "0", "9.10", "910.00%", "-2.5" }, xls.get(1));
+		assertEquals(xls.size(), xlsx.size());
+		for (int i = 0; i < xls.size(); i++) {
+			assertArrayEquals(xls.get(i), xlsx.get(i));
+		}
+	}
+
+	/**
+	 * A worksheet can be read more than once from an opened workbook, since closing a row reader only closes its worksheet.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void sheetsAreReadFromOpenedWorkbook() throws Exception {
+		for (Path file : new Path[] { writeXLS(), writeXLSX() }) {
+			try (WorkbookReader workbook = Utility.openWorkbook(file)) {
+				ArrayList<String[]> first = readRows(workbook);
+				ArrayList<String[]> second = readRows(workbook);
+				assertEquals(2, second.size());
+				for (int i = 0; i < first.size(); i++) {
+					assertArrayEquals(first.get(i), second.get(i));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads all rows of the test sheet of the given workbook.
+	 *
+	 * @param file
+	 *            Workbook file.
+	 * @return The rows.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static ArrayList<String[]> readRows(Path file) throws Exception {
+		try (WorkbookReader workbook = Utility.openWorkbook(file)) {
+			return readRows(workbook);
+		}
+	}
+
+	/**
+	 * Reads all rows of the test sheet of the given workbook.
+	 *
+	 * @param workbook
+	 *            Workbook reader.
+	 * @return The rows.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static ArrayList<String[]> readRows(WorkbookReader workbook) throws Exception {
+		ArrayList<String[]> rows = new ArrayList<>();
+		try (RowReader reader = workbook.createRowReader(SHEET)) {
+			String[] row;
+			while ((row = reader.nextRow()) != null) {
+				rows.add(RowReader.getCells(row, CELLS.length));
+			}
+			assertNull(reader.nextRow());
+		}
+		return rows;
+	}
+
+	/**
+	 * Writes the test workbook as XLS file.
+	 *
+	 * @return The file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private Path writeXLS() throws Exception {
+		Path file = directory_.resolve("materials.xls");
+		WritableWorkbook workbook = jxl.Workbook.createWorkbook(file.toFile());
+		try {
+			WritableSheet sheet = workbook.createSheet(SHEET, 0);
+			sheet.addCell(new Label(0, 0, "name"));
+			sheet.addCell(new Label(2, 0, " version "));
+			for (int i = 0; i < CELLS.length; i++) {
+				double value = Double.parseDouble((String) CELLS[i][0]);
+				int format = (int) CELLS[i][1];
+				if (format == 0) {
+					sheet.addCell(new jxl.write.Number(i, 1, value));
+				}
+				else {
+					WritableCellFormat cellFormat = new WritableCellFormat(format == 1 ? NumberFormats.INTEGER : format == 2 ? NumberFormats.FLOAT : format == 10 ? NumberFormats.PERCENT_FLOAT : new NumberFormat(CUSTOM));
+					sheet.addCell(new jxl.write.Number(i, 1, value, cellFormat));
+				}
+			}
+			workbook.write();
+		}
+		finally {
+			workbook.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Writes the test workbook as XLSX file.
+	 *
+	 * @return The file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private Path writeXLSX() throws Exception {
+
+		// create styles and cells (one cell style per cell)
+		StringBuilder styles = new StringBuilder("<cellXfs count=\"" + (CELLS.length + 1) + "\"><xf numFmtId=\"0\"/>");
+		StringBuilder cells = new StringBuilder();
+		for (int i = 0; i < CELLS.length; i++) {
+			styles.append("<xf numFmtId=\"").append(CELLS[i][1]).append("\" applyNumberFormat=\"1\"/>");
+			cells.append("<c r=\"").append((char) ('A' + i)).append("2\" s=\"").append(i + 1).append("\"><v>").append(CELLS[i][0]).append("</v></c>");
+		}
+		styles.append("</cellXfs>");
+
+		// write archive
+		Path file = directory_.resolve("materials.xlsx");
+		try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+			write(zip, "[Content_Types].xml", "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\"/>");
+			write(zip, "xl/workbook.xml", "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\"><sheets><sheet name=\"" + SHEET + "\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>");
+			write(zip, "xl/_rels/workbook.xml.rels", "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\"><Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet1.xml\"/></Relationships>");
+			write(zip, "xl/sharedStrings.xml", "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><si><t>name</t></si><si><t xml:space=\"preserve\"> version </t></si></sst>");
+			write(zip, "xl/styles.xml", "<styleSheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><numFmts count=\"1\"><numFmt numFmtId=\"164\" formatCode=\"" + CUSTOM + "\"/></numFmts><cellStyleXfs count=\"1\"><xf numFmtId=\"0\"/></cellStyleXfs>" + styles + "</styleSheet>");
+			write(zip, "xl/worksheets/sheet1.xml", "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData><row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c><c r=\"C1\" t=\"s\"><v>1</v></c></row><row r=\"2\">" + cells + "</row></sheetData></worksheet>");
+		}
+		return file;
+	}
+
+	/**
+	 * Writes the given archive entry.
+	 *
+	 * @param zip
+	 *            Archive output stream.
+	 * @param name
+	 *            Entry name.
+	 * @param content
+	 *            Entry content.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void write(ZipOutputStream zip, String name, String content) throws Exception {
+		zip.putNextEntry(new ZipEntry(name));
+		zip.write(content.getBytes(StandardCharsets.UTF_8));
+		zip.closeEntry();
+	}
+}